@@ -0,0 +1,55 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler enabled and writes the results to a JSON file.
+ *
+ * <p>
+ * Accepts the regular JMH command line options, e.g. a regular expression selecting the benchmarks to run.
+ */
+public final class BenchmarkRunner {
+    private static final String RESULT_FILE = "sdccc-benchmarks.json";
+
+    private BenchmarkRunner() {}
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options
+     * @throws RunnerException            if running a benchmark failed
+     * @throws CommandLineOptionException if the command line options are invalid
+     * @throws IOException                if listing the benchmarks failed
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final var commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+            // listing and help are handled by JMH itself
+            Main.main(args);
+            return;
+        }
+
+        final var options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLineOptions.getResult().orElse(RESULT_FILE))
+                .build();
+        new Runner(options).run();
+    }
+}
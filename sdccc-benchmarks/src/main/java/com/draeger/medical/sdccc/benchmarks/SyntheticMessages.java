@@ -0,0 +1,191 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+import org.somda.sdc.glue.common.ActionConstants;
+
+/**
+ * Generates synthetic SOAP messages resembling the traffic of a device under test.
+ *
+ * <p>
+ * The messages are generated once per benchmark trial, their size is chosen to match what is commonly captured
+ * during a test run: waveform streams are sent several times per second, episodic reports are small, and the
+ * GetMdibResponse of a device with many metrics easily exceeds a megabyte.
+ */
+public final class SyntheticMessages {
+    private static final String SEQUENCE_ID = "urn:uuid:5e4ac4a8-6a8a-4b8c-8d0b-0b4f3c7bd0f1";
+
+    private static final String ENVELOPE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<s12:Envelope xmlns:s12=\"http://www.w3.org/2003/05/soap-envelope\""
+            + " xmlns:wsa=\"http://www.w3.org/2005/08/addressing\""
+            + " xmlns:msg=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/message\""
+            + " xmlns:pm=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/participant\""
+            + " xmlns:ext=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/extension\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+            + "<s12:Header>"
+            + "<wsa:To s12:mustUnderstand=\"true\">https://127.0.0.1:52027/29bf1db0b76e11e982e374e5f9efcfcb</wsa:To>"
+            + "<wsa:Action s12:mustUnderstand=\"true\">%s</wsa:Action>"
+            + "<wsa:MessageID>urn:uuid:407229f6-a17d-45ae-9e57-d951d55767c3</wsa:MessageID>"
+            + "</s12:Header>"
+            + "<s12:Body>%s</s12:Body>"
+            + "</s12:Envelope>";
+
+    private static final String METRIC_STATE = "<%s xsi:type=\"pm:%s\" StateVersion=\"%d\" DescriptorHandle=\"%s\""
+            + " DescriptorVersion=\"0\">%s</%s>";
+    private static final String NUMERIC_VALUE = "<pm:MetricValue Value=\"%s\" DeterminationTime=\"%d\">"
+            + "<pm:MetricQuality Validity=\"Vld\"/></pm:MetricValue>";
+    private static final String SAMPLE_ARRAY_VALUE = "<pm:MetricValue Samples=\"%s\" DeterminationTime=\"%d\">"
+            + "<pm:MetricQuality Validity=\"Vld\"/></pm:MetricValue>";
+
+    private static final int WAVEFORMS = 8;
+    private static final int SAMPLES_PER_WAVEFORM = 64;
+    private static final int METRICS_PER_REPORT = 4;
+    private static final int METRICS_PER_CHANNEL = 20;
+    private static final int CHANNELS = 200;
+    private static final long DETERMINATION_TIME = 1608791424007L;
+
+    private SyntheticMessages() {}
+
+    /**
+     * Kinds of synthetic messages.
+     */
+    public enum Kind {
+        /**
+         * A WaveformStream carrying a burst of samples for several real time sample arrays.
+         */
+        WAVEFORM_STREAM,
+        /**
+         * An EpisodicMetricReport changing a few numeric metrics.
+         */
+        EPISODIC_METRIC_REPORT,
+        /**
+         * A GetMdibResponse of a device with thousands of numeric metrics.
+         */
+        GET_MDIB_RESPONSE
+    }
+
+    /**
+     * Creates the UTF-8 encoded SOAP envelope of a message.
+     *
+     * @param kind        of the message
+     * @param mdibVersion to put into the MdibVersionGroup of the message
+     * @return the encoded envelope
+     */
+    public static byte[] create(final Kind kind, final long mdibVersion) {
+        final String envelope =
+                switch (kind) {
+                    case WAVEFORM_STREAM -> String.format(
+                            ENVELOPE, ActionConstants.ACTION_WAVEFORM_STREAM, waveformStream(mdibVersion));
+                    case EPISODIC_METRIC_REPORT -> String.format(
+                            ENVELOPE,
+                            ActionConstants.ACTION_EPISODIC_METRIC_REPORT,
+                            episodicMetricReport(mdibVersion));
+                    case GET_MDIB_RESPONSE -> String.format(
+                            ENVELOPE,
+                            ActionConstants.getResponseAction(ActionConstants.ACTION_GET_MDIB),
+                            getMdibResponse(mdibVersion));
+                };
+        return envelope.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a sequence of messages with increasing mdib versions.
+     *
+     * @param kind  of the messages
+     * @param count of messages to create
+     * @return the encoded envelopes
+     */
+    public static List<byte[]> createSequence(final Kind kind, final int count) {
+        return LongStream.range(0, count)
+                .mapToObj(mdibVersion -> create(kind, mdibVersion))
+                .toList();
+    }
+
+    private static String waveformStream(final long mdibVersion) {
+        final var body = new StringBuilder(String.format(
+                "<msg:WaveformStream MdibVersion=\"%d\" SequenceId=\"%s\">", mdibVersion, SEQUENCE_ID));
+        for (int waveform = 0; waveform < WAVEFORMS; waveform++) {
+            final var samples = new StringBuilder();
+            for (int sample = 0; sample < SAMPLES_PER_WAVEFORM; sample++) {
+                if (sample > 0) {
+                    samples.append(' ');
+                }
+                samples.append(String.format(Locale.ROOT, "%.2f", Math.sin((mdibVersion + sample) / 10.0) * 100));
+            }
+            body.append(metricState(
+                    "msg:State",
+                    "RealTimeSampleArrayMetricState",
+                    mdibVersion,
+                    "waveform" + waveform,
+                    String.format(SAMPLE_ARRAY_VALUE, samples, DETERMINATION_TIME + mdibVersion)));
+        }
+        return body.append("</msg:WaveformStream>").toString();
+    }
+
+    private static String episodicMetricReport(final long mdibVersion) {
+        final var body = new StringBuilder(String.format(
+                "<msg:EpisodicMetricReport MdibVersion=\"%d\" SequenceId=\"%s\"><msg:ReportPart>",
+                mdibVersion, SEQUENCE_ID));
+        for (int metric = 0; metric < METRICS_PER_REPORT; metric++) {
+            body.append(metricState(
+                    "msg:MetricState",
+                    "NumericMetricState",
+                    mdibVersion,
+                    "numeric" + metric,
+                    String.format(NUMERIC_VALUE, mdibVersion % 100, DETERMINATION_TIME + mdibVersion)));
+        }
+        return body.append("</msg:ReportPart></msg:EpisodicMetricReport>").toString();
+    }
+
+    private static String getMdibResponse(final long mdibVersion) {
+        final var descriptors = new StringBuilder();
+        final var states = new StringBuilder();
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            descriptors.append(String.format("<pm:Channel Handle=\"channel%d\" DescriptorVersion=\"0\">", channel));
+            for (int metric = 0; metric < METRICS_PER_CHANNEL; metric++) {
+                final String handle = String.format("numeric%d.%d", channel, metric);
+                descriptors
+                        .append(String.format(
+                                "<pm:Metric xsi:type=\"pm:NumericMetricDescriptor\" Handle=\"%s\""
+                                        + " DescriptorVersion=\"0\" MetricCategory=\"Msrmt\""
+                                        + " MetricAvailability=\"Cont\" Resolution=\"0.1\">",
+                                handle))
+                        .append("<pm:Unit Code=\"262688\"/>")
+                        .append("<pm:TechnicalRange Lower=\"0\" Upper=\"500\"/>")
+                        .append("</pm:Metric>");
+                states.append(metricState(
+                        "pm:State",
+                        "NumericMetricState",
+                        0,
+                        handle,
+                        String.format(NUMERIC_VALUE, metric, DETERMINATION_TIME)));
+            }
+            descriptors.append("</pm:Channel>");
+        }
+        return String.format("<msg:GetMdibResponse MdibVersion=\"%d\" SequenceId=\"%s\">", mdibVersion, SEQUENCE_ID)
+                + "<msg:Mdib MdibVersion=\"" + mdibVersion + "\" SequenceId=\"" + SEQUENCE_ID + "\">"
+                + "<pm:MdDescription><pm:Mds Handle=\"mds0\" DescriptorVersion=\"0\">"
+                + "<pm:Vmd Handle=\"vmd0\" DescriptorVersion=\"0\">" + descriptors + "</pm:Vmd>"
+                + "</pm:Mds></pm:MdDescription>"
+                + "<pm:MdState>" + states + "</pm:MdState>"
+                + "</msg:Mdib></msg:GetMdibResponse>";
+    }
+
+    private static String metricState(
+            final String elementName,
+            final String type,
+            final long stateVersion,
+            final String handle,
+            final String value) {
+        return String.format(METRIC_STATE, elementName, type, stateVersion, handle, value, elementName);
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * JMH benchmarks of the message capture and persistence path.
+ */
+@ParametersAreNonnullByDefault
+package com.draeger.medical.sdccc.benchmarks;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,119 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.messages.guice.MessageBodyStorageProvider;
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.inject.Guice;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.somda.sdc.dpws.CommunicationLog;
+import org.somda.sdc.dpws.soap.CommunicationContext;
+import org.somda.sdc.dpws.soap.HttpApplicationInfo;
+import org.somda.sdc.dpws.soap.TransportInfo;
+
+/**
+ * Sets up {@linkplain MessageStorage} instances backed by a Derby database in a temporary directory.
+ */
+final class BenchmarkStorage {
+    static final int BUFFER_SIZE = 100;
+
+    private BenchmarkStorage() {}
+
+    /**
+     * Creates a temporary directory to hold the database and message bodies of a benchmark trial.
+     *
+     * @return the created directory
+     * @throws IOException if the directory could not be created
+     */
+    static File createDirectory() throws IOException {
+        return Files.createTempDirectory("sdccc-benchmark").toFile();
+    }
+
+    /**
+     * Deletes a directory created by {@linkplain #createDirectory()}.
+     *
+     * @param directory to delete
+     * @throws IOException if the directory could not be deleted
+     */
+    static void deleteDirectory(final File directory) throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Creates a message storage persisting into the given directory.
+     *
+     * @param directory     test run directory to place the database in
+     * @param bodyStorage   name of the body storage, as configured via
+     *                      {@linkplain com.draeger.medical.sdccc.configuration.TestSuiteConfig#COMMLOG_BODY_STORAGE}
+     * @param ingestionMode name of the ingestion pipeline, as configured via
+     *                      {@linkplain com.draeger.medical.sdccc.configuration.TestSuiteConfig#COMMLOG_INGESTION_MODE}
+     * @return the message storage
+     */
+    static MessageStorage create(final File directory, final String bodyStorage, final String ingestionMode) {
+        return new MessageStorage(
+                BUFFER_SIZE,
+                true,
+                true,
+                null,
+                new HibernateConfigImpl(directory),
+                createBodyStorage(directory, bodyStorage),
+                new IngestionPipelineFactory(
+                        ingestionMode,
+                        IngestionPipelineFactory.DEFAULT_RING_BUFFER_SIZE,
+                        IngestionPipelineFactory.BLOCKING_WAIT),
+                createTestRunObserver());
+    }
+
+    /**
+     * @return a test run observer, as used by the message storage to report persistence problems
+     */
+    static TestRunObserver createTestRunObserver() {
+        return Guice.createInjector().getInstance(TestRunObserver.class);
+    }
+
+    /**
+     * Creates a message capturing an inbound report received via HTTP.
+     *
+     * @param messageStorage to add the message to once it is closed
+     * @param bufferPool     to capture the body into, null to capture the body on the heap
+     * @return the message
+     */
+    static Message createInboundMessage(
+            final MessageStorage messageStorage, @Nullable final MessageBufferPool bufferPool) {
+        return new Message(
+                CommunicationLog.Direction.INBOUND,
+                CommunicationLog.MessageType.REQUEST,
+                createCommunicationContext(),
+                messageStorage,
+                bufferPool);
+    }
+
+    private static CommunicationContext createCommunicationContext() {
+        final ListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("Content-Type", "application/soap+xml;charset=UTF-8");
+        return new CommunicationContext(
+                new HttpApplicationInfo(headers, "transactionId", "requestURI"),
+                new TransportInfo("https", "127.0.0.1", 6464, "127.0.0.1", 52027, List.of()),
+                null);
+    }
+
+    private static MessageBodyStorage createBodyStorage(final File directory, final String bodyStorage) {
+        return switch (bodyStorage) {
+            case MessageBodyStorageProvider.DATABASE -> new DatabaseMessageBodyStorage();
+            case MessageBodyStorageProvider.LOG -> new LogMessageBodyStorage(directory);
+            default -> throw new IllegalArgumentException("Unknown body storage " + bodyStorage);
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.benchmarks.SyntheticMessages;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many messages per second can be captured and persisted.
+ *
+ * <p>
+ * Every invocation writes a message into a {@linkplain Message} and closes it, which hands it to the
+ * {@linkplain MessageStorage}. As the number of entries inside the storage is bounded, the sustained throughput is
+ * limited by its parse and persist stages, i.e. by the capture capacity of a test run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class MessageCaptureBenchmark {
+    private static final int DISTINCT_MESSAGES = 64;
+
+    @Param({"WAVEFORM_STREAM", "EPISODIC_METRIC_REPORT", "GET_MDIB_RESPONSE"})
+    public SyntheticMessages.Kind kind;
+
+    @Param({"Database", "Log"})
+    public String bodyStorage;
+
+    @Param({"Staged", "RingBuffer"})
+    public String ingestionMode;
+
+    @Param({"false", "true"})
+    public boolean offHeapCapture;
+
+    private File directory;
+    private MessageStorage messageStorage;
+    private MessageBufferPool bufferPool;
+    private List<byte[]> bodies;
+    private AtomicInteger nextBody;
+
+    /**
+     * Creates the storage and the messages to capture.
+     *
+     * @throws IOException if the test run directory could not be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = BenchmarkStorage.createDirectory();
+        this.messageStorage = BenchmarkStorage.create(directory, bodyStorage, ingestionMode);
+        this.bufferPool = new MessageBufferPool(offHeapCapture);
+        this.bodies = SyntheticMessages.createSequence(kind, DISTINCT_MESSAGES);
+        this.nextBody = new AtomicInteger();
+    }
+
+    /**
+     * Persists all messages captured during the iteration, so they don't slow down the next one.
+     */
+    @TearDown(Level.Iteration)
+    public void flush() {
+        this.messageStorage.flush();
+    }
+
+    /**
+     * Closes the storage and removes the database.
+     *
+     * @throws IOException if the test run directory could not be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.messageStorage.close();
+        BenchmarkStorage.deleteDirectory(directory);
+    }
+
+    /**
+     * Captures a message on a single thread, like a device sending reports over a single connection.
+     *
+     * @return the captured message
+     * @throws IOException if the message could not be written
+     */
+    @Benchmark
+    public Message captureMessage() throws IOException {
+        return capture();
+    }
+
+    /**
+     * Captures messages on multiple threads, like a device sending reports over multiple connections.
+     *
+     * @return the captured message
+     * @throws IOException if the message could not be written
+     */
+    @Benchmark
+    @Threads(4)
+    public Message captureMessageConcurrently() throws IOException {
+        return capture();
+    }
+
+    private Message capture() throws IOException {
+        final byte[] body = bodies.get(Math.floorMod(nextBody.getAndIncrement(), DISTINCT_MESSAGES));
+        final Message message = BenchmarkStorage.createInboundMessage(messageStorage, bufferPool);
+        message.write(body, 0, body.length);
+        message.close();
+        return message;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.benchmarks.SyntheticMessages;
+import com.draeger.medical.sdccc.messages.guice.MessageBodyStorageProvider;
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversion of a captured message into the entity persisted in the database.
+ *
+ * <p>
+ * The conversion detects the charset, scans the body for the actions and MdibVersionGroups and hashes the body,
+ * it runs once for every captured message in the parse stage of the storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageConversionBenchmark {
+
+    @Param({"WAVEFORM_STREAM", "EPISODIC_METRIC_REPORT", "GET_MDIB_RESPONSE"})
+    public SyntheticMessages.Kind kind;
+
+    private File directory;
+    private MessageStorage messageStorage;
+    private Message message;
+
+    /**
+     * Creates the storage and captures the message to convert.
+     *
+     * @throws IOException if the test run directory could not be created or the message could not be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = BenchmarkStorage.createDirectory();
+        this.messageStorage = BenchmarkStorage.create(
+                directory, MessageBodyStorageProvider.DATABASE, IngestionPipelineFactory.STAGED);
+
+        final byte[] body = SyntheticMessages.create(kind, 1);
+        this.message = BenchmarkStorage.createInboundMessage(messageStorage, null);
+        this.message.write(body, 0, body.length);
+        this.message.close();
+    }
+
+    /**
+     * Closes the storage and removes the database.
+     *
+     * @throws IOException if the test run directory could not be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.messageStorage.close();
+        BenchmarkStorage.deleteDirectory(directory);
+    }
+
+    /**
+     * Converts the captured message, including charset detection, body scanning and hashing.
+     *
+     * @return the converted message
+     */
+    @Benchmark
+    public MessageContent convertMessage() {
+        return messageStorage.convertMessageToMessageContent(message);
+    }
+
+    /**
+     * Only detects the charset of the captured message.
+     *
+     * @return the detected charset
+     */
+    @Benchmark
+    public Charset determineCharset() {
+        return messageStorage.determineCharsetFromMessage(message);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.benchmarks.SyntheticMessages;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of {@linkplain MessageStorage#flush()}, which every test case waits for before it evaluates
+ * the captured messages.
+ *
+ * <p>
+ * Before each invocation a burst of waveform streams is captured, the benchmark then measures how long it takes until
+ * all of them have been committed to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class MessageFlushBenchmark {
+
+    @Param({"0", "100", "1000"})
+    public int pendingMessages;
+
+    @Param({"Database", "Log"})
+    public String bodyStorage;
+
+    @Param({"Staged", "RingBuffer"})
+    public String ingestionMode;
+
+    private File directory;
+    private MessageStorage messageStorage;
+    private List<byte[]> bodies;
+
+    /**
+     * Creates the storage and the messages to capture.
+     *
+     * @throws IOException if the test run directory could not be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = BenchmarkStorage.createDirectory();
+        this.messageStorage = BenchmarkStorage.create(directory, bodyStorage, ingestionMode);
+        this.bodies = SyntheticMessages.createSequence(
+                SyntheticMessages.Kind.WAVEFORM_STREAM, Math.max(pendingMessages, 1));
+    }
+
+    /**
+     * Captures the messages which are pending when the flush is triggered.
+     *
+     * <p>
+     * Capturing blocks once the queue of the storage is full, the flush therefore always has to persist the queued
+     * messages as well as those which are currently being converted by the database interaction threads.
+     *
+     * @throws IOException if a message could not be written
+     */
+    @Setup(Level.Invocation)
+    public void captureMessages() throws IOException {
+        for (int i = 0; i < pendingMessages; i++) {
+            final byte[] body = bodies.get(i);
+            final Message message = BenchmarkStorage.createInboundMessage(messageStorage, null);
+            message.write(body, 0, body.length);
+            message.close();
+        }
+    }
+
+    /**
+     * Closes the storage and removes the database.
+     *
+     * @throws IOException if the test run directory could not be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.messageStorage.close();
+        BenchmarkStorage.deleteDirectory(directory);
+    }
+
+    /**
+     * Flushes all pending messages into the database.
+     */
+    @Benchmark
+    public void flush() {
+        messageStorage.flush();
+    }
+}
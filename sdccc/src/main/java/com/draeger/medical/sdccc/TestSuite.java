@@ -22,10 +22,14 @@ import com.draeger.medical.sdccc.guice.TomlConfigParser;
 import com.draeger.medical.sdccc.manipulation.precondition.ObservingPreconditionMdibObserver;
 import com.draeger.medical.sdccc.manipulation.precondition.PreconditionException;
 import com.draeger.medical.sdccc.manipulation.precondition.PreconditionRegistry;
+import com.draeger.medical.sdccc.messages.HibernateConfigImpl;
 import com.draeger.medical.sdccc.messages.MessageStorage;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
 import com.draeger.medical.sdccc.tests.util.PreconditionFilter;
+import com.draeger.medical.sdccc.tests.util.ReanalysisFilter;
+import com.draeger.medical.sdccc.tests.util.RevisionCheckFilter;
 import com.draeger.medical.sdccc.tests.util.TestDescriptionFilter;
 import com.draeger.medical.sdccc.tests.util.TestEnabledFilter;
 import com.draeger.medical.sdccc.util.LoggingConfigurator;
@@ -58,6 +62,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -151,9 +156,16 @@ public class TestSuite {
      * @return number of failed tests during the run
      */
     public long runTestSuite() {
+        final var captureDirectory = getCaptureDirectory();
         final var directTests = collectEnabledTests(SUFFIX_DIRECT);
+        final var invariantFilters = new ArrayList<PostDiscoveryFilter>(List.of(
+                injector.getInstance(PreconditionFilter.class), injector.getInstance(RevisionCheckFilter.class)));
+        if (!captureDirectory.isEmpty()) {
+            // tests depending on information only available while connected cannot be evaluated again
+            invariantFilters.add(new ReanalysisFilter());
+        }
         final var invariantTests =
-                collectEnabledTests(SUFFIX_INVARIANT, injector.getInstance(PreconditionFilter.class));
+                collectEnabledTests(SUFFIX_INVARIANT, invariantFilters.toArray(new PostDiscoveryFilter[0]));
 
         final OutputStream consoleOutput = new LoggingOutputStream(LOG, Level.INFO, StandardCharsets.UTF_8);
         final PrintWriter outWriter = new PrintWriter(consoleOutput, false, StandardCharsets.UTF_8);
@@ -172,6 +184,22 @@ public class TestSuite {
         directTestLauncher.registerTestExecutionListeners(directSummary);
 
         long totalTestFailures = 0L;
+        if (!captureDirectory.isEmpty()) {
+            /*
+             * Evaluate the messages captured in a previous test run, only the invariant tests are run
+             */
+            LOG.info("Evaluating the messages captured in {} without connecting to the DUT", captureDirectory);
+            totalTestFailures =
+                    phase2(totalTestFailures, outWriter, invariantTestLauncher, invariantTestPlan, invariantSummary);
+
+            postProcessing();
+
+            final TestRunObserver observer = injector.getInstance(TestRunObserver.class);
+            observer.setTotalNumberOfTestsRun(invariantSummary.getSummary().getTestsStartedCount());
+
+            return totalTestFailures;
+        }
+
         /*
          * Starting TestSuite Client and connect, check for an archive service of the DUT
          */
@@ -209,12 +237,18 @@ public class TestSuite {
         return totalTestFailures;
     }
 
+    private String getCaptureDirectory() {
+        return injector.getInstance(Key.get(String.class, Names.named(TestSuiteConfig.CAPTURE_DIRECTORY)));
+    }
+
     private void postProcessing() {
-        LOG.info("Stopping SDCri");
-        try {
-            injector.getInstance(TestClient.class).stopService(MAX_WAIT);
-        } catch (final TimeoutException e) {
-            testRunObserver.invalidateTestRun("Could not stop the test client", e);
+        if (getCaptureDirectory().isEmpty()) {
+            LOG.info("Stopping SDCri");
+            try {
+                injector.getInstance(TestClient.class).stopService(MAX_WAIT);
+            } catch (final TimeoutException e) {
+                testRunObserver.invalidateTestRun("Could not stop the test client", e);
+            }
         }
 
         injector.getInstance(MessageStorage.class).close();
@@ -238,8 +272,8 @@ public class TestSuite {
             testRunObserver.invalidateTestRun("Could not stop the test client", e);
         }
 
-        // flush all data so invariant tests run on most current data
-        injector.getInstance(MessageStorage.class).flush();
+        // wait for all data so invariant tests run on most current data
+        awaitMessageIngestion();
 
         final long result =
                 phase2(totalTestFailures, outWriter, invariantTestLauncher, invariantTestPlan, invariantSummary);
@@ -248,8 +282,8 @@ public class TestSuite {
     }
 
     private void phase3() {
-        // flush all data so preconditions evaluate most current data
-        injector.getInstance(MessageStorage.class).flush();
+        // wait for all data so preconditions evaluate most current data
+        awaitMessageIngestion();
 
         final var preconditions = injector.getInstance(PreconditionRegistry.class);
         try {
@@ -281,6 +315,23 @@ public class TestSuite {
         return totalTestFailures + directSummary.getSummary().getTotalFailureCount();
     }
 
+    /**
+     * Waits until all messages captured so far have been committed to the message storage.
+     *
+     * <p>
+     * Messages captured meanwhile are ingested as usual, the test run is invalidated if waiting fails.
+     */
+    private void awaitMessageIngestion() {
+        final var messageStorage = injector.getInstance(MessageStorage.class);
+        try {
+            messageStorage.awaitIngestion(messageStorage.getIngestionWatermark()).get();
+        } catch (final InterruptedException e) {
+            testRunObserver.invalidateTestRun("Waiting for the message ingestion was interrupted", e);
+        } catch (final ExecutionException e) {
+            testRunObserver.invalidateTestRun("The message ingestion failed", e.getCause());
+        }
+    }
+
     private void phase1() {
         performBasicMessagingCheck();
 
@@ -391,6 +442,9 @@ public class TestSuite {
                     precondition.getClass().getSimpleName());
             client.registerMdibObserver(new ObservingPreconditionMdibObserver(precondition));
         }
+        // same for the revision checks of invariant tests, if they are evaluated while capturing
+        final var mdibHistoryReplay = injector.getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.startOnlineEvaluation();
 
         try {
             client.connect();
@@ -399,6 +453,8 @@ public class TestSuite {
             testRunObserver.invalidateTestRun("Could not connect to target device", e);
             throw new RuntimeException(e);
         }
+        // the initial mdib is not reported as a change, the revision checks start their evaluation with it
+        mdibHistoryReplay.onClientConnected();
 
         // check the DUT for an archive service, currently needed for MDPWS:R0006
         this.testRunInformation.setArchiveServicePresent(
@@ -536,6 +592,11 @@ public class TestSuite {
                     LOG.info("Using adapter ip from cli: {}", ip);
                     bind(TestSuiteConfig.NETWORK_INTERFACE_ADDRESS, String.class, ip);
                 });
+
+                cmdLine.getReanalyzeDirectory().ifPresent(directory -> {
+                    LOG.info("Using captured messages of test run directory from cli: {}", directory);
+                    bind(TestSuiteConfig.CAPTURE_DIRECTORY, String.class, directory);
+                });
             }
         };
 
@@ -765,6 +826,14 @@ public class TestSuite {
                         testRunDir));
             }
         }
+        cmdLine.getReanalyzeDirectory().ifPresent(directory -> {
+            if (!new File(directory, HibernateConfigImpl.DATABASE_DIRECTORY_NAME).isDirectory()) {
+                throw new RuntimeException(String.format(
+                        "The test run directory %s specified with --reanalyze does not contain a database"
+                                + " of captured messages.",
+                        directory));
+            }
+        });
         final var logConfig = LoggingConfigurator.loggerConfig(testRunDir, cmdLine.getFileLogLevel());
         checkLogConfig(logConfig);
 
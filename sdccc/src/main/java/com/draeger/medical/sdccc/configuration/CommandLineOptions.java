@@ -45,6 +45,7 @@ public class CommandLineOptions {
     private static final String TEST_RUN_DIRECTORY = "test_run_directory";
     private static final String NO_SUBDIRECTORIES = "no_subdirectories";
     private static final String FILE_LOG_LEVEL = "file_log_level";
+    private static final String REANALYZE = "reanalyze";
     private final Path configPath;
     private final Path testConfigPath;
     private final Path testParameterPath;
@@ -59,6 +60,7 @@ public class CommandLineOptions {
     private final String testRunDirectory;
     private final Boolean noSubdirectories;
     private final Level fileLogLevel;
+    private final String reanalyzeDirectory;
 
     /**
      * Parse the command line options passed.
@@ -107,6 +109,7 @@ public class CommandLineOptions {
         this.testRunDirectory = cmd.getOptionValue(TEST_RUN_DIRECTORY);
         this.noSubdirectories = Boolean.parseBoolean(cmd.getOptionValue(NO_SUBDIRECTORIES));
         this.fileLogLevel = Level.toLevel(cmd.getOptionValue(FILE_LOG_LEVEL), Level.INFO);
+        this.reanalyzeDirectory = cmd.getOptionValue(REANALYZE);
     }
 
     private Options setupOptions() {
@@ -203,6 +206,13 @@ public class CommandLineOptions {
             fileLogLevelOpt.setRequired(false);
             options.addOption(fileLogLevelOpt);
         }
+        {
+            final String description = "Test run directory of a previous run to evaluate again. The invariant tests"
+                    + " are run on the messages captured in that run without connecting to the target provider.";
+            final var reanalyzeOpt = new Option("ra", REANALYZE, true, description);
+            reanalyzeOpt.setRequired(false);
+            options.addOption(reanalyzeOpt);
+        }
 
         return options;
     }
@@ -277,6 +287,14 @@ public class CommandLineOptions {
         return this.fileLogLevel;
     }
 
+    /**
+     * @return test run directory of a previous run whose captured messages are evaluated again, provided via cli,
+     *         empty if not set
+     */
+    public Optional<String> getReanalyzeDirectory() {
+        return Optional.ofNullable(reanalyzeDirectory);
+    }
+
     private static void printNetworkAdapterInformation() throws SocketException {
         System.out.println("%nAvailable network adapters are:%n");
         final Iterator<NetworkInterface> networkInterfaceIterator =
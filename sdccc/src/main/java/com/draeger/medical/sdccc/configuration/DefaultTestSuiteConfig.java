@@ -7,6 +7,8 @@
 
 package com.draeger.medical.sdccc.configuration;
 
+import com.draeger.medical.sdccc.messages.IngestionPipelineFactory;
+import com.draeger.medical.sdccc.messages.guice.MessageBodyStorageProvider;
 import com.draeger.medical.sdccc.util.Constants;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.somda.sdc.common.guice.AbstractConfigurationModule;
@@ -30,6 +32,10 @@ public class DefaultTestSuiteConfig extends AbstractConfigurationModule {
     };
 
     private static final int BUFFER_SIZE = 100;
+    private static final int FETCH_SIZE = 10;
+    private static final long GRPC_DEADLINE = 60L;
+    private static final int GRPC_MAX_CONCURRENT_CALLS = 4;
+    private static final long MANIPULATION_STATE_CHANGE_TIMEOUT = 5L;
 
     @Override
     protected void defaultConfigure() {
@@ -50,6 +56,10 @@ public class DefaultTestSuiteConfig extends AbstractConfigurationModule {
 
         bind(TestSuiteConfig.ENABLE_MESSAGE_ENCODING_CHECK, Boolean.class, true);
         bind(TestSuiteConfig.SUMMARIZE_MESSAGE_ENCODING_ERRORS, Boolean.class, true);
+
+        bind(TestSuiteConfig.PARALLEL_SEQUENCE_EVALUATION, Boolean.class, false);
+        bind(TestSuiteConfig.ONLINE_INVARIANT_EVALUATION, Boolean.class, false);
+        bind(TestSuiteConfig.MANIPULATION_STATE_CHANGE_TIMEOUT, long.class, MANIPULATION_STATE_CHANGE_TIMEOUT);
         bind(Constants.CONFIGURATION_MODULE, AbstractConfigurationModule.class, new AbstractConfigurationModule() {
             @Override
             protected void defaultConfigure() {}
@@ -84,13 +94,23 @@ public class DefaultTestSuiteConfig extends AbstractConfigurationModule {
 
     void configureGRpc() {
         bind(TestSuiteConfig.GRPC_SERVER_ADDRESS, String.class, "localhost:50051");
+        bind(TestSuiteConfig.GRPC_DEADLINE, long.class, GRPC_DEADLINE);
+        bind(TestSuiteConfig.GRPC_MAX_CONCURRENT_CALLS, int.class, GRPC_MAX_CONCURRENT_CALLS);
     }
 
     void configureInternalSettings() {
         bind(TestSuiteConfig.SDC_TEST_DIRECTORIES, String[].class, DEFAULT_DIRECTORIES);
+        bind(TestSuiteConfig.CAPTURE_DIRECTORY, String.class, "");
     }
 
     protected void configureCommlogSettings() {
         bind(TestSuiteConfig.COMMLOG_MESSAGE_BUFFER_SIZE, int.class, BUFFER_SIZE);
+        bind(TestSuiteConfig.COMMLOG_OFF_HEAP_CAPTURE, Boolean.class, false);
+        bind(TestSuiteConfig.COMMLOG_BODY_STORAGE, String.class, MessageBodyStorageProvider.DATABASE);
+        bind(TestSuiteConfig.COMMLOG_BODY_COMPRESSION, Boolean.class, false);
+        bind(TestSuiteConfig.COMMLOG_FETCH_SIZE, int.class, FETCH_SIZE);
+        bind(TestSuiteConfig.COMMLOG_INGESTION_MODE, String.class, IngestionPipelineFactory.STAGED);
+        bind(TestSuiteConfig.COMMLOG_RING_BUFFER_SIZE, int.class, IngestionPipelineFactory.DEFAULT_RING_BUFFER_SIZE);
+        bind(TestSuiteConfig.COMMLOG_RING_BUFFER_WAIT_STRATEGY, String.class, IngestionPipelineFactory.BLOCKING_WAIT);
     }
 }
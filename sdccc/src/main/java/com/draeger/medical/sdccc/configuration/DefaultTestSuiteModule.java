@@ -14,7 +14,9 @@ import com.draeger.medical.sdccc.manipulation.Manipulations;
 import com.draeger.medical.sdccc.manipulation.guice.InteractionFactory;
 import com.draeger.medical.sdccc.messages.HibernateConfig;
 import com.draeger.medical.sdccc.messages.HibernateConfigImpl;
+import com.draeger.medical.sdccc.messages.MessageBodyStorage;
 import com.draeger.medical.sdccc.messages.guice.ManipulationInfoFactory;
+import com.draeger.medical.sdccc.messages.guice.MessageBodyStorageProvider;
 import com.draeger.medical.sdccc.messages.guice.MessageFactory;
 import com.draeger.medical.sdccc.sdcri.CustomCryptoSettings;
 import com.draeger.medical.sdccc.sdcri.LocalAddressResolverImpl;
@@ -47,6 +49,7 @@ public class DefaultTestSuiteModule extends AbstractModule {
         bind(TestClient.class).to(TestClientImpl.class).in(Singleton.class);
         bind(ClassUtil.class).to(ClassUtilImpl.class);
         bind(HibernateConfig.class).to(HibernateConfigImpl.class).in(Singleton.class);
+        bind(MessageBodyStorage.class).toProvider(MessageBodyStorageProvider.class).in(Singleton.class);
         bind(Manipulations.class).to(GRpcManipulations.class).in(Singleton.class);
         bind(LocalAddressResolver.class).to(LocalAddressResolverImpl.class).in(Singleton.class);
         bind(ManipulationSerializer.class).to(GsonManipulationSerializer.class).in(Singleton.class);
@@ -25,6 +25,10 @@ public final class TestSuiteConfig {
     public static final String TEST_EXECUTION_LOGGING = SDCCC + "TestExecutionLogging";
     public static final String SUMMARIZE_MESSAGE_ENCODING_ERRORS = SDCCC + "SummarizeMessageEncodingErrors";
     public static final String ENABLE_MESSAGE_ENCODING_CHECK = SDCCC + "EnableMessageEncodingCheck";
+    public static final String PARALLEL_SEQUENCE_EVALUATION = SDCCC + "ParallelSequenceEvaluation";
+    public static final String ONLINE_INVARIANT_EVALUATION = SDCCC + "OnlineInvariantEvaluation";
+    // in seconds, time granted to the device to report the state change caused by a successful manipulation
+    public static final String MANIPULATION_STATE_CHANGE_TIMEOUT = SDCCC + "ManipulationStateChangeTimeout";
 
     /*
      * TLS configuration
@@ -62,6 +66,9 @@ public final class TestSuiteConfig {
      */
     private static final String GRPC = "gRPC.";
     public static final String GRPC_SERVER_ADDRESS = SDCCC + GRPC + "ServerAddress";
+    // in seconds, a call exceeding it is handled like an unavailable server
+    public static final String GRPC_DEADLINE = SDCCC + GRPC + "Deadline";
+    public static final String GRPC_MAX_CONCURRENT_CALLS = SDCCC + GRPC + "MaxConcurrentCalls";
 
     /*
      * Commlog configuration
@@ -69,6 +76,20 @@ public final class TestSuiteConfig {
     private static final String COMMLOG = "Commlog.";
     // note, that the actual size will be (this * (thread count + 1))
     public static final String COMMLOG_MESSAGE_BUFFER_SIZE = SDCCC + COMMLOG + "BufferSize";
+    // capture message bodies in pooled direct buffers instead of on the heap
+    public static final String COMMLOG_OFF_HEAP_CAPTURE = SDCCC + COMMLOG + "OffHeapCapture";
+    // where message bodies are persisted, either "Database" or "Log" for an append-only log next to the database
+    public static final String COMMLOG_BODY_STORAGE = SDCCC + COMMLOG + "BodyStorage";
+    // compress message bodies using deflate with a dictionary of common SDC strings before storing them
+    public static final String COMMLOG_BODY_COMPRESSION = SDCCC + COMMLOG + "BodyCompression";
+    // number of rows fetched at once when streaming messages from the database
+    public static final String COMMLOG_FETCH_SIZE = SDCCC + COMMLOG + "FetchSize";
+    // how captured messages are handed to the database, either "Staged" or "RingBuffer"
+    public static final String COMMLOG_INGESTION_MODE = SDCCC + COMMLOG + "IngestionMode";
+    // number of preallocated slots in "RingBuffer" mode, rounded up to the next power of two
+    public static final String COMMLOG_RING_BUFFER_SIZE = SDCCC + COMMLOG + "RingBufferSize";
+    // how the "RingBuffer" consumers wait for messages, "Blocking", "Sleeping", "Yielding" or "BusySpin"
+    public static final String COMMLOG_RING_BUFFER_WAIT_STRATEGY = SDCCC + COMMLOG + "RingBufferWaitStrategy";
 
     /*
      * Internal settings which should not be overwritten by a user
@@ -76,6 +97,8 @@ public final class TestSuiteConfig {
     private static final String INTERNAL = "Internal.";
 
     public static final String SDC_TEST_DIRECTORIES = SDCCC + INTERNAL + "SdcTestDirectories";
+    // test run directory of a previous run whose captured messages are evaluated again, empty to capture new messages
+    public static final String CAPTURE_DIRECTORY = SDCCC + INTERNAL + "CaptureDirectory";
 
     private TestSuiteConfig() {}
 }
@@ -30,6 +30,9 @@ import com.draeger.medical.t2iapi.metric.MetricRequests;
 import com.draeger.medical.t2iapi.metric.MetricServiceGrpc;
 import com.draeger.medical.t2iapi.metric.MetricTypes;
 import com.draeger.medical.t2iapi.operation.OperationServiceGrpc;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -38,10 +41,17 @@ import com.google.protobuf.StringValue;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.Channel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.AbstractStub;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.xml.namespace.QName;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -57,6 +67,11 @@ import org.somda.sdc.biceps.model.participant.MetricCategory;
 
 /**
  * Device manipulations calling on a gRPC backend.
+ *
+ * <p>
+ * Every call is bound by the {@linkplain TestSuiteConfig#GRPC_DEADLINE}, a call exceeding it is handled like an
+ * unavailable server. Independent manipulations of several metrics are dispatched at once using future stubs, with at
+ * most {@linkplain TestSuiteConfig#GRPC_MAX_CONCURRENT_CALLS} calls in flight.
  */
 @Singleton
 public class GRpcManipulations implements Manipulations {
@@ -90,6 +105,9 @@ public class GRpcManipulations implements Manipulations {
     private final DeviceServiceGrpc.DeviceServiceBlockingStub deviceStub;
     private final MetricServiceGrpc.MetricServiceBlockingStub metricStub;
     private final OperationServiceGrpc.OperationServiceBlockingStub operationStub;
+    private final MetricServiceGrpc.MetricServiceFutureStub metricFutureStub;
+    private final long deadline;
+    private final Semaphore callPermits;
     private final Manipulations fallback;
     private final ManipulationInfoFactory manipulationInfoFactory;
     private final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
@@ -99,6 +117,8 @@ public class GRpcManipulations implements Manipulations {
      * Creates an instance of gRPC-based manipulations.
      *
      * @param serverAddress           to connect to
+     * @param deadline                for each call in seconds
+     * @param maxConcurrentCalls      number of calls dispatched at once at most
      * @param fallbackManipulations   fallback manipulations should the server fail
      * @param manipulationInfoFactory factory to create manipulation info
      * @param manipulationSerializer  serializer instance to serialize the manipulation response
@@ -106,12 +126,16 @@ public class GRpcManipulations implements Manipulations {
     @Inject
     public GRpcManipulations(
             @Named(TestSuiteConfig.GRPC_SERVER_ADDRESS) final String serverAddress,
+            @Named(TestSuiteConfig.GRPC_DEADLINE) final long deadline,
+            @Named(TestSuiteConfig.GRPC_MAX_CONCURRENT_CALLS) final int maxConcurrentCalls,
             final FallbackManipulations fallbackManipulations,
             final ManipulationInfoFactory manipulationInfoFactory,
             final ManipulationSerializer manipulationSerializer) {
         this.fallback = fallbackManipulations;
         this.manipulationInfoFactory = manipulationInfoFactory;
         this.manipulationSerializer = manipulationSerializer;
+        this.deadline = TimeUnit.MILLISECONDS.convert(deadline, TimeUnit.SECONDS);
+        this.callPermits = new Semaphore(Math.max(1, maxConcurrentCalls));
         final Channel channel = ManagedChannelBuilder.forTarget(serverAddress)
                 // Channels are secure by default (via SSL/TLS), which we don't really need
                 .usePlaintext()
@@ -124,6 +148,7 @@ public class GRpcManipulations implements Manipulations {
         deviceStub = DeviceServiceGrpc.newBlockingStub(channel);
         metricStub = MetricServiceGrpc.newBlockingStub(channel);
         operationStub = OperationServiceGrpc.newBlockingStub(channel);
+        metricFutureStub = MetricServiceGrpc.newFutureStub(channel);
     }
 
     @Override
@@ -135,7 +160,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> contextStub.setLocationDetail(message),
+                v -> withDeadline(contextStub).setLocationDetail(message),
                 v -> fallback.setLocationDetail(locationDetail),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -155,7 +180,7 @@ public class GRpcManipulations implements Manipulations {
                         .setDescriptorClass(toApiDescriptorClass(descriptorClass))
                         .build();
         return performCallWrapper(
-                v -> deviceStub.getRemovableDescriptorsOfClass(request),
+                v -> withDeadline(deviceStub).getRemovableDescriptorsOfClass(request),
                 v -> fallback.getRemovableDescriptorsOfClass(descriptorClass),
                 res -> res.getStatus().getResult(),
                 gres -> ManipulationResponse.from(gres.getStatus().getResult(), gres.getHandleList()),
@@ -167,7 +192,7 @@ public class GRpcManipulations implements Manipulations {
         final var request =
                 BasicRequests.BasicHandleRequest.newBuilder().setHandle(handle).build();
         return performCallWrapper(
-                v -> deviceStub.removeDescriptor(request),
+                v -> withDeadline(deviceStub).removeDescriptor(request),
                 v -> fallback.removeDescriptor(handle),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -179,7 +204,7 @@ public class GRpcManipulations implements Manipulations {
         final var request =
                 BasicRequests.BasicHandleRequest.newBuilder().setHandle(handle).build();
         return performCallWrapper(
-                v -> deviceStub.insertDescriptor(request),
+                v -> withDeadline(deviceStub).insertDescriptor(request),
                 v -> fallback.insertDescriptor(handle),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -189,7 +214,7 @@ public class GRpcManipulations implements Manipulations {
     @Override
     public ResultResponse sendHello() {
         return performCallWrapper(
-                v -> deviceStub.sendHello(Empty.getDefaultInstance()),
+                v -> withDeadline(deviceStub).sendHello(Empty.getDefaultInstance()),
                 v -> fallback.sendHello(),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -205,7 +230,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> contextStub.createContextStateWithAssociation(request),
+                v -> withDeadline(contextStub).createContextStateWithAssociation(request),
                 v -> fallback.createContextStateWithAssociation(descriptorHandle, association),
                 response -> response.getStatus().getResult(),
                 msg -> {
@@ -226,7 +251,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> activationStateStub.setAlertActivation(message),
+                v -> withDeadline(activationStateStub).setAlertActivation(message),
                 v -> fallback.setAlertActivation(handle, activationState),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -241,7 +266,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> alertStub.setAlertConditionPresence(message),
+                v -> withDeadline(alertStub).setAlertConditionPresence(message),
                 v -> fallback.setAlertConditionPresence(handle, presence),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -258,7 +283,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> activationStateStub.setSystemSignalActivation(message),
+                v -> withDeadline(activationStateStub).setSystemSignalActivation(message),
                 v -> fallback.setSystemSignalActivation(handle, manifestation, activation),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -274,7 +299,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> activationStateStub.setComponentActivation(message),
+                v -> withDeadline(activationStateStub).setComponentActivation(message),
                 v -> fallback.setComponentActivation(handle, activationState),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -295,7 +320,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> metricStub.setMetricStatus(message),
+                v -> withDeadline(metricStub).setMetricStatus(message),
                 v -> fallback.setMetricStatus(sequenceId, handle, category, activation),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -303,6 +328,45 @@ public class GRpcManipulations implements Manipulations {
                         sequenceId, handle, category, activation));
     }
 
+    @Override
+    public List<ResultResponse> setMetricStatus(
+            final String sequenceId,
+            final List<String> handles,
+            final MetricCategory category,
+            final ComponentActivation activation) {
+        final var metricStatus = getMetricStatus(activation);
+        if (metricStatus.isEmpty()) {
+            return handles.stream()
+                    .map(handle -> ResultResponse.from(ResponseTypes.Result.RESULT_FAIL))
+                    .toList();
+        }
+
+        // dispatch all calls before waiting for the first response, the server handles them concurrently
+        final var calls = new ArrayList<PendingCall<BasicResponses.BasicResponse>>(handles.size());
+        for (final var handle : handles) {
+            final var message = MetricRequests.SetMetricStatusRequest.newBuilder()
+                    .setHandle(handle)
+                    .setStatus(metricStatus.orElseThrow())
+                    .build();
+            calls.add(dispatchCall(() -> withDeadline(metricFutureStub).setMetricStatus(message)));
+        }
+
+        // responses are processed in order on the calling thread, fallbacks may require user interaction
+        final var results = new ArrayList<ResultResponse>(handles.size());
+        for (int i = 0; i < handles.size(); i++) {
+            final var handle = handles.get(i);
+            results.add(completeCall(
+                    calls.get(i),
+                    v -> fallback.setMetricStatus(sequenceId, handle, category, activation),
+                    BasicResponses.BasicResponse::getResult,
+                    ResultResponse::from,
+                    ManipulationParameterUtil.buildMetricStatusManipulationParameterData(
+                            sequenceId, handle, category, activation),
+                    Constants.MANIPULATION_NAME_SET_METRIC_STATUS));
+        }
+        return results;
+    }
+
     @Override
     public ResultResponse triggerDescriptorUpdate(final String handle) {
         return triggerDescriptorUpdate(List.of(handle));
@@ -315,7 +379,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> deviceStub.triggerDescriptorUpdate(message),
+                v -> withDeadline(deviceStub).triggerDescriptorUpdate(message),
                 v -> fallback.triggerDescriptorUpdate(handles),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -325,7 +389,7 @@ public class GRpcManipulations implements Manipulations {
     @Override
     public ResultResponse triggerAnyDescriptorUpdate() {
         return performCallWrapper(
-                v -> deviceStub.triggerAnyDescriptorUpdate(Empty.getDefaultInstance()),
+                v -> withDeadline(deviceStub).triggerAnyDescriptorUpdate(Empty.getDefaultInstance()),
                 v -> fallback.triggerAnyDescriptorUpdate(),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -341,7 +405,7 @@ public class GRpcManipulations implements Manipulations {
                 .build();
 
         return performCallWrapper(
-                v -> deviceStub.triggerReport(message),
+                v -> withDeadline(deviceStub).triggerReport(message),
                 v -> fallback.triggerReport(report),
                 BasicResponses.BasicResponse::getResult,
                 ResultResponse::from,
@@ -384,15 +448,24 @@ public class GRpcManipulations implements Manipulations {
         final var endTime = System.nanoTime();
         final var methodName = walker.walk(
                 s -> s.map(StackWalker.StackFrame::getMethodName).skip(1).findFirst());
+        storeManipulation(startTime, endTime, result, methodName.orElseThrow(), parameter);
+        return result;
+    }
+
+    private <RES extends Response> void storeManipulation(
+            final long startTime,
+            final long endTime,
+            final RES result,
+            final String methodName,
+            final ManipulationParameterUtil.ManipulationParameterData parameter) {
         final var manipulation = manipulationInfoFactory.create(
                 startTime,
                 endTime,
                 result.getResult(),
                 manipulationSerializer.serialize(result),
-                methodName.orElseThrow(),
+                methodName,
                 parameter);
         manipulation.addToStorage();
-        return result;
     }
 
     private <GRES, RES> RES performCall(
@@ -404,26 +477,112 @@ public class GRpcManipulations implements Manipulations {
         try {
             response = func.apply(null);
             LOG.debug("API Response was {}", response);
-        } catch (final io.grpc.StatusRuntimeException e) {
+        } catch (final StatusRuntimeException e) {
             LOG.debug("grpc call was unavailable", e);
             LOG.warn("Automated manipulation not available");
             return fallbackFunc.apply(null);
         }
 
-        final var extractedStatus = statusExtractor.apply(response);
+        if (requiresFallback(statusExtractor.apply(response))) {
+            return fallbackFunc.apply(null);
+        }
+        return responseExtractor.apply(response);
+    }
+
+    /**
+     * Dispatches a gRPC call without waiting for its response, blocks while the maximum number of calls is in flight.
+     *
+     * @param call    dispatching the call using a future stub
+     * @param <GRES>  gRPC response type
+     * @return the dispatched call
+     */
+    private <GRES> PendingCall<GRES> dispatchCall(final Supplier<ListenableFuture<GRES>> call) {
+        callPermits.acquireUninterruptibly();
+        final var pendingCall = new PendingCall<GRES>(System.nanoTime());
+        final ListenableFuture<GRES> future;
+        try {
+            future = call.get();
+        } catch (final StatusRuntimeException e) {
+            callPermits.release();
+            pendingCall.future = Futures.immediateFailedFuture(e);
+            return pendingCall;
+        }
+        future.addListener(callPermits::release, MoreExecutors.directExecutor());
+        // the end of the call is recorded before the response is handed out
+        pendingCall.future = Futures.transform(
+                future,
+                response -> {
+                    pendingCall.endTime = System.nanoTime();
+                    return response;
+                },
+                MoreExecutors.directExecutor());
+        return pendingCall;
+    }
+
+    /**
+     * Waits for the response of a dispatched gRPC call. Adds manipulation information to the database.
+     *
+     * @param call              dispatched call to wait for
+     * @param fallbackFunc      to call in case of gRPC failures
+     * @param statusExtractor   to extract status from gRPC call
+     * @param responseExtractor to extract response value from gRPC call
+     * @param parameter         for the manipulation, can be empty
+     * @param methodName        of the manipulation
+     * @param <GRES>            gRPC response type
+     * @param <RES>             response type
+     * @return response
+     */
+    private <GRES, RES extends Response> RES completeCall(
+            final PendingCall<GRES> call,
+            final Function<Void, RES> fallbackFunc,
+            final Function<GRES, ResponseTypes.Result> statusExtractor,
+            final Function<GRES, RES> responseExtractor,
+            final ManipulationParameterUtil.ManipulationParameterData parameter,
+            final String methodName) {
+        GRES response = null;
+        try {
+            response = call.future.get();
+            LOG.debug("API Response was {}", response);
+        } catch (final ExecutionException e) {
+            LOG.debug("grpc call was unavailable", e.getCause());
+            LOG.warn("Automated manipulation not available");
+        } catch (final InterruptedException e) {
+            LOG.warn("Interrupted while waiting for the automated manipulation");
+            Thread.currentThread().interrupt();
+        }
+
+        final RES result;
+        final long endTime;
+        if (response != null && !requiresFallback(statusExtractor.apply(response))) {
+            result = responseExtractor.apply(response);
+            endTime = call.endTime;
+        } else {
+            result = fallbackFunc.apply(null);
+            // a fallback ends once it has been performed, not when the call failed
+            endTime = System.nanoTime();
+        }
+        storeManipulation(call.startTime, endTime, result, methodName, parameter);
+        return result;
+    }
+
+    private static boolean requiresFallback(final ResponseTypes.Result extractedStatus) {
         return switch (extractedStatus) {
             case RESULT_NOT_IMPLEMENTED -> {
                 LOG.warn("Server has not implemented method");
-                yield fallbackFunc.apply(null);
+                yield true;
             }
-            case RESULT_SUCCESS, RESULT_NOT_SUPPORTED, RESULT_FAIL -> responseExtractor.apply(response);
+            case RESULT_SUCCESS, RESULT_NOT_SUPPORTED, RESULT_FAIL -> false;
             default -> {
                 LOG.warn("Server has not sent a valid result, going to fallback");
-                yield fallbackFunc.apply(null);
+                yield true;
             }
         };
     }
 
+    private <S extends AbstractStub<S>> S withDeadline(final S stub) {
+        return stub.withDeadlineAfter(deadline, TimeUnit.MILLISECONDS);
+    }
+
     public ActivationStateServiceGrpc.ActivationStateServiceBlockingStub getActivationStateStub() {
         return activationStateStub;
     }
@@ -530,4 +689,14 @@ public class GRpcManipulations implements Manipulations {
     private static StringValue buildStringValue(final String value) {
         return StringValue.newBuilder().setValue(value).build();
     }
+
+    private static final class PendingCall<GRES> {
+        private final long startTime;
+        private long endTime;
+        private ListenableFuture<GRES> future;
+
+        private PendingCall(final long startTime) {
+            this.startTime = startTime;
+        }
+    }
 }
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023-2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -130,6 +130,30 @@ public interface Manipulations {
     ResultResponse setMetricStatus(
             String sequenceId, String handle, MetricCategory category, ComponentActivation activation);
 
+    /**
+     * Set several metrics to a specific state to trigger the setting of the ActivationState.
+     *
+     * <p>
+     * The manipulations are independent of each other, implementations may therefore perform them concurrently.
+     * By default, they are performed one after another using {@linkplain #setMetricStatus(String, String,
+     * MetricCategory, ComponentActivation)}.
+     *
+     * @param sequenceId during which the manipulations were performed
+     * @param handles state handles to set the status of the metrics for
+     * @param category of the metrics to set the status for
+     * @param activation the activation state the metrics should have, after manipulation
+     * @return the results of the manipulations, in the order of the handles
+     */
+    default List<ResultResponse> setMetricStatus(
+            final String sequenceId,
+            final List<String> handles,
+            final MetricCategory category,
+            final ComponentActivation activation) {
+        return handles.stream()
+                .map(handle -> setMetricStatus(sequenceId, handle, category, activation))
+                .toList();
+    }
+
     /**
      * Trigger a descriptor update for the provided descriptor handle.
      *
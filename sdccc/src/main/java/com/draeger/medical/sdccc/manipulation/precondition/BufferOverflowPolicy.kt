@@ -0,0 +1,37 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.manipulation.precondition
+
+/**
+ * Handling of an incoming change by a [BufferedObservingPrecondition] whose buffer is full.
+ */
+enum class BufferOverflowPolicy {
+
+    /**
+     * The change is buffered regardless, the buffer may exceed its capacity.
+     */
+    KEEP,
+
+    /**
+     * The change is discarded.
+     */
+    DROP,
+
+    /**
+     * Only every n-th change of the kind arriving at a full buffer is buffered, the others are discarded.
+     */
+    SAMPLE,
+
+    /**
+     * The change is merged into the last buffered change if it is of the same kind, newer states replacing older
+     * states with the same handle. The change is discarded if the last buffered change is of a different kind.
+     *
+     * Description changes cannot be merged and are always kept.
+     */
+    COALESCE,
+}
@@ -11,22 +11,42 @@ import com.draeger.medical.sdccc.sdcri.testclient.MdibChange
 import com.draeger.medical.sdccc.util.TestRunObserver
 import com.google.inject.Injector
 import org.apache.logging.log4j.kotlin.Logging
+import org.somda.sdc.biceps.model.participant.AbstractMultiState
+import org.somda.sdc.biceps.model.participant.AbstractState
 import java.util.Objects
-import java.util.concurrent.LinkedBlockingQueue
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
 import kotlin.concurrent.thread
+import kotlin.concurrent.withLock
 
 /**
  * Buffered precondition which can only observe changes.
+ *
+ * Changes are buffered to decouple the processing from the mdib thread doing the change. The buffer holds up to
+ * [capacity] changes, changes arriving at a full buffer are handled according to the [BufferOverflowPolicy] for their
+ * kind. By default, waveform changes are coalesced and all other changes are kept, as preconditions must not miss
+ * the metric changes they are waiting for.
+ *
+ * @param injector          the injector of the test run.
+ * @param capacity          the number of changes which are buffered before applying the overflow policies.
+ * @param overflowPolicies  the overflow policy per kind of change, kinds without a policy are kept.
+ * @param samplingInterval  every n-th change arriving at a full buffer is kept for kinds using
+ *                          [BufferOverflowPolicy.SAMPLE].
  */
-abstract class BufferedObservingPrecondition(
-    injector: Injector
+abstract class BufferedObservingPrecondition @JvmOverloads constructor(
+    injector: Injector,
+    private val capacity: Int = DEFAULT_CAPACITY,
+    private val overflowPolicies: Map<Class<out MdibChange>, BufferOverflowPolicy> = DEFAULT_OVERFLOW_POLICIES,
+    private val samplingInterval: Int = DEFAULT_SAMPLING_INTERVAL,
 ) : Observing {
 
-    // queue is used to decouple the incoming data from the mdib thread doing the change
-    // this is going to be a problem when the manipulation is very long-running,
-    // as the queue will fill up (quite quickly with waveforms)
-    private val updateQueue = LinkedBlockingQueue<MdibChange>()
+    private val bufferLock = ReentrantLock()
+    private val changeBuffered = bufferLock.newCondition()
+    private val updateBuffer = ArrayDeque<MdibChange>()
+    private val overflowCounts = mutableMapOf<Class<out MdibChange>, Long>()
+    private val droppedCount = AtomicLong()
+    private val coalescedCount = AtomicLong()
 
     private val processDied = AtomicBoolean(false)
     private val testRunObserver = injector.getInstance(TestRunObserver::class.java)
@@ -37,20 +57,32 @@ abstract class BufferedObservingPrecondition(
      */
     val processingThread: Thread
 
+    /**
+     * The number of changes currently buffered.
+     */
+    val queueDepth: Int
+        get() = bufferLock.withLock { updateBuffer.size }
+
+    /**
+     * The number of changes discarded because the buffer was full.
+     */
+    val droppedChanges: Long
+        get() = droppedCount.get()
+
+    /**
+     * The number of changes merged into a buffered change because the buffer was full.
+     */
+    val coalescedChanges: Long
+        get() = coalescedCount.get()
+
     init {
+        require(capacity > 0) { "capacity must be positive, was $capacity" }
+        require(samplingInterval > 0) { "samplingInterval must be positive, was $samplingInterval" }
         processingThread = thread(start = true, isDaemon = true) {
             while (true) {
-                if (updateQueue.size > QUEUE_WARNING_THRESHOLD) {
-                    // In case the queue size is above the threshold, log a message
-                    // that can be used to debug issues
-                    logger.debug {
-                        "${this.javaClass.simpleName} queue size above threshold" +
-                            " $QUEUE_WARNING_THRESHOLD: ${updateQueue.size}"
-                    }
-                }
                 @Suppress("TooGenericExceptionCaught") // we want to catch all exceptions here
                 try {
-                    processChange(updateQueue.take())
+                    processChange(takeChange())
                 } catch (e: Exception) {
                     handleThreadError(e)
                     return@thread
@@ -72,11 +104,57 @@ abstract class BufferedObservingPrecondition(
         if (!processingThread.isAlive) {
             if (!processDied.getAndSet(true)) {
                 // release the remaining elements, no processing will happen
-                updateQueue.clear()
+                bufferLock.withLock { updateBuffer.clear() }
             }
             return
         }
-        updateQueue.add(incomingChange)
+        bufferLock.withLock {
+            if (updateBuffer.size < capacity || bufferOverflow(incomingChange)) {
+                updateBuffer.addLast(incomingChange)
+                changeBuffered.signal()
+            }
+        }
+    }
+
+    // applies the overflow policy, returns whether the change has to be buffered
+    private fun bufferOverflow(change: MdibChange): Boolean {
+        val kind = kindOf(change)
+        val overflowCount = (overflowCounts[kind] ?: 0L) + 1
+        overflowCounts[kind] = overflowCount
+        if (overflowCount == 1L) {
+            logger.info {
+                "${this.javaClass.simpleName} buffer reached its capacity of $capacity," +
+                    " applying the overflow policy to ${kind.simpleName} changes"
+            }
+        }
+
+        val policy = overflowPolicies[kind] ?: BufferOverflowPolicy.KEEP
+        if (policy == BufferOverflowPolicy.COALESCE && change !is MdibChange.Description) {
+            val merged = coalesce(updateBuffer.last(), change)
+            if (merged != null) {
+                updateBuffer[updateBuffer.lastIndex] = merged
+                coalescedCount.incrementAndGet()
+                return false
+            }
+        }
+        val keep = when (policy) {
+            BufferOverflowPolicy.KEEP -> true
+            BufferOverflowPolicy.DROP -> false
+            BufferOverflowPolicy.SAMPLE -> overflowCount % samplingInterval == 0L
+            // descriptions cannot be merged, other changes could not be merged into the last change
+            BufferOverflowPolicy.COALESCE -> change is MdibChange.Description
+        }
+        if (!keep) {
+            droppedCount.incrementAndGet()
+        }
+        return keep
+    }
+
+    private fun takeChange(): MdibChange = bufferLock.withLock {
+        while (updateBuffer.isEmpty()) {
+            changeBuffered.await()
+        }
+        updateBuffer.removeFirst()
     }
 
     /**
@@ -108,8 +186,63 @@ abstract class BufferedObservingPrecondition(
     companion object : Logging {
 
         /**
-         * Threshold for the queue size to log a message.
+         * Default number of changes which are buffered before applying the overflow policies.
+         */
+        const val DEFAULT_CAPACITY = 1000
+
+        /**
+         * Default interval of changes arriving at a full buffer which are kept for kinds using
+         * [BufferOverflowPolicy.SAMPLE].
+         */
+        const val DEFAULT_SAMPLING_INTERVAL = 10
+
+        /**
+         * Default overflow policies, waveform changes are coalesced and all other changes are kept.
          */
-        private const val QUEUE_WARNING_THRESHOLD = 200
+        @JvmField
+        val DEFAULT_OVERFLOW_POLICIES: Map<Class<out MdibChange>, BufferOverflowPolicy> = mapOf(
+            MdibChange.Description::class.java to BufferOverflowPolicy.KEEP,
+            MdibChange.Metric::class.java to BufferOverflowPolicy.KEEP,
+            MdibChange.Waveform::class.java to BufferOverflowPolicy.COALESCE,
+        )
+
+        private fun kindOf(change: MdibChange): Class<out MdibChange> = when (change) {
+            is MdibChange.Description -> MdibChange.Description::class.java
+            is MdibChange.Alert -> MdibChange.Alert::class.java
+            is MdibChange.Component -> MdibChange.Component::class.java
+            is MdibChange.Context -> MdibChange.Context::class.java
+            is MdibChange.Metric -> MdibChange.Metric::class.java
+            is MdibChange.Operation -> MdibChange.Operation::class.java
+            is MdibChange.Waveform -> MdibChange.Waveform::class.java
+        }
+
+        // merges two changes of the same kind into a change of the newer mdib version, null if not possible
+        private fun coalesce(older: MdibChange, newer: MdibChange): MdibChange? = when {
+            older is MdibChange.Alert && newer is MdibChange.Alert ->
+                MdibChange.Alert(newer.mdibVersion, mergeStates(older.states, newer.states))
+            older is MdibChange.Component && newer is MdibChange.Component ->
+                MdibChange.Component(newer.mdibVersion, mergeStates(older.states, newer.states))
+            older is MdibChange.Context && newer is MdibChange.Context ->
+                MdibChange.Context(newer.mdibVersion, mergeStates(older.states, newer.states))
+            older is MdibChange.Metric && newer is MdibChange.Metric ->
+                MdibChange.Metric(newer.mdibVersion, mergeStates(older.states, newer.states))
+            older is MdibChange.Operation && newer is MdibChange.Operation ->
+                MdibChange.Operation(newer.mdibVersion, mergeStates(older.states, newer.states))
+            older is MdibChange.Waveform && newer is MdibChange.Waveform ->
+                MdibChange.Waveform(newer.mdibVersion, mergeStates(older.states, newer.states))
+            else -> null
+        }
+
+        private fun <S : AbstractState> mergeStates(
+            older: Map<String, List<S>>,
+            newer: Map<String, List<S>>
+        ): Map<String, List<S>> = (older.keys + newer.keys).associateWith { mds ->
+            val newerStates = newer[mds].orEmpty()
+            val replacedHandles = newerStates.map(::stateHandle).toSet()
+            older[mds].orEmpty().filterNot { stateHandle(it) in replacedHandles } + newerStates
+        }
+
+        private fun stateHandle(state: AbstractState): String =
+            if (state is AbstractMultiState) state.handle else state.descriptorHandle
     }
 }
@@ -96,14 +96,17 @@ class PreconditionRegistry @Inject internal constructor(private val injector: In
      * Runs all registered preconditions.
      *
      * @throws PreconditionException See [Precondition.verifyPrecondition]
+     * @throws java.util.concurrent.CompletionException if the message storage is closed while waiting for its data
      */
     @Throws(PreconditionException::class)
     fun runPreconditions() {
+        val messageStorage = injector.getInstance(MessageStorage::class.java)
         for (precondition in preconditions) {
             logger.info { "Running precondition ${precondition.javaClass.simpleName}" }
             precondition.verifyPrecondition(injector)
-            // flush data after each precondition to ensure that each precondition has most current data
-            injector.getInstance(MessageStorage::class.java).flush()
+            // wait for the data captured so far to ensure that each precondition has most current data,
+            // messages received meanwhile are still ingested
+            messageStorage.awaitIngestion(messageStorage.ingestionWatermark).join()
         }
     }
 
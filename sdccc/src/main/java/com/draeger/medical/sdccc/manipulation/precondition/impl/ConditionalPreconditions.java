@@ -191,7 +191,8 @@ public class ConditionalPreconditions {
     private static boolean triggerReportPreconditionCheck(
             final Injector injector, final Logger log, final QName... reportType) throws PreconditionException {
         final var messageStorage = injector.getInstance(MessageStorage.class);
-        try (final var messages = messageStorage.getInboundMessagesByBodyType(reportType)) {
+        // only the existence of reports is relevant, their bodies are not loaded
+        try (final var messages = messageStorage.getInboundMessageMetadataByBodyType(reportType)) {
             // determine if there were any reports with the specified type
             final var areReportsPresent = messages.areObjectsPresent();
             log.info("Reports of types {} are present: {}", reportType, areReportsPresent);
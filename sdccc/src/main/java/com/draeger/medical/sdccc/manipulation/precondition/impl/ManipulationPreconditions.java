@@ -8,8 +8,10 @@
 package com.draeger.medical.sdccc.manipulation.precondition.impl;
 
 import com.draeger.medical.sdccc.configuration.TestParameterConfig;
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
 import com.draeger.medical.sdccc.manipulation.Manipulations;
 import com.draeger.medical.sdccc.manipulation.precondition.ManipulationPrecondition;
+import com.draeger.medical.sdccc.sdcri.testclient.MdibConditionAwaiter;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
 import com.draeger.medical.sdccc.util.TestRunObserver;
@@ -18,6 +20,7 @@ import com.google.common.eventbus.Subscribe;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -28,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
@@ -45,6 +49,7 @@ import org.somda.sdc.biceps.model.participant.AbstractDeviceComponentState;
 import org.somda.sdc.biceps.model.participant.AbstractMetricDescriptor;
 import org.somda.sdc.biceps.model.participant.AbstractMetricState;
 import org.somda.sdc.biceps.model.participant.AbstractMultiState;
+import org.somda.sdc.biceps.model.participant.AbstractState;
 import org.somda.sdc.biceps.model.participant.AlertActivation;
 import org.somda.sdc.biceps.model.participant.AlertConditionDescriptor;
 import org.somda.sdc.biceps.model.participant.AlertConditionState;
@@ -68,6 +73,42 @@ import org.somda.sdc.glue.consumer.SdcRemoteDevice;
  */
 public class ManipulationPreconditions {
 
+    /**
+     * Retrieves the time granted to the device to report the state change caused by a successful manipulation.
+     *
+     * @param injector to retrieve the configuration from
+     * @return the configured state change timeout
+     */
+    static Duration getStateChangeTimeout(final Injector injector) {
+        return Duration.ofSeconds(injector.getInstance(
+                Key.get(long.class, Names.named(TestSuiteConfig.MANIPULATION_STATE_CHANGE_TIMEOUT))));
+    }
+
+    /**
+     * Waits until the state with the given handle matches the predicate, at most for the state change timeout.
+     *
+     * @param testClient         whose mdib is observed
+     * @param stateChangeTimeout maximum time to wait for the state to match
+     * @param handle             of the state to wait for
+     * @param stateClass         expected type of the state
+     * @param predicate          the state has to match
+     * @param <T>                expected type of the state
+     * @return true if the state matched the predicate in time, false otherwise
+     */
+    private static <T extends AbstractState> boolean awaitState(
+            final TestClient testClient,
+            final Duration stateChangeTimeout,
+            final String handle,
+            final Class<T> stateClass,
+            final Predicate<T> predicate) {
+        try {
+            return MdibConditionAwaiter.awaitState(testClient, handle, stateClass, stateChangeTimeout, predicate);
+        } catch (final InterruptedException e) {
+            // InterruptedException is not expected
+            throw new RuntimeException("Unexpected InterruptedException", e);
+        }
+    }
+
     private static boolean manipulateMetricStatus(
             final Injector injector,
             final Logger log,
@@ -79,43 +120,49 @@ public class ManipulationPreconditions {
         final var timeBuffer = TimeUnit.MILLISECONDS.convert(timeBufferInSeconds, TimeUnit.SECONDS);
         final var manipulations = injector.getInstance(Manipulations.class);
         final var testClient = injector.getInstance(TestClient.class);
-        final var manipulationResults = new HashSet<ResponseTypes.Result>();
-        final var metricEntities =
-                testClient.getSdcRemoteDevice().getMdibAccess().findEntitiesByType(AbstractMetricDescriptor.class);
-        for (var entity : metricEntities) {
+        final var mdibAccess = testClient.getSdcRemoteDevice().getMdibAccess();
+        final var handles = new ArrayList<String>();
+        for (var entity : mdibAccess.findEntitiesByType(AbstractMetricDescriptor.class)) {
             final var metricDescriptor = entity.getDescriptor(AbstractMetricDescriptor.class);
             final var category = metricDescriptor.orElseThrow().getMetricCategory();
             if (category.equals(metricCategory)) {
                 final var metricState =
                         entity.getStates(AbstractMetricState.class).get(0);
-                final var handle = metricState.getDescriptorHandle();
-                final var sequenceId = testClient
-                        .getSdcRemoteDevice()
-                        .getMdibAccess()
-                        .getMdibVersion()
-                        .getSequenceId();
-                final var manipulationResult = manipulations
-                        .setMetricStatus(sequenceId, handle, category, activationState)
-                        .getResult();
-                log.debug(
-                        "Manipulation setMetricStatus was {} for metric state with handle {}",
-                        manipulationResult,
-                        handle);
-                if (manipulationResult == ResponseTypes.Result.RESULT_FAIL
-                        || manipulationResult == ResponseTypes.Result.RESULT_NOT_IMPLEMENTED) {
-                    log.error("Setting the metric status for metric with handle {} failed", handle);
-                    return false;
-                }
-                manipulationResults.add(manipulationResult);
-                try {
-                    Thread.sleep(timeBuffer);
-                } catch (InterruptedException e) {
-                    log.error("Failed to wait the time frame of {} after setMetricStatus manipulation", timeBuffer);
-                    return false;
-                }
+                handles.add(metricState.getDescriptorHandle());
+            }
+        }
+        if (handles.isEmpty()) {
+            return false;
+        }
+
+        // the metrics are independent of each other, all of them are manipulated at once
+        final var sequenceId = mdibAccess.getMdibVersion().getSequenceId();
+        final var manipulationResults =
+                manipulations.setMetricStatus(sequenceId, handles, metricCategory, activationState);
+
+        // the test cases evaluate each metric the time frame after its manipulation has finished, which must not
+        // overlap with subsequent manipulations of the metric, a single wait covers the time frames of all metrics
+        try {
+            Thread.sleep(timeBuffer);
+        } catch (InterruptedException e) {
+            log.error("Failed to wait the time frame of {} after setMetricStatus manipulation", timeBuffer);
+            return false;
+        }
+
+        for (int i = 0; i < handles.size(); i++) {
+            final var manipulationResult = manipulationResults.get(i).getResult();
+            log.debug(
+                    "Manipulation setMetricStatus was {} for metric state with handle {}",
+                    manipulationResult,
+                    handles.get(i));
+            if (manipulationResult == ResponseTypes.Result.RESULT_FAIL
+                    || manipulationResult == ResponseTypes.Result.RESULT_NOT_IMPLEMENTED) {
+                log.error("Setting the metric status for metric with handle {} failed", handles.get(i));
+                return false;
             }
         }
-        return manipulationResults.contains(ResponseTypes.Result.RESULT_SUCCESS);
+        return manipulationResults.stream()
+                .anyMatch(result -> result.getResult() == ResponseTypes.Result.RESULT_SUCCESS);
     }
 
     private static boolean removeAndReinsertDescriptors(final Injector injector, final Logger log) {
@@ -681,6 +728,7 @@ public class ManipulationPreconditions {
             final var testClient = injector.getInstance(TestClient.class);
             final var manipulations = injector.getInstance(Manipulations.class);
             final var testRunObserver = injector.getInstance(TestRunObserver.class);
+            final var stateChangeTimeout = getStateChangeTimeout(injector);
 
             final MdibAccess mdibAccess;
             final SdcRemoteDevice remoteDevice;
@@ -699,20 +747,23 @@ public class ManipulationPreconditions {
             for (MdibEntity alertSystemEntity : alertSystemEntities) {
                 // change activation state to On
                 manipulationResults.add(changeAlertActivationState(
-                        testClient.getSdcRemoteDevice(),
+                        testClient,
+                        stateChangeTimeout,
                         manipulations,
                         alertSystemEntity.getHandle(),
                         AlertActivation.ON));
                 // change activation state to Psd
                 manipulationResults.add(changeAlertActivationState(
-                        testClient.getSdcRemoteDevice(),
+                        testClient,
+                        stateChangeTimeout,
                         manipulations,
                         alertSystemEntity.getHandle(),
                         AlertActivation.PSD));
 
                 // change activation state to Off
                 manipulationResults.add(changeAlertActivationState(
-                        testClient.getSdcRemoteDevice(),
+                        testClient,
+                        stateChangeTimeout,
                         manipulations,
                         alertSystemEntity.getHandle(),
                         AlertActivation.OFF));
@@ -730,14 +781,17 @@ public class ManipulationPreconditions {
         /**
          * Change the activationState state for a given alert system.
          *
-         * @param device          the alert system state will appear in, used for validation
-         * @param manipulations   to call for setting the activationState state of the alert system state
-         * @param handle          of the alert system state to set the activationState state
-         * @param activationState the activationState state to set
+         * @param testClient         connected to the device the alert system state will appear in, used for
+         *                           validation
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param manipulations      to call for setting the activationState state of the alert system state
+         * @param handle             of the alert system state to set the activationState state
+         * @param activationState    the activationState state to set
          * @return the result of the manipulation
          */
         static ResponseTypes.Result changeAlertActivationState(
-                final SdcRemoteDevice device,
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
                 final Manipulations manipulations,
                 final String handle,
                 final AlertActivation activationState) {
@@ -747,7 +801,7 @@ public class ManipulationPreconditions {
             switch (manipulationResult) {
                 case RESULT_SUCCESS -> {
                     LOG.debug("Setting the activation state {} for handle {} was successful", activationState, handle);
-                    if (!verifyStatePresentAndAlertSet(device, handle, activationState)) {
+                    if (!verifyStatePresentAndAlertSet(testClient, stateChangeTimeout, handle, activationState)) {
                         LOG.debug(
                                 "Validation for state with handle {} failed, because the state is"
                                         + " either not present or the activation state is not {}",
@@ -768,26 +822,28 @@ public class ManipulationPreconditions {
         }
 
         /**
-         * Verifies that the AlertSystem with the given handle exists and the activation state is set as expected.
+         * Verifies that the AlertSystem with the given handle exists and the activation state is set as expected,
+         * waiting for the device to report the change if necessary.
          *
-         * @param device          to verify mdib for
-         * @param stateHandle     of state to verify
-         * @param activationState the expected activation state
+         * @param testClient         whose mdib is verified
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param stateHandle        of state to verify
+         * @param activationState    the expected activation state
          * @return true if valid, false otherwise
          */
         static boolean verifyStatePresentAndAlertSet(
-                final SdcRemoteDevice device, final String stateHandle, final AlertActivation activationState) {
-            final var alertSystemStateOpt = device.getMdibAccess().getState(stateHandle, AlertSystemState.class);
-
-            if (alertSystemStateOpt.isEmpty()) {
-                return false;
-            }
-            final var alertSystemState = alertSystemStateOpt.orElseThrow();
-            LOG.debug(
-                    "verifyStatePresentAndAlertSet: The AlertSystemState for the given handle found. {}",
-                    alertSystemState);
-
-            final boolean valid = activationState.equals(alertSystemState.getActivationState());
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
+                final String stateHandle,
+                final AlertActivation activationState) {
+            final Predicate<AlertSystemState> activationMatches = alertSystemState -> {
+                LOG.debug(
+                        "verifyStatePresentAndAlertSet: The AlertSystemState for the given handle found. {}",
+                        alertSystemState);
+                return activationState.equals(alertSystemState.getActivationState());
+            };
+            final boolean valid =
+                    awaitState(testClient, stateChangeTimeout, stateHandle, AlertSystemState.class, activationMatches);
             LOG.info("Validity for {} after activation state is set check: {}", stateHandle, valid);
             return valid;
         }
@@ -814,6 +870,7 @@ public class ManipulationPreconditions {
             LOG.info("Executing AlertConditionPresenceManipulation");
             final var testClient = injector.getInstance(TestClient.class);
             final var manipulations = injector.getInstance(Manipulations.class);
+            final var stateChangeTimeout = getStateChangeTimeout(injector);
 
             final MdibAccess mdibAccess;
             final SdcRemoteDevice remoteDevice;
@@ -837,11 +894,11 @@ public class ManipulationPreconditions {
                 // set the alert activation of the alert condition and the parent alert system to off, to see if they
                 // turn on, when presence of the alert condition is true
                 final var alertConditionStateResult = changeActivationState(
-                        testClient.getSdcRemoteDevice(), manipulations, handle, AlertActivation.OFF);
+                        testClient, stateChangeTimeout, manipulations, handle, AlertActivation.OFF);
                 final var alertSystemStateResult = changeActivationState(
-                        testClient.getSdcRemoteDevice(), manipulations, parentHandle, AlertActivation.OFF);
+                        testClient, stateChangeTimeout, manipulations, parentHandle, AlertActivation.OFF);
                 final var presenceTrueResult =
-                        changePresence(testClient.getSdcRemoteDevice(), manipulations, handle, true);
+                        changePresence(testClient, stateChangeTimeout, manipulations, handle, true);
                 // the setAlertActivation manipulations are not mandatory, but then the device must ensure that the
                 // activation states are ON when the presence is true.
                 if ((alertConditionStateResult == ResponseTypes.Result.RESULT_SUCCESS
@@ -860,14 +917,17 @@ public class ManipulationPreconditions {
         /**
          * Change the presence attribute for a given alert condition state.
          *
-         * @param device        the alert condition state will appear in, used for validation
-         * @param manipulations to call for setting the presence attribute of the alert condition state
-         * @param handle        of the alert condition state to set the presence attribute
-         * @param presence      the presence attribute to set
+         * @param testClient         connected to the device the alert condition state will appear in, used for
+         *                           validation
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param manipulations      to call for setting the presence attribute of the alert condition state
+         * @param handle             of the alert condition state to set the presence attribute
+         * @param presence           the presence attribute to set
          * @return the result of the manipulation
          */
         static ResponseTypes.Result changePresence(
-                final SdcRemoteDevice device,
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
                 final Manipulations manipulations,
                 final String handle,
                 final boolean presence) {
@@ -877,7 +937,7 @@ public class ManipulationPreconditions {
             switch (manipulationResult) {
                 case RESULT_SUCCESS -> {
                     LOG.debug("Setting the presence {} for handle {} was successful", presence, handle);
-                    if (!verifyStatePresentAndPresenceSet(device, handle, presence)) {
+                    if (!verifyStatePresentAndPresenceSet(testClient, stateChangeTimeout, handle, presence)) {
                         LOG.debug(
                                 "Validation for alert condition state with handle {} failed, because the state is"
                                         + " either not present or the presence is not {}",
@@ -900,14 +960,17 @@ public class ManipulationPreconditions {
         /**
          * Change the presence attribute for a given alert condition state.
          *
-         * @param device        the alert condition state will appear in, used for validation
-         * @param manipulations to call for setting the presence attribute of the alert condition state
-         * @param handle        of the alert condition state to set the presence attribute
-         * @param activation    the alert activation attribute to set
+         * @param testClient         connected to the device the alert condition state will appear in, used for
+         *                           validation
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param manipulations      to call for setting the presence attribute of the alert condition state
+         * @param handle             of the alert condition state to set the presence attribute
+         * @param activation         the alert activation attribute to set
          * @return the result of the manipulation
          */
         static ResponseTypes.Result changeActivationState(
-                final SdcRemoteDevice device,
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
                 final Manipulations manipulations,
                 final String handle,
                 final AlertActivation activation) {
@@ -917,7 +980,7 @@ public class ManipulationPreconditions {
             switch (manipulationResult) {
                 case RESULT_SUCCESS -> {
                     LOG.debug("Setting the activation state {} for handle {} was successful", activation, handle);
-                    if (!verifyStatePresentAndActivationState(device, handle, activation)) {
+                    if (!verifyStatePresentAndActivationState(testClient, stateChangeTimeout, handle, activation)) {
                         LOG.debug(
                                 "Validation for state with handle {} failed, because the state is either not present"
                                         + " or the activation state is not {}",
@@ -939,54 +1002,60 @@ public class ManipulationPreconditions {
 
         /**
          * Verifies that the alert condition state with the given handle exists and the presence
-         * attribute is set as expected.
+         * attribute is set as expected, waiting for the device to report the change if necessary.
          *
-         * @param device      to verify mdib for
-         * @param stateHandle of state to verify
-         * @param presence    the expected presence attribute value
+         * @param testClient         whose mdib is verified
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param stateHandle        of state to verify
+         * @param presence           the expected presence attribute value
          * @return true if valid, false otherwise
          */
         static boolean verifyStatePresentAndPresenceSet(
-                final SdcRemoteDevice device, final String stateHandle, final boolean presence) {
-            final var alertConditionStateOpt = device.getMdibAccess().getState(stateHandle, AlertConditionState.class);
-
-            if (alertConditionStateOpt.isEmpty()) {
-                return false;
-            }
-            final var alertConditionState = alertConditionStateOpt.orElseThrow();
-            LOG.debug(
-                    "verifyStatePresentAndPresenceSet: The alert condition state for the given handle found. {}",
-                    alertConditionState);
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
+                final String stateHandle,
+                final boolean presence) {
+            final Predicate<AlertConditionState> presenceMatches = alertConditionState -> {
+                LOG.debug(
+                        "verifyStatePresentAndPresenceSet: The alert condition state for the given handle found. {}",
+                        alertConditionState);
 
-            final var valid = ImpliedValueUtil.isPresence(alertConditionState);
-            LOG.info("The presence for {} should be {} and is {}", stateHandle, presence, valid);
-            return valid == presence;
+                final var valid = ImpliedValueUtil.isPresence(alertConditionState);
+                LOG.info("The presence for {} should be {} and is {}", stateHandle, presence, valid);
+                return valid == presence;
+            };
+            return awaitState(testClient, stateChangeTimeout, stateHandle, AlertConditionState.class, presenceMatches);
         }
 
         /**
-         * Verifies that the alert state with the given handle exists and the alert activation is set as expected.
+         * Verifies that the alert state with the given handle exists and the alert activation is set as expected,
+         * waiting for the device to report the change if necessary.
          *
-         * @param device      to verify mdib for
-         * @param stateHandle of state to verify
-         * @param activation  the expected alert activation attribute value
+         * @param testClient         whose mdib is verified
+         * @param stateChangeTimeout time granted to the device to report the changed state
+         * @param stateHandle        of state to verify
+         * @param activation         the expected alert activation attribute value
          * @return true if valid, false otherwise
          */
         static boolean verifyStatePresentAndActivationState(
-                final SdcRemoteDevice device, final String stateHandle, final AlertActivation activation) {
-            final var abstractAlertStateOptional =
-                    device.getMdibAccess().getState(stateHandle, AbstractAlertState.class);
-
-            if (abstractAlertStateOptional.isEmpty()) {
-                return false;
-            }
-            final var abstractAlertState = abstractAlertStateOptional.orElseThrow();
-            LOG.debug(
-                    "verifyStatePresentAndActivationState: The alert state for the given handle found. {}",
-                    abstractAlertState);
-
-            final var actualActivation = abstractAlertState.getActivationState();
-            LOG.info("The activation state for {} should be {} and is {}", stateHandle, activation, actualActivation);
-            return activation.equals(actualActivation);
+                final TestClient testClient,
+                final Duration stateChangeTimeout,
+                final String stateHandle,
+                final AlertActivation activation) {
+            final Predicate<AbstractAlertState> activationMatches = abstractAlertState -> {
+                LOG.debug(
+                        "verifyStatePresentAndActivationState: The alert state for the given handle found. {}",
+                        abstractAlertState);
+
+                final var actualActivation = abstractAlertState.getActivationState();
+                LOG.info(
+                        "The activation state for {} should be {} and is {}",
+                        stateHandle,
+                        activation,
+                        actualActivation);
+                return activation.equals(actualActivation);
+            };
+            return awaitState(testClient, stateChangeTimeout, stateHandle, AbstractAlertState.class, activationMatches);
         }
     }
 
@@ -0,0 +1,101 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Monotonically increasing number of entries of an {@linkplain IngestionPipeline} which have been committed.
+ *
+ * <p>
+ * Entries are numbered on submission starting with 1, a watermark of n means that all entries numbered n or less
+ * have been committed. Futures returned by {@linkplain #await(long)} are completed by the thread advancing the
+ * watermark, dependent actions which are not trivial should therefore be attached using the asynchronous variants.
+ */
+final class CommitWatermark {
+    private final PriorityQueue<Waiter> waiters;
+    private long committed;
+    private boolean closed;
+
+    CommitWatermark() {
+        this.waiters = new PriorityQueue<>(Comparator.comparingLong(Waiter::watermark));
+        this.committed = 0;
+        this.closed = false;
+    }
+
+    /**
+     * @return the number up to which all entries have been committed
+     */
+    synchronized long get() {
+        return committed;
+    }
+
+    /**
+     * Creates a future which completes once all entries up to the given number have been committed.
+     *
+     * @param watermark number of the last entry to wait for
+     * @return a completed future if the entries have already been committed, otherwise a future which is completed
+     * once they are, or completed exceptionally once the pipeline is closed before
+     */
+    synchronized CompletableFuture<Void> await(final long watermark) {
+        if (watermark <= committed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(closedException(watermark));
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        waiters.add(new Waiter(watermark, future));
+        return future;
+    }
+
+    /**
+     * Advances the watermark and completes all futures waiting for it, the watermark never decreases.
+     *
+     * @param watermark number up to which all entries have been committed
+     */
+    void advance(final long watermark) {
+        final List<CompletableFuture<Void>> reached = new ArrayList<>();
+        synchronized (this) {
+            if (watermark <= committed) {
+                return;
+            }
+            committed = watermark;
+            while (!waiters.isEmpty() && waiters.peek().watermark() <= committed) {
+                reached.add(waiters.poll().future());
+            }
+        }
+        // complete outside the lock, dependent actions run in this thread
+        reached.forEach(future -> future.complete(null));
+    }
+
+    /**
+     * Fails all futures still waiting, as their entries will never be committed.
+     */
+    void close() {
+        final List<Waiter> remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        remaining.forEach(waiter -> waiter.future().completeExceptionally(closedException(waiter.watermark())));
+    }
+
+    private IllegalStateException closedException(final long watermark) {
+        return new IllegalStateException(String.format(
+                "Ingestion was stopped before entry %s has been committed, only entries up to %s were committed",
+                watermark, get()));
+    }
+
+    private record Waiter(long watermark, CompletableFuture<Void> future) {}
+}
@@ -0,0 +1,49 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.util.BodyCompression;
+import java.io.IOException;
+
+/**
+ * Body storage compressing the bodies before handing them to another body storage.
+ *
+ * <p>
+ * Bodies are compressed using the {@linkplain BodyCompression}, the message content records the format and
+ * decompresses the body on access, loading a body therefore does not involve this storage.
+ */
+public class CompressingMessageBodyStorage implements MessageBodyStorage {
+
+    private final MessageBodyStorage delegate;
+
+    /**
+     * Creates a body storage compressing bodies before storing them.
+     *
+     * @param delegate storing the compressed bodies
+     */
+    public CompressingMessageBodyStorage(final MessageBodyStorage delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void store(final MessageContent messageContent) throws IOException {
+        messageContent.compressBody();
+        delegate.store(messageContent);
+    }
+
+    @Override
+    public byte[] load(final MessageContent messageContent) throws IOException {
+        return delegate.load(messageContent);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
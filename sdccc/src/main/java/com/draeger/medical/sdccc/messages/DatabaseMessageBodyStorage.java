@@ -0,0 +1,35 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.google.inject.Singleton;
+import java.io.IOException;
+
+/**
+ * Body storage keeping the bodies inside the database, next to the remaining message information.
+ */
+@Singleton
+public class DatabaseMessageBodyStorage implements MessageBodyStorage {
+
+    @Override
+    public void store(final MessageContent messageContent) {
+        // the body is persisted along with the message content
+    }
+
+    @Override
+    public byte[] load(final MessageContent messageContent) throws IOException {
+        throw new IOException("Bodies are stored inside the database, message " + messageContent.getUuid()
+                + " does not reference an external body");
+    }
+
+    @Override
+    public void close() {
+        // nothing to close, the database is closed by the MessageStorage
+    }
+}
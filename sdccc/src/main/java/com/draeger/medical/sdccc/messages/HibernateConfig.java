@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -25,6 +25,18 @@ public interface HibernateConfig extends AutoCloseable {
      */
     int getInsertBatchSize();
 
+    /**
+     * @return number of rows to fetch from the database at once when streaming entities
+     */
+    int getFetchSize();
+
+    /**
+     * @return true if an existing database is opened whose content must not be modified, false otherwise
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
     @Override
     void close() throws HibernateException;
 }
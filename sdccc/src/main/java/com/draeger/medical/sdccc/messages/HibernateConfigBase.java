@@ -10,8 +10,10 @@ package com.draeger.medical.sdccc.messages;
 import com.draeger.medical.sdccc.messages.mapping.HTTPHeaderEntity;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationData;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationParameter;
+import com.draeger.medical.sdccc.messages.mapping.MdibCheckpoint;
 import com.draeger.medical.sdccc.messages.mapping.MdibVersionGroupEntity;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.mapping.ReportIndexEntity;
 import com.google.inject.Singleton;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -32,10 +34,14 @@ public class HibernateConfigBase implements HibernateConfig {
     private static final String FALSE_SETTING_VALUE = "false";
     private static final String TRUE_SETTING_VALUE = "true";
 
+    static final int DEFAULT_FETCH_SIZE = 10;
+
     private static final int INSERT_BATCH_SIZE = 20;
     private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 10;
 
     private final String baseUrl;
+    private final int fetchSize;
+    private final boolean readOnly;
 
     /**
      * Creates a hibernate configuration storing the database at the specified location.
@@ -43,7 +49,36 @@ public class HibernateConfigBase implements HibernateConfig {
      * @param derbyUrl location to store the database at
      */
     public HibernateConfigBase(final String derbyUrl) {
+        this(derbyUrl, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Creates a hibernate configuration storing the database at the specified location.
+     *
+     * @param derbyUrl  location to store the database at
+     * @param fetchSize number of rows to fetch at once when streaming entities
+     */
+    public HibernateConfigBase(final String derbyUrl, final int fetchSize) {
+        this(derbyUrl, fetchSize, false);
+    }
+
+    /**
+     * Creates a hibernate configuration for the database at the specified location.
+     *
+     * <p>
+     * A read only configuration opens an existing database as is, neither creating the database nor its schema.
+     *
+     * @param derbyUrl  location of the database
+     * @param fetchSize number of rows to fetch at once when streaming entities
+     * @param readOnly  whether an existing database is opened whose content must not be modified
+     */
+    public HibernateConfigBase(final String derbyUrl, final int fetchSize, final boolean readOnly) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("The fetch size must be positive, but was " + fetchSize);
+        }
         this.baseUrl = "jdbc:derby:" + derbyUrl;
+        this.fetchSize = fetchSize;
+        this.readOnly = readOnly;
         Configurator.setLevel("org.hibernate", Level.ERROR);
     }
 
@@ -52,16 +87,32 @@ public class HibernateConfigBase implements HibernateConfig {
         return INSERT_BATCH_SIZE;
     }
 
+    @Override
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return this.readOnly;
+    }
+
     @Override
     public Configuration getConfiguration() {
         final var config = new Configuration();
 
         config.setProperty(Environment.POOL_SIZE, String.valueOf(POOL_SIZE));
-        config.setProperty(Environment.DIALECT, "org.hibernate.dialect.DerbyTenFiveDialect");
+        config.setProperty(Environment.DIALECT, "org.hibernate.dialect.DerbyTenSevenDialect");
         config.setProperty(Environment.SHOW_SQL, FALSE_SETTING_VALUE);
-        config.setProperty(Environment.HBM2DDL_AUTO, "create");
         config.setProperty(Environment.USE_NEW_ID_GENERATOR_MAPPINGS, FALSE_SETTING_VALUE);
-        config.setProperty(Environment.URL, this.baseUrl + ";create=True");
+        if (this.readOnly) {
+            // keep the captured data, fail if there is no database at the location
+            config.setProperty(Environment.HBM2DDL_AUTO, "none");
+            config.setProperty(Environment.URL, this.baseUrl);
+        } else {
+            config.setProperty(Environment.HBM2DDL_AUTO, "create");
+            config.setProperty(Environment.URL, this.baseUrl + ";create=True");
+        }
 
         config.setProperty(Environment.STATEMENT_BATCH_SIZE, String.valueOf(this.getInsertBatchSize()));
         config.setProperty(Environment.ORDER_UPDATES, TRUE_SETTING_VALUE);
@@ -74,6 +125,8 @@ public class HibernateConfigBase implements HibernateConfig {
         config.addAnnotatedClass(MessageContent.class);
         config.addAnnotatedClass(ManipulationParameter.class);
         config.addAnnotatedClass(ManipulationData.class);
+        config.addAnnotatedClass(MdibCheckpoint.class);
+        config.addAnnotatedClass(ReportIndexEntity.class);
         return config;
     }
 
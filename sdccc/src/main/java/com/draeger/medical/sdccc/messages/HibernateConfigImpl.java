@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -8,6 +8,7 @@
 package com.draeger.medical.sdccc.messages;
 
 import com.draeger.medical.sdccc.configuration.TestRunConfig;
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -19,8 +20,33 @@ import java.nio.file.Path;
  */
 @Singleton
 public class HibernateConfigImpl extends HibernateConfigBase {
+    public static final String DATABASE_DIRECTORY_NAME = "Database";
+
+    HibernateConfigImpl(final File dir) {
+        this(dir, DEFAULT_FETCH_SIZE);
+    }
+
+    HibernateConfigImpl(final File dir, final int fetchSize) {
+        this(dir, fetchSize, false);
+    }
+
+    HibernateConfigImpl(final File dir, final int fetchSize, final boolean readOnly) {
+        super(Path.of(dir.getAbsolutePath(), DATABASE_DIRECTORY_NAME).toString(), fetchSize, readOnly);
+    }
+
+    /**
+     * Creates a configuration for the database in the test run directory or, if a capture directory is configured,
+     * for the existing database of the previous test run in the capture directory, which is opened read only.
+     *
+     * @param dir              directory of the test run
+     * @param fetchSize        number of rows to fetch at once when streaming entities
+     * @param captureDirectory directory of a previous test run whose database is opened, empty to create a database
+     */
     @Inject
-    HibernateConfigImpl(@Named(TestRunConfig.TEST_RUN_DIR) final File dir) {
-        super(Path.of(dir.getAbsolutePath(), "Database").toString());
+    HibernateConfigImpl(
+            @Named(TestRunConfig.TEST_RUN_DIR) final File dir,
+            @Named(TestSuiteConfig.COMMLOG_FETCH_SIZE) final int fetchSize,
+            @Named(TestSuiteConfig.CAPTURE_DIRECTORY) final String captureDirectory) {
+        this(captureDirectory.isEmpty() ? dir : new File(captureDirectory), fetchSize, !captureDirectory.isEmpty());
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Moves captured entries from the threads capturing them into the database.
+ *
+ * <p>
+ * Entries are numbered on submission starting with 1, the watermarks of the pipeline refer to these numbers.
+ */
+interface IngestionPipeline {
+
+    /**
+     * Submits an entry, blocks while the pipeline is at capacity.
+     *
+     * @param entry to persist
+     * @throws InterruptedException if interrupted while waiting for capacity
+     */
+    void submit(DatabaseEntry entry) throws InterruptedException;
+
+    /**
+     * @return the number of the last entry submitted so far
+     */
+    long getSubmittedWatermark();
+
+    /**
+     * @return the number up to which all entries have been committed
+     */
+    long getCommittedWatermark();
+
+    /**
+     * Creates a future which completes once all entries up to the given number have been committed.
+     *
+     * <p>
+     * Waiting does not affect the ingestion of entries in any way.
+     *
+     * @param watermark number of the last entry to wait for
+     * @return future completing once the entries have been committed, exceptionally if the pipeline is closed before
+     */
+    CompletableFuture<Void> awaitCommitted(long watermark);
+
+    /**
+     * Waits until all entries submitted before this call have been committed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    default void flush() throws InterruptedException {
+        try {
+            awaitCommitted(getSubmittedWatermark()).get();
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops all threads of the pipeline, entries which have not been flushed before are discarded.
+     */
+    void close();
+
+    /**
+     * @return the statistics of the capture, parse and persist stage, in this order
+     */
+    List<IngestionStatistics> getStatistics();
+}
@@ -0,0 +1,115 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Creates the {@linkplain IngestionPipeline} selected in the configuration.
+ */
+public class IngestionPipelineFactory {
+    public static final String STAGED = "Staged";
+    public static final String RING_BUFFER = "RingBuffer";
+
+    public static final String BLOCKING_WAIT = "Blocking";
+    public static final String SLEEPING_WAIT = "Sleeping";
+    public static final String YIELDING_WAIT = "Yielding";
+    public static final String BUSY_SPIN_WAIT = "BusySpin";
+
+    public static final int DEFAULT_RING_BUFFER_SIZE = 16384;
+
+    private final String ingestionMode;
+    private final int ringBufferSize;
+    private final String waitStrategy;
+
+    @Inject
+    IngestionPipelineFactory(
+            @Named(TestSuiteConfig.COMMLOG_INGESTION_MODE) final String ingestionMode,
+            @Named(TestSuiteConfig.COMMLOG_RING_BUFFER_SIZE) final int ringBufferSize,
+            @Named(TestSuiteConfig.COMMLOG_RING_BUFFER_WAIT_STRATEGY) final String waitStrategy) {
+        if (!STAGED.equals(ingestionMode) && !RING_BUFFER.equals(ingestionMode)) {
+            throw new IllegalArgumentException(String.format(
+                    "Unknown ingestion mode %s configured for %s, expected %s or %s",
+                    ingestionMode, TestSuiteConfig.COMMLOG_INGESTION_MODE, STAGED, RING_BUFFER));
+        }
+        if (ringBufferSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "%s must be positive, but was %s", TestSuiteConfig.COMMLOG_RING_BUFFER_SIZE, ringBufferSize));
+        }
+        this.ingestionMode = ingestionMode;
+        this.ringBufferSize = ringBufferSize;
+        this.waitStrategy = waitStrategy;
+        // fail on startup rather than once the storage is created
+        createWaitStrategy();
+    }
+
+    IngestionPipelineFactory() {
+        this(STAGED, DEFAULT_RING_BUFFER_SIZE, BLOCKING_WAIT);
+    }
+
+    /**
+     * Creates a pipeline for the configured ingestion mode and starts its threads.
+     *
+     * @param capacity        entries the staged pipeline holds at most, maximum number of entities committed at once
+     * @param parseThreads    number of threads converting entries
+     * @param persistThreads  number of threads committing entities
+     * @param converter       converts an entry into the entity to persist, null if nothing is to be persisted
+     * @param persister       commits a batch of entities, must handle any persistence errors itself
+     * @param testRunObserver to invalidate the test run with if an entry could not be ingested
+     * @return the started pipeline
+     */
+    IngestionPipeline create(
+            final int capacity,
+            final int parseThreads,
+            final int persistThreads,
+            final Function<DatabaseEntry, Object> converter,
+            final Consumer<List<Object>> persister,
+            final TestRunObserver testRunObserver) {
+        if (RING_BUFFER.equals(ingestionMode)) {
+            return new RingBufferIngestionPipeline(
+                    ringBufferSize,
+                    capacity,
+                    parseThreads,
+                    persistThreads,
+                    createWaitStrategy(),
+                    converter,
+                    persister,
+                    testRunObserver);
+        }
+        return new StagedIngestionPipeline(
+                capacity, parseThreads, persistThreads, converter, persister, testRunObserver);
+    }
+
+    private WaitStrategy createWaitStrategy() {
+        return switch (waitStrategy) {
+            case BLOCKING_WAIT -> new BlockingWaitStrategy();
+            case SLEEPING_WAIT -> new SleepingWaitStrategy();
+            case YIELDING_WAIT -> new YieldingWaitStrategy();
+            case BUSY_SPIN_WAIT -> new BusySpinWaitStrategy();
+            default -> throw new IllegalArgumentException(String.format(
+                    "Unknown wait strategy %s configured for %s, expected %s, %s, %s or %s",
+                    waitStrategy,
+                    TestSuiteConfig.COMMLOG_RING_BUFFER_WAIT_STRATEGY,
+                    BLOCKING_WAIT,
+                    SLEEPING_WAIT,
+                    YIELDING_WAIT,
+                    BUSY_SPIN_WAIT));
+        };
+    }
+}
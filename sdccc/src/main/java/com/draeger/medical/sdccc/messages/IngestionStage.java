@@ -0,0 +1,74 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Collects the {@linkplain IngestionStatistics} of a single stage of an {@linkplain IngestionPipeline}.
+ */
+final class IngestionStage {
+    private final String name;
+    private final LongAdder processedEntries;
+    private final AtomicInteger queuedEntries;
+    private final AtomicInteger maximumQueuedEntries;
+    private final LongAdder waitingNanos;
+
+    IngestionStage(final String name) {
+        this.name = name;
+        this.processedEntries = new LongAdder();
+        this.queuedEntries = new AtomicInteger();
+        this.maximumQueuedEntries = new AtomicInteger();
+        this.waitingNanos = new LongAdder();
+    }
+
+    /**
+     * Records an entry starting to wait for the stage.
+     */
+    void enter() {
+        final int queued = queuedEntries.incrementAndGet();
+        maximumQueuedEntries.accumulateAndGet(queued, Math::max);
+    }
+
+    /**
+     * Records an entry having passed the stage.
+     *
+     * @param waited time the entry has been waiting for the stage in nanoseconds
+     */
+    void leave(final long waited) {
+        queuedEntries.decrementAndGet();
+        processedEntries.increment();
+        waitingNanos.add(waited);
+    }
+
+    IngestionStatistics getStatistics() {
+        return new IngestionStatistics(
+                name, processedEntries.sum(), queuedEntries.get(), maximumQueuedEntries.get(), waitingNanos.sum());
+    }
+
+    /**
+     * Logs the statistics of the given stages.
+     *
+     * @param log        to log to
+     * @param statistics of the stages
+     */
+    static void log(final Logger log, final List<IngestionStatistics> statistics) {
+        for (final IngestionStatistics stage : statistics) {
+            log.info(
+                    "Ingestion stage {} processed {} entries, at most {} entries were waiting, {} ms waited in total",
+                    stage.stage(),
+                    stage.processedEntries(),
+                    stage.maximumQueuedEntries(),
+                    TimeUnit.NANOSECONDS.toMillis(stage.waitingNanos()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+/**
+ * Snapshot of the load of a single stage of the ingestion of captured messages into the {@linkplain MessageStorage}.
+ *
+ * @param stage                name of the stage
+ * @param processedEntries     number of entries which have passed the stage
+ * @param queuedEntries        number of entries currently waiting for the stage
+ * @param maximumQueuedEntries largest number of entries that have been waiting for the stage at once
+ * @param waitingNanos         total time entries have been waiting for the stage, i.e. the backpressure it caused
+ */
+public record IngestionStatistics(
+        String stage, long processedEntries, int queuedEntries, int maximumQueuedEntries, long waitingNanos) {}
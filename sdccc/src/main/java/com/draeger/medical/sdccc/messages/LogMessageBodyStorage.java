@@ -0,0 +1,195 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.configuration.TestRunConfig;
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Body storage appending the bodies to segmented log files next to the database.
+ *
+ * <p>
+ * Bodies are only ever appended, a new segment is started once the current one would exceed
+ * {@value #SEGMENT_SIZE} bytes. The database only holds the segment, offset and length of each body, which keeps
+ * inserts small and allows reading a body with a single positional read.
+ */
+@Singleton
+public class LogMessageBodyStorage implements MessageBodyStorage {
+    static final long SEGMENT_SIZE = 256L * 1024 * 1024;
+
+    private static final Logger LOG = LogManager.getLogger(LogMessageBodyStorage.class);
+
+    private static final String DIRECTORY_NAME = "MessageBodies";
+    private static final String SEGMENT_FILE_FORMAT = "segment-%06d.log";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean readOnly;
+    private final Map<Integer, FileChannel> segments;
+
+    private FileChannel currentSegment;
+    private int currentSegmentIndex;
+    private long currentSegmentSize;
+    private boolean closed;
+
+    LogMessageBodyStorage(final File dir) {
+        this(Path.of(dir.getAbsolutePath(), DIRECTORY_NAME), SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a body storage in the test run directory or, if a capture directory is configured, a storage reading
+     * the bodies logged by the previous test run in the capture directory, which does not accept new bodies.
+     *
+     * @param dir              directory of the test run
+     * @param captureDirectory directory of a previous test run whose bodies are read, empty to log new bodies
+     */
+    @Inject
+    LogMessageBodyStorage(
+            @Named(TestRunConfig.TEST_RUN_DIR) final File dir,
+            @Named(TestSuiteConfig.CAPTURE_DIRECTORY) final String captureDirectory) {
+        this(
+                Path.of(captureDirectory.isEmpty() ? dir.getAbsolutePath() : captureDirectory, DIRECTORY_NAME),
+                SEGMENT_SIZE,
+                !captureDirectory.isEmpty());
+    }
+
+    LogMessageBodyStorage(final Path directory, final long segmentSize) {
+        this(directory, segmentSize, false);
+    }
+
+    LogMessageBodyStorage(final Path directory, final long segmentSize, final boolean readOnly) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.readOnly = readOnly;
+        this.segments = new ConcurrentHashMap<>();
+        this.currentSegmentIndex = -1;
+    }
+
+    @Override
+    public void store(final MessageContent messageContent) throws IOException {
+        // bodies captured off-heap are written without copying them onto the heap
+        final ByteBuffer body = messageContent.getStoredBodyBuffer();
+
+        final FileChannel segment;
+        final int segmentIndex;
+        final long offset;
+        // only reserve the space while holding the lock, positional writes to a channel are safe to run concurrently
+        synchronized (this) {
+            if (this.closed) {
+                throw new IOException("Body storage has already been closed");
+            }
+            if (this.readOnly) {
+                throw new IOException("Body storage only reads the bodies of a previous run");
+            }
+            if (this.currentSegment == null
+                    || this.currentSegmentSize > 0 && this.currentSegmentSize + body.remaining() > this.segmentSize) {
+                startSegment();
+            }
+            segment = this.currentSegment;
+            segmentIndex = this.currentSegmentIndex;
+            offset = this.currentSegmentSize;
+            this.currentSegmentSize += body.remaining();
+        }
+
+        final int start = body.position();
+        while (body.hasRemaining()) {
+            segment.write(body, offset + body.position() - start);
+        }
+        messageContent.setBodyLogLocation(segmentIndex, offset);
+    }
+
+    @Override
+    public byte[] load(final MessageContent messageContent) throws IOException {
+        final Integer segmentIndex = messageContent.getBodySegment();
+        final Long offset = messageContent.getBodyOffset();
+        final Integer length = messageContent.getBodyLength();
+        if (segmentIndex == null || offset == null || length == null) {
+            throw new IOException("Message " + messageContent.getUuid() + " does not reference a logged body");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        final FileChannel segment = getSegment(segmentIndex);
+        while (buffer.hasRemaining()) {
+            if (segment.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException(String.format(
+                        "Segment %s ended before the body of message %s", segmentIndex, messageContent.getUuid()));
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        for (final FileChannel segment : this.segments.values()) {
+            try {
+                segment.close();
+            } catch (final IOException e) {
+                LOG.error("Could not close body log segment", e);
+            }
+        }
+        this.segments.clear();
+        this.currentSegment = null;
+    }
+
+    private void startSegment() throws IOException {
+        Files.createDirectories(this.directory);
+        final int segmentIndex = this.currentSegmentIndex + 1;
+        final FileChannel segment = FileChannel.open(
+                segmentPath(segmentIndex),
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.segments.put(segmentIndex, segment);
+
+        LOG.debug("Started body log segment {}", segmentIndex);
+        this.currentSegment = segment;
+        this.currentSegmentIndex = segmentIndex;
+        this.currentSegmentSize = 0;
+    }
+
+    private FileChannel getSegment(final int segmentIndex) throws IOException {
+        final FileChannel segment = this.segments.get(segmentIndex);
+        if (segment != null) {
+            return segment;
+        }
+        // segments written by a previous run are only read
+        synchronized (this) {
+            if (this.closed) {
+                throw new IOException("Body storage has already been closed");
+            }
+            final FileChannel existing = this.segments.get(segmentIndex);
+            if (existing != null) {
+                return existing;
+            }
+            final FileChannel opened = FileChannel.open(segmentPath(segmentIndex), StandardOpenOption.READ);
+            this.segments.put(segmentIndex, opened);
+            return opened;
+        }
+    }
+
+    private Path segmentPath(final int segmentIndex) {
+        return this.directory.resolve(String.format(SEGMENT_FILE_FORMAT, segmentIndex));
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -13,8 +13,11 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.somda.sdc.dpws.CommunicationLog;
@@ -22,6 +25,11 @@ import org.somda.sdc.dpws.soap.CommunicationContext;
 
 /**
  * Message object used for storage purposes.
+ *
+ * <p>
+ * The body is either buffered on the heap, or, when off-heap capture is enabled in the {@linkplain MessageBufferPool},
+ * written into a pooled direct buffer which is handed to the {@linkplain MessageStorage} as is and returned to the
+ * pool once the message has been persisted.
  */
 public class Message extends OutputStream implements DatabaseEntry {
     public static final String MESSAGE_WRITE_CALLED_ON_CLOSED_MESSAGE = "Message write called on closed message";
@@ -38,18 +46,44 @@ public class Message extends OutputStream implements DatabaseEntry {
 
     private final CommunicationContext communicationContext;
 
+    @Nullable
+    private final MessageBufferPool bufferPool;
+
     private ByteArrayOutputStream memory;
 
+    private ByteBuffer directMemory;
+
     private byte[] finalMemory;
 
+    private ByteBuffer finalDirectMemory;
+
+    private boolean closed;
+
     private UUID id;
 
+    /**
+     * Creates a message which buffers its body on the heap.
+     *
+     * @param direction            the direction of the message, i.e. inbound or outbound
+     * @param messageType          type of the message, i.e. request, response
+     * @param communicationContext context containing transport and application information
+     * @param messageStorage       storage to add the message to once it is closed
+     */
+    Message(
+            final CommunicationLog.Direction direction,
+            final CommunicationLog.MessageType messageType,
+            final CommunicationContext communicationContext,
+            final MessageStorage messageStorage) {
+        this(direction, messageType, communicationContext, messageStorage, null);
+    }
+
     @Inject
     Message(
             @Assisted final CommunicationLog.Direction direction,
             @Assisted final CommunicationLog.MessageType messageType,
             @Assisted final CommunicationContext communicationContext,
-            final MessageStorage messageStorage) {
+            final MessageStorage messageStorage,
+            @Nullable final MessageBufferPool bufferPool) {
         this.messageStorage = messageStorage;
 
         this.direction = direction;
@@ -58,25 +92,52 @@ public class Message extends OutputStream implements DatabaseEntry {
 
         this.timestamp = Instant.now().toEpochMilli();
         this.nanoTimestamp = System.nanoTime();
-        this.memory = new ByteArrayOutputStream();
+        if (bufferPool != null && bufferPool.isEnabled()) {
+            this.bufferPool = bufferPool;
+            this.directMemory = bufferPool.acquire(0);
+        } else {
+            this.bufferPool = null;
+            this.memory = new ByteArrayOutputStream();
+        }
     }
 
     @Override
     public void write(final int b) throws IOException {
-        if (this.memory == null) {
-            LOG.warn(MESSAGE_WRITE_CALLED_ON_CLOSED_MESSAGE);
-            throw new IOException(MESSAGE_WRITE_CALLED_ON_CLOSED_MESSAGE);
+        checkNotClosed();
+
+        if (this.directMemory != null) {
+            ensureDirectCapacity(1);
+            this.directMemory.put((byte) b);
+        } else {
+            memory.write(b);
         }
+    }
 
-        memory.write(b);
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        checkNotClosed();
+
+        if (this.directMemory != null) {
+            ensureDirectCapacity(len);
+            this.directMemory.put(b, off, len);
+        } else {
+            memory.write(b, off, len);
+        }
     }
 
     @Override
     public void close() throws IOException {
-        if (this.memory != null) {
-            this.finalMemory = memory.toByteArray();
-            this.memory.close();
-            this.memory = null;
+        if (!this.closed) {
+            this.closed = true;
+            if (this.directMemory != null) {
+                this.finalDirectMemory = this.directMemory.flip();
+                this.directMemory = null;
+            } else {
+                this.finalMemory = memory.toByteArray();
+                this.memory.close();
+                this.memory = null;
+            }
 
             this.messageStorage.addMessage(this);
         } else {
@@ -84,11 +145,43 @@ public class Message extends OutputStream implements DatabaseEntry {
         }
     }
 
+    /**
+     * Returns the buffer holding the body to the pool, if the body has been captured off-heap.
+     *
+     * <p>
+     * Called by the {@linkplain MessageStorage} once the message has been persisted, the body must not be accessed
+     * afterwards.
+     */
+    void release() {
+        if (this.bufferPool != null && this.finalDirectMemory != null) {
+            this.bufferPool.release(this.finalDirectMemory);
+            this.finalDirectMemory = null;
+        }
+    }
+
     /**
      * @return is this {@linkplain OutputStream} closed
      */
     public boolean isClosed() {
-        return this.memory == null;
+        return this.closed;
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (this.closed) {
+            LOG.warn(MESSAGE_WRITE_CALLED_ON_CLOSED_MESSAGE);
+            throw new IOException(MESSAGE_WRITE_CALLED_ON_CLOSED_MESSAGE);
+        }
+    }
+
+    private void ensureDirectCapacity(final int additionalBytes) {
+        if (this.directMemory.remaining() >= additionalBytes) {
+            return;
+        }
+        final int requiredCapacity = Math.addExact(this.directMemory.position(), additionalBytes);
+        final var larger = this.bufferPool.acquire(Math.max(requiredCapacity, this.directMemory.capacity() * 2));
+        larger.put(this.directMemory.flip());
+        this.bufferPool.release(this.directMemory);
+        this.directMemory = larger;
     }
 
     @Override
@@ -100,13 +193,38 @@ public class Message extends OutputStream implements DatabaseEntry {
                 + '}';
     }
 
+    /**
+     * Retrieves the body of the closed message as a byte array.
+     *
+     * <p>
+     * If the body has been captured off-heap, this copies it onto the heap, use {@link #getBody()} to avoid the copy.
+     *
+     * @return the body of the message
+     */
     @SuppressFBWarnings(
             value = {"EI_EXPOSE_REP"},
             justification = "it doesn't matter, the field might as well be public.")
     public byte[] getFinalMemory() {
+        if (finalMemory == null && finalDirectMemory != null) {
+            final var copy = new byte[finalDirectMemory.remaining()];
+            finalDirectMemory.duplicate().get(copy);
+            return copy;
+        }
         return finalMemory;
     }
 
+    /**
+     * Retrieves the body of the closed message without copying it.
+     *
+     * @return a read-only buffer positioned at the start of the body, independent of other buffers returned
+     */
+    public ByteBuffer getBody() {
+        if (finalDirectMemory != null) {
+            return finalDirectMemory.asReadOnlyBuffer();
+        }
+        return ByteBuffer.wrap(finalMemory).asReadOnlyBuffer();
+    }
+
     public CommunicationLog.Direction getDirection() {
         return direction;
     }
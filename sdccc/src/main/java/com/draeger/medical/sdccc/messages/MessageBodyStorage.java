@@ -0,0 +1,45 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import java.io.IOException;
+
+/**
+ * Interface for backends storing the bodies of captured messages.
+ *
+ * <p>
+ * The {@linkplain MessageStorage} keeps all metadata used for querying messages in the database, the body is handed
+ * to the body storage before a {@linkplain MessageContent} is persisted and loaded from it on access.
+ */
+public interface MessageBodyStorage extends AutoCloseable {
+
+    /**
+     * Stores the body of a message content which is about to be persisted.
+     *
+     * <p>
+     * Implementations storing the body outside the database replace the body of the message content with a
+     * reference to the stored body.
+     *
+     * @param messageContent whose body to store
+     * @throws IOException if storing the body failed
+     */
+    void store(MessageContent messageContent) throws IOException;
+
+    /**
+     * Loads a body which has been stored outside the database.
+     *
+     * @param messageContent whose body has been replaced by a reference in {@link #store(MessageContent)}
+     * @return the body as received
+     * @throws IOException if loading the body failed
+     */
+    byte[] load(MessageContent messageContent) throws IOException;
+
+    @Override
+    void close();
+}
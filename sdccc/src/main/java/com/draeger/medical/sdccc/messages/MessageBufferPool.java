@@ -0,0 +1,108 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of direct {@linkplain ByteBuffer}s used by {@linkplain Message}s to capture their body off-heap.
+ *
+ * <p>
+ * Buffers are handed out in power of two sizes, starting at {@value #MINIMUM_BUFFER_SIZE} bytes. Released buffers of
+ * up to {@value #MAXIMUM_POOLED_BUFFER_SIZE} bytes are kept for reuse, larger buffers are left to the garbage
+ * collector.
+ */
+@Singleton
+public class MessageBufferPool {
+    static final int MINIMUM_BUFFER_SIZE = 16 * 1024;
+    static final int MAXIMUM_POOLED_BUFFER_SIZE = 4 * 1024 * 1024;
+    static final int MAXIMUM_POOLED_BUFFERS_PER_SIZE = 32;
+
+    private static final int MINIMUM_SIZE_EXPONENT = Integer.numberOfTrailingZeros(MINIMUM_BUFFER_SIZE);
+
+    private final boolean enabled;
+    // free buffers, indexed by the exponent of their size relative to the minimum size
+    private final List<ArrayDeque<ByteBuffer>> freeBuffers;
+
+    @Inject
+    MessageBufferPool(@Named(TestSuiteConfig.COMMLOG_OFF_HEAP_CAPTURE) final boolean enabled) {
+        this.enabled = enabled;
+        this.freeBuffers = new ArrayList<>();
+        for (int size = MINIMUM_BUFFER_SIZE; size <= MAXIMUM_POOLED_BUFFER_SIZE; size *= 2) {
+            this.freeBuffers.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * @return true if messages shall capture their body in buffers from this pool, false if they shall use the heap
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retrieves an empty direct buffer.
+     *
+     * @param minimumCapacity the buffer must be able to hold
+     * @return a cleared direct buffer with at least the requested capacity
+     */
+    public ByteBuffer acquire(final int minimumCapacity) {
+        final int size = bufferSize(minimumCapacity);
+        if (size <= MAXIMUM_POOLED_BUFFER_SIZE) {
+            final ByteBuffer pooled;
+            synchronized (freeBuffers) {
+                pooled = freeBuffers.get(sizeIndex(size)).poll();
+            }
+            if (pooled != null) {
+                return pooled.clear();
+            }
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * Returns a buffer retrieved from {@link #acquire(int)} to the pool.
+     *
+     * <p>
+     * The buffer, as well as any view created from it, must not be used after it has been released.
+     *
+     * @param buffer to return
+     */
+    public void release(final ByteBuffer buffer) {
+        final int size = buffer.capacity();
+        if (size < MINIMUM_BUFFER_SIZE || size > MAXIMUM_POOLED_BUFFER_SIZE || Integer.bitCount(size) != 1) {
+            return;
+        }
+        synchronized (freeBuffers) {
+            final var free = freeBuffers.get(sizeIndex(size));
+            if (free.size() < MAXIMUM_POOLED_BUFFERS_PER_SIZE) {
+                free.push(buffer);
+            }
+        }
+    }
+
+    private static int bufferSize(final int minimumCapacity) {
+        if (minimumCapacity <= MINIMUM_BUFFER_SIZE) {
+            return MINIMUM_BUFFER_SIZE;
+        }
+        final int size = Integer.highestOneBit(minimumCapacity - 1) << 1;
+        // capacities above 2^30 cannot be rounded up to a power of two
+        return size > 0 ? size : minimumCapacity;
+    }
+
+    private static int sizeIndex(final int size) {
+        return Integer.numberOfTrailingZeros(size) - MINIMUM_SIZE_EXPONENT;
+    }
+}
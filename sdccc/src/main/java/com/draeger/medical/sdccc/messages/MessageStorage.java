@@ -15,10 +15,18 @@ import com.draeger.medical.sdccc.messages.mapping.ManipulationData;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationData_;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationParameter;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationParameter_;
+import com.draeger.medical.sdccc.messages.mapping.MdibCheckpoint;
+import com.draeger.medical.sdccc.messages.mapping.MdibCheckpoint_;
 import com.draeger.medical.sdccc.messages.mapping.MdibVersionGroupEntity;
 import com.draeger.medical.sdccc.messages.mapping.MdibVersionGroupEntity_;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.mapping.MessageContentCollection;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent_;
+import com.draeger.medical.sdccc.messages.mapping.MessageMetadata;
+import com.draeger.medical.sdccc.messages.mapping.ReportIndexEntity;
+import com.draeger.medical.sdccc.messages.mapping.ReportIndexEntity_;
+import com.draeger.medical.sdccc.messages.util.ByteBufferInputStream;
+import com.draeger.medical.sdccc.messages.util.MessageUtil;
 import com.draeger.medical.sdccc.tests.util.ManipulationParameterUtil;
 import com.draeger.medical.sdccc.util.Constants;
 import com.draeger.medical.sdccc.util.TestRunObserver;
@@ -30,42 +38,56 @@ import com.google.inject.name.Named;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.persistence.Entity;
+import javax.persistence.PersistenceException;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.EntityType;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
@@ -77,6 +99,7 @@ import org.apache.commons.io.ByteOrderMark;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.HibernateException;
 import org.hibernate.ScrollMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -99,10 +122,16 @@ public class MessageStorage implements AutoCloseable {
 
     private static final Logger LOG = LogManager.getLogger(MessageStorage.class);
 
-    private static final int FETCH_SIZE = 10;
+    // rows of projections do not contain any bodies, more of them can be fetched at once
+    private static final int PROJECTION_FETCH_SIZE_FACTOR = 10;
 
     // Prefixes of XML declarations according to Appendix F.1 of the XML Standard
     private static final int XML_DECLARATION_PREFIX_LENGTH = 4;
+    // the XML declaration is located at the start of the body, which is sufficient to decode in any charset
+    private static final int XML_DECLARATION_SEARCH_LENGTH = 4096;
+    // UTF-32 byte order marks are the longest ones
+    private static final int MAXIMUM_BYTE_ORDER_MARK_LENGTH = 4;
+    private static final int DECODING_CHUNK_SIZE = 8192;
     private static final Map<byte[], Charset> XML_DECLARATION_PREFIXES = Map.of(
             new byte[] {0x00, 0x00, 0x00, 0x3C},
             Charset.forName("UTF-32BE"),
@@ -135,12 +164,18 @@ public class MessageStorage implements AutoCloseable {
             "getInboundSoapMessages called on closed storage";
     private static final String GET_INBOUND_MESSAGE_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE =
             "getInboundMessagesByBodyType called on closed storage";
+    private static final String GET_INBOUND_MESSAGE_METADATA_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE =
+            "getInboundMessageMetadataByBodyType called on closed storage";
     private static final String GET_INBOUND_MESSAGE_BY_TIME_INTERVAL_CALLED_ON_CLOSED_STORAGE =
             "getInboundMessagesByTimeInterval called on closed storage";
     private static final String GET_INBOUND_MESSAGE_BY_TIMESTAMP_CALLED_ON_CLOSED_STORAGE =
             "getInboundMessagesByTimestampAndBodyType called on closed storage";
     private static final String GET_MANIPULATION_DATA_BY_MANIPULATION =
             "getManipulationDataByManipulation called on closed storage";
+    private static final String STORE_MDIB_CHECKPOINT_CALLED_ON_CLOSED_STORAGE =
+            "storeMdibCheckpoint called on closed storage";
+    private static final String GET_MDIB_CHECKPOINTS_CALLED_ON_CLOSED_STORAGE =
+            "getMdibCheckpoints called on closed storage";
     private static final String FILTERING_FOR_GIVEN_ELEMENT_NAME_NOT_IMPLEMENTED =
             "Filtering for the given element name is not supported due to MdibVersionGroups "
                     + "not being parsed for elements with the name %s .";
@@ -168,22 +203,54 @@ public class MessageStorage implements AutoCloseable {
     private final SessionFactory sessionFactory;
 
     private final HibernateConfig configuration;
+    private final MessageBodyStorage bodyStorage;
 
-    private final ArrayBlockingQueue<DatabaseEntry> messageQueue;
-    private final List<DatabaseInteractionThread> databaseInteractionThreads;
-    private final ReentrantLock queueExitLock;
-    private final ReentrantLock closeLock;
-
-    private final int blockingQueueSize;
-
-    private final CyclicBarrier flushBarrier;
+    private final IngestionPipeline ingestionPipeline;
+    // adding messages only requires the read lock, producers do not block each other
+    private final ReentrantReadWriteLock closeLock;
 
     private final TestRunObserver testRunObserver;
     private final boolean summarizeMessageEncodingErrors;
     private final AtomicLong messageEncodingErrorCount;
-    private int invalidMimeTypeCount;
+    private final AtomicLong invalidMimeTypeCount;
     private final boolean enableEncodingCheck;
 
+    MessageStorage(
+            final int blockingQueueSize,
+            final boolean summarizeMessageEncodingErrors,
+            final boolean enableEncodingCheck,
+            final MessageFactory messageFactory,
+            final HibernateConfig configuration,
+            final TestRunObserver testRunObserver) {
+        this(
+                blockingQueueSize,
+                summarizeMessageEncodingErrors,
+                enableEncodingCheck,
+                messageFactory,
+                configuration,
+                new DatabaseMessageBodyStorage(),
+                testRunObserver);
+    }
+
+    MessageStorage(
+            final int blockingQueueSize,
+            final boolean summarizeMessageEncodingErrors,
+            final boolean enableEncodingCheck,
+            final MessageFactory messageFactory,
+            final HibernateConfig configuration,
+            final MessageBodyStorage bodyStorage,
+            final TestRunObserver testRunObserver) {
+        this(
+                blockingQueueSize,
+                summarizeMessageEncodingErrors,
+                enableEncodingCheck,
+                messageFactory,
+                configuration,
+                bodyStorage,
+                new IngestionPipelineFactory(),
+                testRunObserver);
+    }
+
     @Inject
     MessageStorage(
             @Named(TestSuiteConfig.COMMLOG_MESSAGE_BUFFER_SIZE) final int blockingQueueSize,
@@ -191,24 +258,25 @@ public class MessageStorage implements AutoCloseable {
             @Named(TestSuiteConfig.ENABLE_MESSAGE_ENCODING_CHECK) final boolean enableEncodingCheck,
             final MessageFactory messageFactory,
             final HibernateConfig configuration,
+            final MessageBodyStorage bodyStorage,
+            final IngestionPipelineFactory ingestionPipelineFactory,
             final TestRunObserver testRunObserver) {
         this.messageFactory = messageFactory;
+        this.bodyStorage = bodyStorage;
         this.testRunObserver = testRunObserver;
         this.closed = new AtomicBoolean();
-        this.blockingQueueSize = blockingQueueSize;
         this.summarizeMessageEncodingErrors = summarizeMessageEncodingErrors;
         this.enableEncodingCheck = enableEncodingCheck;
         this.messageEncodingErrorCount = new AtomicLong(0);
-        this.invalidMimeTypeCount = 0;
+        this.invalidMimeTypeCount = new AtomicLong(0);
 
         this.actionExtractor = new XPathExtractor(String.format("//%s:Action", WsAddressingConstants.NAMESPACE_PREFIX));
 
         this.configuration = configuration;
         this.sessionFactory = this.configuration.getConfiguration().buildSessionFactory();
 
-        this.messageQueue = new ArrayBlockingQueue<>(this.blockingQueueSize);
-        this.queueExitLock = new ReentrantLock();
-        this.closeLock = new ReentrantLock();
+        this.closeLock = new ReentrantReadWriteLock();
+        this.xmlInputFactory = XMLInputFactory.newInstance();
 
         final int logicalProcessorCount = Runtime.getRuntime().availableProcessors();
         final int logicalProcessorsToUse;
@@ -220,22 +288,19 @@ public class MessageStorage implements AutoCloseable {
         }
 
         LOG.info(
-                "Logical processor count is {}. Will use {} database interaction threads.",
+                "Logical processor count is {}. Will use {} message parse threads and {} database interaction threads.",
+                logicalProcessorCount,
                 logicalProcessorCount,
                 logicalProcessorsToUse);
 
-        // database interaction threads plus the main flush functions caller thread
-        this.flushBarrier = new CyclicBarrier(logicalProcessorsToUse + 1);
-
-        this.databaseInteractionThreads = new ArrayList<>(logicalProcessorsToUse);
-        for (int i = 0; i < logicalProcessorsToUse; i++) {
-            final DatabaseInteractionThread databaseInteractionThread = new DatabaseInteractionThread();
-            databaseInteractionThread.setDaemon(true);
-            databaseInteractionThread.start();
-            this.databaseInteractionThreads.add(databaseInteractionThread);
-        }
-
-        this.xmlInputFactory = XMLInputFactory.newInstance();
+        // parsing does not touch the database and scales with the cores, committing is limited by the database
+        this.ingestionPipeline = ingestionPipelineFactory.create(
+                blockingQueueSize,
+                logicalProcessorCount,
+                logicalProcessorsToUse,
+                this::convertEntry,
+                this::transmit,
+                testRunObserver);
     }
 
     public XPathExtractor getActionExtractor() {
@@ -248,23 +313,39 @@ public class MessageStorage implements AutoCloseable {
      * @param message to add to the database
      */
     public void addMessage(final DatabaseEntry message) {
-        this.closeLock.lock();
+        this.closeLock.readLock().lock();
         try {
             if (this.closed.get()) {
                 final String errorString = "addMessageContent called on closed storage";
                 LOG.error(errorString);
                 testRunObserver.invalidateTestRun(errorString);
+                releaseRejected(message);
+                return;
+            }
+            if (this.configuration.isReadOnly()) {
+                final String errorString = "addMessageContent called on read only storage";
+                LOG.error(errorString);
+                testRunObserver.invalidateTestRun(errorString);
+                releaseRejected(message);
                 return;
             }
 
             try {
-                this.messageQueue.put(message);
+                this.ingestionPipeline.submit(message);
             } catch (final InterruptedException e) {
                 LOG.error("unable to put message content into queue", e);
                 testRunObserver.invalidateTestRun(e);
+                releaseRejected(message);
             }
         } finally {
-            this.closeLock.unlock();
+            this.closeLock.readLock().unlock();
+        }
+    }
+
+    private static void releaseRejected(final DatabaseEntry entry) {
+        // rejected messages are never converted, their pooled buffer has to be returned here
+        if (entry instanceof final Message message) {
+            message.release();
         }
     }
 
@@ -274,22 +355,33 @@ public class MessageStorage implements AutoCloseable {
 
     protected MessageContent convertMessageToMessageContent(final Message message) {
         boolean isSOAP = false;
-        String body = "";
+        Charset messageCharset = StandardCharsets.UTF_8;
         final Set<String> actions = new HashSet<>();
         final List<MdibVersionGroupEntity.MdibVersionGroup> mdibVersionGroups = new LinkedList<>();
-        final byte[] bodyBytes = message.getFinalMemory();
-        if (bodyBytes.length > 0) {
-            Charset messageCharset = StandardCharsets.UTF_8;
+        final MessageDigest digest = MessageUtil.createMessageDigest();
+        final ByteBuffer bodyBytes = message.getBody();
+        if (bodyBytes.hasRemaining()) {
             if (this.enableEncodingCheck) {
                 messageCharset = determineCharsetFromMessage(message);
             }
-            final CharsetDecoder charsetDecoder = messageCharset.newDecoder();
-            charsetDecoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-            charsetDecoder.onMalformedInput(CodingErrorAction.REPORT);
-            try {
-                final var decodingResult = charsetDecoder.decode(ByteBuffer.wrap(message.getFinalMemory()));
-                body = decodingResult.toString();
-            } catch (CharacterCodingException e) {
+            if (isDecodable(bodyBytes.duplicate(), messageCharset)) {
+                // the hash is computed over the UTF-8 encoded body, which are the received bytes of UTF-8 bodies
+                final boolean isUtf8 = StandardCharsets.UTF_8.equals(messageCharset);
+                // actions, mdib versions and the hash of UTF-8 bodies are all extracted while parsing the body once
+                try (final InputStream body = isUtf8
+                        ? new DigestInputStream(new ByteBufferInputStream(bodyBytes.duplicate()), digest)
+                        : new ByteBufferInputStream(bodyBytes.duplicate())) {
+                    isSOAP = processMessageBody(body, messageCharset, actions, mdibVersionGroups);
+                    // the parser might stop before the end of the body
+                    body.transferTo(OutputStream.nullOutputStream());
+                } catch (final IOException e) {
+                    // reading from memory does not fail
+                    throw new IllegalStateException(e);
+                }
+                if (!isUtf8) {
+                    digest.update(StandardCharsets.UTF_8.encode(messageCharset.decode(bodyBytes.duplicate())));
+                }
+            } else {
                 if (this.enableEncodingCheck) {
                     if (this.summarizeMessageEncodingErrors) {
                         // TestRun will be invalidated in TestSuite if messageEncodingErrorCount > 0
@@ -302,12 +394,20 @@ public class MessageStorage implements AutoCloseable {
                                 messageCharset, message.getID()));
                     }
                 }
-                body = new String(message.getFinalMemory(), messageCharset);
+                // parse the body with invalid characters replaced, as it will be provided by the message content
+                final String body = messageCharset.decode(bodyBytes.duplicate()).toString();
+                isSOAP = processMessageBody(
+                        new ByteArrayInputStream(body.getBytes(messageCharset)),
+                        messageCharset,
+                        actions,
+                        mdibVersionGroups);
+                digest.update(body.getBytes(StandardCharsets.UTF_8));
             }
-            isSOAP = processMessageBody(body, actions, mdibVersionGroups);
         }
         return new MessageContent(
-                body,
+                bodyBytes,
+                messageCharset,
+                MessageUtil.digestToHex(digest),
                 message.getCommunicationContext(),
                 message.getDirection(),
                 message.getMessageType(),
@@ -320,6 +420,27 @@ public class MessageStorage implements AutoCloseable {
                 getSender(message));
     }
 
+    private static boolean isDecodable(final ByteBuffer bytes, final Charset charset) {
+        final CharsetDecoder charsetDecoder = charset.newDecoder();
+        charsetDecoder.onUnmappableCharacter(CodingErrorAction.REPORT);
+        charsetDecoder.onMalformedInput(CodingErrorAction.REPORT);
+        // decode in chunks, the decoded characters are not needed
+        final CharBuffer chunk = CharBuffer.allocate(DECODING_CHUNK_SIZE);
+        CoderResult result;
+        do {
+            chunk.clear();
+            result = charsetDecoder.decode(bytes, chunk, true);
+            if (result.isError()) {
+                return false;
+            }
+        } while (result.isOverflow());
+        do {
+            chunk.clear();
+            result = charsetDecoder.flush(chunk);
+        } while (result.isOverflow());
+        return !result.isError();
+    }
+
     private String getSender(final Message message) {
         final CommunicationContext communicationContext = message.getCommunicationContext();
         if (communicationContext == null) {
@@ -365,12 +486,13 @@ public class MessageStorage implements AutoCloseable {
     }
 
     private boolean processMessageBody(
-            final String body,
+            final InputStream body,
+            final Charset charset,
             final Set<String> actions,
             final List<MdibVersionGroupEntity.MdibVersionGroup> mdibVersionGroups) {
         var isSOAP = false;
         try {
-            final XMLEventReader reader = this.getXmlInputFactory().createXMLEventReader(new StringReader(body));
+            final XMLEventReader reader = this.getXmlInputFactory().createXMLEventReader(body, charset.name());
 
             while (reader.hasNext()) {
                 final XMLEvent nextEvent = reader.nextEvent();
@@ -555,7 +677,7 @@ public class MessageStorage implements AutoCloseable {
                 if (!SDC_MIME_TYPES.contains(mimeType)) {
                     if (summarizeMessageEncodingErrors) {
                         // TestRun will be invalidated in TestSuite if invalidMimeTypeCount > 0
-                        this.invalidMimeTypeCount++;
+                        this.invalidMimeTypeCount.incrementAndGet();
                     } else {
                         this.testRunObserver.invalidateTestRun(String.format(
                                 "encountered a SOAP Envelope whose mimeType '%s' (declared in its "
@@ -571,7 +693,8 @@ public class MessageStorage implements AutoCloseable {
     private Charset determineCharsetFromUnicodeByteOrderMark(final Message message) {
         Charset charsetFromUnicodeByteOrderMark = null;
         try {
-            final ByteArrayInputStream in = new ByteArrayInputStream(message.getFinalMemory());
+            final ByteArrayInputStream in =
+                    new ByteArrayInputStream(getBodyPrefix(message, MAXIMUM_BYTE_ORDER_MARK_LENGTH));
             final BOMInputStream bomIn = new BOMInputStream(
                     in,
                     ByteOrderMark.UTF_8,
@@ -703,7 +826,8 @@ public class MessageStorage implements AutoCloseable {
     }
 
     private Charset determineCharsetFromXmlDeclarationPrefix(final Message message) {
-        final ByteArrayInputStream in = new ByteArrayInputStream(message.getFinalMemory());
+        final ByteArrayInputStream in = new ByteArrayInputStream(getBodyPrefix(
+                message, ByteOrderMark.UTF_8.length() + XML_DECLARATION_PREFIX_LENGTH));
         final BOMInputStream bomIn = new BOMInputStream(in, ByteOrderMark.UTF_8);
         try {
             Charset result = null;
@@ -720,6 +844,13 @@ public class MessageStorage implements AutoCloseable {
         }
     }
 
+    private static byte[] getBodyPrefix(final Message message, final int length) {
+        final ByteBuffer body = message.getBody();
+        final byte[] prefix = new byte[Math.min(length, body.remaining())];
+        body.get(prefix);
+        return prefix;
+    }
+
     /**
      * Utility method to check if one byte array starts with a specified sequence of bytes.
      *
@@ -755,7 +886,8 @@ public class MessageStorage implements AutoCloseable {
     private Charset determineCharsetFromXmlDeclarationInternal(final Message message, final Charset encoding) {
         Charset charsetFromXmlDeclaration = null;
 
-        final String content = new String(message.getFinalMemory(), encoding);
+        final String content = encoding.decode(ByteBuffer.wrap(getBodyPrefix(message, XML_DECLARATION_SEARCH_LENGTH)))
+                .toString();
         final Matcher matcher = encodingFromXmlDeclarationPatternDoubleQuotes.matcher(content);
         if (matcher.matches()) {
             charsetFromXmlDeclaration = Charset.forName(matcher.group(1));
@@ -947,137 +1079,86 @@ public class MessageStorage implements AutoCloseable {
      */
     @Override
     public void close() {
-        this.closeLock.lock();
+        this.closeLock.writeLock().lock();
         try {
             if (this.closed.compareAndSet(false, true)) {
 
                 this.flush();
-
-                this.databaseInteractionThreads.forEach(DatabaseInteractionThread::setStopped);
-                this.databaseInteractionThreads.forEach(thread -> {
-                    try {
-                        thread.join();
-                    } catch (final InterruptedException e) {
-                        LOG.error("unable to wait for database interaction thread termination due to an interrupt", e);
-                        testRunObserver.invalidateTestRun(e);
-                    }
-                });
+                this.ingestionPipeline.close();
 
                 this.sessionFactory.close();
                 this.configuration.close();
+                this.bodyStorage.close();
             }
         } finally {
-            this.closeLock.unlock();
+            this.closeLock.writeLock().unlock();
         }
     }
 
     /**
-     * Sends all queued and buffered messages to the database and does a plausibility check via a select query.
+     * Sends all queued and buffered messages to the database, returns once all of them have been committed.
+     *
+     * <p>
+     * Messages which are added while the flush is in progress are not waited for.
      */
-    public synchronized void flush() {
-
-        this.databaseInteractionThreads.forEach(DatabaseInteractionThread::triggerFlush);
-        final List<DatabaseEntry> temp = new ArrayList<>(this.blockingQueueSize);
-        this.messageQueue.drainTo(temp, this.blockingQueueSize);
-        this.awaitFlushBarrier();
-        // will not block at the barrier since other threads had already arrived at the barrier
-        this.flush(temp);
+    public void flush() {
+        try {
+            this.ingestionPipeline.flush();
+        } catch (final InterruptedException e) {
+            LOG.error("the message flush was interrupted", e);
+            testRunObserver.invalidateTestRun(e);
+        } catch (final IllegalStateException e) {
+            LOG.error("the message flush failed", e);
+            testRunObserver.invalidateTestRun(e);
+        }
     }
 
-    private void flush(final List<DatabaseEntry> messageList) {
-        this.flush(messageList, false, null);
+    /**
+     * Retrieves the ingestion watermark, the monotonically increasing number of messages and manipulations which
+     * have been added to the storage so far.
+     *
+     * <p>
+     * Can be passed to {@linkplain #awaitIngestion(long)} to wait for all data up to this point.
+     *
+     * @return number of entries added so far
+     */
+    public long getIngestionWatermark() {
+        return this.ingestionPipeline.getSubmittedWatermark();
     }
 
-    private void flush(
-            final List<DatabaseEntry> messageList,
-            final boolean await,
-            @Nullable final DatabaseInteractionThread databaseInteractionThread) {
-
-        if (!messageList.isEmpty()) {
-
-            final var firstElement = messageList.get(0);
-            final var lastElement = messageList.get(messageList.size() - 1);
-            final String firstID = firstElement.getID();
-            final String lastID = lastElement.getID();
-
-            this.transmit(messageList);
-
-            // only uuid shall be selected, thus it is a string criteria query
-            final CriteriaQuery<String> criteriaFirst = buildCriteria(firstElement.getClass(), firstID);
-            final CriteriaQuery<String> criteriaLast = buildCriteria(lastElement.getClass(), lastID);
-
-            long uuidCount = 0;
-
-            while (uuidCount < 2) {
-
-                uuidCount = 0;
-
-                try (final Stream<String> uuidStream = this.getStreamForQuery(criteriaLast)) {
-                    final long lastIDCount = uuidStream.filter(lastID::equals).count();
-
-                    if (lastIDCount < 2) {
-                        uuidCount += lastIDCount;
-                    } else {
-                        throw new RuntimeException("duplicate uuid found in database");
-                    }
-                }
-
-                try (final Stream<String> uuidStream = this.getStreamForQuery(criteriaFirst)) {
-                    final long firstIDCount = uuidStream.filter(firstID::equals).count();
-
-                    if (firstIDCount < 2) {
-                        uuidCount += firstIDCount;
-                    } else {
-                        throw new RuntimeException("duplicate uuid found in database");
-                    }
-                }
-
-                Thread.yield();
-            }
-        }
-
-        if (databaseInteractionThread != null) {
-            databaseInteractionThread.resetFlushEvent();
-        }
-
-        if (await) {
-            this.awaitFlushBarrier();
-        }
+    /**
+     * Retrieves the watermark up to which all added messages and manipulations have been committed.
+     *
+     * @return number of entries which have been committed without any gaps
+     */
+    public long getCommittedWatermark() {
+        return this.ingestionPipeline.getCommittedWatermark();
     }
 
-    private CriteriaQuery<String> buildCriteria(final Class<? extends DatabaseEntry> entryClass, final String id) {
-        final CriteriaQuery<String> criteria;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
-
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            criteria = criteriaBuilder.createQuery(String.class);
-            if (entryClass.equals(Message.class)) {
-                final Root<MessageContent> messageContentRoot = criteria.from(MessageContent.class);
-
-                // here we want only the uuid, not the whole row
-                criteria.select(messageContentRoot.get(MessageContent_.uuid));
-
-                criteria.where(criteriaBuilder.equal(messageContentRoot.get(MessageContent_.uuid), id));
-            } else if (entryClass.equals(ManipulationInfo.class)) {
-                final Root<ManipulationData> manipulationDataRoot = criteria.from(ManipulationData.class);
-
-                // here we want only the uuid, not the whole row
-                criteria.select(manipulationDataRoot.get(ManipulationData_.uuid));
-
-                criteria.where(criteriaBuilder.equal(manipulationDataRoot.get(ManipulationData_.uuid), id));
-            }
-        }
-        return criteria;
+    /**
+     * Creates a future which completes once all messages and manipulations up to the given ingestion watermark have
+     * been committed.
+     *
+     * <p>
+     * Unlike {@linkplain #flush()}, the caller is not blocked, neither is the ingestion of further messages. The
+     * future completes exceptionally if the storage is closed before the data has been committed. It is completed by
+     * the thread committing the data, dependent actions which are not trivial should be attached using the
+     * asynchronous variants of {@linkplain CompletableFuture}.
+     *
+     * @param watermark as retrieved from {@linkplain #getIngestionWatermark()}
+     * @return future completing once the data has been committed
+     */
+    public CompletableFuture<Void> awaitIngestion(final long watermark) {
+        return this.ingestionPipeline.awaitCommitted(watermark);
     }
 
-    private void awaitFlushBarrier() {
-        try {
-            this.flushBarrier.await();
-        } catch (InterruptedException | BrokenBarrierException e) {
-            LOG.error("the message flush was interrupted", e);
-            testRunObserver.invalidateTestRun(e);
-        }
+    /**
+     * Retrieves the load of the capture, parse and persist stage messages pass on their way into the database.
+     *
+     * @return statistics of each stage, in the order messages pass them
+     */
+    public List<IngestionStatistics> getIngestionStatistics() {
+        return this.ingestionPipeline.getStatistics();
     }
 
     /**
@@ -1123,6 +1204,10 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(GET_INBOUND_MESSAGES_CALLED_ON_CLOSED_STORAGE);
         }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) ->
+                criteriaBuilder.equal(
+                        messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND);
+
         final CriteriaQuery<MessageContent> criteria;
 
         try (final Session session = sessionFactory.openSession()) {
@@ -1130,16 +1215,10 @@ public class MessageStorage implements AutoCloseable {
             criteria = criteriaBuilder.createQuery(MessageContent.class);
             final Root<MessageContent> messageContentRoot = criteria.from(MessageContent.class);
             criteria.select(messageContentRoot);
-            criteria.where(criteriaBuilder.equal(
-                    messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND));
-        }
-
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
+            criteria.where(restriction.apply(criteriaBuilder, criteria, messageContentRoot));
         }
 
-        return new GetterResult<>(this.getQueryResult(criteria), present);
+        return new GetterResult<>(this.getQueryResult(criteria), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1155,6 +1234,10 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(GET_OUTBOUND_MESSAGES_CALLED_ON_CLOSED_STORAGE);
         }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) ->
+                criteriaBuilder.equal(
+                        messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.OUTBOUND);
+
         final CriteriaQuery<MessageContent> criteria;
 
         try (final Session session = sessionFactory.openSession()) {
@@ -1162,16 +1245,10 @@ public class MessageStorage implements AutoCloseable {
             criteria = criteriaBuilder.createQuery(MessageContent.class);
             final Root<MessageContent> messageContentRoot = criteria.from(MessageContent.class);
             criteria.select(messageContentRoot);
-            criteria.where(criteriaBuilder.equal(
-                    messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.OUTBOUND));
+            criteria.where(restriction.apply(criteriaBuilder, criteria, messageContentRoot));
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getQueryResult(criteria), present);
+        return new GetterResult<>(this.getQueryResult(criteria), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1190,6 +1267,12 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(GET_INBOUND_SOAP_MESSAGES_CALLED_ON_CLOSED_STORAGE);
         }
 
+        final Restriction<MessageContent> restriction =
+                (criteriaBuilder, query, messageContentRoot) -> criteriaBuilder.and(
+                        criteriaBuilder.equal(
+                                messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
+                        isSoap(criteriaBuilder, query, messageContentRoot));
+
         final CriteriaQuery<MessageContent> messageContentQuery;
         try (final Session session = sessionFactory.openSession()) {
             session.beginTransaction();
@@ -1198,37 +1281,11 @@ public class MessageStorage implements AutoCloseable {
             messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
             final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
             messageContentQuery.select(messageContentRoot);
-
-            final Subquery<HTTPHeaderEntity> headerSubQuery = messageContentQuery.subquery(HTTPHeaderEntity.class);
-            final Root<HTTPHeaderEntity> httpHeaderEntityRoot = headerSubQuery.from(HTTPHeaderEntity.class);
-            headerSubQuery.select(httpHeaderEntityRoot);
-
-            headerSubQuery.where(criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                            httpHeaderEntityRoot.get(HTTPHeaderEntity_.messageContent),
-                            messageContentRoot.get(MessageContent_.incId)),
-                    criteriaBuilder.and(
-                            criteriaBuilder.equal(
-                                    criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerKey)),
-                                    HTTP_HEADER_NAME_CONTENT_TYPE),
-                            criteriaBuilder.like(
-                                    criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerValue)),
-                                    criteriaBuilder.literal("%application/soap+xml%")))));
-
-            messageContentQuery.where(criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                            messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
-                    criteriaBuilder.or(
-                            criteriaBuilder.isTrue(messageContentRoot.get(MessageContent_.isSOAP)),
-                            criteriaBuilder.exists(headerSubQuery))));
-        }
-
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
         }
 
-        return new GetterResult<>(this.getQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1247,6 +1304,15 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(GET_INBOUND_SOAP_MESSAGES_CALLED_ON_CLOSED_STORAGE);
         }
 
+        final Restriction<MessageContent> restriction =
+                (criteriaBuilder, query, messageContentRoot) -> criteriaBuilder.and(
+                        criteriaBuilder.equal(
+                                messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
+                        criteriaBuilder.equal(
+                                messageContentRoot.get(MessageContent_.messageType),
+                                CommunicationLog.MessageType.RESPONSE),
+                        isSoap(criteriaBuilder, query, messageContentRoot));
+
         final CriteriaQuery<MessageContent> messageContentQuery;
         try (final Session session = sessionFactory.openSession()) {
             session.beginTransaction();
@@ -1255,39 +1321,11 @@ public class MessageStorage implements AutoCloseable {
             messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
             final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
             messageContentQuery.select(messageContentRoot);
-
-            final Subquery<HTTPHeaderEntity> headerSubQuery = messageContentQuery.subquery(HTTPHeaderEntity.class);
-            final Root<HTTPHeaderEntity> httpHeaderEntityRoot = headerSubQuery.from(HTTPHeaderEntity.class);
-            headerSubQuery.select(httpHeaderEntityRoot);
-
-            headerSubQuery.where(criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                            httpHeaderEntityRoot.get(HTTPHeaderEntity_.messageContent),
-                            messageContentRoot.get(MessageContent_.incId)),
-                    criteriaBuilder.and(
-                            criteriaBuilder.equal(
-                                    criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerKey)),
-                                    HTTP_HEADER_NAME_CONTENT_TYPE),
-                            criteriaBuilder.like(
-                                    criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerValue)),
-                                    criteriaBuilder.literal("%application/soap+xml%")))));
-
-            messageContentQuery.where(criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                            messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
-                    criteriaBuilder.equal(
-                            messageContentRoot.get(MessageContent_.messageType), CommunicationLog.MessageType.RESPONSE),
-                    criteriaBuilder.or(
-                            criteriaBuilder.isTrue(messageContentRoot.get(MessageContent_.isSOAP)),
-                            criteriaBuilder.exists(headerSubQuery))));
-        }
-
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
         }
 
-        return new GetterResult<>(this.getQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1310,17 +1348,9 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(failureString);
         }
 
-        final CriteriaQuery<MessageContent> messageContentQuery;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
-
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
-            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
-            messageContentQuery.select(messageContentRoot);
-
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) -> {
             final Subquery<MdibVersionGroupEntity> mdibVersionGroupSubQuery =
-                    messageContentQuery.subquery(MdibVersionGroupEntity.class);
+                    query.subquery(MdibVersionGroupEntity.class);
             final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
                     mdibVersionGroupSubQuery.from(MdibVersionGroupEntity.class);
             mdibVersionGroupSubQuery.select(mdibVersionGroupEntityRoot);
@@ -1337,7 +1367,7 @@ public class MessageStorage implements AutoCloseable {
                             messageContentRoot.get(MessageContent_.incId)),
                     criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0]))));
 
-            final Subquery<HTTPHeaderEntity> headerSubQuery = messageContentQuery.subquery(HTTPHeaderEntity.class);
+            final Subquery<HTTPHeaderEntity> headerSubQuery = query.subquery(HTTPHeaderEntity.class);
             final Root<HTTPHeaderEntity> httpHeaderEntityRoot = headerSubQuery.from(HTTPHeaderEntity.class);
             headerSubQuery.select(httpHeaderEntityRoot);
             final var headerPredicates = new ArrayList<Predicate>();
@@ -1356,7 +1386,7 @@ public class MessageStorage implements AutoCloseable {
                             messageContentRoot.get(MessageContent_.incId)),
                     criteriaBuilder.or(headerPredicates.toArray(new Predicate[0]))));
 
-            messageContentQuery.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.equal(
                             messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.OUTBOUND),
                     criteriaBuilder.or(
@@ -1367,15 +1397,22 @@ public class MessageStorage implements AutoCloseable {
                                     criteriaBuilder.lower(messageContentRoot.get(MessageContent_.scheme)),
                                     Constants.HTTPS_SCHEME)),
                     criteriaBuilder.exists(mdibVersionGroupSubQuery),
-                    criteriaBuilder.exists(headerSubQuery)));
-        }
+                    criteriaBuilder.exists(headerSubQuery));
+        };
+
+        final CriteriaQuery<MessageContent> messageContentQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
+            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
+            messageContentQuery.select(messageContentRoot);
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
         }
 
-        return new GetterResult<>(this.getQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1388,11 +1425,38 @@ public class MessageStorage implements AutoCloseable {
      * @throws IOException if storage is closed
      */
     public GetterResult<MessageContent> getInboundHttpMessages() throws IOException {
+        return this.getInboundHttpMessages(Set.of());
+    }
+
+    /**
+     * Retrieves all incoming HTTP messages, fetching the given collections of the messages in batches.
+     *
+     * <p>
+     * HTTP messages are considered messages in storage which have their scheme set to http or https.
+     *
+     * @param fetchedCollections collections of the messages which are accessed, e.g. the HTTP headers
+     * @return container with stream of all matching inbound {@linkplain MessageContent}s
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<MessageContent> getInboundHttpMessages(
+            final Set<MessageContentCollection> fetchedCollections) throws IOException {
         if (this.closed.get()) {
             LOG.error(GET_INBOUND_SOAP_MESSAGES_CALLED_ON_CLOSED_STORAGE);
             throw new IOException(GET_INBOUND_SOAP_MESSAGES_CALLED_ON_CLOSED_STORAGE);
         }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) ->
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(
+                                messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
+                        criteriaBuilder.or(
+                                criteriaBuilder.equal(
+                                        criteriaBuilder.lower(messageContentRoot.get(MessageContent_.scheme)),
+                                        Constants.HTTP_SCHEME),
+                                criteriaBuilder.equal(
+                                        criteriaBuilder.lower(messageContentRoot.get(MessageContent_.scheme)),
+                                        Constants.HTTPS_SCHEME)));
+
         final CriteriaQuery<MessageContent> criteria;
         try (final Session session = sessionFactory.openSession()) {
             session.beginTransaction();
@@ -1401,24 +1465,11 @@ public class MessageStorage implements AutoCloseable {
             criteria = criteriaBuilder.createQuery(MessageContent.class);
             final Root<MessageContent> messageContentRoot = criteria.from(MessageContent.class);
             criteria.select(messageContentRoot);
-            criteria.where(criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                            messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
-                    criteriaBuilder.or(
-                            criteriaBuilder.equal(
-                                    criteriaBuilder.lower(messageContentRoot.get(MessageContent_.scheme)),
-                                    Constants.HTTP_SCHEME),
-                            criteriaBuilder.equal(
-                                    criteriaBuilder.lower(messageContentRoot.get(MessageContent_.scheme)),
-                                    Constants.HTTPS_SCHEME))));
+            criteria.where(restriction.apply(criteriaBuilder, criteria, messageContentRoot));
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getQueryResult(criteria), present);
+        return new GetterResult<>(
+                this.getQueryResult(criteria, fetchedCollections), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1450,17 +1501,33 @@ public class MessageStorage implements AutoCloseable {
             }
         }
 
-        final CriteriaQuery<MessageContent> messageContentQuery;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
-
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
-            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
-            messageContentQuery.select(messageContentRoot);
+        if (isReportIndexed(bodyTypes)) {
+            final Restriction<ReportIndexEntity> restriction = (criteriaBuilder, query, reportIndexRoot) ->
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(reportIndexRoot.get(ReportIndexEntity_.sequenceId), sequenceId),
+                            bodyElementIn(criteriaBuilder, reportIndexRoot, bodyTypes));
+
+            final CriteriaQuery<MessageContent> reportIndexQuery;
+            try (final Session session = sessionFactory.openSession()) {
+                final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                reportIndexQuery = criteriaBuilder.createQuery(MessageContent.class);
+                final Root<ReportIndexEntity> reportIndexRoot = reportIndexQuery.from(ReportIndexEntity.class);
+                reportIndexQuery.select(reportIndexRoot.get(ReportIndexEntity_.messageContent));
+                reportIndexQuery.where(restriction.apply(criteriaBuilder, reportIndexQuery, reportIndexRoot));
+
+                // the order is only guaranteed by sorting, which follows the report_index_sequence_idx and thus
+                // does not require the database to sort the rows at query time
+                reportIndexQuery.orderBy(
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.mdibVersion)),
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp)));
+            }
+            return new GetterResult<>(
+                    this.getQueryResult(reportIndexQuery), this.isPresent(ReportIndexEntity.class, restriction));
+        }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) -> {
             final Subquery<MdibVersionGroupEntity> mdibVersionGroupSubQuery =
-                    messageContentQuery.subquery(MdibVersionGroupEntity.class);
+                    query.subquery(MdibVersionGroupEntity.class);
             final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
                     mdibVersionGroupSubQuery.from(MdibVersionGroupEntity.class);
             mdibVersionGroupSubQuery.select(mdibVersionGroupEntityRoot);
@@ -1481,10 +1548,21 @@ public class MessageStorage implements AutoCloseable {
                             messageContentRoot.get(MessageContent_.incId)),
                     criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0]))));
 
-            messageContentQuery.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.equal(
                             messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
-                    criteriaBuilder.exists(mdibVersionGroupSubQuery)));
+                    criteriaBuilder.exists(mdibVersionGroupSubQuery));
+        };
+
+        final CriteriaQuery<MessageContent> messageContentQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
+            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
+            messageContentQuery.select(messageContentRoot);
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
 
             messageContentQuery.orderBy(
                     criteriaBuilder.asc(messageContentRoot
@@ -1493,12 +1571,8 @@ public class MessageStorage implements AutoCloseable {
                     criteriaBuilder.asc(messageContentRoot.get(MessageContent_.nanoTimestamp)));
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1514,6 +1588,27 @@ public class MessageStorage implements AutoCloseable {
      */
     public GetterResult<MessageContent> getInboundMessagesByBodyType(
             final boolean enableSorting, final QName... bodyTypes) throws IOException {
+        return this.getInboundMessagesByBodyType(enableSorting, Set.of(), bodyTypes);
+    }
+
+    /**
+     * Retrieves all incoming messages which match any of the provided body element QNames, fetching the given
+     * collections of the messages in batches.
+     *
+     * <p>
+     * Messages are sorted by MdibVersion on the inner join result.
+     *
+     * @param enableSorting      switch to turn off or turn on MdibVersion based sorting
+     * @param fetchedCollections collections of the messages which are accessed, e.g. the certificates
+     * @param bodyTypes          to match messages against
+     * @return container with stream of all matching inbound {@linkplain MessageContent}s
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<MessageContent> getInboundMessagesByBodyType(
+            final boolean enableSorting,
+            final Set<MessageContentCollection> fetchedCollections,
+            final QName... bodyTypes)
+            throws IOException {
         if (this.closed.get()) {
             LOG.error(GET_INBOUND_MESSAGE_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE);
             throw new IOException(GET_INBOUND_MESSAGE_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE);
@@ -1531,17 +1626,32 @@ public class MessageStorage implements AutoCloseable {
             }
         }
 
-        final CriteriaQuery<MessageContent> messageContentQuery;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
+        if (isReportIndexed(bodyTypes)) {
+            final Restriction<ReportIndexEntity> restriction = (criteriaBuilder, query, reportIndexRoot) ->
+                    bodyElementIn(criteriaBuilder, reportIndexRoot, bodyTypes);
 
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
-            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
-            messageContentQuery.select(messageContentRoot);
+            final CriteriaQuery<MessageContent> reportIndexQuery;
+            try (final Session session = sessionFactory.openSession()) {
+                final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                reportIndexQuery = criteriaBuilder.createQuery(MessageContent.class);
+                final Root<ReportIndexEntity> reportIndexRoot = reportIndexQuery.from(ReportIndexEntity.class);
+                reportIndexQuery.select(reportIndexRoot.get(ReportIndexEntity_.messageContent));
+                reportIndexQuery.where(restriction.apply(criteriaBuilder, reportIndexQuery, reportIndexRoot));
+
+                if (enableSorting) {
+                    reportIndexQuery.orderBy(
+                            criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.mdibVersion)),
+                            criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp)));
+                }
+            }
+            return new GetterResult<>(
+                    this.getQueryResult(reportIndexQuery, fetchedCollections),
+                    this.isPresent(ReportIndexEntity.class, restriction));
+        }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) -> {
             final Subquery<MdibVersionGroupEntity> mdibVersionGroupSubQuery =
-                    messageContentQuery.subquery(MdibVersionGroupEntity.class);
+                    query.subquery(MdibVersionGroupEntity.class);
             final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
                     mdibVersionGroupSubQuery.from(MdibVersionGroupEntity.class);
             mdibVersionGroupSubQuery.select(mdibVersionGroupEntityRoot);
@@ -1558,10 +1668,21 @@ public class MessageStorage implements AutoCloseable {
                             messageContentRoot.get(MessageContent_.incId)),
                     criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0]))));
 
-            messageContentQuery.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.equal(
                             messageContentRoot.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
-                    criteriaBuilder.exists(mdibVersionGroupSubQuery)));
+                    criteriaBuilder.exists(mdibVersionGroupSubQuery));
+        };
+
+        final CriteriaQuery<MessageContent> messageContentQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
+            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
+            messageContentQuery.select(messageContentRoot);
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
 
             if (enableSorting) {
                 messageContentQuery.orderBy(criteriaBuilder.asc(messageContentRoot
@@ -1570,12 +1691,9 @@ public class MessageStorage implements AutoCloseable {
             }
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getQueryResult(messageContentQuery, fetchedCollections),
+                this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1593,19 +1711,118 @@ public class MessageStorage implements AutoCloseable {
     }
 
     /**
-     * Retrieves all manipulation data from storage.
+     * Retrieves all incoming messages which match any of the provided body element QNames, fetching the given
+     * collections of the messages in batches.
      *
      * <p>
      * Messages are sorted by MdibVersion on the inner join result.
      *
-     * @return container with stream of all matching {@linkplain ManipulationData}s
+     * @param fetchedCollections collections of the messages which are accessed, e.g. the certificates
+     * @param bodyTypes          to match messages against
+     * @return container with stream of all matching inbound {@linkplain MessageContent}s
      * @throws IOException if storage is closed
      */
-    public GetterResult<ManipulationData> getManipulationData() throws IOException {
-        if (this.closed.get()) {
-            LOG.error(GET_MANIPULATION_DATA_BY_MANIPULATION);
-            throw new IOException(GET_MANIPULATION_DATA_BY_MANIPULATION);
-        }
+    public GetterResult<MessageContent> getInboundMessagesByBodyType(
+            final Set<MessageContentCollection> fetchedCollections, final QName... bodyTypes) throws IOException {
+        return this.getInboundMessagesByBodyType(true, fetchedCollections, bodyTypes);
+    }
+
+    /**
+     * Retrieves the metadata of all incoming messages which match any of the provided body element QNames.
+     *
+     * <p>
+     * Only the columns contained in {@linkplain MessageMetadata} are selected, neither bodies nor any other message
+     * information is loaded. The metadata is sorted by MdibVersion, messages with multiple matching body elements
+     * occur once per element.
+     *
+     * @param bodyTypes to match messages against
+     * @return container with stream of the metadata of all matching inbound messages
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<MessageMetadata> getInboundMessageMetadataByBodyType(final QName... bodyTypes)
+            throws IOException {
+        if (this.closed.get()) {
+            LOG.error(GET_INBOUND_MESSAGE_METADATA_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE);
+            throw new IOException(GET_INBOUND_MESSAGE_METADATA_BY_BODY_TYPE_CALLED_ON_CLOSED_STORAGE);
+        }
+
+        if (isReportIndexed(bodyTypes)) {
+            // all selected columns are part of the report index, the messages are not touched at all
+            final Restriction<ReportIndexEntity> restriction = (criteriaBuilder, query, reportIndexRoot) ->
+                    bodyElementIn(criteriaBuilder, reportIndexRoot, bodyTypes);
+
+            final CriteriaQuery<MessageMetadata> reportIndexQuery;
+            try (final Session session = sessionFactory.openSession()) {
+                final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                reportIndexQuery = criteriaBuilder.createQuery(MessageMetadata.class);
+                final Root<ReportIndexEntity> reportIndexRoot = reportIndexQuery.from(ReportIndexEntity.class);
+                reportIndexQuery.select(criteriaBuilder.construct(
+                        MessageMetadata.class,
+                        reportIndexRoot.get(ReportIndexEntity_.messageUuid),
+                        reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp),
+                        reportIndexRoot.get(ReportIndexEntity_.mdibVersion),
+                        reportIndexRoot.get(ReportIndexEntity_.sequenceId),
+                        reportIndexRoot.get(ReportIndexEntity_.bodyElement)));
+                reportIndexQuery.where(restriction.apply(criteriaBuilder, reportIndexQuery, reportIndexRoot));
+                reportIndexQuery.orderBy(
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.mdibVersion)),
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp)));
+            }
+            return new GetterResult<>(
+                    this.getOrderedQueryResult(reportIndexQuery), this.isPresent(ReportIndexEntity.class, restriction));
+        }
+
+        final Restriction<MdibVersionGroupEntity> restriction = (criteriaBuilder, query, mdibVersionGroupEntityRoot) ->
+                inboundBodyElementIn(
+                        criteriaBuilder,
+                        mdibVersionGroupEntityRoot,
+                        mdibVersionGroupEntityRoot.join(MdibVersionGroupEntity_.messageContent),
+                        bodyTypes);
+
+        final CriteriaQuery<MessageMetadata> metadataQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            metadataQuery = criteriaBuilder.createQuery(MessageMetadata.class);
+            final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
+                    metadataQuery.from(MdibVersionGroupEntity.class);
+            final Join<MdibVersionGroupEntity, MessageContent> messageContentJoin =
+                    mdibVersionGroupEntityRoot.join(MdibVersionGroupEntity_.messageContent);
+
+            metadataQuery.select(criteriaBuilder.construct(
+                    MessageMetadata.class,
+                    messageContentJoin.get(MessageContent_.uuid),
+                    messageContentJoin.get(MessageContent_.nanoTimestamp),
+                    mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.mdibVersion),
+                    mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.sequenceId),
+                    mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.bodyElement)));
+
+            // the join of the selection is reused, applying the restriction would join the messages a second time
+            metadataQuery.where(
+                    inboundBodyElementIn(criteriaBuilder, mdibVersionGroupEntityRoot, messageContentJoin, bodyTypes));
+
+            metadataQuery.orderBy(
+                    criteriaBuilder.asc(mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.mdibVersion)),
+                    criteriaBuilder.asc(messageContentJoin.get(MessageContent_.nanoTimestamp)));
+        }
+
+        return new GetterResult<>(
+                this.getOrderedQueryResult(metadataQuery), this.isPresent(MdibVersionGroupEntity.class, restriction));
+    }
+
+    /**
+     * Retrieves all manipulation data from storage.
+     *
+     * <p>
+     * Messages are sorted by MdibVersion on the inner join result.
+     *
+     * @return container with stream of all matching {@linkplain ManipulationData}s
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<ManipulationData> getManipulationData() throws IOException {
+        if (this.closed.get()) {
+            LOG.error(GET_MANIPULATION_DATA_BY_MANIPULATION);
+            throw new IOException(GET_MANIPULATION_DATA_BY_MANIPULATION);
+        }
 
         final CriteriaQuery<ManipulationData> criteria;
         try (final Session session = sessionFactory.openSession()) {
@@ -1620,12 +1837,10 @@ public class MessageStorage implements AutoCloseable {
             criteria.orderBy(criteriaBuilder.asc(manipulationDataRoot.get(ManipulationData_.startTimestamp)));
         }
 
-        final boolean present;
-        try (final Stream<ManipulationData> countingStream = this.getQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getQueryResult(criteria), present);
+        // all manipulations are selected, any manipulation is sufficient
+        final Restriction<ManipulationData> restriction =
+                (criteriaBuilder, query, manipulationDataRoot) -> criteriaBuilder.conjunction();
+        return new GetterResult<>(this.getQueryResult(criteria), this.isPresent(ManipulationData.class, restriction));
     }
 
     /**
@@ -1657,17 +1872,32 @@ public class MessageStorage implements AutoCloseable {
             }
         }
 
-        final CriteriaQuery<MessageContent> messageContentQuery;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
-
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
-            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
-            messageContentQuery.select(messageContentRoot);
+        if (isReportIndexed(reportTypes)) {
+            final Restriction<ReportIndexEntity> restriction = (criteriaBuilder, query, reportIndexRoot) ->
+                    criteriaBuilder.and(
+                            criteriaBuilder.ge(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp), startTimestamp),
+                            criteriaBuilder.le(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp), finishTimestamp),
+                            bodyElementIn(criteriaBuilder, reportIndexRoot, reportTypes));
+
+            final CriteriaQuery<MessageContent> reportIndexQuery;
+            try (final Session session = sessionFactory.openSession()) {
+                final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                reportIndexQuery = criteriaBuilder.createQuery(MessageContent.class);
+                final Root<ReportIndexEntity> reportIndexRoot = reportIndexQuery.from(ReportIndexEntity.class);
+                reportIndexQuery.select(reportIndexRoot.get(ReportIndexEntity_.messageContent));
+                reportIndexQuery.where(restriction.apply(criteriaBuilder, reportIndexQuery, reportIndexRoot));
+
+                reportIndexQuery.orderBy(
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.mdibVersion)),
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp)));
+            }
+            return new GetterResult<>(
+                    this.getOrderedQueryResult(reportIndexQuery), this.isPresent(ReportIndexEntity.class, restriction));
+        }
 
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) -> {
             final Subquery<MdibVersionGroupEntity> mdibVersionGroupSubQuery =
-                    messageContentQuery.subquery(MdibVersionGroupEntity.class);
+                    query.subquery(MdibVersionGroupEntity.class);
             final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
                     mdibVersionGroupSubQuery.from(MdibVersionGroupEntity.class);
             mdibVersionGroupSubQuery.select(mdibVersionGroupEntityRoot);
@@ -1684,7 +1914,7 @@ public class MessageStorage implements AutoCloseable {
                             messageContentRoot.get(MessageContent_.incId)),
                     criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0]))));
 
-            messageContentQuery.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.and(
                             criteriaBuilder.ge(messageContentRoot.get(MessageContent_.nanoTimestamp), startTimestamp),
                             criteriaBuilder.le(messageContentRoot.get(MessageContent_.nanoTimestamp), finishTimestamp)),
@@ -1692,19 +1922,26 @@ public class MessageStorage implements AutoCloseable {
                             criteriaBuilder.equal(
                                     messageContentRoot.get(MessageContent_.direction),
                                     CommunicationLog.Direction.INBOUND),
-                            criteriaBuilder.exists(mdibVersionGroupSubQuery))));
+                            criteriaBuilder.exists(mdibVersionGroupSubQuery)));
+        };
+
+        final CriteriaQuery<MessageContent> messageContentQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
+            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
+            messageContentQuery.select(messageContentRoot);
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
 
             messageContentQuery.orderBy(criteriaBuilder.asc(messageContentRoot
                     .join(MessageContent_.mdibVersionGroups)
                     .get(MdibVersionGroupEntity_.mdibVersion)));
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getOrderedQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getOrderedQueryResult(messageContentQuery), present);
+        return new GetterResult<>(
+                this.getOrderedQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
     }
 
     /**
@@ -1722,6 +1959,29 @@ public class MessageStorage implements AutoCloseable {
      */
     public GetterResult<MessageContent> getInboundMessagesByTimestampAndBodyType(
             final String sequenceId, final long finishTimestamp, final QName... reportTypes) throws IOException {
+        return getInboundMessagesByTimestampAndBodyType(sequenceId, null, finishTimestamp, reportTypes);
+    }
+
+    /**
+     * Retrieves all incoming messages which match any of the provided body element QNames, that were received before
+     * the given timestamp, with the same sequenceId and an MdibVersion greater than the given minimum.
+     *
+     * <p>
+     * Messages are sorted by MdibVersion on the inner join result.
+     *
+     * @param sequenceId         SequenceId attribute value to filter for
+     * @param minimumMdibVersion MdibVersion to filter out reports with a lower or equal value, null to disable
+     * @param finishTimestamp    timestamp to filter out reports with a higher value
+     * @param reportTypes        to match message against
+     * @return container with stream of all matching inbound {@linkplain MessageContent}s
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<MessageContent> getInboundMessagesByTimestampAndBodyType(
+            final String sequenceId,
+            @Nullable final Long minimumMdibVersion,
+            final long finishTimestamp,
+            final QName... reportTypes)
+            throws IOException {
         if (this.closed.get()) {
             LOG.error(GET_INBOUND_MESSAGE_BY_TIMESTAMP_CALLED_ON_CLOSED_STORAGE);
             throw new IOException(GET_INBOUND_MESSAGE_BY_TIMESTAMP_CALLED_ON_CLOSED_STORAGE);
@@ -1735,17 +1995,41 @@ public class MessageStorage implements AutoCloseable {
             }
         }
 
-        final CriteriaQuery<MessageContent> messageContentQuery;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
+        if (isReportIndexed(reportTypes)) {
+            final Restriction<ReportIndexEntity> restriction = (criteriaBuilder, query, reportIndexRoot) -> {
+                Predicate predicate = criteriaBuilder.and(
+                        criteriaBuilder.equal(reportIndexRoot.get(ReportIndexEntity_.sequenceId), sequenceId),
+                        criteriaBuilder.lt(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp), finishTimestamp),
+                        bodyElementIn(criteriaBuilder, reportIndexRoot, reportTypes));
+                if (minimumMdibVersion != null) {
+                    predicate = criteriaBuilder.and(
+                            predicate,
+                            criteriaBuilder.gt(
+                                    reportIndexRoot.get(ReportIndexEntity_.mdibVersion), minimumMdibVersion));
+                }
 
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
-            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
-            messageContentQuery.select(messageContentRoot);
+                return predicate;
+            };
 
+            final CriteriaQuery<MessageContent> reportIndexQuery;
+            try (final Session session = sessionFactory.openSession()) {
+                final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                reportIndexQuery = criteriaBuilder.createQuery(MessageContent.class);
+                final Root<ReportIndexEntity> reportIndexRoot = reportIndexQuery.from(ReportIndexEntity.class);
+                reportIndexQuery.select(reportIndexRoot.get(ReportIndexEntity_.messageContent));
+                reportIndexQuery.where(restriction.apply(criteriaBuilder, reportIndexQuery, reportIndexRoot));
+
+                reportIndexQuery.orderBy(
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.mdibVersion)),
+                        criteriaBuilder.asc(reportIndexRoot.get(ReportIndexEntity_.nanoTimestamp)));
+            }
+            return new GetterResult<>(
+                    this.getOrderedQueryResult(reportIndexQuery), this.isPresent(ReportIndexEntity.class, restriction));
+        }
+
+        final Restriction<MessageContent> restriction = (criteriaBuilder, query, messageContentRoot) -> {
             final Subquery<MdibVersionGroupEntity> mdibVersionGroupSubQuery =
-                    messageContentQuery.subquery(MdibVersionGroupEntity.class);
+                    query.subquery(MdibVersionGroupEntity.class);
             final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot =
                     mdibVersionGroupSubQuery.from(MdibVersionGroupEntity.class);
             mdibVersionGroupSubQuery.select(mdibVersionGroupEntityRoot);
@@ -1760,31 +2044,114 @@ public class MessageStorage implements AutoCloseable {
                                 mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.sequenceId), sequenceId)));
             }
 
-            mdibVersionGroupSubQuery.where(criteriaBuilder.and(
+            Predicate subQueryPredicate = criteriaBuilder.and(
                     criteriaBuilder.equal(
                             mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.messageContent),
                             messageContentRoot.get(MessageContent_.incId)),
-                    criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0]))));
+                    criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0])));
+            if (minimumMdibVersion != null) {
+                subQueryPredicate = criteriaBuilder.and(
+                        subQueryPredicate,
+                        criteriaBuilder.gt(
+                                mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.mdibVersion),
+                                minimumMdibVersion));
+            }
+            mdibVersionGroupSubQuery.where(subQueryPredicate);
 
-            messageContentQuery.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.lt(messageContentRoot.get(MessageContent_.nanoTimestamp), finishTimestamp),
                     criteriaBuilder.and(
                             criteriaBuilder.equal(
                                     messageContentRoot.get(MessageContent_.direction),
                                     CommunicationLog.Direction.INBOUND),
-                            criteriaBuilder.exists(mdibVersionGroupSubQuery))));
+                            criteriaBuilder.exists(mdibVersionGroupSubQuery)));
+        };
+
+        final CriteriaQuery<MessageContent> messageContentQuery;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            messageContentQuery = criteriaBuilder.createQuery(MessageContent.class);
+            final Root<MessageContent> messageContentRoot = messageContentQuery.from(MessageContent.class);
+            messageContentQuery.select(messageContentRoot);
+            messageContentQuery.where(restriction.apply(criteriaBuilder, messageContentQuery, messageContentRoot));
 
             messageContentQuery.orderBy(criteriaBuilder.asc(messageContentRoot
                     .join(MessageContent_.mdibVersionGroups)
                     .get(MdibVersionGroupEntity_.mdibVersion)));
         }
 
-        final boolean present;
-        try (final Stream<MessageContent> countingStream = this.getOrderedQueryResult(messageContentQuery)) {
-            present = countingStream.findAny().isPresent();
+        return new GetterResult<>(
+                this.getOrderedQueryResult(messageContentQuery), this.isPresent(MessageContent.class, restriction));
+    }
+
+    /**
+     * Persists a checkpoint of the mdib of a sequence.
+     *
+     * <p>
+     * Unlike messages, checkpoints are not queued but written immediately, as they are only created while
+     * evaluating already collected data. Checkpoints are not persisted in a read only storage, as they only speed up
+     * retrieving the mdib.
+     *
+     * @param checkpoint to persist
+     * @throws IOException if storage is closed
+     */
+    public void storeMdibCheckpoint(final MdibCheckpoint checkpoint) throws IOException {
+        if (this.closed.get()) {
+            LOG.error(STORE_MDIB_CHECKPOINT_CALLED_ON_CLOSED_STORAGE);
+            throw new IOException(STORE_MDIB_CHECKPOINT_CALLED_ON_CLOSED_STORAGE);
+        }
+        if (this.configuration.isReadOnly()) {
+            LOG.debug("Not storing checkpoint for sequence {} in read only storage", checkpoint.getSequenceId());
+            return;
+        }
+
+        try (final Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+            session.save(checkpoint);
+            transaction.commit();
         }
+    }
 
-        return new GetterResult<>(this.getOrderedQueryResult(messageContentQuery), present);
+    /**
+     * Retrieves all mdib checkpoints of a sequence for which every applied message was received before the given
+     * timestamp.
+     *
+     * <p>
+     * Checkpoints are sorted by MdibVersion in descending order, i.e. the closest checkpoint is returned first.
+     *
+     * @param sequenceId      SequenceId attribute value to filter for
+     * @param finishTimestamp timestamp to filter out checkpoints containing messages with a higher or equal value
+     * @return container with stream of all matching {@linkplain MdibCheckpoint}s
+     * @throws IOException if storage is closed
+     */
+    public GetterResult<MdibCheckpoint> getMdibCheckpoints(final String sequenceId, final long finishTimestamp)
+            throws IOException {
+        if (this.closed.get()) {
+            LOG.error(GET_MDIB_CHECKPOINTS_CALLED_ON_CLOSED_STORAGE);
+            throw new IOException(GET_MDIB_CHECKPOINTS_CALLED_ON_CLOSED_STORAGE);
+        }
+
+        final Restriction<MdibCheckpoint> restriction = (criteriaBuilder, query, checkpointRoot) ->
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(checkpointRoot.get(MdibCheckpoint_.sequenceId), sequenceId),
+                        criteriaBuilder.lt(checkpointRoot.get(MdibCheckpoint_.maxReportTimestamp), finishTimestamp));
+
+        final CriteriaQuery<MdibCheckpoint> criteria;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            criteria = criteriaBuilder.createQuery(MdibCheckpoint.class);
+            final Root<MdibCheckpoint> checkpointRoot = criteria.from(MdibCheckpoint.class);
+            criteria.select(checkpointRoot);
+            criteria.where(restriction.apply(criteriaBuilder, criteria, checkpointRoot));
+            criteria.orderBy(criteriaBuilder.desc(checkpointRoot.get(MdibCheckpoint_.mdibVersion)));
+        }
+
+        return new GetterResult<>(
+                this.getOrderedQueryResult(criteria), this.isPresent(MdibCheckpoint.class, restriction));
     }
 
     /**
@@ -1804,6 +2171,16 @@ public class MessageStorage implements AutoCloseable {
             throw new IOException(GET_MANIPULATION_DATA_BY_MANIPULATION);
         }
 
+        final Restriction<ManipulationData> restriction = (criteriaBuilder, query, manipulationDataRoot) -> {
+            final var predicates = new ArrayList<Predicate>();
+            for (final var manipulationName : manipulationNames) {
+                predicates.add(criteriaBuilder.equal(
+                        manipulationDataRoot.get(ManipulationData_.methodName), manipulationName));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+
         final CriteriaQuery<ManipulationData> criteria;
         try (final Session session = sessionFactory.openSession()) {
             session.beginTransaction();
@@ -1812,23 +2189,14 @@ public class MessageStorage implements AutoCloseable {
             criteria = criteriaBuilder.createQuery(ManipulationData.class);
             final Root<ManipulationData> manipulationDataRoot = criteria.from(ManipulationData.class);
             criteria.select(manipulationDataRoot);
-            final var predicates = new ArrayList<Predicate>();
-            for (final var manipulationName : manipulationNames) {
-                predicates.add(criteriaBuilder.equal(
-                        manipulationDataRoot.get(ManipulationData_.methodName), manipulationName));
-            }
-            criteria.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
+            criteria.where(restriction.apply(criteriaBuilder, criteria, manipulationDataRoot));
             // the answer should adhere to the order in which the manipulations have been performed,
             // even when mixing bodies
             criteria.orderBy(criteriaBuilder.asc(manipulationDataRoot.get(ManipulationData_.startTimestamp)));
         }
 
-        final boolean present;
-        try (final Stream<ManipulationData> countingStream = this.getOrderedQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
-        }
-
-        return new GetterResult<>(this.getOrderedQueryResult(criteria), present);
+        return new GetterResult<>(
+                this.getOrderedQueryResult(criteria), this.isPresent(ManipulationData.class, restriction));
     }
 
     /**
@@ -1854,22 +2222,14 @@ public class MessageStorage implements AutoCloseable {
             return getManipulationDataByManipulation(manipulationName);
         }
 
-        final CriteriaQuery<ManipulationData> criteria;
-        try (final Session session = sessionFactory.openSession()) {
-            session.beginTransaction();
-
-            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-            criteria = criteriaBuilder.createQuery(ManipulationData.class);
-            final Root<ManipulationData> root = criteria.from(ManipulationData.class);
-            criteria.select(root);
-
+        final Restriction<ManipulationData> restriction = (criteriaBuilder, query, root) -> {
             final var rootPredicates = new ArrayList<Predicate>();
             rootPredicates.add(criteriaBuilder.equal(root.get(ManipulationData_.methodName), manipulationName));
 
             final List<Predicate> parameterExistPredicates = new ArrayList<>();
 
             for (var parameterData : parameter.getParameterData()) {
-                final var parameterSubquery = criteria.subquery(ManipulationParameter.class);
+                final var parameterSubquery = query.subquery(ManipulationParameter.class);
                 final Root<ManipulationParameter> manipulationParameterRoot =
                         parameterSubquery.from(ManipulationParameter.class);
                 parameterSubquery
@@ -1888,15 +2248,85 @@ public class MessageStorage implements AutoCloseable {
                 parameterExistPredicates.add(criteriaBuilder.exists(parameterSubquery));
             }
 
-            criteria.where(criteriaBuilder.and(
+            return criteriaBuilder.and(
                     criteriaBuilder.and(rootPredicates.toArray(new Predicate[0])),
-                    criteriaBuilder.and(parameterExistPredicates.toArray(new Predicate[0]))));
-        }
-        final boolean present;
-        try (final Stream<ManipulationData> countingStream = this.getOrderedQueryResult(criteria)) {
-            present = countingStream.findAny().isPresent();
+                    criteriaBuilder.and(parameterExistPredicates.toArray(new Predicate[0])));
+        };
+
+        final CriteriaQuery<ManipulationData> criteria;
+        try (final Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            criteria = criteriaBuilder.createQuery(ManipulationData.class);
+            final Root<ManipulationData> root = criteria.from(ManipulationData.class);
+            criteria.select(root);
+            criteria.where(restriction.apply(criteriaBuilder, criteria, root));
         }
-        return new GetterResult<>(this.getOrderedQueryResult(criteria), present);
+        return new GetterResult<>(
+                this.getOrderedQueryResult(criteria), this.isPresent(ManipulationData.class, restriction));
+    }
+
+    // only the reports and the GetMdibResponse are indexed, other body elements carrying an MdibVersionGroup are not
+    private static boolean isReportIndexed(final QName... bodyTypes) {
+        return Arrays.stream(bodyTypes).allMatch(bodyType -> ReportIndexEntity.isIndexed(bodyType.toString()));
+    }
+
+    private static Predicate bodyElementIn(
+            final CriteriaBuilder criteriaBuilder,
+            final Root<ReportIndexEntity> reportIndexRoot,
+            final QName... bodyTypes) {
+        if (bodyTypes.length == 0) {
+            // an empty in list is not valid sql
+            return criteriaBuilder.disjunction();
+        }
+        return reportIndexRoot
+                .get(ReportIndexEntity_.bodyElement)
+                .in(Arrays.stream(bodyTypes).map(QName::toString).toList());
+    }
+
+    // messages are joined explicitly, so that the join can be shared with the selection of the query
+    private static Predicate inboundBodyElementIn(
+            final CriteriaBuilder criteriaBuilder,
+            final Root<MdibVersionGroupEntity> mdibVersionGroupEntityRoot,
+            final Join<MdibVersionGroupEntity, MessageContent> messageContentJoin,
+            final QName... bodyTypes) {
+        final List<Predicate> bodyElementPredicates = new ArrayList<>();
+        for (final QName bodyElement : bodyTypes) {
+            bodyElementPredicates.add(criteriaBuilder.equal(
+                    mdibVersionGroupEntityRoot.get(MdibVersionGroupEntity_.bodyElement), bodyElement.toString()));
+        }
+
+        return criteriaBuilder.and(
+                criteriaBuilder.equal(
+                        messageContentJoin.get(MessageContent_.direction), CommunicationLog.Direction.INBOUND),
+                criteriaBuilder.or(bodyElementPredicates.toArray(new Predicate[0])));
+    }
+
+    // SOAP messages have a SOAP 1.2 envelope element or an application/soap+xml content type
+    private static Predicate isSoap(
+            final CriteriaBuilder criteriaBuilder,
+            final AbstractQuery<?> query,
+            final Root<MessageContent> messageContentRoot) {
+        final Subquery<HTTPHeaderEntity> headerSubQuery = query.subquery(HTTPHeaderEntity.class);
+        final Root<HTTPHeaderEntity> httpHeaderEntityRoot = headerSubQuery.from(HTTPHeaderEntity.class);
+        headerSubQuery.select(httpHeaderEntityRoot);
+
+        headerSubQuery.where(criteriaBuilder.and(
+                criteriaBuilder.equal(
+                        httpHeaderEntityRoot.get(HTTPHeaderEntity_.messageContent),
+                        messageContentRoot.get(MessageContent_.incId)),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(
+                                criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerKey)),
+                                HTTP_HEADER_NAME_CONTENT_TYPE),
+                        criteriaBuilder.like(
+                                criteriaBuilder.lower(httpHeaderEntityRoot.get(HTTPHeaderEntity_.headerValue)),
+                                criteriaBuilder.literal("%application/soap+xml%")))));
+
+        return criteriaBuilder.or(
+                criteriaBuilder.isTrue(messageContentRoot.get(MessageContent_.isSOAP)),
+                criteriaBuilder.exists(headerSubQuery));
     }
 
     private <T> Stream<T> getQueryResult(final CriteriaQuery<T> criteriaQuery) {
@@ -1906,9 +2336,100 @@ public class MessageStorage implements AutoCloseable {
         final ResultIterator<T> resultIterator = new ResultIterator<>(session, results);
 
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultIterator, Spliterator.ORDERED), false)
+                .map(this::attachBodyStorage)
+                .onClose(resultIterator::close);
+    }
+
+    private Stream<MessageContent> getQueryResult(
+            final CriteriaQuery<MessageContent> criteriaQuery,
+            final Set<MessageContentCollection> fetchedCollections) {
+        if (fetchedCollections.isEmpty()) {
+            return getQueryResult(criteriaQuery);
+        }
+        final Session session = sessionFactory.openSession();
+        final Stream<MessageContent> results = getStreamForQuery(session, criteriaQuery);
+
+        // messages are handed out in batches of the fetch size, their collections are fetched once per batch
+        final ResultIterator<MessageContent> resultIterator = new ResultIterator<>(
+                session,
+                results,
+                getFetchSize(criteriaQuery),
+                batch -> fetchCollections(batch, fetchedCollections));
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultIterator, Spliterator.ORDERED), false)
+                .map(this::attachBodyStorage)
                 .onClose(resultIterator::close);
     }
 
+    private void fetchCollections(
+            final List<MessageContent> messages, final Set<MessageContentCollection> fetchedCollections) {
+        // queries returning an entity multiple times yield the same instance
+        final Map<Long, MessageContent> messagesById = new HashMap<>();
+        messages.forEach(message -> messagesById.putIfAbsent(message.getIncId(), message));
+        final List<Long> messageIds = List.copyOf(messagesById.keySet());
+
+        try (final Session session = sessionFactory.openSession()) {
+            if (fetchedCollections.contains(MessageContentCollection.HEADERS)) {
+                final var headers = fetchHeaders(session, messageIds);
+                messagesById.forEach((id, message) -> message.setFetchedHeaders(headers.getOrDefault(id, List.of())));
+            }
+            if (fetchedCollections.contains(MessageContentCollection.ACTIONS)) {
+                final var actions = fetchElementCollection(
+                        session, messageIds, root -> root.join(MessageContent_.actions), String.class);
+                messagesById.forEach(
+                        (id, message) -> message.setFetchedActions(Set.copyOf(actions.getOrDefault(id, List.of()))));
+            }
+            if (fetchedCollections.contains(MessageContentCollection.CERTIFICATES)) {
+                final var certs = fetchElementCollection(
+                        session, messageIds, root -> root.join(MessageContent_.certs), X509Certificate.class);
+                messagesById.forEach((id, message) -> message.setFetchedCerts(certs.getOrDefault(id, List.of())));
+            }
+        }
+    }
+
+    private static Map<Long, List<Map.Entry<String, String>>> fetchHeaders(
+            final Session session, final List<Long> messageIds) {
+        final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> headerQuery = criteriaBuilder.createTupleQuery();
+        final Root<HTTPHeaderEntity> headerRoot = headerQuery.from(HTTPHeaderEntity.class);
+        final Path<Long> messageId = headerRoot.get(HTTPHeaderEntity_.messageContent).get(MessageContent_.incId);
+        headerQuery.multiselect(
+                messageId,
+                headerRoot.get(HTTPHeaderEntity_.headerKey),
+                headerRoot.get(HTTPHeaderEntity_.headerValue));
+        headerQuery.where(messageId.in(messageIds));
+        // headers are persisted in the order they have been received in
+        headerQuery.orderBy(criteriaBuilder.asc(headerRoot.get(HTTPHeaderEntity_.incId)));
+
+        final Map<Long, List<Map.Entry<String, String>>> headers = new HashMap<>();
+        for (final Tuple header : session.createQuery(headerQuery).setReadOnly(true).getResultList()) {
+            headers.computeIfAbsent(header.get(0, Long.class), id -> new ArrayList<>())
+                    .add(new AbstractMap.SimpleImmutableEntry<>(
+                            header.get(1, String.class), header.get(2, String.class)));
+        }
+        return headers;
+    }
+
+    private static <V> Map<Long, List<V>> fetchElementCollection(
+            final Session session,
+            final List<Long> messageIds,
+            final Function<Root<MessageContent>, Join<MessageContent, V>> collectionJoin,
+            final Class<V> elementType) {
+        final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> elementQuery = criteriaBuilder.createTupleQuery();
+        final Root<MessageContent> messageContentRoot = elementQuery.from(MessageContent.class);
+        final Path<Long> messageId = messageContentRoot.get(MessageContent_.incId);
+        elementQuery.multiselect(messageId, collectionJoin.apply(messageContentRoot));
+        elementQuery.where(messageId.in(messageIds));
+
+        final Map<Long, List<V>> elements = new HashMap<>();
+        for (final Tuple element : session.createQuery(elementQuery).setReadOnly(true).getResultList()) {
+            elements.computeIfAbsent(element.get(0, Long.class), id -> new ArrayList<>())
+                    .add(element.get(1, elementType));
+        }
+        return elements;
+    }
+
     private <T> Stream<T> getOrderedQueryResult(final CriteriaQuery<T> criteriaQuery) {
         final Session session = sessionFactory.openSession();
         final Stream<T> results = getOrderedStreamForQuery(session, criteriaQuery);
@@ -1916,21 +2437,46 @@ public class MessageStorage implements AutoCloseable {
         final ResultIterator<T> resultIterator = new ResultIterator<>(session, results);
 
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultIterator, Spliterator.ORDERED), false)
+                .map(this::attachBodyStorage)
                 .onClose(resultIterator::close);
     }
 
-    // be aware, that this does not use evict on cached objects
-    private <T> Stream<T> getStreamForQuery(final CriteriaQuery<T> criteriaQuery) {
-        final Session session = sessionFactory.openSession();
-        final Stream<T> results =
-                session
-                        .createQuery(criteriaQuery)
-                        .setReadOnly(true)
-                        .setCacheable(false)
-                        .setFetchSize(FETCH_SIZE)
-                        .stream();
+    // only the id of a single row is fetched, instead of streaming all matching rows including their bodies
+    private <X> boolean isPresent(final Class<X> rootType, final Restriction<X> restriction) {
+        try (final Session session = sessionFactory.openSession()) {
+            final CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            final CriteriaQuery<Object> existenceQuery = criteriaBuilder.createQuery(Object.class);
+            final Root<X> root = existenceQuery.from(rootType);
+            existenceQuery.select(idOf(root));
+            existenceQuery.where(restriction.apply(criteriaBuilder, existenceQuery, root));
+            return !session.createQuery(existenceQuery)
+                    .setReadOnly(true)
+                    .setCacheable(false)
+                    .setMaxResults(1)
+                    .setFetchSize(1)
+                    .getResultList()
+                    .isEmpty();
+        }
+    }
+
+    private static <X> Path<?> idOf(final Root<X> root) {
+        final EntityType<X> entityType = root.getModel();
+        return root.get(entityType.getId(entityType.getIdType().getJavaType()));
+    }
 
-        return results.onClose(session::close);
+    private int getFetchSize(final CriteriaQuery<?> criteriaQuery) {
+        if (criteriaQuery.getResultType().isAnnotationPresent(Entity.class)) {
+            return this.configuration.getFetchSize();
+        }
+        return this.configuration.getFetchSize() * PROJECTION_FETCH_SIZE_FACTOR;
+    }
+
+    // bodies which have been moved out of the database are loaded on access using the body storage
+    private <T> T attachBodyStorage(final T result) {
+        if (result instanceof final MessageContent messageContent) {
+            messageContent.setBodyStorage(this.bodyStorage);
+        }
+        return result;
     }
 
     // be aware, that this does not use evict on cached objects
@@ -1939,7 +2485,7 @@ public class MessageStorage implements AutoCloseable {
                 .createQuery(criteriaQuery)
                 .setReadOnly(true)
                 .setCacheable(false)
-                .setFetchSize(FETCH_SIZE)
+                .setFetchSize(getFetchSize(criteriaQuery))
                 .stream();
     }
 
@@ -1951,7 +2497,7 @@ public class MessageStorage implements AutoCloseable {
                 (ScrollableResultsImplementor) session.createQuery(criteriaQuery)
                         .setReadOnly(true)
                         .setCacheable(false)
-                        .setFetchSize(FETCH_SIZE)
+                        .setFetchSize(getFetchSize(criteriaQuery))
                         .scroll(ScrollMode.FORWARD_ONLY);
         final OrderedStreamIterator<T> iterator = new OrderedStreamIterator<>(scrollableResults);
         final Spliterator<T> spliterator =
@@ -1960,28 +2506,65 @@ public class MessageStorage implements AutoCloseable {
         return (Stream<T>) new StreamDecorator(StreamSupport.stream(spliterator, false), scrollableResults::close);
     }
 
-    private void transmit(final List<DatabaseEntry> results) {
+    @Nullable
+    private Object convertEntry(final DatabaseEntry entry) {
+        if (entry instanceof final Message message) {
+            try {
+                final MessageContent content = convertMessageToMessageContent(message);
+                try {
+                    this.bodyStorage.store(content);
+                } catch (final IOException e) {
+                    // the body is kept inside the database instead
+                    LOG.error("Could not store the body of message {}", content.getUuid(), e);
+                    testRunObserver.invalidateTestRun(e);
+                }
+                // bodies persisted inside the database must not refer to the pooled buffer anymore
+                content.detachCapturedBody();
+                return content;
+            } finally {
+                // pooled buffers can be reused once the body has been stored, also if the conversion failed
+                message.release();
+            }
+        } else if (entry instanceof ManipulationInfo) {
+            return convertManipulationInfoToManipulationData((ManipulationInfo) entry);
+        }
+        return null;
+    }
+
+    private void transmit(final List<Object> entities) {
         try (final Session session = sessionFactory.openSession()) {
             final Transaction transaction = session.beginTransaction();
+            try {
+                saveEntities(session, entities);
+                transaction.commit();
+            } catch (final PersistenceException | IllegalStateException e) {
+                // includes all HibernateExceptions, e.g. failed jdbc batches, and the failures of an unusable session
+                discard(transaction, entities, e);
+            }
+        }
+    }
 
-            for (int i = 0; i < results.size(); i++) {
-                final var entry = results.get(i);
-                if (entry instanceof Message) {
-                    final MessageContent content = convertMessageToMessageContent((Message) entry);
-                    session.save(content);
-                } else if (entry instanceof ManipulationInfo) {
-                    final ManipulationData content =
-                            convertManipulationInfoToManipulationData((ManipulationInfo) entry);
-                    session.save(content);
-                }
-
-                if (i % configuration.getInsertBatchSize() == 0) {
-                    session.flush();
-                    session.clear();
-                }
+    private void discard(final Transaction transaction, final List<Object> entities, final RuntimeException cause) {
+        // the entries are lost, a flush must not wait for them nonetheless
+        LOG.error("Could not commit {} entries to the database", entities.size(), cause);
+        try {
+            if (transaction.isActive()) {
+                transaction.rollback();
             }
+        } catch (final HibernateException e) {
+            LOG.error("Could not roll back the failed transaction", e);
+        }
+        testRunObserver.invalidateTestRun("Could not commit entries to the database", cause);
+    }
 
-            transaction.commit();
+    private void saveEntities(final Session session, final List<Object> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            session.save(entities.get(i));
+
+            if (i % configuration.getInsertBatchSize() == 0) {
+                session.flush();
+                session.clear();
+            }
         }
     }
 
@@ -2000,7 +2583,7 @@ public class MessageStorage implements AutoCloseable {
      * @return the count
      */
     public long getInvalidMimeTypeErrorCount() {
-        return this.invalidMimeTypeCount;
+        return this.invalidMimeTypeCount.get();
     }
 
     /**
@@ -2035,111 +2618,86 @@ public class MessageStorage implements AutoCloseable {
         }
     }
 
+    /**
+     * Restriction of the entities retrieved by a getter.
+     *
+     * <p>
+     * The restriction is applied to the query of the getter as well as to the query checking whether any entity is
+     * present, which selects the id of the root entity only.
+     *
+     * @param <X> type of the root entity
+     */
+    @FunctionalInterface
+    private interface Restriction<X> {
+        Predicate apply(CriteriaBuilder criteriaBuilder, AbstractQuery<?> query, Root<X> root);
+    }
+
     private static class ResultIterator<T> implements Iterator<T>, AutoCloseable {
         private final Session session;
         private final Iterator<T> iterator;
         private final Stream<T> originStream;
-        private T currentElement;
+        private final int batchSize;
+        private final Consumer<List<T>> batchLoader;
+        private final List<T> batch;
+        private int batchPosition;
 
         ResultIterator(final Session session, final Stream<T> originStream) {
+            this(session, originStream, 1, batch -> {});
+        }
+
+        ResultIterator(
+                final Session session,
+                final Stream<T> originStream,
+                final int batchSize,
+                final Consumer<List<T>> batchLoader) {
             this.session = session;
             this.iterator = originStream.iterator();
             this.originStream = originStream;
+            this.batchSize = batchSize;
+            this.batchLoader = batchLoader;
+            this.batch = new ArrayList<>(batchSize);
+            this.batchPosition = 0;
         }
 
         @Override
         public boolean hasNext() {
-            return this.iterator.hasNext();
+            return this.batchPosition < this.batch.size() || this.iterator.hasNext();
         }
 
         @Override
         public T next() {
-            if (this.currentElement != null) {
+            if (this.batchPosition >= this.batch.size()) {
+                // elements are evicted once the whole batch has been handed out
+                evictBatch();
+                while (this.batch.size() < this.batchSize && this.iterator.hasNext()) {
+                    this.batch.add(this.iterator.next());
+                }
+                if (this.batch.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                this.batchLoader.accept(this.batch);
+            }
+            return this.batch.get(this.batchPosition++);
+        }
+
+        private void evictBatch() {
+            for (final T element : this.batch) {
                 try {
-                    this.session.evict(this.currentElement);
+                    this.session.evict(element);
                 } catch (IllegalArgumentException e) {
                     this.session.clear();
+                    break;
                 }
             }
-
-            this.currentElement = this.iterator.next();
-            return this.currentElement;
+            this.batch.clear();
+            this.batchPosition = 0;
         }
 
         @Override
         public void close() {
-            this.currentElement = null;
+            this.batch.clear();
             this.originStream.close();
             this.session.close();
         }
     }
-
-    private final class DatabaseInteractionThread extends Thread {
-        private final AtomicBoolean stopped;
-        private final AtomicBoolean flushEvent;
-
-        private DatabaseInteractionThread() {
-
-            this.stopped = new AtomicBoolean();
-            this.flushEvent = new AtomicBoolean();
-        }
-
-        public void setStopped() {
-            if (!this.stopped.compareAndSet(false, true)) {
-                LOG.error("setStopped called on already stopped thread");
-            }
-        }
-
-        public void triggerFlush() {
-            if (!this.flushEvent.compareAndSet(false, true)) {
-                throw new RuntimeException("a previous flush has not been finished");
-            }
-        }
-
-        private void drainQueue() {
-            final List<DatabaseEntry> results = new ArrayList<>(blockingQueueSize);
-
-            queueExitLock.lock();
-            try {
-                while (results.size() < blockingQueueSize && !this.stopped.get()) {
-                    final DatabaseEntry polledElement = messageQueue.poll(100L, TimeUnit.MICROSECONDS);
-                    if (polledElement != null) {
-                        results.add(polledElement);
-                    }
-
-                    if (this.flushEvent.get()) {
-                        queueExitLock.unlock();
-                        try {
-                            // will block at the barrier
-                            flush(results, true, this);
-                            results.clear();
-                        } finally {
-                            queueExitLock.lock();
-                        }
-                    }
-                }
-            } catch (final InterruptedException e) {
-                LOG.error("the message content queue poll was interrupted", e);
-                testRunObserver.invalidateTestRun(e);
-            } finally {
-                queueExitLock.unlock();
-            }
-
-            transmit(results);
-        }
-
-        public void resetFlushEvent() {
-            if (!this.flushEvent.compareAndSet(true, false)) {
-                final String flushEventEarlyReset = "The flush event was reset too early";
-                LOG.error(flushEventEarlyReset);
-                testRunObserver.invalidateTestRun(flushEventEarlyReset);
-            }
-        }
-
-        public void run() {
-            while (!this.stopped.get()) {
-                drainQueue();
-            }
-        }
-    }
 }
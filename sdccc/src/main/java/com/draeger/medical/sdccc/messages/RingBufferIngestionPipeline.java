@@ -0,0 +1,288 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.WorkHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Moves captured entries into the database through a preallocated ring buffer.
+ *
+ * <p>
+ * Capturing threads only claim a slot of the ring buffer and publish the entry into it, no locks are taken and no
+ * objects are allocated on the way. A pool of workers converts the published entries into database entities, each
+ * entry is converted by exactly one worker. The persist handlers partition the converted entries among themselves by
+ * their position in the ring buffer and commit everything that became available at once, up to the configured batch
+ * size, in a single transaction.
+ *
+ * <p>
+ * Capturing threads only have to wait once all slots are occupied, the ring buffer is therefore expected to be
+ * considerably larger than the batch size to absorb periods in which the database is slow.
+ *
+ * <p>
+ * Entries are numbered by their position in the ring buffer, the committed watermark is the lowest position all
+ * persist handlers have committed up to.
+ */
+final class RingBufferIngestionPipeline implements IngestionPipeline {
+    private static final Logger LOG = LogManager.getLogger(RingBufferIngestionPipeline.class);
+
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+    private static final long CLAIM_RETRY_NANOS = 1000;
+
+    private final int batchSize;
+    private final Function<DatabaseEntry, Object> converter;
+    private final Consumer<List<Object>> persister;
+    private final TestRunObserver testRunObserver;
+
+    private final Disruptor<IngestionEvent> disruptor;
+    private final RingBuffer<IngestionEvent> ringBuffer;
+    private final List<PersistHandler> persistHandlers;
+    private final List<Thread> threads;
+    private final CommitWatermark committedWatermark;
+    private final AtomicBoolean stopped;
+
+    private final IngestionStage captureStage;
+    private final IngestionStage parseStage;
+    private final IngestionStage persistStage;
+
+    /**
+     * Creates the pipeline and starts its threads.
+     *
+     * @param ringBufferSize  number of preallocated slots, rounded up to the next power of two
+     * @param batchSize       maximum number of entities committed at once
+     * @param parseThreads    number of workers converting entries
+     * @param persistThreads  number of handlers committing entities
+     * @param waitStrategy    strategy with which the workers and handlers wait for entries
+     * @param converter       converts an entry into the entity to persist, null if nothing is to be persisted
+     * @param persister       commits a batch of entities, must handle any persistence errors itself
+     * @param testRunObserver to invalidate the test run with if an entry could not be ingested
+     */
+    RingBufferIngestionPipeline(
+            final int ringBufferSize,
+            final int batchSize,
+            final int parseThreads,
+            final int persistThreads,
+            final WaitStrategy waitStrategy,
+            final Function<DatabaseEntry, Object> converter,
+            final Consumer<List<Object>> persister,
+            final TestRunObserver testRunObserver) {
+        this.batchSize = batchSize;
+        this.converter = converter;
+        this.persister = persister;
+        this.testRunObserver = testRunObserver;
+
+        this.committedWatermark = new CommitWatermark();
+        this.stopped = new AtomicBoolean();
+        this.threads = new CopyOnWriteArrayList<>();
+
+        this.captureStage = new IngestionStage("capture");
+        this.parseStage = new IngestionStage("parse");
+        this.persistStage = new IngestionStage("persist");
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.disruptor = new Disruptor<>(
+                IngestionEvent::new,
+                nextPowerOfTwo(ringBufferSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "MessageIngestion-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    threads.add(thread);
+                    return thread;
+                },
+                ProducerType.MULTI,
+                waitStrategy);
+
+        @SuppressWarnings("unchecked")
+        final WorkHandler<IngestionEvent>[] parseHandlers = new WorkHandler[parseThreads];
+        for (int i = 0; i < parseThreads; i++) {
+            parseHandlers[i] = this::parseEvent;
+        }
+        this.persistHandlers = new ArrayList<>(persistThreads);
+        for (int i = 0; i < persistThreads; i++) {
+            this.persistHandlers.add(new PersistHandler(i, persistThreads));
+        }
+        this.disruptor
+                .handleEventsWithWorkerPool(parseHandlers)
+                .then(this.persistHandlers.toArray(new PersistHandler[0]));
+        this.ringBuffer = this.disruptor.start();
+    }
+
+    @Override
+    public void submit(final DatabaseEntry entry) throws InterruptedException {
+        final long submissionStart = System.nanoTime();
+        captureStage.enter();
+        final long sequence;
+        try {
+            sequence = claimSlot();
+        } finally {
+            captureStage.leave(System.nanoTime() - submissionStart);
+        }
+
+        final IngestionEvent event = ringBuffer.get(sequence);
+        event.entry = entry;
+        event.publishedAt = System.nanoTime();
+        parseStage.enter();
+        ringBuffer.publish(sequence);
+    }
+
+    @Override
+    public long getSubmittedWatermark() {
+        // covers every slot claimed so far, which includes all entries whose submission has completed
+        return ringBuffer.getCursor() + 1;
+    }
+
+    @Override
+    public long getCommittedWatermark() {
+        return committedWatermark.get();
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitCommitted(final long watermark) {
+        return committedWatermark.await(watermark);
+    }
+
+    @Override
+    public void close() {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        disruptor.halt();
+        try {
+            for (final Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(STOP_TIMEOUT_SECONDS));
+            }
+        } catch (final InterruptedException e) {
+            LOG.error("unable to wait for ingestion thread termination due to an interrupt", e);
+            testRunObserver.invalidateTestRun(e);
+        }
+        committedWatermark.close();
+        IngestionStage.log(LOG, getStatistics());
+    }
+
+    @Override
+    public List<IngestionStatistics> getStatistics() {
+        return List.of(captureStage.getStatistics(), parseStage.getStatistics(), persistStage.getStatistics());
+    }
+
+    private long claimSlot() throws InterruptedException {
+        while (true) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (final InsufficientCapacityException e) {
+                // all slots are occupied, wait for the consumers without giving up on interrupts
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("interrupted while waiting for a free ring buffer slot");
+                }
+                LockSupport.parkNanos(CLAIM_RETRY_NANOS);
+            }
+        }
+    }
+
+    private long committedSequence() {
+        long committed = Long.MAX_VALUE;
+        for (final PersistHandler handler : persistHandlers) {
+            committed = Math.min(committed, handler.committedSequence.get());
+        }
+        return committed;
+    }
+
+    private void parseEvent(final IngestionEvent event) {
+        parseStage.leave(System.nanoTime() - event.publishedAt);
+
+        final DatabaseEntry entry = event.entry;
+        event.entry = null;
+        try {
+            event.entity = converter.apply(entry);
+        } catch (final RuntimeException e) {
+            LOG.error("Could not convert entry {}", entry.getID(), e);
+            testRunObserver.invalidateTestRun("Could not convert entry " + entry.getID(), e);
+            event.entity = null;
+        }
+
+        if (event.entity != null) {
+            event.parsedAt = System.nanoTime();
+            persistStage.enter();
+        }
+    }
+
+    private static int nextPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Preallocated slot of the ring buffer, reused for every entry passing through it.
+     */
+    private static final class IngestionEvent {
+        private DatabaseEntry entry;
+        private Object entity;
+        private long publishedAt;
+        private long parsedAt;
+    }
+
+    private final class PersistHandler implements EventHandler<IngestionEvent> {
+        private final int partition;
+        private final int partitionCount;
+        private final List<Object> batch;
+        private final AtomicLong committedSequence;
+
+        private PersistHandler(final int partition, final int partitionCount) {
+            this.partition = partition;
+            this.partitionCount = partitionCount;
+            this.batch = new ArrayList<>(batchSize);
+            this.committedSequence = new AtomicLong(-1);
+        }
+
+        @Override
+        public void onEvent(final IngestionEvent event, final long sequence, final boolean endOfBatch) {
+            if (sequence % partitionCount == partition && event.entity != null) {
+                persistStage.leave(System.nanoTime() - event.parsedAt);
+                batch.add(event.entity);
+                event.entity = null;
+            }
+            // commit once no further entries are available right now, or the batch is full
+            if (endOfBatch || batch.size() >= batchSize) {
+                commit();
+                committedSequence.set(sequence);
+                committedWatermark.advance(committedSequence() + 1);
+            }
+        }
+
+        private void commit() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                persister.accept(new ArrayList<>(batch));
+            } catch (final RuntimeException e) {
+                LOG.error("Could not persist {} entries", batch.size(), e);
+                testRunObserver.invalidateTestRun("Could not persist entries", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
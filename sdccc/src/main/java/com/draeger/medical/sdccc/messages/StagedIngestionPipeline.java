@@ -0,0 +1,252 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Moves captured entries into the database in three stages.
+ *
+ * <ol>
+ *     <li>capture: any number of threads submit entries, which only blocks once the pipeline holds
+ *     {@code capacity} entries</li>
+ *     <li>parse: a pool of workers converts the entries into database entities concurrently</li>
+ *     <li>persist: writer threads take all converted entities available, up to {@code capacity}, and commit them in
+ *     a single transaction</li>
+ * </ol>
+ *
+ * <p>
+ * Every entry is numbered on submission, the committed watermark only advances past an entry once all entries numbered
+ * before it have been committed, regardless of the order in which the workers complete them.
+ */
+final class StagedIngestionPipeline implements IngestionPipeline {
+    private static final Logger LOG = LogManager.getLogger(StagedIngestionPipeline.class);
+
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+
+    private final int capacity;
+    private final Function<DatabaseEntry, Object> converter;
+    private final Consumer<List<Object>> persister;
+    private final TestRunObserver testRunObserver;
+
+    private final Semaphore capacityPermits;
+    // numbering and completing entries is serialized, so no entry is ever numbered without being pending
+    private final Object sequenceLock;
+    private long lastSequenceNumber;
+    private final NavigableSet<Long> pendingSequenceNumbers;
+    private final CommitWatermark committedWatermark;
+
+    private final ExecutorService parseWorkers;
+    private final LinkedBlockingQueue<ConvertedEntry> persistQueue;
+    private final List<Thread> persistThreads;
+    private final AtomicBoolean stopped;
+
+    private final IngestionStage captureStage;
+    private final IngestionStage parseStage;
+    private final IngestionStage persistStage;
+
+    /**
+     * Creates the pipeline and starts its threads.
+     *
+     * @param capacity        maximum number of entries inside the pipeline, also the maximum number of entities
+     *                        committed at once
+     * @param parseThreads    number of workers converting entries
+     * @param persistThreads  number of threads committing entities
+     * @param converter       converts an entry into the entity to persist, null if nothing is to be persisted
+     * @param persister       commits a batch of entities, must handle any persistence errors itself
+     * @param testRunObserver to invalidate the test run with if an entry could not be ingested
+     */
+    StagedIngestionPipeline(
+            final int capacity,
+            final int parseThreads,
+            final int persistThreads,
+            final Function<DatabaseEntry, Object> converter,
+            final Consumer<List<Object>> persister,
+            final TestRunObserver testRunObserver) {
+        this.capacity = capacity;
+        this.converter = converter;
+        this.persister = persister;
+        this.testRunObserver = testRunObserver;
+
+        this.capacityPermits = new Semaphore(capacity);
+        this.sequenceLock = new Object();
+        this.lastSequenceNumber = 0;
+        this.pendingSequenceNumbers = new TreeSet<>();
+        this.committedWatermark = new CommitWatermark();
+        this.stopped = new AtomicBoolean();
+
+        this.captureStage = new IngestionStage("capture");
+        this.parseStage = new IngestionStage("parse");
+        this.persistStage = new IngestionStage("persist");
+
+        final AtomicInteger parseThreadCount = new AtomicInteger();
+        this.parseWorkers = Executors.newFixedThreadPool(parseThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "MessageParser-" + parseThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.persistQueue = new LinkedBlockingQueue<>();
+        this.persistThreads = new ArrayList<>(persistThreads);
+        for (int i = 0; i < persistThreads; i++) {
+            final Thread thread = new Thread(this::persistEntries, "MessagePersister-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            this.persistThreads.add(thread);
+        }
+    }
+
+    @Override
+    public void submit(final DatabaseEntry entry) throws InterruptedException {
+        final long submissionStart = System.nanoTime();
+        captureStage.enter();
+        try {
+            capacityPermits.acquire();
+        } finally {
+            captureStage.leave(System.nanoTime() - submissionStart);
+        }
+
+        final long sequenceNumber;
+        synchronized (sequenceLock) {
+            sequenceNumber = ++lastSequenceNumber;
+            pendingSequenceNumbers.add(sequenceNumber);
+        }
+
+        final long parseQueuedAt = System.nanoTime();
+        parseStage.enter();
+        parseWorkers.execute(() -> parseEntry(sequenceNumber, entry, parseQueuedAt));
+    }
+
+    @Override
+    public long getSubmittedWatermark() {
+        synchronized (sequenceLock) {
+            return lastSequenceNumber;
+        }
+    }
+
+    @Override
+    public long getCommittedWatermark() {
+        return committedWatermark.get();
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitCommitted(final long watermark) {
+        return committedWatermark.await(watermark);
+    }
+
+    @Override
+    public void close() {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        parseWorkers.shutdownNow();
+        persistThreads.forEach(Thread::interrupt);
+        try {
+            if (!parseWorkers.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.error("Message parse workers did not terminate in time");
+            }
+            for (final Thread thread : persistThreads) {
+                thread.join(TimeUnit.SECONDS.toMillis(STOP_TIMEOUT_SECONDS));
+            }
+        } catch (final InterruptedException e) {
+            LOG.error("unable to wait for ingestion thread termination due to an interrupt", e);
+            testRunObserver.invalidateTestRun(e);
+        }
+        committedWatermark.close();
+        IngestionStage.log(LOG, getStatistics());
+    }
+
+    @Override
+    public List<IngestionStatistics> getStatistics() {
+        return List.of(captureStage.getStatistics(), parseStage.getStatistics(), persistStage.getStatistics());
+    }
+
+    private void parseEntry(final long sequenceNumber, final DatabaseEntry entry, final long queuedAt) {
+        parseStage.leave(System.nanoTime() - queuedAt);
+
+        final Object entity;
+        try {
+            entity = converter.apply(entry);
+        } catch (final RuntimeException e) {
+            LOG.error("Could not convert entry {}", entry.getID(), e);
+            testRunObserver.invalidateTestRun("Could not convert entry " + entry.getID(), e);
+            complete(List.of(sequenceNumber));
+            return;
+        }
+
+        if (entity == null) {
+            complete(List.of(sequenceNumber));
+            return;
+        }
+        persistStage.enter();
+        persistQueue.add(new ConvertedEntry(sequenceNumber, entity, System.nanoTime()));
+    }
+
+    private void persistEntries() {
+        final List<ConvertedEntry> batch = new ArrayList<>(capacity);
+        while (!stopped.get()) {
+            try {
+                // block until there is work, then take everything that is available without waiting any further
+                batch.add(persistQueue.take());
+                persistQueue.drainTo(batch, capacity - 1);
+            } catch (final InterruptedException e) {
+                if (!stopped.get()) {
+                    LOG.error("the persist queue take was interrupted", e);
+                    testRunObserver.invalidateTestRun(e);
+                }
+                return;
+            }
+
+            final long now = System.nanoTime();
+            final List<Object> entities = new ArrayList<>(batch.size());
+            final List<Long> sequenceNumbers = new ArrayList<>(batch.size());
+            for (final ConvertedEntry convertedEntry : batch) {
+                persistStage.leave(now - convertedEntry.queuedAt());
+                entities.add(convertedEntry.entity());
+                sequenceNumbers.add(convertedEntry.sequenceNumber());
+            }
+            batch.clear();
+
+            try {
+                persister.accept(entities);
+            } catch (final RuntimeException e) {
+                LOG.error("Could not persist {} entries", entities.size(), e);
+                testRunObserver.invalidateTestRun("Could not persist entries", e);
+            } finally {
+                complete(sequenceNumbers);
+            }
+        }
+    }
+
+    private void complete(final List<Long> sequenceNumbers) {
+        final long watermark;
+        synchronized (sequenceLock) {
+            pendingSequenceNumbers.removeAll(sequenceNumbers);
+            watermark = pendingSequenceNumbers.isEmpty() ? lastSequenceNumber : pendingSequenceNumbers.first() - 1;
+        }
+        capacityPermits.release(sequenceNumbers.size());
+        committedWatermark.advance(watermark);
+    }
+
+    private record ConvertedEntry(long sequenceNumber, Object entity, long queuedAt) {}
+}
@@ -0,0 +1,54 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.guice;
+
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.draeger.medical.sdccc.messages.CompressingMessageBodyStorage;
+import com.draeger.medical.sdccc.messages.DatabaseMessageBodyStorage;
+import com.draeger.medical.sdccc.messages.LogMessageBodyStorage;
+import com.draeger.medical.sdccc.messages.MessageBodyStorage;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.name.Named;
+
+/**
+ * Guice provider for the {@linkplain MessageBodyStorage} selected in the configuration.
+ */
+public class MessageBodyStorageProvider implements Provider<MessageBodyStorage> {
+    public static final String DATABASE = "Database";
+    public static final String LOG = "Log";
+
+    private final String bodyStorage;
+    private final boolean bodyCompression;
+    private final Provider<DatabaseMessageBodyStorage> databaseBodyStorageProvider;
+    private final Provider<LogMessageBodyStorage> logBodyStorageProvider;
+
+    @Inject
+    MessageBodyStorageProvider(
+            @Named(TestSuiteConfig.COMMLOG_BODY_STORAGE) final String bodyStorage,
+            @Named(TestSuiteConfig.COMMLOG_BODY_COMPRESSION) final boolean bodyCompression,
+            final Provider<DatabaseMessageBodyStorage> databaseBodyStorageProvider,
+            final Provider<LogMessageBodyStorage> logBodyStorageProvider) {
+        this.bodyStorage = bodyStorage;
+        this.bodyCompression = bodyCompression;
+        this.databaseBodyStorageProvider = databaseBodyStorageProvider;
+        this.logBodyStorageProvider = logBodyStorageProvider;
+    }
+
+    @Override
+    public MessageBodyStorage get() {
+        final MessageBodyStorage storage = switch (bodyStorage) {
+            case DATABASE -> databaseBodyStorageProvider.get();
+            case LOG -> logBodyStorageProvider.get();
+            default -> throw new IllegalArgumentException(String.format(
+                    "Unknown body storage %s configured for %s, expected %s or %s",
+                    bodyStorage, TestSuiteConfig.COMMLOG_BODY_STORAGE, DATABASE, LOG));
+        };
+        return bodyCompression ? new CompressingMessageBodyStorage(storage) : storage;
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -14,6 +14,7 @@ import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * POJO for persisting headers.
@@ -23,7 +24,14 @@ import org.hibernate.annotations.GenericGenerator;
 public class HTTPHeaderEntity {
 
     @Id
-    @GenericGenerator(name = "HTTPHeaderIDGen", strategy = "increment")
+    @GenericGenerator(
+            name = "HTTPHeaderIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "http_header_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
     @GeneratedValue(generator = "HTTPHeaderIDGen")
     private long incId;
 
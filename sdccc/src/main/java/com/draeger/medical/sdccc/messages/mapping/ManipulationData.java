@@ -20,6 +20,7 @@ import javax.persistence.Table;
 import javax.persistence.Transient;
 import org.apache.commons.lang3.tuple.Pair;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * POJO for persisting relevant manipulation data.
@@ -32,7 +33,14 @@ public class ManipulationData {
     private static final int MAXIMUM_LENGTH = 2147483647;
 
     @Id
-    @GenericGenerator(name = "ManipulationDataIDGen", strategy = "increment")
+    @GenericGenerator(
+            name = "ManipulationDataIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "manipulation_data_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
     @GeneratedValue(generator = "ManipulationDataIDGen")
     private long incId;
 
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -14,6 +14,7 @@ import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * POJO for persisting manipulation parameter.
@@ -22,7 +23,14 @@ import org.hibernate.annotations.GenericGenerator;
 @Table(name = "manipulation_parameter")
 public class ManipulationParameter {
     @Id
-    @GenericGenerator(name = "ManipulationParameterIDGen", strategy = "increment")
+    @GenericGenerator(
+            name = "ManipulationParameterIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "manipulation_parameter_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
     @GeneratedValue(generator = "ManipulationParameterIDGen")
     private long incId;
 
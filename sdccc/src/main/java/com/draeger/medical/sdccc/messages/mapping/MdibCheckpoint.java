@@ -0,0 +1,96 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+/**
+ * POJO for persisting a snapshot of the mdib of a sequence, from which the history can be continued.
+ */
+@Entity(name = "MdibCheckpoint")
+@Table(name = "mdib_checkpoint")
+public class MdibCheckpoint {
+
+    @Transient
+    private static final int MAXIMUM_LENGTH = 2147483647;
+
+    @Id
+    @GenericGenerator(
+            name = "MdibCheckpointIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "mdib_checkpoint_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
+    @GeneratedValue(generator = "MdibCheckpointIDGen")
+    private long incId;
+
+    private String sequenceId;
+    private long mdibVersion;
+    private long maxReportTimestamp;
+
+    @Column(columnDefinition = "clob", length = MAXIMUM_LENGTH)
+    private String body;
+
+    private String uuid;
+
+    /**
+     * This will be used by hibernate when creating the POJO from database entries.
+     */
+    public MdibCheckpoint() {}
+
+    /**
+     * This will be used when creating the POJO before loading it into the database.
+     *
+     * @param sequenceId         of the mdib
+     * @param mdibVersion        of the mdib, all reports up to and including this version have been applied
+     * @param maxReportTimestamp highest nano timestamp of all messages which have been applied to the mdib
+     * @param body               the marshalled GetMdibResponse message containing the mdib
+     * @param uuid               of the checkpoint
+     */
+    public MdibCheckpoint(
+            final String sequenceId,
+            final long mdibVersion,
+            final long maxReportTimestamp,
+            final String body,
+            final String uuid) {
+        this.sequenceId = sequenceId;
+        this.mdibVersion = mdibVersion;
+        this.maxReportTimestamp = maxReportTimestamp;
+        this.body = body;
+        this.uuid = uuid;
+    }
+
+    public String getSequenceId() {
+        return sequenceId;
+    }
+
+    public long getMdibVersion() {
+        return mdibVersion;
+    }
+
+    public long getMaxReportTimestamp() {
+        return maxReportTimestamp;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+}
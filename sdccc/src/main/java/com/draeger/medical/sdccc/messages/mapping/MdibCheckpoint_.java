@@ -0,0 +1,30 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.StaticMetamodel;
+
+/**
+ * Used for building database query criteria.
+ */
+@SuppressFBWarnings(
+        value = {"UUF_UNUSED_PUBLIC_OR_PROTECTED_FIELD", "UWF_UNWRITTEN_PUBLIC_OR_PROTECTED_FIELD"},
+        justification = "This is a commonly made design choice for persistence meta models.")
+@StaticMetamodel(MdibCheckpoint.class)
+public final class MdibCheckpoint_ {
+    public static volatile SingularAttribute<MdibCheckpoint, Long> incId;
+    public static volatile SingularAttribute<MdibCheckpoint, String> sequenceId;
+    public static volatile SingularAttribute<MdibCheckpoint, Long> mdibVersion;
+    public static volatile SingularAttribute<MdibCheckpoint, Long> maxReportTimestamp;
+    public static volatile SingularAttribute<MdibCheckpoint, String> body;
+    public static volatile SingularAttribute<MdibCheckpoint, String> uuid;
+
+    private MdibCheckpoint_() {}
+}
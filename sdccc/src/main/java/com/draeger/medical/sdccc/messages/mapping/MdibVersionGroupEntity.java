@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -12,19 +12,33 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * POJO for persisting MdibVersionGroups.
  */
 @Entity(name = "MdibVersionGroupEntity")
-@Table(name = "mdib_version_groups")
+@Table(
+        name = "mdib_version_groups",
+        indexes = {
+            @Index(name = "mdib_version_groups_sequence_idx", columnList = "sequenceId, mdibVersion"),
+            @Index(name = "mdib_version_groups_body_element_idx", columnList = "bodyElement")
+        })
 public class MdibVersionGroupEntity {
 
     @Id
-    @GenericGenerator(name = "MdibVersionGroupIDGen", strategy = "increment")
+    @GenericGenerator(
+            name = "MdibVersionGroupIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "mdib_version_group_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
     @GeneratedValue(generator = "MdibVersionGroupIDGen")
     private long incId;
 
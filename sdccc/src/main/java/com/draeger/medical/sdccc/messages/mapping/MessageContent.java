@@ -1,13 +1,22 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.draeger.medical.sdccc.messages.mapping;
 
-import com.draeger.medical.sdccc.messages.util.MessageUtil;
+import com.draeger.medical.sdccc.messages.MessageBodyStorage;
+import com.draeger.medical.sdccc.messages.util.BodyCompression;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -16,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.DataFormatException;
 import javax.annotation.Nullable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -23,32 +33,80 @@ import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.somda.sdc.dpws.CommunicationLog;
 import org.somda.sdc.dpws.soap.CommunicationContext;
 import org.somda.sdc.dpws.soap.HttpApplicationInfo;
 
 /**
  * POJO for persisting relevant message information.
+ *
+ * <p>
+ * The body is persisted as received together with the charset it has been decoded with, it is only decoded into a
+ * string when requested. Depending on the configured {@linkplain MessageBodyStorage}, only a reference to the body
+ * is persisted in the database and the body is loaded from the body storage on access. Bodies may be persisted
+ * compressed, they are decompressed transparently on access.
  */
 @Entity(name = "MessageContent")
-@Table(name = "message_content")
+@Table(
+        name = "message_content",
+        indexes = {
+            @Index(name = "message_content_direction_idx", columnList = "direction, nanoTimestamp"),
+            @Index(name = "message_content_nano_timestamp_idx", columnList = "nanoTimestamp")
+        })
 public class MessageContent {
 
     @Transient
     private static final int MAXIMUM_LENGTH = 2147483647;
 
     @Id
-    @GenericGenerator(name = "MessageContentIDGen", strategy = "increment")
+    @GenericGenerator(
+            name = "MessageContentIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "message_content_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
     @GeneratedValue(generator = "MessageContentIDGen")
     private long incId;
 
-    @Column(columnDefinition = "clob", length = MAXIMUM_LENGTH)
+    @Lob
+    @Column(columnDefinition = "blob", length = MAXIMUM_LENGTH)
+    private byte[] rawBody;
+
+    private String bodyCharset;
+
+    @Column(nullable = true)
+    private Integer bodySegment;
+
+    @Column(nullable = true)
+    private Long bodyOffset;
+
+    @Column(nullable = true)
+    private Integer bodyLength;
+
+    @Column(nullable = true)
+    private String bodyCompression;
+
+    @Transient
+    private ByteBuffer capturedBody;
+
+    @Transient
+    private byte[] decompressedBody;
+
+    @Transient
     private String body;
 
+    @Transient
+    private MessageBodyStorage bodyStorage;
+
     @ElementCollection
     @Column(columnDefinition = "blob", length = MAXIMUM_LENGTH)
     private List<X509Certificate> certs;
@@ -59,9 +117,21 @@ public class MessageContent {
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "messageContent", orphanRemoval = true)
     private List<MdibVersionGroupEntity> mdibVersionGroups;
 
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "messageContent", orphanRemoval = true)
+    private List<ReportIndexEntity> reportIndexEntries;
+
     @ElementCollection
     private Set<String> actions;
 
+    @Transient
+    private List<X509Certificate> fetchedCerts;
+
+    @Transient
+    private List<HTTPHeaderEntity> fetchedHeaders;
+
+    @Transient
+    private Set<String> fetchedActions;
+
     private CommunicationLog.Direction direction;
     private CommunicationLog.MessageType messageType;
 
@@ -87,7 +157,11 @@ public class MessageContent {
     /**
      * This will be used when creating the POJO before loading it into the database.
      *
-     * @param body                 data send on top of the transport or application layer
+     * @param rawBody              data send on top of the transport or application layer, as received, it is only
+     *                             copied onto the heap once it is accessed or {@linkplain #detachCapturedBody()} is
+     *                             called
+     * @param bodyCharset          charset the body is encoded in
+     * @param messageHash          hex representation of the SHA-256 hash of the raw body
      * @param communicationContext information about the transport and application layer
      * @param direction            declares, if the message was outgoing or ingoing
      * @param messageType          type of the message, i.e. request, response
@@ -100,8 +174,13 @@ public class MessageContent {
      * @param isSOAP               shall be true if a SOAP envelope was found and false otherwise
      * @param sender               the IP address of the message's sender or null if it could not be determined.
      */
+    @SuppressFBWarnings(
+            value = {"EI_EXPOSE_REP2"},
+            justification = "The body is not copied on purpose, it is not modified after being received.")
     public MessageContent(
-            final String body,
+            final ByteBuffer rawBody,
+            final Charset bodyCharset,
+            final String messageHash,
             final CommunicationContext communicationContext,
             final CommunicationLog.Direction direction,
             final CommunicationLog.MessageType messageType,
@@ -113,7 +192,8 @@ public class MessageContent {
             final boolean isSOAP,
             @Nullable final String sender) {
 
-        this.body = body;
+        this.capturedBody = rawBody.asReadOnlyBuffer();
+        this.bodyCharset = bodyCharset.name();
         this.direction = direction;
         this.messageType = messageType;
         this.timestamp = timestamp;
@@ -123,7 +203,7 @@ public class MessageContent {
         this.isSOAP = isSOAP;
         this.sender = sender;
 
-        this.messageHash = MessageUtil.hashMessage(this.body);
+        this.messageHash = messageHash;
         this.scheme = communicationContext.getTransportInfo().getScheme();
 
         this.certs = communicationContext.getTransportInfo().getX509Certificates();
@@ -151,18 +231,185 @@ public class MessageContent {
         this.mdibVersionGroups = mdibVersionGroups.stream()
                 .map(mdibVersionGroup -> new MdibVersionGroupEntity(mdibVersionGroup, this))
                 .toList();
+
+        // only inbound reports are looked up by their MdibVersionGroup
+        if (direction == CommunicationLog.Direction.INBOUND) {
+            this.reportIndexEntries = mdibVersionGroups.stream()
+                    .filter(mdibVersionGroup -> ReportIndexEntity.isIndexed(mdibVersionGroup.bodyElement()))
+                    .map(mdibVersionGroup -> new ReportIndexEntity(mdibVersionGroup, this))
+                    .toList();
+        } else {
+            this.reportIndexEntries = Collections.emptyList();
+        }
     }
 
+    /**
+     * @return the body decoded using the charset it has been received in
+     */
     public String getBody() {
+        if (this.body == null) {
+            final byte[] raw = getRawBody();
+            this.body = raw == null ? "" : getBodyCharset().decode(ByteBuffer.wrap(raw)).toString();
+        }
         return this.body;
     }
 
+    /**
+     * @return the body as received
+     */
+    @SuppressFBWarnings(
+            value = {"EI_EXPOSE_REP"},
+            justification = "it doesn't matter, the field might as well be public.")
+    public byte[] getRawBody() {
+        if (this.bodyCompression == null) {
+            return getStoredBody();
+        }
+        if (this.decompressedBody == null) {
+            try {
+                this.decompressedBody = BodyCompression.decompress(this.bodyCompression, getStoredBody());
+            } catch (final DataFormatException e) {
+                throw new UncheckedIOException(
+                        "Could not decompress the body of message " + this.uuid, new IOException(e));
+            }
+        }
+        return this.decompressedBody;
+    }
+
+    /**
+     * @return the body as persisted, i.e. compressed if {@linkplain #compressBody()} has been applied
+     */
+    @SuppressFBWarnings(
+            value = {"EI_EXPOSE_REP"},
+            justification = "it doesn't matter, the field might as well be public.")
+    public byte[] getStoredBody() {
+        detachCapturedBody();
+        if (this.rawBody == null && this.bodyLength != null) {
+            if (this.bodyStorage == null) {
+                throw new IllegalStateException("No body storage to load the body of message " + this.uuid + " from");
+            }
+            try {
+                this.rawBody = this.bodyStorage.load(this);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not load the body of message " + this.uuid, e);
+            }
+        }
+        return this.rawBody;
+    }
+
+    /**
+     * Provides the body as persisted without copying a body which has not been detached from the buffer it has been
+     * captured in yet.
+     *
+     * @return a read-only buffer positioned at the start of the body, independent of other buffers returned
+     */
+    public ByteBuffer getStoredBodyBuffer() {
+        if (this.capturedBody != null) {
+            return this.capturedBody.duplicate();
+        }
+        return ByteBuffer.wrap(getStoredBody()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the body onto the heap if it still refers to the buffer it has been captured in.
+     *
+     * <p>
+     * Must be called before the buffer is reused, unless the body has been replaced by a reference to a body log.
+     */
+    public void detachCapturedBody() {
+        if (this.capturedBody != null) {
+            final var copy = new byte[this.capturedBody.remaining()];
+            this.capturedBody.duplicate().get(copy);
+            this.rawBody = copy;
+            this.capturedBody = null;
+        }
+    }
+
+    /**
+     * Replaces the body with its compressed form, unless compressing does not reduce its size.
+     *
+     * <p>
+     * Must be applied before the body is handed to a body storage, {@linkplain #getRawBody()} keeps returning the
+     * body as received.
+     */
+    public void compressBody() {
+        detachCapturedBody();
+        if (this.rawBody == null || this.bodyCompression != null) {
+            return;
+        }
+        final byte[] compressed = BodyCompression.compress(this.rawBody);
+        if (compressed.length < this.rawBody.length) {
+            this.rawBody = compressed;
+            this.bodyCompression = BodyCompression.DEFLATE_DICTIONARY;
+        }
+    }
+
+    /**
+     * Replaces the body with a reference to its location in a body log, the body is not persisted in the database
+     * afterwards.
+     *
+     * @param segment index of the log segment the body has been written to
+     * @param offset  position of the body inside the segment
+     */
+    public void setBodyLogLocation(final int segment, final long offset) {
+        this.bodyLength = this.capturedBody != null ? this.capturedBody.remaining() : this.rawBody.length;
+        this.bodySegment = segment;
+        this.bodyOffset = offset;
+        this.rawBody = null;
+        this.capturedBody = null;
+    }
+
+    /**
+     * Sets the body storage to load the body from, in case only a reference to the body has been persisted.
+     *
+     * @param bodyStorage the message storage has been configured with
+     */
+    public void setBodyStorage(final MessageBodyStorage bodyStorage) {
+        this.bodyStorage = bodyStorage;
+    }
+
+    public Integer getBodySegment() {
+        return this.bodySegment;
+    }
+
+    public Long getBodyOffset() {
+        return this.bodyOffset;
+    }
+
+    public Integer getBodyLength() {
+        return this.bodyLength;
+    }
+
+    @Nullable
+    public String getBodyCompression() {
+        return this.bodyCompression;
+    }
+
+    public Charset getBodyCharset() {
+        return this.bodyCharset == null ? StandardCharsets.UTF_8 : Charset.forName(this.bodyCharset);
+    }
+
+    /**
+     * Provides the body encoded in UTF-8, e.g. for unmarshalling it.
+     *
+     * <p>
+     * UTF-8 encoded bodies are read as received, bodies in other charsets are decoded and encoded in UTF-8 first.
+     *
+     * @return stream containing the UTF-8 encoded body
+     */
+    public InputStream getBodyInputStream() {
+        final byte[] raw = getRawBody();
+        if (raw != null && StandardCharsets.UTF_8.equals(getBodyCharset())) {
+            return new ByteArrayInputStream(raw);
+        }
+        return new ByteArrayInputStream(getBody().getBytes(StandardCharsets.UTF_8));
+    }
+
     public String getScheme() {
         return this.scheme;
     }
 
     public Set<String> getActions() {
-        return this.actions;
+        return this.fetchedActions != null ? this.fetchedActions : this.actions;
     }
 
     public String getUuid() {
@@ -186,13 +433,14 @@ public class MessageContent {
     }
 
     public List<X509Certificate> getCerts() {
-        return this.certs;
+        return this.fetchedCerts != null ? this.fetchedCerts : this.certs;
     }
 
     public Map<String, List<String>> getHeaders() {
         final HashMap<String, List<String>> headersMap = new HashMap<>();
 
-        for (final HTTPHeaderEntity httpHeaderEntity : this.headers) {
+        final List<HTTPHeaderEntity> headerEntities = this.fetchedHeaders != null ? this.fetchedHeaders : this.headers;
+        for (final HTTPHeaderEntity httpHeaderEntity : headerEntities) {
             if (!headersMap.containsKey(httpHeaderEntity.getHeaderKey())) {
                 headersMap.put(httpHeaderEntity.getHeaderKey(), new ArrayList<>());
             }
@@ -225,4 +473,43 @@ public class MessageContent {
     public String getSender() {
         return this.sender;
     }
+
+    /**
+     * @return the identifier of the database row, used to fetch the lazily loaded collections of multiple messages
+     */
+    public long getIncId() {
+        return this.incId;
+    }
+
+    /**
+     * Sets the certificates fetched together with those of other messages, they are returned instead of loading the
+     * lazily loaded collection.
+     *
+     * @param certs of the message
+     */
+    public void setFetchedCerts(final List<X509Certificate> certs) {
+        this.fetchedCerts = List.copyOf(certs);
+    }
+
+    /**
+     * Sets the headers fetched together with those of other messages, they are returned instead of loading the lazily
+     * loaded collection.
+     *
+     * @param headers of the message, in the order they have been received in
+     */
+    public void setFetchedHeaders(final List<Map.Entry<String, String>> headers) {
+        this.fetchedHeaders = headers.stream()
+                .map(header -> new HTTPHeaderEntity(header.getKey(), header.getValue(), this))
+                .toList();
+    }
+
+    /**
+     * Sets the ws addressing actions fetched together with those of other messages, they are returned instead of
+     * loading the lazily loaded collection.
+     *
+     * @param actions of the message
+     */
+    public void setFetchedActions(final Set<String> actions) {
+        this.fetchedActions = Set.copyOf(actions);
+    }
 }
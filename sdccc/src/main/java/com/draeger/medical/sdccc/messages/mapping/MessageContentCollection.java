@@ -0,0 +1,33 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+/**
+ * Lazily loaded collections of a {@linkplain MessageContent}.
+ *
+ * <p>
+ * Accessing a lazily loaded collection causes a query per message. Getters of the message storage accepting these
+ * values fetch the collections for a whole batch of messages at once instead.
+ */
+public enum MessageContentCollection {
+
+    /**
+     * The HTTP headers, as in {@linkplain MessageContent#getHeaders()}.
+     */
+    HEADERS,
+
+    /**
+     * The ws addressing actions, as in {@linkplain MessageContent#getActions()}.
+     */
+    ACTIONS,
+
+    /**
+     * The certificates of the peer, as in {@linkplain MessageContent#getCerts()}.
+     */
+    CERTIFICATES
+}
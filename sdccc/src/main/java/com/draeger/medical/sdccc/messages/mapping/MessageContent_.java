@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -25,7 +25,12 @@ import org.somda.sdc.dpws.CommunicationLog;
 public final class MessageContent_ {
 
     public static volatile SingularAttribute<MessageContent, Long> incId;
-    public static volatile SingularAttribute<MessageContent, String> body;
+    public static volatile SingularAttribute<MessageContent, byte[]> rawBody;
+    public static volatile SingularAttribute<MessageContent, String> bodyCharset;
+    public static volatile SingularAttribute<MessageContent, Integer> bodySegment;
+    public static volatile SingularAttribute<MessageContent, Long> bodyOffset;
+    public static volatile SingularAttribute<MessageContent, Integer> bodyLength;
+    public static volatile SingularAttribute<MessageContent, String> bodyCompression;
     public static volatile ListAttribute<MessageContent, X509Certificate> certs;
     public static volatile ListAttribute<MessageContent, HTTPHeaderEntity> headers;
     public static volatile SingularAttribute<MessageContent, CommunicationLog.Direction> direction;
@@ -36,6 +41,7 @@ public final class MessageContent_ {
     public static volatile SingularAttribute<MessageContent, Long> nanoTimestamp;
     public static volatile SingularAttribute<MessageContent, String> messageHash;
     public static volatile ListAttribute<MessageContent, MdibVersionGroupEntity> mdibVersionGroups;
+    public static volatile ListAttribute<MessageContent, ReportIndexEntity> reportIndexEntries;
     public static volatile SetAttribute<MessageContent, String> actions;
     public static volatile SingularAttribute<MessageContent, String> scheme;
     public static volatile SingularAttribute<MessageContent, String> uuid;
@@ -0,0 +1,22 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+import javax.annotation.Nullable;
+
+/**
+ * Projection of a stored message onto the columns needed to inspect MdibVersionGroups, without loading its body.
+ *
+ * @param uuid          identifier of the message, as in {@linkplain MessageContent#getUuid()}
+ * @param nanoTimestamp point in time relative to the jvm start at which the message arrived
+ * @param mdibVersion   MdibVersion attribute value of the body element
+ * @param sequenceId    SequenceId attribute value of the body element
+ * @param bodyElement   string representation of the body elements QName
+ */
+public record MessageMetadata(
+        String uuid, long nanoTimestamp, long mdibVersion, @Nullable String sequenceId, String bodyElement) {}
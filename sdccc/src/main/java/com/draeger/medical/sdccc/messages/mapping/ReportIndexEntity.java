@@ -0,0 +1,125 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+import com.draeger.medical.sdccc.util.Constants;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.xml.namespace.QName;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+/**
+ * POJO for persisting a denormalized index entry of an inbound report or GetMdibResponse.
+ *
+ * <p>
+ * Every body element which carries an MdibVersionGroup is indexed once while the message is ingested, together with
+ * the message information needed to filter and order it. Looking up reports by body element and SequenceId therefore
+ * only scans an index ordered by MdibVersion instead of joining and sorting the messages at query time.
+ */
+@Entity(name = "ReportIndexEntity")
+@Table(
+        name = "report_index",
+        indexes = {
+            @Index(
+                    name = "report_index_sequence_idx",
+                    columnList = "sequenceId, mdibVersion, nanoTimestamp, bodyElement"),
+            @Index(name = "report_index_body_element_idx", columnList = "bodyElement, mdibVersion, nanoTimestamp")
+        })
+public class ReportIndexEntity {
+
+    @Transient
+    private static final Set<String> INDEXED_BODY_ELEMENTS = Stream.concat(
+                    Constants.RELEVANT_REPORT_BODIES.stream(), Stream.of(Constants.MSG_GET_MDIB_RESPONSE))
+            .map(QName::toString)
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Id
+    @GenericGenerator(
+            name = "ReportIndexIDGen",
+            strategy = "enhanced-sequence",
+            parameters = {
+                @Parameter(name = "sequence_name", value = "report_index_seq"),
+                @Parameter(name = "optimizer", value = "pooled-lo"),
+                @Parameter(name = "increment_size", value = "1000")
+            })
+    @GeneratedValue(generator = "ReportIndexIDGen")
+    private long incId;
+
+    private String sequenceId;
+    private long mdibVersion;
+    private String bodyElement;
+    private long nanoTimestamp;
+    private String messageUuid;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private MessageContent messageContent;
+
+    /**
+     * This will be used by hibernate when creating the POJO from database entries.
+     */
+    public ReportIndexEntity() {}
+
+    /**
+     * This will be used when creating the POJO before loading it into the database.
+     *
+     * @param mdibVersionGroup of the indexed body element
+     * @param messageContent   message containing the body element
+     */
+    public ReportIndexEntity(
+            final MdibVersionGroupEntity.MdibVersionGroup mdibVersionGroup, final MessageContent messageContent) {
+        this.sequenceId = mdibVersionGroup.sequenceId();
+        this.mdibVersion = mdibVersionGroup.mdibVersion();
+        this.bodyElement = mdibVersionGroup.bodyElement();
+        this.nanoTimestamp = messageContent.getNanoTimestamp();
+        this.messageUuid = messageContent.getUuid();
+        this.messageContent = messageContent;
+    }
+
+    /**
+     * Determines whether body elements with the given name are indexed, which is the case for all reports and
+     * responses that can be ordered by their MdibVersion.
+     *
+     * @param bodyElement string representation of the body elements QName
+     * @return true if the body element is indexed, false otherwise
+     */
+    public static boolean isIndexed(final String bodyElement) {
+        return INDEXED_BODY_ELEMENTS.contains(bodyElement);
+    }
+
+    @Nullable
+    public String getSequenceId() {
+        return sequenceId;
+    }
+
+    public long getMdibVersion() {
+        return mdibVersion;
+    }
+
+    public String getBodyElement() {
+        return bodyElement;
+    }
+
+    public long getNanoTimestamp() {
+        return nanoTimestamp;
+    }
+
+    public String getMessageUuid() {
+        return messageUuid;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.mapping;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.StaticMetamodel;
+
+@SuppressFBWarnings(
+        value = {"UUF_UNUSED_PUBLIC_OR_PROTECTED_FIELD", "UWF_UNWRITTEN_PUBLIC_OR_PROTECTED_FIELD"},
+        justification = "This is a commonly made design choice for persistence meta models.")
+@StaticMetamodel(ReportIndexEntity.class)
+public final class ReportIndexEntity_ {
+
+    public static volatile SingularAttribute<ReportIndexEntity, Long> incId;
+    public static volatile SingularAttribute<ReportIndexEntity, String> sequenceId;
+    public static volatile SingularAttribute<ReportIndexEntity, Long> mdibVersion;
+    public static volatile SingularAttribute<ReportIndexEntity, String> bodyElement;
+    public static volatile SingularAttribute<ReportIndexEntity, Long> nanoTimestamp;
+    public static volatile SingularAttribute<ReportIndexEntity, String> messageUuid;
+    public static volatile SingularAttribute<ReportIndexEntity, MessageContent> messageContent;
+
+    private ReportIndexEntity_() {}
+}
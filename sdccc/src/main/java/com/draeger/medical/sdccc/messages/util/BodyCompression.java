@@ -0,0 +1,178 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses message bodies using deflate with a preset dictionary of the strings common to SDC messages.
+ *
+ * <p>
+ * Bodies are small compared to the deflate window but highly repetitive among each other, i.e. each body repeats the
+ * same envelope, namespaces and element names. Priming every stream with a dictionary containing them allows to
+ * compress even short reports several-fold, without having to compress bodies together.
+ *
+ * <p>
+ * A compressed body consists of the length of the original body followed by the zlib stream. The dictionary must
+ * never change for a given {@linkplain #DEFLATE_DICTIONARY format}, bodies of previous test runs could not be
+ * decompressed otherwise.
+ */
+public final class BodyCompression {
+
+    /**
+     * Format of bodies compressed by {@linkplain #compress(byte[])}, as stored alongside the body.
+     */
+    public static final String DEFLATE_DICTIONARY = "DeflateDictionary1";
+
+    private static final int LENGTH_PREFIX = Integer.BYTES;
+    // largest body a byte array can hold
+    private static final int MAXIMUM_BODY_SIZE = Integer.MAX_VALUE - 8;
+    // each deflate match of at most 258 bytes takes at least two bits
+    private static final int MAXIMUM_DEFLATE_RATIO = 1032;
+    private static final int BUFFER_SIZE = 8192;
+
+    // deflate references recent data more cheaply, the most common strings are therefore placed last
+    private static final byte[] DICTIONARY = String.join(
+                    "",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/GetService/GetMdibResponse",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/SetService/OperationInvokedReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/DescriptionEventService/"
+                            + "DescriptionModificationReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/ContextService/EpisodicContextReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/"
+                            + "EpisodicAlertReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/"
+                            + "EpisodicComponentReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/"
+                            + "EpisodicOperationalStateReport",
+                    "http://schemas.xmlsoap.org/ws/2004/08/eventing",
+                    "<wse:Identifier>urn:uuid:</wse:Identifier>",
+                    "http://docs.oasis-open.org/ws-dd/ns/dpws/2009/01",
+                    "http://www.w3.org/2001/XMLSchema-instance",
+                    "http://standards.ieee.org/downloads/11073/11073-10207-2017/extension",
+                    "<pm:AlertConditionState ActivationState=\"On\" Presence=\"false\" DescriptorHandle=\"",
+                    "<msg:AlertState xsi:type=\"pm:AlertSignalState\" ActivationState=\"On\" Presence=\"Off\"",
+                    "<msg:ContextState xsi:type=\"pm:LocationContextState\" ContextAssociation=\"Assoc\"",
+                    "<msg:State xsi:type=\"pm:RealTimeSampleArrayMetricState\" StateVersion=\"",
+                    "<pm:MetricValue Samples=\"",
+                    "<msg:Metric xsi:type=\"pm:StringMetricState\" StateVersion=\"",
+                    "<msg:MetricState xsi:type=\"pm:EnumStringMetricState\" StateVersion=\"",
+                    "<msg:MetricState xsi:type=\"pm:NumericMetricState\" StateVersion=\"",
+                    "\" DescriptorHandle=\"\" DescriptorVersion=\"\" StateVersion=\"\" ActivationState=\"On\">",
+                    "<pm:MetricValue Value=\"\" DeterminationTime=\"\">",
+                    "<pm:MetricQuality Validity=\"Vld\"></pm:MetricQuality></pm:MetricValue>",
+                    "</msg:MetricState></msg:ReportPart></msg:EpisodicMetricReport>",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/"
+                            + "EpisodicMetricReport",
+                    "http://standards.ieee.org/downloads/11073/11073-20701-2018/WaveformService/WaveformStream",
+                    "http://standards.ieee.org/downloads/11073/11073-10207-2017/participant",
+                    "http://standards.ieee.org/downloads/11073/11073-10207-2017/message",
+                    "http://www.w3.org/2005/08/addressing",
+                    "http://www.w3.org/2003/05/soap-envelope",
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                    "<s12:Envelope xmlns:s12=\"\" xmlns:wsa=\"\" xmlns:msg=\"\" xmlns:pm=\"\" xmlns:ext=\"\">",
+                    "<s12:Header><wsa:Action>",
+                    "</wsa:Action><wsa:MessageID>urn:uuid:</wsa:MessageID><wsa:To>",
+                    "</wsa:To></s12:Header><s12:Body>",
+                    "<msg:EpisodicMetricReport MdibVersion=\"\" SequenceId=\"urn:uuid:\" InstanceId=\"\">",
+                    "<msg:ReportPart>",
+                    "</s12:Body></s12:Envelope>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private BodyCompression() {}
+
+    /**
+     * Compresses a body, the result may be larger than the body for very short bodies.
+     *
+     * @param body to compress
+     * @return the compressed body in the {@linkplain #DEFLATE_DICTIONARY} format
+     */
+    public static byte[] compress(final byte[] body) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(body);
+            deflater.finish();
+
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(LENGTH_PREFIX + body.length / 4);
+            compressed.writeBytes(ByteBuffer.allocate(LENGTH_PREFIX).putInt(body.length).array());
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses a body compressed by {@linkplain #compress(byte[])}.
+     *
+     * @param format     the body has been compressed with
+     * @param compressed body
+     * @return the body as received
+     * @throws DataFormatException if the format is unknown or the compressed body is corrupted, including a length
+     *                             the compressed body cannot contain
+     */
+    public static byte[] decompress(final String format, final byte[] compressed) throws DataFormatException {
+        if (!DEFLATE_DICTIONARY.equals(format)) {
+            throw new DataFormatException("Unknown body compression format " + format);
+        }
+        if (compressed.length < LENGTH_PREFIX) {
+            throw new DataFormatException("Compressed body is missing its length");
+        }
+
+        // the length prefix is not trusted, deflate cannot expand its input by more than its maximum ratio
+        final int length = ByteBuffer.wrap(compressed).getInt();
+        final long maximumLength =
+                Math.min(MAXIMUM_BODY_SIZE, (long) (compressed.length - LENGTH_PREFIX) * MAXIMUM_DEFLATE_RATIO);
+        if (length < 0 || length > maximumLength) {
+            throw new DataFormatException(String.format(
+                    "Compressed body of %s bytes cannot contain a body of %s bytes", compressed.length, length));
+        }
+
+        final byte[] body = new byte[length];
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, LENGTH_PREFIX, compressed.length - LENGTH_PREFIX);
+            boolean dictionarySet = false;
+            int offset = 0;
+            while (offset < body.length) {
+                final long bytesRead = inflater.getBytesRead();
+                final int inflated = inflater.inflate(body, offset, body.length - offset);
+                if (inflated > 0 || inflater.getBytesRead() > bytesRead) {
+                    offset += inflated;
+                } else if (inflater.needsDictionary() && !dictionarySet) {
+                    setDictionary(inflater);
+                    dictionarySet = true;
+                } else {
+                    // no progress is possible, e.g. the stream ended early or requires a different dictionary
+                    throw new DataFormatException(
+                            String.format("Compressed body ended after %s of %s bytes", offset, body.length));
+                }
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void setDictionary(final Inflater inflater) throws DataFormatException {
+        try {
+            inflater.setDictionary(DICTIONARY);
+        } catch (final IllegalArgumentException e) {
+            throw new DataFormatException("Compressed body requires an unknown dictionary");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * {@linkplain InputStream} reading the remaining bytes of a {@linkplain ByteBuffer} without copying them first.
+ *
+ * <p>
+ * Reading advances the position of the buffer, pass a duplicate to keep the position of the original buffer.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private static final int BYTE_MASK = 0xff;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a stream reading from the current position to the limit of the buffer.
+     *
+     * @param buffer to read from
+     */
+    public ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & BYTE_MASK;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        final int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) {
+        final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -30,16 +30,35 @@ public final class MessageUtil {
      * @return hex representation of the SHA-256 hash
      */
     public static String hashMessage(final String data) {
+        final MessageDigest digest = createMessageDigest();
+        digest.update(data.getBytes(StandardCharsets.UTF_8));
+        return digestToHex(digest);
+    }
+
+    /**
+     * Creates a message digest for hashing messages incrementally, as done by {@link #hashMessage(String)}.
+     *
+     * @return a new SHA-256 message digest
+     */
+    public static MessageDigest createMessageDigest() {
         try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            final byte[] encodedHash = digest.digest(data.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(encodedHash);
+            return MessageDigest.getInstance("SHA-256");
         } catch (final NoSuchAlgorithmException e) {
             LOG.error("Error while initializing message digest", e);
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Completes the hash computation of a message digest.
+     *
+     * @param digest which has been updated with the complete message
+     * @return hex representation of the hash
+     */
+    public static String digestToHex(final MessageDigest digest) {
+        return bytesToHex(digest.digest());
+    }
+
     private static String bytesToHex(final byte[] hash) {
         final StringBuilder hexString = new StringBuilder();
         for (final byte b : hash) {
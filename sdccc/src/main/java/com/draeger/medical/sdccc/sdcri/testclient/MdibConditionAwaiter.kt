@@ -0,0 +1,168 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.sdcri.testclient
+
+import org.somda.sdc.biceps.model.participant.AbstractMultiState
+import org.somda.sdc.biceps.model.participant.AbstractState
+import org.somda.sdc.biceps.model.participant.MdibVersion
+import java.time.Duration
+import java.util.concurrent.locks.ReentrantLock
+import java.util.function.Predicate
+import kotlin.concurrent.withLock
+
+/**
+ * Awaits a change of the [TestClient] MDIB which satisfies a condition.
+ *
+ * Waiting threads are woken up as soon as a matching change is observed, instead of sleeping for the worst-case time
+ * a device may need to react. The awaiter observes the MDIB from its creation until it is closed, it must therefore
+ * be created before triggering the change to await, changes from before its creation are not considered.
+ *
+ * @param testClient the test client whose MDIB is observed.
+ * @param condition  the condition a change has to satisfy.
+ */
+class MdibConditionAwaiter(
+    private val testClient: TestClient,
+    private val condition: Predicate<MdibChange>
+) : TestClientMdibObserver, AutoCloseable {
+    private val lock = ReentrantLock()
+    private val conditionSatisfied = lock.newCondition()
+    private var satisfied = false
+
+    init {
+        testClient.registerMdibObserver(this)
+    }
+
+    override fun onDescriptionChange(description: MdibChange.Description) = evaluate(description)
+
+    override fun onAlertChange(alert: MdibChange.Alert) = evaluate(alert)
+
+    override fun onComponentChange(component: MdibChange.Component) = evaluate(component)
+
+    override fun onContextChange(context: MdibChange.Context) = evaluate(context)
+
+    override fun onMetricChange(metric: MdibChange.Metric) = evaluate(metric)
+
+    override fun onOperationChange(operation: MdibChange.Operation) = evaluate(operation)
+
+    override fun onWaveformChange(waveform: MdibChange.Waveform) = evaluate(waveform)
+
+    /**
+     * Waits until a change satisfying the condition has been observed.
+     *
+     * Returns immediately if such a change has been observed since the creation of the awaiter.
+     *
+     * @param timeout the maximum time to wait for.
+     * @return true if a change satisfied the condition, false if the timeout elapsed before.
+     * @throws InterruptedException if the waiting thread has been interrupted.
+     */
+    @Throws(InterruptedException::class)
+    fun await(timeout: Duration): Boolean {
+        var remainingNanos = timeout.toNanos()
+        lock.withLock {
+            while (!satisfied && remainingNanos > 0) {
+                remainingNanos = conditionSatisfied.awaitNanos(remainingNanos)
+            }
+            return satisfied
+        }
+    }
+
+    /**
+     * Stops observing the MDIB.
+     */
+    override fun close() {
+        testClient.unregisterMdibObserver(this)
+    }
+
+    private fun evaluate(change: MdibChange) {
+        lock.withLock {
+            if (!satisfied && condition.test(change)) {
+                satisfied = true
+                conditionSatisfied.signalAll()
+            }
+        }
+    }
+
+    companion object {
+        /**
+         * Creates a condition satisfied by changes which contain a state with the given handle matching a predicate.
+         *
+         * @param handle     the handle of the state, i.e. the state handle for multi states and the descriptor handle
+         *                   otherwise.
+         * @param stateClass the expected type of the state.
+         * @param predicate  the predicate the changed state has to match.
+         * @param T          the expected type of the state.
+         * @return the condition.
+         */
+        @JvmStatic
+        fun <T : AbstractState> stateChange(
+            handle: String,
+            stateClass: Class<T>,
+            predicate: Predicate<T>
+        ): Predicate<MdibChange> = Predicate { change ->
+            changedStates(change).any {
+                handle == stateHandle(it) && stateClass.isInstance(it) && predicate.test(stateClass.cast(it))
+            }
+        }
+
+        /**
+         * Creates a condition satisfied by changes which occur in the given MDIB version or any later version of the
+         * same sequence.
+         *
+         * @param mdibVersion the MDIB version to pass.
+         * @return the condition.
+         */
+        @JvmStatic
+        fun mdibVersionReached(mdibVersion: MdibVersion): Predicate<MdibChange> = Predicate { change ->
+            change.mdibVersion.sequenceId == mdibVersion.sequenceId &&
+                change.mdibVersion.version >= mdibVersion.version
+        }
+
+        /**
+         * Waits until the state with the given handle matches a predicate.
+         *
+         * The current state of the MDIB is checked first, a state already matching the predicate does not cause
+         * any waiting.
+         *
+         * @param testClient the test client whose MDIB is observed.
+         * @param handle     the handle of the state, i.e. the state handle for multi states and the descriptor handle
+         *                   otherwise.
+         * @param stateClass the expected type of the state.
+         * @param timeout    the maximum time to wait for.
+         * @param predicate  the predicate the state has to match.
+         * @param T          the expected type of the state.
+         * @return true if the state matched the predicate, false if the timeout elapsed before.
+         * @throws InterruptedException if the waiting thread has been interrupted.
+         */
+        @JvmStatic
+        @Throws(InterruptedException::class)
+        fun <T : AbstractState> awaitState(
+            testClient: TestClient,
+            handle: String,
+            stateClass: Class<T>,
+            timeout: Duration,
+            predicate: Predicate<T>
+        ): Boolean = MdibConditionAwaiter(testClient, stateChange(handle, stateClass, predicate)).use { awaiter ->
+            // registered before looking at the current state, a change in between is therefore not missed
+            val currentState = testClient.sdcRemoteDevice?.mdibAccess?.getState(handle, stateClass)
+            currentState?.filter(predicate)?.isPresent == true || awaiter.await(timeout)
+        }
+
+        private fun changedStates(change: MdibChange): List<AbstractState> = when (change) {
+            is MdibChange.Description -> (change.insertedEntities + change.updatedEntities).flatMap { it.states }
+            is MdibChange.Alert -> change.states.values.flatten()
+            is MdibChange.Component -> change.states.values.flatten()
+            is MdibChange.Context -> change.states.values.flatten()
+            is MdibChange.Metric -> change.states.values.flatten()
+            is MdibChange.Operation -> change.states.values.flatten()
+            is MdibChange.Waveform -> change.states.values.flatten()
+        }
+
+        private fun stateHandle(state: AbstractState): String =
+            if (state is AbstractMultiState) state.handle else state.descriptorHandle
+    }
+}
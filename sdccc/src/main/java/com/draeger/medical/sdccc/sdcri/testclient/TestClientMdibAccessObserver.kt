@@ -16,13 +16,18 @@ import org.somda.sdc.biceps.common.event.DescriptionModificationMessage
 import org.somda.sdc.biceps.common.event.MetricStateModificationMessage
 import org.somda.sdc.biceps.common.event.OperationStateModificationMessage
 import org.somda.sdc.biceps.common.event.WaveformStateModificationMessage
+import java.util.concurrent.CopyOnWriteArraySet
 
 /**
  * Observes changes in the sdc-ri MDIB and makes them available to registered [TestClientMdibObserver]s.
+ *
+ * Each change is followed by a call to [TestClientMdibObserver.onRevision] with the MDIB the change has been
+ * applied to.
  */
 @Suppress("MethodOverloading")
 class TestClientMdibAccessObserver : MdibAccessObserver {
-    private val registeredObservers = mutableSetOf<TestClientMdibObserver>()
+    // observers may be (un)registered while changes are being dispatched, e.g. to await a change
+    private val registeredObservers = CopyOnWriteArraySet<TestClientMdibObserver>()
 
     /**
      * Registers an observer to be notified about changes in the MDIB.
@@ -49,6 +54,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onDescriptionChange(report: DescriptionModificationMessage) {
         registeredObservers.forEach {
             it.onDescriptionChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -59,6 +65,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onAlertChange(report: AlertStateModificationMessage) {
         registeredObservers.forEach {
             it.onAlertChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -69,6 +76,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onComponentChange(report: ComponentStateModificationMessage) {
         registeredObservers.forEach {
             it.onComponentChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -79,6 +87,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onContextChange(report: ContextStateModificationMessage) {
         registeredObservers.forEach {
             it.onContextChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -89,6 +98,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onMetricChange(report: MetricStateModificationMessage) {
         registeredObservers.forEach {
             it.onMetricChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -99,6 +109,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onOperationChange(report: OperationStateModificationMessage) {
         registeredObservers.forEach {
             it.onOperationChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 
@@ -109,6 +120,7 @@ class TestClientMdibAccessObserver : MdibAccessObserver {
     fun onWaveformChange(report: WaveformStateModificationMessage) {
         registeredObservers.forEach {
             it.onWaveformChange(MdibChange.from(report.mdibAccess.mdibVersion, report))
+            it.onRevision(report.mdibAccess)
         }
     }
 }
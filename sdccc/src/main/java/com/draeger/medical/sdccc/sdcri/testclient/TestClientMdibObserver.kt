@@ -8,6 +8,7 @@
 package com.draeger.medical.sdccc.sdcri.testclient
 
 import org.somda.sdc.biceps.common.MdibEntity
+import org.somda.sdc.biceps.common.access.MdibAccess
 import org.somda.sdc.biceps.common.event.AlertStateModificationMessage
 import org.somda.sdc.biceps.common.event.ComponentStateModificationMessage
 import org.somda.sdc.biceps.common.event.ContextStateModificationMessage
@@ -77,6 +78,15 @@ interface TestClientMdibObserver {
      * @param waveform the change to the waveform states.
      */
     fun onWaveformChange(waveform: MdibChange.Waveform) {}
+
+    /**
+     * Called after each of the changes above, with the MDIB the change has been applied to.
+     *
+     * The MDIB is the live MDIB of the [TestClient], it must not be retained beyond this call.
+     *
+     * @param mdibAccess the MDIB after the change.
+     */
+    fun onRevision(mdibAccess: MdibAccess) {}
 }
 
 /**
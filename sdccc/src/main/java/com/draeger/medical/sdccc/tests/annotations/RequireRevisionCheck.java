@@ -0,0 +1,31 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.annotations;
+
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to add to invariant test cases which evaluate {@linkplain MdibRevisionCheck}s.
+ *
+ * <p>
+ * The checks are registered with the {@linkplain com.draeger.medical.sdccc.tests.util.MdibHistoryReplay} before
+ * SDCcc connects to the DUT, which allows evaluating them while the mdib history is captured. Each check must provide
+ * a constructor without parameters.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequireRevisionCheck {
+    /**
+     * @return check classes evaluated by the test
+     */
+    Class<? extends MdibRevisionCheck>[] value();
+}
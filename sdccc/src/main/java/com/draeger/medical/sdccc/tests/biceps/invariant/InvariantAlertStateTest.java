@@ -12,35 +12,30 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ManipulationPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractAlertState;
 import org.somda.sdc.biceps.model.participant.AlertActivation;
 import org.somda.sdc.biceps.model.participant.AlertConditionState;
 import org.somda.sdc.biceps.model.participant.AlertSystemState;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS alert state tests (ch. 5.4.9).
@@ -50,14 +45,13 @@ public class InvariantAlertStateTest extends InjectorTestBase {
     public static final String NO_ACCEPTABLE_SEQUENCE_SEEN = "Not enough AlertSystemStates or children seen with the"
             + " AlertSystemState set to PSD or OFF during test run, test failed.";
 
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setup() {
-        this.messageStorage = getInjector().getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R00290Check.class, R00290Check::new);
+        mdibHistoryReplay.register(R0116Check.class, R0116Check::new);
     }
 
     @Test
@@ -71,67 +65,10 @@ public class InvariantAlertStateTest extends InjectorTestBase {
             + " set to 'true'.")
     @RequirePrecondition(
             manipulationPreconditions = {ManipulationPreconditions.AlertConditionPresenceManipulation.class})
+    @RequireRevisionCheck(R00290Check.class)
     void testRequirementR00290() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var presenceOnSeen = new AtomicInteger(0);
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess mdibAccess = history.next();
-
-                    while (mdibAccess != null) {
-                        final var alertConditionStates = mdibAccess.getStatesByType(AlertConditionState.class);
-                        for (var alertConditionState : alertConditionStates) {
-                            final var isPresence = ImpliedValueUtil.isPresence(alertConditionState);
-                            if (isPresence) {
-                                presenceOnSeen.incrementAndGet();
-                                final var descriptorHandle = alertConditionState.getDescriptorHandle();
-                                final var alertSystemStateHandle = mdibAccess
-                                        .getEntity(descriptorHandle)
-                                        .orElseThrow()
-                                        .getParent()
-                                        .orElseThrow();
-                                final var alertSystemState = mdibAccess
-                                        .getState(alertSystemStateHandle, AlertSystemState.class)
-                                        .orElseThrow();
-
-                                assertEquals(
-                                        AlertActivation.ON,
-                                        alertConditionState.getActivationState(),
-                                        String.format(
-                                                "AlertConditionState/@Presence is true, for AlertConditionState with handle %s."
-                                                        + "The AlertConditionState/@Activation state should be 'On' but is '%s'",
-                                                descriptorHandle,
-                                                alertConditionState
-                                                        .getActivationState()
-                                                        .value()));
-                                assertEquals(
-                                        AlertActivation.ON,
-                                        alertSystemState.getActivationState(),
-                                        String.format(
-                                                "AlertConditionState/@Presence is true, for AlertConditionState with handle %s."
-                                                        + " The AlertSystemState/@Activation "
-                                                        + "state for AlertSystemState with handle %s"
-                                                        + " should be 'On' but is '%s'",
-                                                descriptorHandle,
-                                                alertSystemStateHandle,
-                                                alertSystemState
-                                                        .getActivationState()
-                                                        .value()));
-                            }
-                        }
-                        mdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(presenceOnSeen.get(), NO_PRESENCE_TRUE);
+        final var check = mdibHistoryReplay.evaluate(R00290Check.class);
+        assertTestData(check.presenceOnSeen, NO_PRESENCE_TRUE);
     }
 
     @Test
@@ -147,76 +84,14 @@ public class InvariantAlertStateTest extends InjectorTestBase {
             + " value is permitted for AlertConditionState/@ActivationState and AlertSignalState/@ActivationState.")
     @RequirePrecondition(
             manipulationPreconditions = {ManipulationPreconditions.AlertSystemActivationStateManipulation.class})
+    @RequireRevisionCheck(R0116Check.class)
     void testRequirementR0116() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    RemoteMdibAccess first = history.next();
-
-                    final var alertActivationStateOffSeen =
-                            initAlertSystemStateMap(first.getStatesByType(AlertSystemState.class));
-                    final var alertActivationStatePsdSeen =
-                            initAlertSystemStateMap(first.getStatesByType(AlertSystemState.class));
-
-                    while (first != null) {
-                        final var alertSystemStates = first.getStatesByType(AlertSystemState.class);
-
-                        for (var alertSystemState : alertSystemStates) {
-                            final var activationState = alertSystemState.getActivationState();
-                            final var descriptorHandle = alertSystemState.getDescriptorHandle();
-
-                            final var children = first.getEntity(descriptorHandle)
-                                    .orElseThrow()
-                                    .getChildren();
-                            final List<AbstractAlertState> abstractAlertStates = new ArrayList<>();
-                            for (var child : children) {
-                                abstractAlertStates.addAll(
-                                        first.getEntity(child).orElseThrow().getStates(AbstractAlertState.class));
-                            }
-                            if (activationState.equals(AlertActivation.OFF)
-                                    || activationState.equals(AlertActivation.PSD)) {
-                                if (activationState.equals(AlertActivation.OFF)) {
-                                    alertActivationStateOffSeen
-                                            .computeIfAbsent(descriptorHandle, handle -> new AtomicInteger(0))
-                                            .incrementAndGet();
-                                } else {
-                                    alertActivationStatePsdSeen
-                                            .computeIfAbsent(descriptorHandle, handle -> new AtomicInteger(0))
-                                            .incrementAndGet();
-                                }
-                                for (var state : abstractAlertStates) {
-                                    assertEquals(
-                                            activationState,
-                                            state.getActivationState(),
-                                            String.format(
-                                                    "The activation state of %s should be: %s but is: %s.",
-                                                    state.getDescriptorHandle(),
-                                                    activationState,
-                                                    state.getActivationState()));
-                                }
-                            }
-                        }
-                        first = history.next();
-                    }
-                    if (verifyActivationStatesWereSeen(alertActivationStatePsdSeen, AlertActivation.PSD)
-                            && verifyActivationStatesWereSeen(alertActivationStateOffSeen, AlertActivation.OFF)) {
-                        acceptableSequenceSeen.incrementAndGet();
-                    }
-                } catch (PreprocessingException | ReportProcessingException | NoTestData e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(acceptableSequenceSeen.get(), NO_ACCEPTABLE_SEQUENCE_SEEN);
+        final var check = mdibHistoryReplay.evaluate(R0116Check.class);
+        assertTestData(check.acceptableSequenceSeen, NO_ACCEPTABLE_SEQUENCE_SEEN);
     }
 
-    private Map<String, AtomicInteger> initAlertSystemStateMap(final List<AlertSystemState> alertSystemStates) {
+    private static Map<String, AtomicInteger> initAlertSystemStateMap(
+            final List<AlertSystemState> alertSystemStates) {
         final var map = new HashMap<String, AtomicInteger>();
         for (var state : alertSystemStates) {
             if (!map.containsKey(state.getDescriptorHandle())) {
@@ -226,7 +101,7 @@ public class InvariantAlertStateTest extends InjectorTestBase {
         return map;
     }
 
-    private boolean verifyActivationStatesWereSeen(
+    private static boolean verifyActivationStatesWereSeen(
             final Map<String, AtomicInteger> seenMap, @Nullable final AlertActivation state) throws NoTestData {
         if (state != null) {
             for (var seen : seenMap.entrySet()) {
@@ -237,4 +112,113 @@ public class InvariantAlertStateTest extends InjectorTestBase {
         }
         return seenMap.size() > 0;
     }
+
+    private static final class R00290Check implements MdibRevisionCheck {
+        private int presenceOnSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            for (var alertConditionState : current.getStatesByType(AlertConditionState.class)) {
+                final var isPresence = ImpliedValueUtil.isPresence(alertConditionState);
+                if (!isPresence) {
+                    continue;
+                }
+                presenceOnSeen++;
+                final var descriptorHandle = alertConditionState.getDescriptorHandle();
+                final var alertSystemStateHandle = current.getEntity(descriptorHandle)
+                        .orElseThrow()
+                        .getParent()
+                        .orElseThrow();
+                final var alertSystemState = current.getState(alertSystemStateHandle, AlertSystemState.class)
+                        .orElseThrow();
+
+                assertEquals(
+                        AlertActivation.ON,
+                        alertConditionState.getActivationState(),
+                        String.format(
+                                "AlertConditionState/@Presence is true, for AlertConditionState with handle %s."
+                                        + "The AlertConditionState/@Activation state should be 'On' but is '%s'",
+                                descriptorHandle,
+                                alertConditionState.getActivationState().value()));
+                assertEquals(
+                        AlertActivation.ON,
+                        alertSystemState.getActivationState(),
+                        String.format(
+                                "AlertConditionState/@Presence is true, for AlertConditionState with handle %s."
+                                        + " The AlertSystemState/@Activation "
+                                        + "state for AlertSystemState with handle %s"
+                                        + " should be 'On' but is '%s'",
+                                descriptorHandle,
+                                alertSystemStateHandle,
+                                alertSystemState.getActivationState().value()));
+            }
+        }
+    }
+
+    private static final class R0116Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+        private @Nullable Map<String, AtomicInteger> alertActivationStateOffSeen;
+        private @Nullable Map<String, AtomicInteger> alertActivationStatePsdSeen;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            alertActivationStateOffSeen = null;
+            alertActivationStatePsdSeen = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var alertSystemStates = current.getStatesByType(AlertSystemState.class);
+            if (alertActivationStateOffSeen == null || alertActivationStatePsdSeen == null) {
+                alertActivationStateOffSeen = initAlertSystemStateMap(alertSystemStates);
+                alertActivationStatePsdSeen = initAlertSystemStateMap(alertSystemStates);
+            }
+
+            for (var alertSystemState : alertSystemStates) {
+                final var activationState = alertSystemState.getActivationState();
+                final var descriptorHandle = alertSystemState.getDescriptorHandle();
+
+                final var children = current.getEntity(descriptorHandle).orElseThrow().getChildren();
+                final List<AbstractAlertState> abstractAlertStates = new ArrayList<>();
+                for (var child : children) {
+                    abstractAlertStates.addAll(
+                            current.getEntity(child).orElseThrow().getStates(AbstractAlertState.class));
+                }
+                if (activationState.equals(AlertActivation.OFF) || activationState.equals(AlertActivation.PSD)) {
+                    if (activationState.equals(AlertActivation.OFF)) {
+                        alertActivationStateOffSeen
+                                .computeIfAbsent(descriptorHandle, handle -> new AtomicInteger(0))
+                                .incrementAndGet();
+                    } else {
+                        alertActivationStatePsdSeen
+                                .computeIfAbsent(descriptorHandle, handle -> new AtomicInteger(0))
+                                .incrementAndGet();
+                    }
+                    for (var state : abstractAlertStates) {
+                        assertEquals(
+                                activationState,
+                                state.getActivationState(),
+                                String.format(
+                                        "The activation state of %s should be: %s but is: %s.",
+                                        state.getDescriptorHandle(), activationState, state.getActivationState()));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onSequenceEnd(final String sequenceId) {
+            if (alertActivationStateOffSeen == null || alertActivationStatePsdSeen == null) {
+                return;
+            }
+            try {
+                if (verifyActivationStatesWereSeen(alertActivationStatePsdSeen, AlertActivation.PSD)
+                        && verifyActivationStatesWereSeen(alertActivationStateOffSeen, AlertActivation.OFF)) {
+                    acceptableSequenceSeen++;
+                }
+            } catch (final NoTestData e) {
+                fail(e);
+            }
+        }
+    }
 }
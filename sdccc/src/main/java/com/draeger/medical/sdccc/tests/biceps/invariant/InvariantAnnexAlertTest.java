@@ -9,33 +9,26 @@ package com.draeger.medical.sdccc.tests.biceps.invariant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ManipulationPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AlertActivation;
 import org.somda.sdc.biceps.model.participant.AlertSignalDescriptor;
@@ -44,21 +37,17 @@ import org.somda.sdc.biceps.model.participant.AlertSignalPrimaryLocation;
 import org.somda.sdc.biceps.model.participant.AlertSignalState;
 import org.somda.sdc.biceps.model.participant.AlertSystemState;
 import org.somda.sdc.biceps.model.participant.SystemSignalActivation;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS Annex B alert tests (B.88 - B.128).
  */
 public class InvariantAnnexAlertTest extends InjectorTestBase {
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setUp() {
-        final var injector = getInjector();
-        this.messageStorage = injector.getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(B128Check.class, B128Check::new);
     }
 
     @Test
@@ -70,75 +59,13 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
             + " and the manifestation matches with the manifestation of the system signal activation.")
     @RequirePrecondition(
             manipulationPreconditions = {ManipulationPreconditions.SystemSignalActivationManipulation.class})
+    @RequireRevisionCheck(B128Check.class)
     void testRequirementB128() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    RemoteMdibAccess first = history.next();
-
-                    while (first != null) {
-                        final var alertSystemStates = first.getStatesByType(AlertSystemState.class);
-
-                        for (var alertSystemState : alertSystemStates) {
-                            final var manifestationAndAlertActivationsMap =
-                                    createSystemSignalActivationMap(alertSystemState.getSystemSignalActivation());
-
-                            final var childAlertSignals =
-                                    getChildAlertSignals(first, alertSystemState.getDescriptorHandle());
-
-                            for (var manifestationAndState : manifestationAndAlertActivationsMap.entrySet()) {
-                                final var currentActivationStates = manifestationAndState.getValue();
-                                final var onSeen = new AtomicBoolean(false);
-                                final var allPsd = new AtomicInteger(0);
-                                final var allOff = new AtomicInteger(0);
-                                final var childrenWithSameManifestation = getChildrenWithSameManifestation(
-                                        childAlertSignals, manifestationAndState.getKey());
-                                for (var entry : childrenWithSameManifestation) {
-                                    acceptableSequenceSeen.incrementAndGet();
-                                    final var alertSignalActivationState = entry.getActivationState();
-                                    for (var currentActivationState : currentActivationStates) {
-                                        verifyAlertSignalActivationState(
-                                                currentActivationState,
-                                                alertSignalActivationState,
-                                                entry.getDescriptorHandle());
-                                    }
-
-                                    switch (alertSignalActivationState) {
-                                        case ON -> onSeen.set(true);
-                                        case PSD -> allPsd.incrementAndGet();
-                                        case OFF -> allOff.incrementAndGet();
-                                        default -> {}
-                                    }
-                                }
-                                if (onSeen.get()) {
-                                    checkActivationState(manifestationAndState.getValue(), AlertActivation.ON);
-                                } else if (!childrenWithSameManifestation.isEmpty()
-                                        && allPsd.get() == childrenWithSameManifestation.size()) {
-                                    checkActivationState(manifestationAndState.getValue(), AlertActivation.PSD);
-                                } else if (!childrenWithSameManifestation.isEmpty()
-                                        && allOff.get() == childrenWithSameManifestation.size()) {
-                                    checkActivationState(manifestationAndState.getValue(), AlertActivation.OFF);
-                                }
-                            }
-                        }
-                        first = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-
-        assertTestData(acceptableSequenceSeen.get(), "No acceptable sequence seen, test failed");
+        final var check = mdibHistoryReplay.evaluate(B128Check.class);
+        assertTestData(check.acceptableSequenceSeen, "No acceptable sequence seen, test failed");
     }
 
-    private Map<AlertSignalManifestation, List<AlertActivation>> createSystemSignalActivationMap(
+    private static Map<AlertSignalManifestation, List<AlertActivation>> createSystemSignalActivationMap(
             final List<SystemSignalActivation> systemSignalActivations) {
         final var map = new EnumMap<AlertSignalManifestation, List<AlertActivation>>(AlertSignalManifestation.class);
         for (var systemSignalActivation : systemSignalActivations) {
@@ -153,7 +80,7 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
         return map;
     }
 
-    private Map<AlertSignalDescriptor, AlertSignalState> getChildAlertSignals(
+    private static Map<AlertSignalDescriptor, AlertSignalState> getChildAlertSignals(
             final RemoteMdibAccess first, final String descriptorHandle) {
         final var childAlertSignals = new HashMap<AlertSignalDescriptor, AlertSignalState>();
         final var children = first.getEntity(descriptorHandle).orElseThrow().getChildren();
@@ -171,7 +98,7 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
         return childAlertSignals;
     }
 
-    private List<AlertSignalState> getChildrenWithSameManifestation(
+    private static List<AlertSignalState> getChildrenWithSameManifestation(
             final Map<AlertSignalDescriptor, AlertSignalState> childAlertSignals,
             final AlertSignalManifestation currentManifestation) {
         final var relevantChildren = new ArrayList<AlertSignalState>();
@@ -183,7 +110,7 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
         return relevantChildren;
     }
 
-    private void verifyAlertSignalActivationState(
+    private static void verifyAlertSignalActivationState(
             final AlertActivation currentActivationState,
             final AlertActivation alertSignalActivationState,
             final String descriptorHandle) {
@@ -210,7 +137,8 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
         }
     }
 
-    private void checkActivationState(final List<AlertActivation> alertActivations, final AlertActivation activation) {
+    private static void checkActivationState(
+            final List<AlertActivation> alertActivations, final AlertActivation activation) {
         for (var alertActivation : alertActivations) {
             assertEquals(
                     activation,
@@ -218,4 +146,51 @@ public class InvariantAnnexAlertTest extends InjectorTestBase {
                     String.format("Expected activation state was %s, but actual is %s", activation, alertActivation));
         }
     }
+
+    private static final class B128Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            for (var alertSystemState : current.getStatesByType(AlertSystemState.class)) {
+                final var manifestationAndAlertActivationsMap =
+                        createSystemSignalActivationMap(alertSystemState.getSystemSignalActivation());
+
+                final var childAlertSignals = getChildAlertSignals(current, alertSystemState.getDescriptorHandle());
+
+                for (var manifestationAndState : manifestationAndAlertActivationsMap.entrySet()) {
+                    final var currentActivationStates = manifestationAndState.getValue();
+                    var onSeen = false;
+                    var allPsd = 0;
+                    var allOff = 0;
+                    final var childrenWithSameManifestation =
+                            getChildrenWithSameManifestation(childAlertSignals, manifestationAndState.getKey());
+                    for (var entry : childrenWithSameManifestation) {
+                        acceptableSequenceSeen++;
+                        final var alertSignalActivationState = entry.getActivationState();
+                        for (var currentActivationState : currentActivationStates) {
+                            verifyAlertSignalActivationState(
+                                    currentActivationState, alertSignalActivationState, entry.getDescriptorHandle());
+                        }
+
+                        switch (alertSignalActivationState) {
+                            case ON -> onSeen = true;
+                            case PSD -> allPsd++;
+                            case OFF -> allOff++;
+                            default -> {}
+                        }
+                    }
+                    if (onSeen) {
+                        checkActivationState(manifestationAndState.getValue(), AlertActivation.ON);
+                    } else if (!childrenWithSameManifestation.isEmpty()
+                            && allPsd == childrenWithSameManifestation.size()) {
+                        checkActivationState(manifestationAndState.getValue(), AlertActivation.PSD);
+                    } else if (!childrenWithSameManifestation.isEmpty()
+                            && allOff == childrenWithSameManifestation.size()) {
+                        checkActivationState(manifestationAndState.getValue(), AlertActivation.OFF);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -8,31 +8,25 @@
 package com.draeger.medical.sdccc.tests.biceps.invariant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ManipulationPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.MdibEntity;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractAlertDescriptor;
 import org.somda.sdc.biceps.model.participant.AbstractAlertState;
@@ -46,20 +40,17 @@ import org.somda.sdc.biceps.model.participant.AbstractOperationState;
 import org.somda.sdc.biceps.model.participant.AlertActivation;
 import org.somda.sdc.biceps.model.participant.ComponentActivation;
 import org.somda.sdc.biceps.model.participant.OperatingMode;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS tests for chapter 5.4.6 .
  */
 public class InvariantDeviceComponentStateTest extends InjectorTestBase {
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setup() {
-        this.messageStorage = getInjector().getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R00250Check.class, R00250Check::new);
     }
 
     @Test
@@ -75,105 +66,14 @@ public class InvariantDeviceComponentStateTest extends InjectorTestBase {
             + "all of it’s descendants are inactive.")
     @RequirePrecondition(
             manipulationPreconditions = {ManipulationPreconditions.AbstractDeviceComponentStateOFFManipulation.class})
+    @RequireRevisionCheck(R00250Check.class)
     void testRequirementR00250() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess remoteMdibAccess = history.next();
-
-                    while (remoteMdibAccess != null) {
-                        final var entities =
-                                remoteMdibAccess.findEntitiesByType(AbstractDeviceComponentDescriptor.class);
-
-                        for (var entity : entities) {
-                            if (ImpliedValueUtil.getComponentActivation(
-                                            entity.getFirstState(AbstractDeviceComponentState.class)
-                                                    .orElseThrow())
-                                    == ComponentActivation.OFF) {
-
-                                final var abstractDeviceComponentDescendants = getDescendantsByType(
-                                        remoteMdibAccess, entity.getHandle(), AbstractDeviceComponentDescriptor.class);
-                                for (var descendant : abstractDeviceComponentDescendants) {
-                                    final var descendantState = descendant
-                                            .getFirstState(AbstractDeviceComponentState.class)
-                                            .orElseThrow();
-                                    assertEquals(
-                                            ComponentActivation.OFF,
-                                            ImpliedValueUtil.getComponentActivation(descendantState),
-                                            String.format(
-                                                    "The ComponentActivation OFF was not "
-                                                            + "set for the descendant with handle %s",
-                                                    descendantState.getDescriptorHandle()));
-                                }
-
-                                final var abstractAlertDescendants = getDescendantsByType(
-                                        remoteMdibAccess, entity.getHandle(), AbstractAlertDescriptor.class);
-                                for (var descendant : abstractAlertDescendants) {
-                                    final var descendantState = descendant
-                                            .getFirstState(AbstractAlertState.class)
-                                            .orElseThrow();
-                                    assertEquals(
-                                            AlertActivation.OFF,
-                                            descendantState.getActivationState(),
-                                            String.format(
-                                                    "The AlertActivation OFF was not "
-                                                            + "set for the descendant with handle %s",
-                                                    descendantState.getDescriptorHandle()));
-                                }
-
-                                final var abstractMetricDescendants = getDescendantsByType(
-                                        remoteMdibAccess, entity.getHandle(), AbstractMetricDescriptor.class);
-                                for (var descendant : abstractMetricDescendants) {
-                                    final var descendantState = descendant
-                                            .getFirstState(AbstractMetricState.class)
-                                            .orElseThrow();
-                                    assertEquals(
-                                            ComponentActivation.OFF,
-                                            ImpliedValueUtil.getMetricActivation(descendantState),
-                                            String.format(
-                                                    "The ComponentActivation OFF was not "
-                                                            + "set for the descendant with handle %s",
-                                                    descendantState.getDescriptorHandle()));
-                                }
-
-                                final var abstractOperationDescendants = getDescendantsByType(
-                                        remoteMdibAccess, entity.getHandle(), AbstractOperationDescriptor.class);
-                                for (var descendant : abstractOperationDescendants) {
-                                    final var descendantState = descendant
-                                            .getFirstState(AbstractOperationState.class)
-                                            .orElseThrow();
-                                    assertEquals(
-                                            OperatingMode.NA,
-                                            descendantState.getOperatingMode(),
-                                            String.format(
-                                                    "The OperatingMode NA was not "
-                                                            + "set for the descendant with handle %s",
-                                                    descendantState.getDescriptorHandle()));
-                                }
-
-                                acceptableSequenceSeen.incrementAndGet();
-                            }
-                        }
-
-                        remoteMdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
+        final var check = mdibHistoryReplay.evaluate(R00250Check.class);
         assertTestData(
-                acceptableSequenceSeen.get(), "No pm:AbstractDeviceComponentState/@ActivationState had the value OFF.");
+                check.acceptableSequenceSeen, "No pm:AbstractDeviceComponentState/@ActivationState had the value OFF.");
     }
 
-    private List<MdibEntity> getDescendantsByType(
+    private static List<MdibEntity> getDescendantsByType(
             final RemoteMdibAccess remoteMdibAccess,
             final String entityHandle,
             final Class<? extends AbstractDescriptor> type) {
@@ -185,4 +85,74 @@ public class InvariantDeviceComponentStateTest extends InjectorTestBase {
         }
         return result;
     }
+
+    private static final class R00250Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            for (var entity : current.findEntitiesByType(AbstractDeviceComponentDescriptor.class)) {
+                if (ImpliedValueUtil.getComponentActivation(entity.getFirstState(AbstractDeviceComponentState.class)
+                                .orElseThrow())
+                        != ComponentActivation.OFF) {
+                    continue;
+                }
+
+                final var abstractDeviceComponentDescendants =
+                        getDescendantsByType(current, entity.getHandle(), AbstractDeviceComponentDescriptor.class);
+                for (var descendant : abstractDeviceComponentDescendants) {
+                    final var descendantState = descendant
+                            .getFirstState(AbstractDeviceComponentState.class)
+                            .orElseThrow();
+                    assertEquals(
+                            ComponentActivation.OFF,
+                            ImpliedValueUtil.getComponentActivation(descendantState),
+                            String.format(
+                                    "The ComponentActivation OFF was not set for the descendant with handle %s",
+                                    descendantState.getDescriptorHandle()));
+                }
+
+                final var abstractAlertDescendants =
+                        getDescendantsByType(current, entity.getHandle(), AbstractAlertDescriptor.class);
+                for (var descendant : abstractAlertDescendants) {
+                    final var descendantState =
+                            descendant.getFirstState(AbstractAlertState.class).orElseThrow();
+                    assertEquals(
+                            AlertActivation.OFF,
+                            descendantState.getActivationState(),
+                            String.format(
+                                    "The AlertActivation OFF was not set for the descendant with handle %s",
+                                    descendantState.getDescriptorHandle()));
+                }
+
+                final var abstractMetricDescendants =
+                        getDescendantsByType(current, entity.getHandle(), AbstractMetricDescriptor.class);
+                for (var descendant : abstractMetricDescendants) {
+                    final var descendantState =
+                            descendant.getFirstState(AbstractMetricState.class).orElseThrow();
+                    assertEquals(
+                            ComponentActivation.OFF,
+                            ImpliedValueUtil.getMetricActivation(descendantState),
+                            String.format(
+                                    "The ComponentActivation OFF was not set for the descendant with handle %s",
+                                    descendantState.getDescriptorHandle()));
+                }
+
+                final var abstractOperationDescendants =
+                        getDescendantsByType(current, entity.getHandle(), AbstractOperationDescriptor.class);
+                for (var descendant : abstractOperationDescendants) {
+                    final var descendantState =
+                            descendant.getFirstState(AbstractOperationState.class).orElseThrow();
+                    assertEquals(
+                            OperatingMode.NA,
+                            descendantState.getOperatingMode(),
+                            String.format(
+                                    "The OperatingMode NA was not set for the descendant with handle %s",
+                                    descendantState.getDescriptorHandle()));
+                }
+
+                acceptableSequenceSeen++;
+            }
+        }
+    }
 }
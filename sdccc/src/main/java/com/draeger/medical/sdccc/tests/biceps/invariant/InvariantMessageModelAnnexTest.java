@@ -27,12 +27,13 @@ import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
 import com.draeger.medical.sdccc.tests.util.InitialImpliedValue;
 import com.draeger.medical.sdccc.tests.util.InitialImpliedValueException;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.SequenceEvaluator;
+import com.draeger.medical.sdccc.tests.util.SoapBodyUnmarshaller;
 import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
 import com.draeger.medical.sdccc.util.Constants;
 import com.draeger.medical.sdccc.util.TestRunObserver;
-import java.io.ByteArrayInputStream;
+import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -68,10 +69,6 @@ import org.somda.sdc.biceps.model.participant.MdsDescriptor;
 import org.somda.sdc.biceps.model.participant.ScoDescriptor;
 import org.somda.sdc.biceps.model.participant.SystemContextDescriptor;
 import org.somda.sdc.biceps.model.participant.VmdDescriptor;
-import org.somda.sdc.dpws.soap.MarshallingService;
-import org.somda.sdc.dpws.soap.SoapMessage;
-import org.somda.sdc.dpws.soap.SoapUtil;
-import org.somda.sdc.dpws.soap.exception.MarshallingException;
 import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
@@ -80,18 +77,18 @@ import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 public class InvariantMessageModelAnnexTest extends InjectorTestBase {
     private static final String STATE_ABSENT = "The state with handle %s is not present";
     private static final String STATE_UNCHANGED = "The state with the handle %s from the report has not changed";
-    private MarshallingService marshalling;
-    private SoapUtil soapUtil;
+    private SoapBodyUnmarshaller soapBodyUnmarshaller;
     private MessageStorage messageStorage;
     private MdibHistorianFactory mdibHistorianFactory;
+    private SequenceEvaluator sequenceEvaluator;
 
     @BeforeEach
     void setup() {
         this.messageStorage = getInjector().getInstance(MessageStorage.class);
+        this.sequenceEvaluator = getInjector().getInstance(SequenceEvaluator.class);
         final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
         this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
-        this.marshalling = riInjector.getInstance(MarshallingService.class);
-        this.soapUtil = riInjector.getInstance(SoapUtil.class);
+        this.soapBodyUnmarshaller = riInjector.getInstance(SoapBodyUnmarshaller.class);
     }
 
     @Test
@@ -113,10 +110,8 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
             for (final Iterator<MessageContent> iterator = reports.getStream().iterator(); iterator.hasNext(); ) {
 
                 final MessageContent messageContent = iterator.next();
-                final SoapMessage soapMessage = marshalling.unmarshal(
-                        new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
                 final Optional<DescriptionModificationReport> reportOpt =
-                        soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                        soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                 final DescriptionModificationReport descriptionModificationReport = reportOpt.orElseThrow();
 
                 for (var reportPart : descriptionModificationReport.getReportPart()) {
@@ -140,7 +135,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                     }
                 }
             }
-        } catch (IOException | MarshallingException e) {
+        } catch (IOException | JAXBException e) {
             fail("Unexpected Exception", e);
         }
 
@@ -164,7 +159,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -260,17 +255,15 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
             + "@ParentDescriptor attribute set.")
     @RequirePrecondition(
             simplePreconditions = ConditionalPreconditions.DescriptionModificationMdsDescriptorPrecondition.class)
-    void testRequirementC7() throws NoTestData, IOException, MarshallingException {
+    void testRequirementC7() throws NoTestData, IOException, JAXBException {
         final var acceptableReportsSeen = new AtomicInteger(0);
 
         try (final MessageStorage.GetterResult<MessageContent> descriptionModificationReports =
                 messageStorage.getInboundMessagesByBodyType(Constants.MSG_DESCRIPTION_MODIFICATION_REPORT)) {
             for (MessageContent messageContent :
                     descriptionModificationReports.getStream().toList()) {
-                final SoapMessage soapMessage = marshalling.unmarshal(
-                        new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                final DescriptionModificationReport descriptionModificationReport = soapUtil.getBody(
-                                soapMessage, DescriptionModificationReport.class)
+                final DescriptionModificationReport descriptionModificationReport = soapBodyUnmarshaller
+                        .unmarshal(messageContent, DescriptionModificationReport.class)
                         .orElseThrow();
 
                 for (DescriptionModificationReport.ReportPart reportPart :
@@ -307,9 +300,8 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
 
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                    final var reportOpt =
+                            soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                     if (reportOpt.isPresent()) {
                         for (var part : reportOpt.orElseThrow().getReportPart()) {
                             for (var descriptor : part.getDescriptor()) {
@@ -318,7 +310,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                             }
                         }
                     }
-                } catch (MarshallingException e) {
+                } catch (JAXBException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 }
             });
@@ -347,12 +339,11 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
 
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                    final var reportOpt =
+                            soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                     reportOpt.ifPresent(descriptionModificationReport ->
                             checkOrderOfReportParts(descriptionModificationReport, descriptorsSeen));
-                } catch (MarshallingException e) {
+                } catch (JAXBException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 }
             });
@@ -481,7 +472,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                 messageStorage, getInjector().getInstance(TestRunObserver.class));
         final var acceptableSequenceSeen = new AtomicInteger(0);
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess mdib = null;
                 try {
                     mdib = mdibHistorian.createNewStorage(sequenceId);
@@ -538,9 +529,8 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
             final var impliedValueMap = new HashMap<String, InitialImpliedValue>();
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                    final var reportOpt =
+                            soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                     final var crtReportParts = reportOpt.orElseThrow().getReportPart().stream()
                             .filter(part ->
                                     ImpliedValueUtil.getModificationType(part).equals(DescriptionModificationType.CRT))
@@ -572,7 +562,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                                             descriptorVersion, descriptorsDescriptorVersion, handle));
                         }
                     }
-                } catch (MarshallingException e) {
+                } catch (JAXBException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 } catch (InitialImpliedValueException e) {
                     fail(
@@ -602,9 +592,8 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
             final var impliedValueMap = new HashMap<Object, InitialImpliedValue>();
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                    final var reportOpt =
+                            soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                     final var uptReportParts = reportOpt.orElseThrow().getReportPart().stream()
                             .filter(part ->
                                     ImpliedValueUtil.getModificationType(part).equals(DescriptionModificationType.UPT))
@@ -644,7 +633,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                                             handle));
                         }
                     }
-                } catch (MarshallingException | InitialImpliedValueException e) {
+                } catch (JAXBException | InitialImpliedValueException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 }
             });
@@ -667,9 +656,8 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
 
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, DescriptionModificationReport.class);
+                    final var reportOpt =
+                            soapBodyUnmarshaller.unmarshal(messageContent, DescriptionModificationReport.class);
                     final var delReportParts = reportOpt.orElseThrow().getReportPart().stream()
                             .filter(part ->
                                     ImpliedValueUtil.getModificationType(part).equals(DescriptionModificationType.DEL))
@@ -680,7 +668,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
                                 part.getState().isEmpty(),
                                 "State should not be part of the report with modification type delete.");
                     }
-                } catch (MarshallingException e) {
+                } catch (JAXBException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 }
             });
@@ -704,7 +692,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -767,7 +755,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -830,7 +818,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -904,7 +892,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -968,7 +956,7 @@ public class InvariantMessageModelAnnexTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicInteger(0);
 
         try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 RemoteMdibAccess first = null;
                 RemoteMdibAccess second = null;
                 try {
@@ -9,21 +9,18 @@ package com.draeger.medical.sdccc.tests.biceps.invariant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ConditionalPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.util.Collection;
@@ -31,13 +28,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.MdibEntity;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractContextDescriptor;
 import org.somda.sdc.biceps.model.participant.AbstractContextState;
@@ -50,7 +45,6 @@ import org.somda.sdc.biceps.model.participant.MeansContextDescriptor;
 import org.somda.sdc.biceps.model.participant.OperatorContextDescriptor;
 import org.somda.sdc.biceps.model.participant.PatientContextDescriptor;
 import org.somda.sdc.biceps.model.participant.WorkflowContextDescriptor;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS participant model multistate tests (ch. 5.4.3).
@@ -65,15 +59,12 @@ public class InvariantMultiStateTest extends InjectorTestBase {
             OperatorContextDescriptor.class,
             WorkflowContextDescriptor.class);
 
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setUp() {
-        final var injector = getInjector();
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.messageStorage = injector.getInstance(MessageStorage.class);
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R0097Check.class, R0097Check::new);
     }
 
     @Test
@@ -83,55 +74,15 @@ public class InvariantMultiStateTest extends InjectorTestBase {
             + " to the handles from any descriptor derived from pm:AbstractDescriptor within one mdib sequence.")
     @RequirePrecondition(
             simplePreconditions = {ConditionalPreconditions.AllKindsOfContextStatesAssociatedPrecondition.class})
+    @RequireRevisionCheck(R0097Check.class)
     void testRequirement0097() throws NoTestData, IOException {
-
-        final var descriptorHandles = new HashSet<String>();
-        final var multiStateHandles = new HashSet<String>();
-
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-        final var seenAcceptableSequence = new AtomicBoolean(false);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    RemoteMdibAccess first = history.next();
-                    final var seenMultiStatesMap = initMultiStateMap(first, CONTEXT_DESCRIPTOR_CLASSES);
-                    while (first != null) {
-                        final var entities = first.findEntitiesByType(AbstractDescriptor.class);
-                        final var states = first.findContextStatesByType(AbstractContextState.class);
-                        addAllDescriptorHandles(entities, descriptorHandles);
-                        if (states.isEmpty()) {
-                            first = history.next();
-                            continue;
-                        }
-                        addAllMultiStateHandles(states, multiStateHandles, seenMultiStatesMap);
-                        areMultiStatesHandlesUnique(states);
-                        areHandlesDisjunctive(descriptorHandles, multiStateHandles, first.getMdibVersion());
-                        first = history.next();
-                    }
-                    var acceptableSequence = true;
-                    for (var value : seenMultiStatesMap.values()) {
-                        acceptableSequence &= value.size() > 1;
-                    }
-
-                    if (acceptableSequence) {
-                        seenAcceptableSequence.set(acceptableSequence);
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-                descriptorHandles.clear();
-                multiStateHandles.clear();
-            });
-        }
+        final var check = mdibHistoryReplay.evaluate(R0097Check.class);
         assertTestData(
-                seenAcceptableSequence.get(),
+                check.seenAcceptableSequence,
                 "No Sequence with two different context states for each" + " context descriptor associated seen.");
     }
 
-    private HashMap<String, Set<String>> initMultiStateMap(
+    private static HashMap<String, Set<String>> initMultiStateMap(
             final RemoteMdibAccess first, final List<Class<? extends AbstractContextDescriptor>> contextClasses) {
         final var multiStateMap = new HashMap<String, Set<String>>();
         for (var contextClass : contextClasses) {
@@ -141,19 +92,19 @@ public class InvariantMultiStateTest extends InjectorTestBase {
         return multiStateMap;
     }
 
-    private void areMultiStatesHandlesUnique(final List<AbstractContextState> states) {
+    private static void areMultiStatesHandlesUnique(final List<AbstractContextState> states) {
         final var allHandles =
                 states.stream().map(AbstractContextState::getHandle).collect(Collectors.toList());
         final var distinctHandles = allHandles.stream().distinct().collect(Collectors.toList());
         assertEquals(allHandles.size(), distinctHandles.size());
     }
 
-    private void addAllDescriptorHandles(
+    private static void addAllDescriptorHandles(
             final Collection<MdibEntity> entities, final HashSet<String> descriptorHandles) {
         entities.forEach(entity -> descriptorHandles.add(entity.getHandle()));
     }
 
-    private void addAllMultiStateHandles(
+    private static void addAllMultiStateHandles(
             final List<AbstractContextState> states,
             final HashSet<String> multiStateHandles,
             final HashMap<String, Set<String>> seenMultiStatesMap) {
@@ -167,7 +118,7 @@ public class InvariantMultiStateTest extends InjectorTestBase {
         });
     }
 
-    private void areHandlesDisjunctive(
+    private static void areHandlesDisjunctive(
             final HashSet<String> setOne, final HashSet<String> setTwo, final MdibVersion mdibVersion) {
         final var intersection = Sets.intersection(setOne, setTwo);
         assertTrue(
@@ -177,4 +128,49 @@ public class InvariantMultiStateTest extends InjectorTestBase {
                                 + " Overlapping handles:%s. In MdibVersion: %s",
                         intersection, mdibVersion));
     }
+
+    private static final class R0097Check implements MdibRevisionCheck {
+        private boolean seenAcceptableSequence;
+        private final HashSet<String> descriptorHandles = new HashSet<>();
+        private final HashSet<String> multiStateHandles = new HashSet<>();
+        private @Nullable HashMap<String, Set<String>> seenMultiStatesMap;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            descriptorHandles.clear();
+            multiStateHandles.clear();
+            seenMultiStatesMap = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            if (seenMultiStatesMap == null) {
+                seenMultiStatesMap = initMultiStateMap(current, CONTEXT_DESCRIPTOR_CLASSES);
+            }
+            final var entities = current.findEntitiesByType(AbstractDescriptor.class);
+            final var states = current.findContextStatesByType(AbstractContextState.class);
+            addAllDescriptorHandles(entities, descriptorHandles);
+            if (states.isEmpty()) {
+                return;
+            }
+            addAllMultiStateHandles(states, multiStateHandles, seenMultiStatesMap);
+            areMultiStatesHandlesUnique(states);
+            areHandlesDisjunctive(descriptorHandles, multiStateHandles, current.getMdibVersion());
+        }
+
+        @Override
+        public void onSequenceEnd(final String sequenceId) {
+            if (seenMultiStatesMap == null) {
+                return;
+            }
+            var acceptableSequence = true;
+            for (var value : seenMultiStatesMap.values()) {
+                acceptableSequence &= value.size() > 1;
+            }
+
+            if (acceptableSequence) {
+                seenAcceptableSequence = true;
+            }
+        }
+    }
 }
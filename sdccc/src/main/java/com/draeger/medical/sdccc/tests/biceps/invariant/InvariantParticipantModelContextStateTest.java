@@ -8,32 +8,26 @@
 package com.draeger.medical.sdccc.tests.biceps.invariant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ManipulationPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import com.google.common.collect.HashMultimap;
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.MdibEntity;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractMultiState;
 import org.somda.sdc.biceps.model.participant.ContextAssociation;
@@ -41,7 +35,6 @@ import org.somda.sdc.biceps.model.participant.LocationContextDescriptor;
 import org.somda.sdc.biceps.model.participant.LocationContextState;
 import org.somda.sdc.biceps.model.participant.PatientContextDescriptor;
 import org.somda.sdc.biceps.model.participant.PatientContextState;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS participant model context state tests (ch. 5.4.4).
@@ -50,14 +43,13 @@ public class InvariantParticipantModelContextStateTest extends InjectorTestBase
 
     private static final Logger LOG = LogManager.getLogger();
 
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setUp() {
-        this.messageStorage = getInjector().getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R0124Check.class, R0124Check::new);
+        mdibHistoryReplay.register(R0133Check.class, R0133Check::new);
     }
 
     @Test
@@ -66,80 +58,11 @@ public class InvariantParticipantModelContextStateTest extends InjectorTestBase
             + " verifies that at no point a patient context descriptor has more than one associated state. Verifies that"
             + " during every sequence there were at least two different associated patient context states.")
     @RequirePrecondition(manipulationPreconditions = {ManipulationPreconditions.AssociatePatientsManipulation.class})
+    @RequireRevisionCheck(R0124Check.class)
     void testRequirementR0124() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceIdsSeen = new AtomicBoolean(false);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var associationCounterMap = HashMultimap.<String, String>create();
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess mdibAccess = history.next();
-                    while (mdibAccess != null) {
-
-                        final var patientContextEntities =
-                                mdibAccess.findEntitiesByType(PatientContextDescriptor.class);
-
-                        for (MdibEntity patientContextEntity : patientContextEntities) {
-
-                            final var associatedPatients =
-                                    patientContextEntity.getStates(PatientContextState.class).stream()
-                                            .filter(state -> ContextAssociation.ASSOC.equals(
-                                                    ImpliedValueUtil.getContextAssociation(state)))
-                                            .toList();
-
-                            if (!associatedPatients.isEmpty()) {
-                                final var associatedStateHandles = associatedPatients.stream()
-                                        .map(AbstractMultiState::getHandle)
-                                        .collect(Collectors.toList());
-
-                                assertEquals(
-                                        1,
-                                        associatedPatients.size(),
-                                        String.format(
-                                                "More than one PatientContextState was associated for the"
-                                                        + " handle %s, associated state handles were %s, mdib version %s",
-                                                patientContextEntity.getHandle(),
-                                                String.join(", ", associatedStateHandles),
-                                                mdibAccess.getMdibVersion()));
-
-                                // only add handles if the check above passed
-                                LOG.debug(
-                                        "Adding desc {} state {}",
-                                        patientContextEntity.getHandle(),
-                                        associatedPatients.get(0).getHandle());
-                                associationCounterMap.put(
-                                        patientContextEntity.getHandle(),
-                                        associatedPatients.get(0).getHandle());
-                            }
-                        }
-                        mdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-                // determine if any context descriptor had 2+ associated states
-                final var hadSufficientContexts =
-                        associationCounterMap.asMap().values().stream().anyMatch(values -> values.size() >= 2);
-
-                if (hadSufficientContexts) {
-                    // the check passed, this sequence is acceptable
-                    acceptableSequenceIdsSeen.set(true);
-                } else {
-                    LOG.warn(
-                            "No or not enough patients were associated during the test run in sequence {}"
-                                    + " - at least two different associated patient context states are required for a single patient"
-                                    + " context descriptor.",
-                            sequenceId);
-                }
-            });
-        }
+        final var check = mdibHistoryReplay.evaluate(R0124Check.class);
         assertTestData(
-                acceptableSequenceIdsSeen.get(),
+                check.acceptableSequenceIdsSeen,
                 "No or not enough patients were associated during the test run."
                         + " At least two different associated patient context states are required for a single patient"
                         + " context descriptor in a single sequence.");
@@ -151,82 +74,145 @@ public class InvariantParticipantModelContextStateTest extends InjectorTestBase
             + " verifies that at no point a location context descriptor has more than one associated state. Verifies that"
             + " there were at least two different associated location context states during at least one sequence.")
     @RequirePrecondition(manipulationPreconditions = {ManipulationPreconditions.AssociateLocationsManipulation.class})
+    @RequireRevisionCheck(R0133Check.class)
     void testRequirementR0133() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceIdsSeen = new AtomicBoolean(false);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var associationCounterMap = HashMultimap.<String, String>create();
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess mdibAccess = history.next();
-                    while (mdibAccess != null) {
-
-                        final var locationContextEntities =
-                                mdibAccess.findEntitiesByType(LocationContextDescriptor.class);
-
-                        for (MdibEntity locationContextEntity : locationContextEntities) {
-
-                            final var associatedLocations =
-                                    locationContextEntity.getStates(LocationContextState.class).stream()
-                                            .filter(state -> ContextAssociation.ASSOC.equals(
-                                                    ImpliedValueUtil.getContextAssociation(state)))
-                                            .toList();
-
-                            if (!associatedLocations.isEmpty()) {
-                                final var associatedStateHandles = associatedLocations.stream()
-                                        .map(AbstractMultiState::getHandle)
-                                        .collect(Collectors.toList());
-
-                                assertEquals(
-                                        1,
-                                        associatedLocations.size(),
-                                        String.format(
-                                                "More than one LocationContextState was associated for the"
-                                                        + " handle %s, associated state handles were %s, mdib version %s",
-                                                locationContextEntity.getHandle(),
-                                                String.join(", ", associatedStateHandles),
-                                                mdibAccess.getMdibVersion()));
-
-                                // only add handles if the check above passed
-                                LOG.debug(
-                                        "Adding desc {} state {}",
-                                        locationContextEntity.getHandle(),
-                                        associatedLocations.get(0).getHandle());
-                                associationCounterMap.put(
-                                        locationContextEntity.getHandle(),
-                                        associatedLocations.get(0).getHandle());
-                            }
-                        }
-                        mdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-                // determine if any context descriptor had 2+ associated states
-                final var hadSufficientContexts = !associationCounterMap.isEmpty()
-                        && associationCounterMap.asMap().values().stream().allMatch(values -> values.size() >= 2);
-
-                if (hadSufficientContexts) {
-                    // the check passed, this sequence is acceptable
-                    acceptableSequenceIdsSeen.set(true);
-                } else {
-                    LOG.warn(
-                            "No or not enough locations were associated during the test run in sequence {}"
-                                    + " - at least two different associated location context states are required for a single"
-                                    + " location context descriptor.",
-                            sequenceId);
-                }
-            });
-        }
+        final var check = mdibHistoryReplay.evaluate(R0133Check.class);
         assertTestData(
-                acceptableSequenceIdsSeen.get(),
+                check.acceptableSequenceIdsSeen,
                 "No or not enough locations were associated during the test run."
                         + " At least two different associated location context states are required for a single location"
                         + " context descriptor in a single sequence.");
     }
+
+    private static final class R0124Check implements MdibRevisionCheck {
+        private boolean acceptableSequenceIdsSeen;
+        private final HashMultimap<String, String> associationCounterMap = HashMultimap.create();
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            associationCounterMap.clear();
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var patientContextEntities = current.findEntitiesByType(PatientContextDescriptor.class);
+
+            for (MdibEntity patientContextEntity : patientContextEntities) {
+
+                final var associatedPatients = patientContextEntity.getStates(PatientContextState.class).stream()
+                        .filter(state ->
+                                ContextAssociation.ASSOC.equals(ImpliedValueUtil.getContextAssociation(state)))
+                        .toList();
+
+                if (!associatedPatients.isEmpty()) {
+                    final var associatedStateHandles = associatedPatients.stream()
+                            .map(AbstractMultiState::getHandle)
+                            .collect(Collectors.toList());
+
+                    assertEquals(
+                            1,
+                            associatedPatients.size(),
+                            String.format(
+                                    "More than one PatientContextState was associated for the"
+                                            + " handle %s, associated state handles were %s, mdib version %s",
+                                    patientContextEntity.getHandle(),
+                                    String.join(", ", associatedStateHandles),
+                                    current.getMdibVersion()));
+
+                    // only add handles if the check above passed
+                    LOG.debug(
+                            "Adding desc {} state {}",
+                            patientContextEntity.getHandle(),
+                            associatedPatients.get(0).getHandle());
+                    associationCounterMap.put(
+                            patientContextEntity.getHandle(),
+                            associatedPatients.get(0).getHandle());
+                }
+            }
+        }
+
+        @Override
+        public void onSequenceEnd(final String sequenceId) {
+            // determine if any context descriptor had 2+ associated states
+            final var hadSufficientContexts =
+                    associationCounterMap.asMap().values().stream().anyMatch(values -> values.size() >= 2);
+
+            if (hadSufficientContexts) {
+                // the check passed, this sequence is acceptable
+                acceptableSequenceIdsSeen = true;
+            } else {
+                LOG.warn(
+                        "No or not enough patients were associated during the test run in sequence {}"
+                                + " - at least two different associated patient context states are required for a"
+                                + " single patient context descriptor.",
+                        sequenceId);
+            }
+        }
+    }
+
+    private static final class R0133Check implements MdibRevisionCheck {
+        private boolean acceptableSequenceIdsSeen;
+        private final HashMultimap<String, String> associationCounterMap = HashMultimap.create();
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            associationCounterMap.clear();
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var locationContextEntities = current.findEntitiesByType(LocationContextDescriptor.class);
+
+            for (MdibEntity locationContextEntity : locationContextEntities) {
+
+                final var associatedLocations = locationContextEntity.getStates(LocationContextState.class).stream()
+                        .filter(state ->
+                                ContextAssociation.ASSOC.equals(ImpliedValueUtil.getContextAssociation(state)))
+                        .toList();
+
+                if (!associatedLocations.isEmpty()) {
+                    final var associatedStateHandles = associatedLocations.stream()
+                            .map(AbstractMultiState::getHandle)
+                            .collect(Collectors.toList());
+
+                    assertEquals(
+                            1,
+                            associatedLocations.size(),
+                            String.format(
+                                    "More than one LocationContextState was associated for the"
+                                            + " handle %s, associated state handles were %s, mdib version %s",
+                                    locationContextEntity.getHandle(),
+                                    String.join(", ", associatedStateHandles),
+                                    current.getMdibVersion()));
+
+                    // only add handles if the check above passed
+                    LOG.debug(
+                            "Adding desc {} state {}",
+                            locationContextEntity.getHandle(),
+                            associatedLocations.get(0).getHandle());
+                    associationCounterMap.put(
+                            locationContextEntity.getHandle(),
+                            associatedLocations.get(0).getHandle());
+                }
+            }
+        }
+
+        @Override
+        public void onSequenceEnd(final String sequenceId) {
+            // determine if any context descriptor had 2+ associated states
+            final var hadSufficientContexts = !associationCounterMap.isEmpty()
+                    && associationCounterMap.asMap().values().stream().allMatch(values -> values.size() >= 2);
+
+            if (hadSufficientContexts) {
+                // the check passed, this sequence is acceptable
+                acceptableSequenceIdsSeen = true;
+            } else {
+                LOG.warn(
+                        "No or not enough locations were associated during the test run in sequence {}"
+                                + " - at least two different associated location context states are required for a"
+                                + " single location context descriptor.",
+                        sequenceId);
+            }
+        }
+    }
 }
@@ -19,14 +19,15 @@ import com.draeger.medical.sdccc.messages.mapping.MessageContent;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
+import com.draeger.medical.sdccc.tests.util.SequenceEvaluator;
 import com.draeger.medical.sdccc.util.Constants;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -35,15 +36,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.MdibEntity;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.message.DescriptionModificationReport;
 import org.somda.sdc.biceps.model.message.DescriptionModificationType;
@@ -54,7 +54,6 @@ import org.somda.sdc.dpws.soap.MarshallingService;
 import org.somda.sdc.dpws.soap.SoapMessage;
 import org.somda.sdc.dpws.soap.SoapUtil;
 import org.somda.sdc.dpws.soap.exception.MarshallingException;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS participant model handle tests (ch. 5.2.2).
@@ -64,16 +63,20 @@ public class InvariantParticipantModelHandleTest extends InjectorTestBase {
     private static final Pair<Integer, Integer> VALID_ASCII_RANGE = new ImmutablePair<>(0x21, 0x7E);
 
     private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
+    private SequenceEvaluator sequenceEvaluator;
     private MarshallingService marshalling;
     private SoapUtil soapUtil;
 
     @BeforeEach
     void setUp() {
         this.messageStorage = getInjector().getInstance(MessageStorage.class);
+        this.sequenceEvaluator = getInjector().getInstance(SequenceEvaluator.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R0007Check.class, R0007Check::new);
+        mdibHistoryReplay.register(R0105Check.class, R0105Check::new);
 
         final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
         this.marshalling = riInjector.getInstance(MarshallingService.class);
         this.soapUtil = riInjector.getInstance(SoapUtil.class);
     }
@@ -83,56 +86,14 @@ public class InvariantParticipantModelHandleTest extends InjectorTestBase {
     @TestIdentifier(EnabledTestConfig.BICEPS_R0007_0)
     @TestDescription("Starting from the initially retrieved mdib, ensures that for each mdib version, "
             + " all contained handles are unique.")
+    @RequireRevisionCheck(R0007Check.class)
     void testRequirementR0007() throws NoTestData, IOException {
         // NOTE: MdibHistorian checks the uniqueness of Handles in all MdibVersions.
         //       However, its checks are missing duplicate handles introduced by ContextReports.
         //       Hence, we cannot fully rely on the MdibHistorian and have to check handle
         //       uniqueness ourselves.
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final AtomicInteger handlesSeen = new AtomicInteger();
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    var current = history.next();
-                    while (current != null) {
-                        final var allEntities = current.findEntitiesByType(AbstractDescriptor.class);
-
-                        final List<String> entityHandles =
-                                allEntities.stream().map(MdibEntity::getHandle).toList();
-                        final HashSet<String> allHandles = new HashSet<>();
-                        for (var handle : entityHandles) {
-                            assertFalse(
-                                    allHandles.contains(handle),
-                                    "Handle '" + handle + "' is not unique in mdib version " + current.getMdibVersion()
-                                            + ".");
-                            allHandles.add(handle);
-                        }
-
-                        final List<AbstractContextState> contextStates =
-                                current.findContextStatesByType(AbstractContextState.class);
-                        final List<String> contextStateHandles = contextStates.stream()
-                                .map(AbstractMultiState::getHandle)
-                                .toList();
-                        for (var cSHandle : contextStateHandles) {
-                            assertFalse(
-                                    allHandles.contains(cSHandle),
-                                    "contextState handle '" + cSHandle + "' is not unique in Mdib version "
-                                            + current.getMdibVersion() + ".");
-                            allHandles.add(cSHandle);
-                        }
-                        handlesSeen.addAndGet(allHandles.size());
-                        current = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(handlesSeen.get(), "No Data to perform test on");
+        final var check = mdibHistoryReplay.evaluate(R0007Check.class);
+        assertTestData(check.handlesSeen, "No Data to perform test on");
     }
 
     @Test
@@ -142,48 +103,10 @@ public class InvariantParticipantModelHandleTest extends InjectorTestBase {
     @TestDescription("Starting from the initially retrieved mdib, applies every episodic report to the mdib and"
             + " verifies that every descriptor and state handle present only contains valid ASCII characters within the"
             + " permitted range.")
+    @RequireRevisionCheck(R0105Check.class)
     void testRequirementR0105() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var handlesSeen = new HashSet<String>();
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess first = history.next();
-                    while (first != null) {
-                        final var mdibVersion = first.getMdibVersion();
-                        final var allEntities = first.findEntitiesByType(AbstractDescriptor.class);
-                        for (MdibEntity entity : allEntities) {
-                            // descriptor handle
-                            assertTrue(
-                                    isWithinPermittedASCIIRange(entity.getHandle()),
-                                    String.format(
-                                            "Invalid descriptor handle %s found in mdib version %s",
-                                            entity.getHandle(), mdibVersion));
-                            handlesSeen.add(entity.getHandle());
-
-                            // state handles
-                            entity.doIfMultiState(states -> states.forEach(state -> {
-                                handlesSeen.add(state.getHandle());
-                                assertTrue(
-                                        isWithinPermittedASCIIRange(state.getHandle()),
-                                        String.format(
-                                                "Invalid multi state handle %s found in mdib version %s",
-                                                state.getHandle(), mdibVersion));
-                            }));
-                        }
-                        first = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(handlesSeen, "No Data to perform test on");
+        final var check = mdibHistoryReplay.evaluate(R0105Check.class);
+        assertTestData(check.handlesSeen, "No Data to perform test on");
     }
 
     @Test
@@ -201,7 +124,7 @@ public class InvariantParticipantModelHandleTest extends InjectorTestBase {
         final var reinsertionSeen = new AtomicInteger(0);
 
         try (final var sequenceIds = messageStorage.getUniqueSequenceIds().filter(Objects::nonNull)) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 try (final var messages = messageStorage.getInboundMessagesByBodyTypeAndSequenceId(
                         sequenceId, Constants.MSG_DESCRIPTION_MODIFICATION_REPORT)) {
 
@@ -269,11 +192,71 @@ public class InvariantParticipantModelHandleTest extends InjectorTestBase {
      * @param data to verify
      * @return true if correct, false otherwise
      */
-    boolean isWithinPermittedASCIIRange(final String data) {
+    static boolean isWithinPermittedASCIIRange(final String data) {
         return data.codePoints().allMatch(c -> isInRange(c, VALID_ASCII_RANGE));
     }
 
-    private boolean isInRange(final int codePoint, final Pair<Integer, Integer> range) {
+    private static boolean isInRange(final int codePoint, final Pair<Integer, Integer> range) {
         return codePoint >= range.getLeft() && codePoint <= range.getRight();
     }
+
+    private static final class R0007Check implements MdibRevisionCheck {
+        private int handlesSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var allEntities = current.findEntitiesByType(AbstractDescriptor.class);
+
+            final List<String> entityHandles =
+                    allEntities.stream().map(MdibEntity::getHandle).toList();
+            final HashSet<String> allHandles = new HashSet<>();
+            for (var handle : entityHandles) {
+                assertFalse(
+                        allHandles.contains(handle),
+                        "Handle '" + handle + "' is not unique in mdib version " + current.getMdibVersion() + ".");
+                allHandles.add(handle);
+            }
+
+            final List<AbstractContextState> contextStates =
+                    current.findContextStatesByType(AbstractContextState.class);
+            final List<String> contextStateHandles =
+                    contextStates.stream().map(AbstractMultiState::getHandle).toList();
+            for (var cSHandle : contextStateHandles) {
+                assertFalse(
+                        allHandles.contains(cSHandle),
+                        "contextState handle '" + cSHandle + "' is not unique in Mdib version "
+                                + current.getMdibVersion() + ".");
+                allHandles.add(cSHandle);
+            }
+            handlesSeen += allHandles.size();
+        }
+    }
+
+    private static final class R0105Check implements MdibRevisionCheck {
+        private final Set<String> handlesSeen = new HashSet<>();
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var mdibVersion = current.getMdibVersion();
+            for (MdibEntity entity : current.findEntitiesByType(AbstractDescriptor.class)) {
+                // descriptor handle
+                assertTrue(
+                        isWithinPermittedASCIIRange(entity.getHandle()),
+                        String.format(
+                                "Invalid descriptor handle %s found in mdib version %s",
+                                entity.getHandle(), mdibVersion));
+                handlesSeen.add(entity.getHandle());
+
+                // state handles
+                entity.doIfMultiState(states -> states.forEach(state -> {
+                    handlesSeen.add(state.getHandle());
+                    assertTrue(
+                            isWithinPermittedASCIIRange(state.getHandle()),
+                            String.format(
+                                    "Invalid multi state handle %s found in mdib version %s",
+                                    state.getHandle(), mdibVersion));
+                }));
+            }
+        }
+    }
 }
@@ -8,7 +8,6 @@
 package com.draeger.medical.sdccc.tests.biceps.invariant;
 
 import static com.draeger.medical.sdccc.configuration.TestParameterConfig.BICEPS_547_TIME_INTERVAL;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -24,6 +23,7 @@ import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
 import com.draeger.medical.sdccc.tests.util.ManipulationParameterUtil;
+import com.draeger.medical.sdccc.tests.util.MdibStateTimeline;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
 import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
 import com.draeger.medical.sdccc.util.Constants;
@@ -32,14 +32,15 @@ import com.draeger.medical.t2iapi.ResponseTypes;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.storage.PreprocessingException;
-import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractMetricState;
 import org.somda.sdc.biceps.model.participant.ComponentActivation;
 import org.somda.sdc.biceps.model.participant.MetricCategory;
@@ -358,76 +359,81 @@ public class InvariantParticipantModelStatePartTest extends InjectorTestBase {
 
     private void testRequirement547(final MetricCategory category, final ComponentActivation activation)
             throws NoTestData {
-        final var successfulManipulationSeen = new AtomicBoolean(false);
+        final List<MetricStatusManipulation> successfulManipulations;
         try (final var manipulations = messageStorage.getManipulationDataByParametersAndManipulation(
                 ManipulationParameterUtil.buildMetricStatusManipulationParameterDataWithoutHandle(category, activation),
                 Constants.MANIPULATION_NAME_SET_METRIC_STATUS)) {
             assertTestData(
                     manipulations.areObjectsPresent(), String.format(NO_SET_METRIC_STATUS_MANIPULATION, category));
-            manipulations
+            // parameters are loaded lazily, extract them while the manipulations are still open
+            successfulManipulations = manipulations
                     .getStream()
                     .filter(it -> it.getResult().equals(ResponseTypes.Result.RESULT_SUCCESS))
-                    .forEachOrdered(it -> {
-                        successfulManipulationSeen.getAndSet(true);
-                        checkAssociatedMetric(it, activation);
-                    });
+                    .map(it -> new MetricStatusManipulation(
+                            getParameterValue(it, Constants.MANIPULATION_PARAMETER_HANDLE),
+                            getParameterValue(it, Constants.MANIPULATION_PARAMETER_SEQUENCE_ID),
+                            it.getFinishTimestamp()))
+                    .toList();
         } catch (IOException e) {
             fail(e);
             // unreachable
             throw new RuntimeException(e);
         }
-        assertTestData(successfulManipulationSeen.get(), NO_SUCCESSFUL_MANIPULATION);
-    }
-
-    private void checkAssociatedMetric(
-            final ManipulationData manipulationData, final ComponentActivation expectedActivationState) {
-        final var manipulationParameter = manipulationData.getParameters();
-        final var manipulatedHandle = manipulationParameter.stream()
-                .filter(it -> it.getParameterName().equals(Constants.MANIPULATION_PARAMETER_HANDLE))
-                .map(ManipulationParameter::getParameterValue)
-                .findFirst()
-                .orElseThrow();
-        final var sequenceId = manipulationParameter.stream()
-                .filter(it -> it.getParameterName().equals(Constants.MANIPULATION_PARAMETER_SEQUENCE_ID))
-                .map(ManipulationParameter::getParameterValue)
-                .findFirst()
-                .orElseThrow();
+        assertTestData(!successfulManipulations.isEmpty(), NO_SUCCESSFUL_MANIPULATION);
 
         final var historian = mdibHistorianFactory.createMdibHistorian(
                 messageStorage, getInjector().getInstance(TestRunObserver.class));
+        final var manipulationsBySequence = successfulManipulations.stream()
+                .collect(Collectors.groupingBy(
+                        MetricStatusManipulation::sequenceId, LinkedHashMap::new, Collectors.toList()));
+        // replay the history of each sequence only once, independent of the number of manipulations
+        manipulationsBySequence.forEach((sequenceId, sequenceManipulations) -> {
+            final var handles = sequenceManipulations.stream()
+                    .map(MetricStatusManipulation::handle)
+                    .collect(Collectors.toSet());
+            final MdibStateTimeline timeline;
+            try {
+                timeline = historian.uniqueEpisodicReportBasedStateTimeline(sequenceId, handles);
+            } catch (ReportProcessingException | PreprocessingException e) {
+                fail(e);
+                // unreachable
+                throw new RuntimeException(e);
+            }
+            sequenceManipulations.forEach(it -> checkAssociatedMetric(timeline, it, activation));
+        });
+    }
 
-        final var endTimestamp = manipulationData.getFinishTimestamp() + buffer;
-        try (final var history = historian.uniqueEpisodicReportBasedHistoryUntilTimestamp(sequenceId, endTimestamp)) {
-            try (final var historyNext =
-                    historian.uniqueEpisodicReportBasedHistoryUntilTimestamp(sequenceId, endTimestamp)) {
-
-                RemoteMdibAccess first = history.next();
-                RemoteMdibAccess second = historyNext.next();
-                // skip the first entry so that history and historyNext are off by one entry
-                final var skippedElement = historyNext.next();
-                assertNotNull(skippedElement, String.format(NO_REPORT_IN_TIME, endTimestamp));
+    private void checkAssociatedMetric(
+            final MdibStateTimeline timeline,
+            final MetricStatusManipulation manipulation,
+            final ComponentActivation expectedActivationState) {
+        final var manipulatedHandle = manipulation.handle();
+        final var endTimestamp = manipulation.finishTimestamp() + buffer;
 
-                // fast-forward to last mdib state before the end timestamp
-                while (second != null) {
-                    first = history.next();
-                    second = historyNext.next();
-                }
-                final var relevantMetricStateOpt = first.getState(manipulatedHandle, AbstractMetricState.class);
-                assertTrue(
-                        relevantMetricStateOpt.isPresent(),
-                        String.format(NO_METRIC_WITH_EXPECTED_HANDLE, manipulatedHandle));
-                final var relevantMetricState = relevantMetricStateOpt.orElseThrow();
-                Assertions.assertEquals(
+        // last metric state before the end timestamp
+        assertTrue(timeline.hasReportBefore(endTimestamp), String.format(NO_REPORT_IN_TIME, endTimestamp));
+        final var relevantMetricStateOpt =
+                timeline.getStateUntilTimestamp(manipulatedHandle, endTimestamp, AbstractMetricState.class);
+        assertTrue(
+                relevantMetricStateOpt.isPresent(), String.format(NO_METRIC_WITH_EXPECTED_HANDLE, manipulatedHandle));
+        final var relevantMetricState = relevantMetricStateOpt.orElseThrow();
+        Assertions.assertEquals(
+                expectedActivationState,
+                ImpliedValueUtil.getMetricActivation(relevantMetricState),
+                String.format(
+                        WRONG_ACTIVATION_STATE,
+                        manipulatedHandle,
                         expectedActivationState,
-                        ImpliedValueUtil.getMetricActivation(relevantMetricState),
-                        String.format(
-                                WRONG_ACTIVATION_STATE,
-                                manipulatedHandle,
-                                expectedActivationState,
-                                ImpliedValueUtil.getMetricActivation(relevantMetricState)));
-            }
-        } catch (ReportProcessingException | PreprocessingException e) {
-            fail(e);
-        }
+                        ImpliedValueUtil.getMetricActivation(relevantMetricState)));
     }
+
+    private static String getParameterValue(final ManipulationData manipulationData, final String parameterName) {
+        return manipulationData.getParameters().stream()
+                .filter(it -> it.getParameterName().equals(parameterName))
+                .map(ManipulationParameter::getParameterValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private record MetricStatusManipulation(String handle, String sequenceId, long finishTimestamp) {}
 }
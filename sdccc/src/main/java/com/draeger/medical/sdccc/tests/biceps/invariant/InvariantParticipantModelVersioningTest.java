@@ -12,45 +12,43 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ConditionalPreconditions;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
 import com.draeger.medical.sdccc.tests.util.InitialImpliedValue;
 import com.draeger.medical.sdccc.tests.util.InitialImpliedValueException;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.common.MdibEntity;
 import org.somda.sdc.biceps.common.access.MdibAccess;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractDescriptor;
 import org.somda.sdc.biceps.model.participant.AbstractMultiState;
 import org.somda.sdc.biceps.model.participant.AbstractState;
 import org.somda.sdc.biceps.model.participant.AlertSystemDescriptor;
 import org.somda.sdc.biceps.model.participant.ChannelDescriptor;
+import org.somda.sdc.biceps.model.participant.MdibVersion;
 import org.somda.sdc.biceps.model.participant.MdsDescriptor;
 import org.somda.sdc.biceps.model.participant.ScoDescriptor;
 import org.somda.sdc.biceps.model.participant.SystemContextDescriptor;
 import org.somda.sdc.biceps.model.participant.VmdDescriptor;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * BICEPS participant model versioning tests (ch. 5.2.5).
@@ -65,14 +63,15 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
 
     public static final String DESCRIPTOR_UPDATE_PREFIX =
             "Descriptor version has not been incremented by one, but descriptor has changed.";
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setUp() {
-        this.messageStorage = getInjector().getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R0033Check.class, R0033Check::new);
+        mdibHistoryReplay.register(R0034Check.class, R0034Check::new);
+        mdibHistoryReplay.register(R0038Check.class, R0038Check::new);
+        mdibHistoryReplay.register(R5003Check.class, R5003Check::new);
     }
 
     @Test
@@ -82,72 +81,10 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
                     + " verifies that descriptor versions are incremented by 1 whenever a child descriptor is added or deleted.")
     @RequirePrecondition(
             simplePreconditions = {ConditionalPreconditions.DescriptionModificationCrtOrDelPrecondition.class})
+    @RequireRevisionCheck(R0033Check.class)
     void testRequirementR0033() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var descriptorChanges = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var impliedValueMap = new InitialImpliedValue();
-                try (final MdibHistorian.HistorianResult history =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId);
-                        final MdibHistorian.HistorianResult historyNext =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    // skip the first entry so that history and historyNext are off by one entry
-                    final var skippedElement = historyNext.next();
-                    assertTestData(skippedElement != null, "Not enough input to compare mdib revisions");
-
-                    RemoteMdibAccess first = history.next();
-                    RemoteMdibAccess second = historyNext.next();
-                    while (second != null) {
-                        final var currentDescriptors = first.findEntitiesByType(AbstractDescriptor.class);
-                        for (MdibEntity entity : currentDescriptors) {
-                            final var descriptor = entity.getDescriptor(AbstractDescriptor.class)
-                                    .orElseThrow();
-                            final var nextEntityOpt = second.getEntity(descriptor.getHandle());
-                            if (nextEntityOpt.isEmpty()) {
-                                continue;
-                            }
-                            final var nextEntity = nextEntityOpt.orElseThrow();
-                            final var nextDescriptor = nextEntity
-                                    .getDescriptor(AbstractDescriptor.class)
-                                    .orElseThrow();
-
-                            // compare children of current and next descriptor one by one
-                            final var childrenChanged =
-                                    haveDescriptorChildrenDisOrReappeared(descriptor.getHandle(), first, second);
-                            if (!childrenChanged) {
-                                continue;
-                            }
-
-                            descriptorChanges.incrementAndGet();
-                            assertTrue(
-                                    isIncrementedVersion(
-                                            ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap),
-                                            ImpliedValueUtil.getDescriptorVersion(nextDescriptor, impliedValueMap)),
-                                    "Descriptor version has not changed, but children have."
-                                            + " MdibVersions " + first.getMdibVersion()
-                                            + " and " + second.getMdibVersion()
-                                            + ". Descriptor handle " + descriptor.getHandle()
-                                            + ". Old children " + descriptor
-                                            + " new children " + nextEntity.getChildren());
-                        }
-                        first = history.next();
-                        second = historyNext.next();
-                    }
-
-                } catch (PreprocessingException
-                        | ReportProcessingException
-                        | InitialImpliedValueException
-                        | NoTestData e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(descriptorChanges.get(), "No descriptor changed during the test run.");
+        final var check = mdibHistoryReplay.evaluate(R0033Check.class);
+        assertTestData(check.descriptorChanges, "No descriptor changed during the test run.");
     }
 
     @Test
@@ -160,92 +97,10 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
             + " except for changes to children of any Type that extends AbstractDescriptor.")
     @RequirePrecondition(
             simplePreconditions = {ConditionalPreconditions.TriggerDescriptionModificationReportPrecondition.class})
+    @RequireRevisionCheck(R0034Check.class)
     void testRequirementR0034() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var descriptorChanges = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var impliedValueMap = new InitialImpliedValue();
-                final var lastDescriptorMap = new HashMap<String, AbstractDescriptor>();
-                try (final MdibHistorian.HistorianResult history =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId);
-                        final MdibHistorian.HistorianResult historyNext =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    // skip the first entry so that history and historyNext are off by one entry
-                    final var skippedElement = historyNext.next();
-                    assertTestData(skippedElement != null, "Not enough input to compare mdib revisions");
-
-                    RemoteMdibAccess first = history.next();
-                    RemoteMdibAccess second = historyNext.next();
-                    while (second != null) {
-                        final var currentDescriptors = first.findEntitiesByType(AbstractDescriptor.class);
-                        for (MdibEntity entity : currentDescriptors) {
-                            // check if this was previously deleted and returned
-                            final var descriptor = entity.getDescriptor(AbstractDescriptor.class)
-                                    .orElseThrow();
-                            final var oldVersion = lastDescriptorMap.remove(descriptor.getHandle());
-                            if (oldVersion != null) {
-                                final var descriptorChanged = hasDescriptorChanged(oldVersion, descriptor);
-                                if (descriptorChanged) {
-                                    descriptorChanges.incrementAndGet();
-                                    assertTrue(
-                                            isIncrementedVersion(
-                                                    ImpliedValueUtil.getDescriptorVersion(oldVersion, impliedValueMap),
-                                                    ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap)),
-                                            DESCRIPTOR_REINSERTION_PREFIX
-                                                    + " MdibVersions of insertion " + first.getMdibVersion()
-                                                    + ". Descriptor handle " + descriptor.getHandle()
-                                                    + ". Old Descriptor " + oldVersion
-                                                    + " Inserted Descriptor " + descriptor);
-                                }
-                            }
-
-                            final var nextEntityOpt = second.getEntity(descriptor.getHandle());
-                            if (nextEntityOpt.isEmpty()) {
-                                // descriptor was removed, add to storage
-                                lastDescriptorMap.put(descriptor.getHandle(), descriptor);
-                                continue;
-                            }
-
-                            final var nextDescriptor = nextEntityOpt
-                                    .orElseThrow()
-                                    .getDescriptor(AbstractDescriptor.class)
-                                    .orElseThrow();
-                            // compare children of current and next descriptor one by one
-                            final var descriptorChanged = hasDescriptorChanged(descriptor, nextDescriptor);
-                            if (!descriptorChanged) {
-                                continue;
-                            }
-
-                            descriptorChanges.incrementAndGet();
-                            assertTrue(
-                                    isIncrementedVersion(
-                                            ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap),
-                                            ImpliedValueUtil.getDescriptorVersion(nextDescriptor, impliedValueMap)),
-                                    DESCRIPTOR_UPDATE_PREFIX
-                                            + " MdibVersions " + first.getMdibVersion()
-                                            + " and " + second.getMdibVersion()
-                                            + ". Descriptor handle " + descriptor.getHandle()
-                                            + ". Old Descriptor " + descriptor
-                                            + " New Descriptor " + nextDescriptor);
-                        }
-                        first = history.next();
-                        second = historyNext.next();
-                    }
-
-                } catch (PreprocessingException
-                        | ReportProcessingException
-                        | InitialImpliedValueException
-                        | NoTestData e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(descriptorChanges.get(), "No descriptor changed during the test run.");
+        final var check = mdibHistoryReplay.evaluate(R0034Check.class);
+        assertTestData(check.descriptorChanges, "No descriptor changed during the test run.");
     }
 
     @Test
@@ -256,94 +111,10 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
             + " verifies that state versions are incremented whenever the state attributes or the content of the state"
             + " changed.")
     @RequirePrecondition(simplePreconditions = {ConditionalPreconditions.StateChangedPrecondition.class})
+    @RequireRevisionCheck(R0038Check.class)
     void testRequirementR0038() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var stateChanges = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var impliedValueMap = new InitialImpliedValue();
-                final var removedStatesMap = new HashMap<String, AbstractState>();
-                try (final MdibHistorian.HistorianResult history =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId);
-                        final MdibHistorian.HistorianResult historyNext =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    // skip the first entry so that history and historyNext are off by one entry
-                    final var skippedElement = historyNext.next();
-                    assertTestData(skippedElement != null, "Not enough input to compare mdib revisions");
-
-                    RemoteMdibAccess first = history.next();
-                    RemoteMdibAccess second = historyNext.next();
-
-                    while (second != null) {
-                        final var states = first.getStatesByType(AbstractState.class);
-                        for (var state : states) {
-
-                            final String stateHandle;
-                            if (state instanceof AbstractMultiState) {
-                                stateHandle = ((AbstractMultiState) state).getHandle();
-                            } else {
-                                stateHandle = state.getDescriptorHandle();
-                            }
-                            final Optional<AbstractState> nextStateOpt = second.getState(stateHandle);
-
-                            if (removedStatesMap.containsKey(stateHandle)) {
-                                final var removedState = removedStatesMap.get(stateHandle);
-                                if (!removedState.equals(state)) {
-                                    assertTrue(
-                                            isIncrementedVersion(
-                                                    ImpliedValueUtil.getStateVersion(removedState, impliedValueMap),
-                                                    ImpliedValueUtil.getStateVersion(state, impliedValueMap)),
-                                            "State version has not been incremented by one, but reinserted state"
-                                                    + " has changed. MdibVersions " + first.getMdibVersion()
-                                                    + " and " + second.getMdibVersion()
-                                                    + ". State handle " + stateHandle
-                                                    + ". Old State " + removedState
-                                                    + " New State " + state);
-                                }
-                                removedStatesMap.remove(stateHandle);
-                            }
-
-                            if (nextStateOpt.isEmpty()) {
-                                // state will be removed
-                                removedStatesMap.put(stateHandle, state);
-                                continue;
-                            }
-
-                            final var nextState = nextStateOpt.orElseThrow();
-
-                            if (state.equals(nextState)) {
-                                continue;
-                            }
-
-                            stateChanges.incrementAndGet();
-                            assertTrue(
-                                    isIncrementedVersion(
-                                            ImpliedValueUtil.getStateVersion(state, impliedValueMap),
-                                            ImpliedValueUtil.getStateVersion(nextState, impliedValueMap)),
-                                    "State version has not been incremented by one, but state has changed."
-                                            + " MdibVersions " + first.getMdibVersion()
-                                            + " and " + second.getMdibVersion()
-                                            + ". State handle " + stateHandle
-                                            + ". Old State " + state
-                                            + " New State " + nextState);
-                        }
-                        first = history.next();
-                        second = historyNext.next();
-                    }
-
-                } catch (PreprocessingException
-                        | ReportProcessingException
-                        | InitialImpliedValueException
-                        | NoTestData e) {
-                    fail(e);
-                }
-                removedStatesMap.clear();
-            });
-        }
-        assertTestData(stateChanges.get(), "No state changed during the test run.");
+        final var check = mdibHistoryReplay.evaluate(R0038Check.class);
+        assertTestData(check.stateChanges, "No state changed during the test run.");
     }
 
     @Test
@@ -353,103 +124,10 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
             + "by comparing their value before and after applying each"
             + " report. This also applies to the deletion and re-insertion of descriptors or states."
             + "MdibVersion is excluded from this, because it is used for ordering the reports that have been received.")
+    @RequireRevisionCheck(R5003Check.class)
     void testRequirementR5003() throws IOException, NoTestData {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final AtomicInteger stateVersionsSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                final var impliedValueMap = new InitialImpliedValue();
-                final var previousDescriptorVersionMap = new HashMap<String, BigInteger>();
-                final var previousStateVersionMap = new HashMap<String, BigInteger>();
-                var previousMdDescriptionVersion = BigInteger.valueOf(-1);
-                var previousMdStateVersion = BigInteger.valueOf(-1);
-                var previousMdibVersion = BigInteger.valueOf(-1);
-
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.uniqueEpisodicReportBasedHistory(sequenceId)) {
-                    RemoteMdibAccess current = history.next();
-                    while (current != null) {
-                        final var currentMdibVersion = ImpliedValueUtil.getMdibVersion(current.getMdibVersion());
-                        for (var entity : current.findEntitiesByType(AbstractDescriptor.class)) {
-                            final var handle = entity.getHandle();
-                            final var descriptor = entity.getDescriptor(AbstractDescriptor.class)
-                                    .orElseThrow();
-                            final var currentDescriptorVersion =
-                                    ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap);
-                            if (previousDescriptorVersionMap.containsKey(handle)) {
-                                assertTrue(
-                                        isNotDecrementedVersion(
-                                                previousDescriptorVersionMap.get(handle), currentDescriptorVersion),
-                                        String.format(
-                                                DECREMENTED_VERSION_ERROR_MESSAGE,
-                                                handle,
-                                                currentMdibVersion,
-                                                previousDescriptorVersionMap.get(handle),
-                                                currentDescriptorVersion));
-                            }
-                            previousDescriptorVersionMap.put(handle, currentDescriptorVersion);
-                        }
-                        final var states = current.getStatesByType(AbstractState.class);
-                        for (var state : states) {
-                            final String stateHandle;
-                            final var currentStateVersion = ImpliedValueUtil.getStateVersion(state, impliedValueMap);
-                            if (state instanceof AbstractMultiState) {
-                                stateHandle = ((AbstractMultiState) state).getHandle();
-                            } else {
-                                stateHandle = state.getDescriptorHandle();
-                            }
-                            if (previousStateVersionMap.containsKey(stateHandle)) {
-                                assertTrue(
-                                        isNotDecrementedVersion(
-                                                previousStateVersionMap.get(stateHandle), currentStateVersion),
-                                        String.format(
-                                                DECREMENTED_VERSION_ERROR_MESSAGE,
-                                                stateHandle,
-                                                currentMdibVersion,
-                                                previousStateVersionMap.get(stateHandle),
-                                                currentStateVersion));
-                            }
-                            previousStateVersionMap.put(stateHandle, currentStateVersion);
-                            stateVersionsSeen.incrementAndGet();
-                        }
-                        final var currentMdDescriptionVersion =
-                                ImpliedValueUtil.getMdibAccessDescriptionVersion(current);
-                        final var currentMdStateVersion = ImpliedValueUtil.getMdibAccessMdStateVersion(current);
-                        assertTrue(
-                                isNotDecrementedVersion(previousMdDescriptionVersion, currentMdDescriptionVersion),
-                                String.format(
-                                        DECREMENTED_VERSION_ERROR_MESSAGE,
-                                        "MdDescription",
-                                        currentMdibVersion,
-                                        previousMdDescriptionVersion,
-                                        currentMdDescriptionVersion));
-                        assertTrue(
-                                isNotDecrementedVersion(previousMdStateVersion, currentMdStateVersion),
-                                String.format(
-                                        DECREMENTED_VERSION_ERROR_MESSAGE,
-                                        "MdState",
-                                        currentMdibVersion,
-                                        previousMdStateVersion,
-                                        currentMdStateVersion));
-                        assertTrue(
-                                isNotDecrementedVersion(previousMdibVersion, currentMdibVersion),
-                                String.format(
-                                        "The mdib version has been decremented. It was %s and is now %s.",
-                                        previousMdibVersion, currentMdibVersion));
-                        previousMdDescriptionVersion = currentMdDescriptionVersion;
-                        previousMdStateVersion = currentMdStateVersion;
-                        previousMdibVersion = currentMdibVersion;
-                        current = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException | InitialImpliedValueException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(stateVersionsSeen.get(), "No state versions have been verified.");
+        final var check = mdibHistoryReplay.evaluate(R5003Check.class);
+        assertTestData(check.stateVersionsSeen, "No state versions have been verified.");
     }
 
     /**
@@ -460,7 +138,7 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
      * @param nextDescriptor    next descriptor to compare to
      * @return true if descriptor has changed, false otherwise
      */
-    protected boolean hasDescriptorChanged(
+    protected static boolean hasDescriptorChanged(
             final AbstractDescriptor currentDescriptor, final AbstractDescriptor nextDescriptor) {
         // set all fields to null we don't want to compare
         final var currentWithoutDescriptors = nullDescriptorChildren(currentDescriptor);
@@ -472,7 +150,7 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
             value = {"NP_NONNULL_PARAM_VIOLATION"},
             justification = "These are allowed to be null, just not marked as such. Null is the value representing"
                     + " an empty field.")
-    protected AbstractDescriptor nullDescriptorChildren(final AbstractDescriptor descriptor) {
+    protected static AbstractDescriptor nullDescriptorChildren(final AbstractDescriptor descriptor) {
         final var descr = (AbstractDescriptor) descriptor.clone();
         if (descr instanceof AlertSystemDescriptor) {
             final var desc = (AlertSystemDescriptor) descr;
@@ -514,35 +192,362 @@ public class InvariantParticipantModelVersioningTest extends InjectorTestBase {
     }
 
     /**
-     * Determines whether any child descriptors for a given descriptor handle have been removed
-     * or inserted, determined using their handles.
+     * Determines the handles of the child descriptors of a descriptor.
      *
-     * @param handle         to check children for
-     * @param currentStorage current mdib
-     * @param nextStorage    next mdib
-     * @return true if descriptors have been inserted or removed, false otherwise
+     * @param mdib   to retrieve the children from
+     * @param handle of the descriptor to retrieve the children for
+     * @return handles of all child descriptors
      */
-    private boolean haveDescriptorChildrenDisOrReappeared(
-            final String handle, final MdibAccess currentStorage, final MdibAccess nextStorage) {
-        final var currentDescriptorChildren =
-                currentStorage.getChildrenByType(handle, AbstractDescriptor.class).stream()
-                        .map(MdibEntity::getDescriptor)
-                        .map(AbstractDescriptor::getHandle)
-                        .collect(Collectors.toSet());
-
-        final var nextDescriptorChildren = nextStorage.getChildrenByType(handle, AbstractDescriptor.class).stream()
+    private static Set<String> getChildDescriptorHandles(final MdibAccess mdib, final String handle) {
+        return mdib.getChildrenByType(handle, AbstractDescriptor.class).stream()
                 .map(MdibEntity::getDescriptor)
                 .map(AbstractDescriptor::getHandle)
                 .collect(Collectors.toSet());
+    }
 
-        return !nextDescriptorChildren.equals(currentDescriptorChildren);
+    private static String getStateHandle(final AbstractState state) {
+        if (state instanceof AbstractMultiState) {
+            return ((AbstractMultiState) state).getHandle();
+        }
+        return state.getDescriptorHandle();
     }
 
-    private boolean isNotDecrementedVersion(final BigInteger version, final BigInteger nextVersion) {
+    private static boolean isNotDecrementedVersion(final BigInteger version, final BigInteger nextVersion) {
         return nextVersion.compareTo(version) >= 0;
     }
 
-    private boolean isIncrementedVersion(final BigInteger version, final BigInteger nextVersion) {
+    private static boolean isIncrementedVersion(final BigInteger version, final BigInteger nextVersion) {
         return nextVersion.equals(version.add(BigInteger.ONE));
     }
+
+    /**
+     * Compares the child descriptors of every descriptor with those in the next revision, the descriptors and their
+     * children are retained as the replayed mdib is modified in place.
+     */
+    private static final class R0033Check implements MdibRevisionCheck {
+        private int descriptorChanges;
+        private InitialImpliedValue impliedValueMap = new InitialImpliedValue();
+        private final Map<String, DescriptorSnapshot> lastDescriptors = new LinkedHashMap<>();
+        private @Nullable MdibVersion lastMdibVersion;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            impliedValueMap = new InitialImpliedValue();
+            lastDescriptors.clear();
+            lastMdibVersion = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            if (lastMdibVersion != null) {
+                for (var lastDescriptor : lastDescriptors.values()) {
+                    final var descriptor = lastDescriptor.descriptor();
+                    final var nextEntityOpt = current.getEntity(descriptor.getHandle());
+                    if (nextEntityOpt.isEmpty()) {
+                        continue;
+                    }
+                    final var nextEntity = nextEntityOpt.orElseThrow();
+                    final var nextDescriptor =
+                            nextEntity.getDescriptor(AbstractDescriptor.class).orElseThrow();
+
+                    // compare children of current and next descriptor one by one
+                    final var nextChildren = getChildDescriptorHandles(current, descriptor.getHandle());
+                    if (nextChildren.equals(lastDescriptor.children())) {
+                        continue;
+                    }
+
+                    descriptorChanges++;
+                    try {
+                        assertTrue(
+                                isIncrementedVersion(
+                                        ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap),
+                                        ImpliedValueUtil.getDescriptorVersion(nextDescriptor, impliedValueMap)),
+                                "Descriptor version has not changed, but children have."
+                                        + " MdibVersions " + lastMdibVersion
+                                        + " and " + current.getMdibVersion()
+                                        + ". Descriptor handle " + descriptor.getHandle()
+                                        + ". Old children " + descriptor
+                                        + " new children " + nextEntity.getChildren());
+                    } catch (final InitialImpliedValueException e) {
+                        fail(e);
+                    }
+                }
+            }
+
+            lastDescriptors.clear();
+            for (var entity : current.findEntitiesByType(AbstractDescriptor.class)) {
+                final var descriptor = entity.getDescriptor(AbstractDescriptor.class).orElseThrow();
+                lastDescriptors.put(
+                        descriptor.getHandle(),
+                        new DescriptorSnapshot(
+                                (AbstractDescriptor) descriptor.clone(),
+                                getChildDescriptorHandles(current, descriptor.getHandle())));
+            }
+            lastMdibVersion = current.getMdibVersion();
+        }
+
+        private record DescriptorSnapshot(AbstractDescriptor descriptor, Set<String> children) {}
+    }
+
+    /**
+     * Compares every descriptor with the one in the next revision and with its last version before it has been
+     * removed, the descriptors are retained as the replayed mdib is modified in place.
+     */
+    private static final class R0034Check implements MdibRevisionCheck {
+        private int descriptorChanges;
+        private InitialImpliedValue impliedValueMap = new InitialImpliedValue();
+        private final Map<String, AbstractDescriptor> lastDescriptors = new LinkedHashMap<>();
+        private final Map<String, AbstractDescriptor> removedDescriptors = new HashMap<>();
+        private @Nullable MdibVersion lastMdibVersion;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            impliedValueMap = new InitialImpliedValue();
+            lastDescriptors.clear();
+            removedDescriptors.clear();
+            lastMdibVersion = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            if (lastMdibVersion != null) {
+                try {
+                    compareDescriptors(current);
+                } catch (final InitialImpliedValueException e) {
+                    fail(e);
+                }
+            }
+
+            lastDescriptors.clear();
+            for (var entity : current.findEntitiesByType(AbstractDescriptor.class)) {
+                final var descriptor = entity.getDescriptor(AbstractDescriptor.class).orElseThrow();
+                lastDescriptors.put(descriptor.getHandle(), (AbstractDescriptor) descriptor.clone());
+            }
+            lastMdibVersion = current.getMdibVersion();
+        }
+
+        private void compareDescriptors(final RemoteMdibAccess current) throws InitialImpliedValueException {
+            for (var descriptor : lastDescriptors.values()) {
+                // check if this was previously deleted and returned
+                final var oldVersion = removedDescriptors.remove(descriptor.getHandle());
+                if (oldVersion != null && hasDescriptorChanged(oldVersion, descriptor)) {
+                    descriptorChanges++;
+                    assertTrue(
+                            isIncrementedVersion(
+                                    ImpliedValueUtil.getDescriptorVersion(oldVersion, impliedValueMap),
+                                    ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap)),
+                            DESCRIPTOR_REINSERTION_PREFIX
+                                    + " MdibVersions of insertion " + lastMdibVersion
+                                    + ". Descriptor handle " + descriptor.getHandle()
+                                    + ". Old Descriptor " + oldVersion
+                                    + " Inserted Descriptor " + descriptor);
+                }
+
+                final var nextEntityOpt = current.getEntity(descriptor.getHandle());
+                if (nextEntityOpt.isEmpty()) {
+                    // descriptor was removed, add to storage
+                    removedDescriptors.put(descriptor.getHandle(), descriptor);
+                    continue;
+                }
+
+                final var nextDescriptor = nextEntityOpt
+                        .orElseThrow()
+                        .getDescriptor(AbstractDescriptor.class)
+                        .orElseThrow();
+                if (!hasDescriptorChanged(descriptor, nextDescriptor)) {
+                    continue;
+                }
+
+                descriptorChanges++;
+                assertTrue(
+                        isIncrementedVersion(
+                                ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap),
+                                ImpliedValueUtil.getDescriptorVersion(nextDescriptor, impliedValueMap)),
+                        DESCRIPTOR_UPDATE_PREFIX
+                                + " MdibVersions " + lastMdibVersion
+                                + " and " + current.getMdibVersion()
+                                + ". Descriptor handle " + descriptor.getHandle()
+                                + ". Old Descriptor " + descriptor
+                                + " New Descriptor " + nextDescriptor);
+            }
+        }
+    }
+
+    /**
+     * Compares every state with the one in the next revision and with its last version before it has been removed,
+     * the states are retained as the replayed mdib is modified in place.
+     */
+    private static final class R0038Check implements MdibRevisionCheck {
+        private int stateChanges;
+        private InitialImpliedValue impliedValueMap = new InitialImpliedValue();
+        private final Map<String, AbstractState> lastStates = new LinkedHashMap<>();
+        private final Map<String, AbstractState> removedStates = new HashMap<>();
+        private @Nullable MdibVersion lastMdibVersion;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            impliedValueMap = new InitialImpliedValue();
+            lastStates.clear();
+            removedStates.clear();
+            lastMdibVersion = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            if (lastMdibVersion != null) {
+                try {
+                    compareStates(current);
+                } catch (final InitialImpliedValueException e) {
+                    fail(e);
+                }
+            }
+
+            lastStates.clear();
+            for (var state : current.getStatesByType(AbstractState.class)) {
+                lastStates.put(getStateHandle(state), (AbstractState) state.clone());
+            }
+            lastMdibVersion = current.getMdibVersion();
+        }
+
+        private void compareStates(final RemoteMdibAccess current) throws InitialImpliedValueException {
+            for (var entry : lastStates.entrySet()) {
+                final var stateHandle = entry.getKey();
+                final var state = entry.getValue();
+
+                final var removedState = removedStates.remove(stateHandle);
+                if (removedState != null && !removedState.equals(state)) {
+                    assertTrue(
+                            isIncrementedVersion(
+                                    ImpliedValueUtil.getStateVersion(removedState, impliedValueMap),
+                                    ImpliedValueUtil.getStateVersion(state, impliedValueMap)),
+                            "State version has not been incremented by one, but reinserted state"
+                                    + " has changed. MdibVersions " + lastMdibVersion
+                                    + " and " + current.getMdibVersion()
+                                    + ". State handle " + stateHandle
+                                    + ". Old State " + removedState
+                                    + " New State " + state);
+                }
+
+                final var nextStateOpt = current.getState(stateHandle);
+                if (nextStateOpt.isEmpty()) {
+                    // state will be removed
+                    removedStates.put(stateHandle, state);
+                    continue;
+                }
+
+                final var nextState = nextStateOpt.orElseThrow();
+                if (state.equals(nextState)) {
+                    continue;
+                }
+
+                stateChanges++;
+                assertTrue(
+                        isIncrementedVersion(
+                                ImpliedValueUtil.getStateVersion(state, impliedValueMap),
+                                ImpliedValueUtil.getStateVersion(nextState, impliedValueMap)),
+                        "State version has not been incremented by one, but state has changed."
+                                + " MdibVersions " + lastMdibVersion
+                                + " and " + current.getMdibVersion()
+                                + ". State handle " + stateHandle
+                                + ". Old State " + state
+                                + " New State " + nextState);
+            }
+        }
+    }
+
+    private static final class R5003Check implements MdibRevisionCheck {
+        private int stateVersionsSeen;
+        private InitialImpliedValue impliedValueMap = new InitialImpliedValue();
+        private final Map<String, BigInteger> previousDescriptorVersionMap = new HashMap<>();
+        private final Map<String, BigInteger> previousStateVersionMap = new HashMap<>();
+        private BigInteger previousMdDescriptionVersion = BigInteger.valueOf(-1);
+        private BigInteger previousMdStateVersion = BigInteger.valueOf(-1);
+        private BigInteger previousMdibVersion = BigInteger.valueOf(-1);
+
+        @Override
+        public boolean requiresUniqueHistory() {
+            return true;
+        }
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            impliedValueMap = new InitialImpliedValue();
+            previousDescriptorVersionMap.clear();
+            previousStateVersionMap.clear();
+            previousMdDescriptionVersion = BigInteger.valueOf(-1);
+            previousMdStateVersion = BigInteger.valueOf(-1);
+            previousMdibVersion = BigInteger.valueOf(-1);
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            try {
+                verifyVersions(current);
+            } catch (final InitialImpliedValueException e) {
+                fail(e);
+            }
+        }
+
+        private void verifyVersions(final RemoteMdibAccess current) throws InitialImpliedValueException {
+            final var currentMdibVersion = ImpliedValueUtil.getMdibVersion(current.getMdibVersion());
+            for (var entity : current.findEntitiesByType(AbstractDescriptor.class)) {
+                final var handle = entity.getHandle();
+                final var descriptor = entity.getDescriptor(AbstractDescriptor.class).orElseThrow();
+                final var currentDescriptorVersion = ImpliedValueUtil.getDescriptorVersion(descriptor, impliedValueMap);
+                if (previousDescriptorVersionMap.containsKey(handle)) {
+                    assertTrue(
+                            isNotDecrementedVersion(previousDescriptorVersionMap.get(handle), currentDescriptorVersion),
+                            String.format(
+                                    DECREMENTED_VERSION_ERROR_MESSAGE,
+                                    handle,
+                                    currentMdibVersion,
+                                    previousDescriptorVersionMap.get(handle),
+                                    currentDescriptorVersion));
+                }
+                previousDescriptorVersionMap.put(handle, currentDescriptorVersion);
+            }
+            for (var state : current.getStatesByType(AbstractState.class)) {
+                final var stateHandle = getStateHandle(state);
+                final var currentStateVersion = ImpliedValueUtil.getStateVersion(state, impliedValueMap);
+                if (previousStateVersionMap.containsKey(stateHandle)) {
+                    assertTrue(
+                            isNotDecrementedVersion(previousStateVersionMap.get(stateHandle), currentStateVersion),
+                            String.format(
+                                    DECREMENTED_VERSION_ERROR_MESSAGE,
+                                    stateHandle,
+                                    currentMdibVersion,
+                                    previousStateVersionMap.get(stateHandle),
+                                    currentStateVersion));
+                }
+                previousStateVersionMap.put(stateHandle, currentStateVersion);
+                stateVersionsSeen++;
+            }
+            final var currentMdDescriptionVersion = ImpliedValueUtil.getMdibAccessDescriptionVersion(current);
+            final var currentMdStateVersion = ImpliedValueUtil.getMdibAccessMdStateVersion(current);
+            assertTrue(
+                    isNotDecrementedVersion(previousMdDescriptionVersion, currentMdDescriptionVersion),
+                    String.format(
+                            DECREMENTED_VERSION_ERROR_MESSAGE,
+                            "MdDescription",
+                            currentMdibVersion,
+                            previousMdDescriptionVersion,
+                            currentMdDescriptionVersion));
+            assertTrue(
+                    isNotDecrementedVersion(previousMdStateVersion, currentMdStateVersion),
+                    String.format(
+                            DECREMENTED_VERSION_ERROR_MESSAGE,
+                            "MdState",
+                            currentMdibVersion,
+                            previousMdStateVersion,
+                            currentMdStateVersion));
+            assertTrue(
+                    isNotDecrementedVersion(previousMdibVersion, currentMdibVersion),
+                    String.format(
+                            "The mdib version has been decremented. It was %s and is now %s.",
+                            previousMdibVersion, currentMdibVersion));
+            previousMdDescriptionVersion = currentMdDescriptionVersion;
+            previousMdStateVersion = currentMdStateVersion;
+            previousMdibVersion = currentMdibVersion;
+        }
+    }
 }
@@ -56,8 +56,7 @@ public class InvariantMessagingTest extends InjectorTestBase {
             inboundSoaps.getStream().forEach(message -> {
                 final var messageBody = message.getBody();
                 try {
-                    final var relationshipProperty =
-                            relatesToExtractor.extractFrom(messageBody).stream().findFirst();
+                    final var relationshipProperty = relatesToExtractor.extractFirstFrom(messageBody);
                     assertFalse(relationshipProperty.isEmpty());
                     final var attribute =
                             relationshipProperty.orElseThrow().getAttributes().getNamedItem(RELATIONSHIP_ATTRIBUTE);
@@ -92,13 +91,10 @@ public class InvariantMessagingTest extends InjectorTestBase {
             inboundSoaps.getStream().forEach(message -> {
                 final var messageBody = message.getBody();
                 try {
-                    final var fault = faultExtractor.extractFrom(messageBody).stream()
-                            .findFirst()
-                            .orElse(null);
+                    final var fault = faultExtractor.extractFirstFrom(messageBody).orElse(null);
                     if (fault != null) {
                         faultsPresent.set(true);
-                        final var relatesTo = relatesToExtractor.extractFrom(messageBody).stream()
-                                .findFirst();
+                        final var relatesTo = relatesToExtractor.extractFirstFrom(messageBody);
                         assertFalse(relatesTo.isEmpty());
                         final var attribute =
                                 relatesTo.orElseThrow().getAttributes().getNamedItem(RELATIONSHIP_ATTRIBUTE);
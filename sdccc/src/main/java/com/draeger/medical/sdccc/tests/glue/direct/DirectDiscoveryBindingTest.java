@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -17,6 +17,7 @@ import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.WsdlCache;
 import com.draeger.medical.sdccc.util.XPathExtractor;
 import java.io.IOException;
 import java.util.HashMap;
@@ -27,7 +28,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.dpws.soap.exception.TransportException;
-import org.somda.sdc.dpws.wsdl.WsdlRetriever;
 
 /**
  * Glue Discovery binding tests.
@@ -38,12 +38,12 @@ public class DirectDiscoveryBindingTest extends InjectorTestBase {
     private static final String DISCOVERY_TYPE =
             "http://standards.ieee.org/downloads/11073/11073-" + "10207-2017/ServiceProvider";
     private TestClient client;
-    private WsdlRetriever wsdlRetriever;
+    private WsdlCache wsdlCache;
 
     @BeforeEach
     void setup() {
         client = getInjector().getInstance(TestClient.class);
-        wsdlRetriever = client.getInjector().getInstance(WsdlRetriever.class);
+        wsdlCache = client.getInjector().getInstance(WsdlCache.class);
     }
 
     @Test
@@ -55,7 +55,7 @@ public class DirectDiscoveryBindingTest extends InjectorTestBase {
             + " attribute with a value resolving to"
             + " \"{http://standards.ieee.org/downloads/11073/11073-10207-2017}ServiceProvider\".")
     void testRequirementR0042() throws NoTestData, IOException, TransportException, XPathExpressionException {
-        final Map<String, List<String>> wsdlMap = wsdlRetriever.retrieveWsdls(client.getHostingServiceProxy());
+        final Map<String, List<String>> wsdlMap = wsdlCache.getWsdls(client.getHostingServiceProxy());
         assertTestData(wsdlMap.entrySet(), "No WSDLs could be extracted from DUT");
 
         final var definitionsExtractor = new XPathExtractor("//" + wsdl("definitions"));
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -19,6 +19,7 @@ import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.HostedServiceVerifier;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.WsdlCache;
 import com.draeger.medical.sdccc.util.MessageGeneratingUtil;
 import com.draeger.medical.sdccc.util.XPathExtractor;
 import java.io.IOException;
@@ -28,7 +29,6 @@ import javax.xml.xpath.XPathExpressionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.dpws.soap.exception.TransportException;
-import org.somda.sdc.dpws.wsdl.WsdlRetriever;
 import org.somda.sdc.glue.common.WsdlConstants;
 
 /**
@@ -37,13 +37,13 @@ import org.somda.sdc.glue.common.WsdlConstants;
 public class DirectWSDLServiceDescriptionsTest extends InjectorTestBase {
     private static final String TARGET_NAMESPACE = "http://standards.ieee.org/downloads/11073/11073-20701-2018";
     private TestClient client;
-    private WsdlRetriever wsdlRetriever;
+    private WsdlCache wsdlCache;
     private HostedServiceVerifier hostedServiceVerifier;
 
     @BeforeEach
     void setup() {
         client = getInjector().getInstance(TestClient.class);
-        wsdlRetriever = client.getInjector().getInstance(WsdlRetriever.class);
+        wsdlCache = client.getInjector().getInstance(WsdlCache.class);
         hostedServiceVerifier = getInjector().getInstance(HostedServiceVerifier.class);
     }
 
@@ -52,7 +52,7 @@ public class DirectWSDLServiceDescriptionsTest extends InjectorTestBase {
     @TestDescription("Checks if the wsdl service descriptions of the DUT contain a target namespace attribute with the"
             + " value: http://standards.ieee.org/downloads/11073/11073-20701-2018.")
     void testRequirement13() throws NoTestData, IOException, TransportException, XPathExpressionException {
-        final Map<String, List<String>> wsdlMap = wsdlRetriever.retrieveWsdls(client.getHostingServiceProxy());
+        final Map<String, List<String>> wsdlMap = wsdlCache.getWsdls(client.getHostingServiceProxy());
         assertTestData(wsdlMap.entrySet(), "No WSDLs could be extracted from DUT");
 
         final var definitionsExtractor = new XPathExtractor("//" + wsdl("definitions"));
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -13,25 +13,22 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
-import com.draeger.medical.sdccc.messages.MessageStorage;
-import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.ImpliedValueUtil;
-import com.draeger.medical.sdccc.tests.util.MdibHistorian;
+import com.draeger.medical.sdccc.tests.util.MdibHistoryReplay;
+import com.draeger.medical.sdccc.tests.util.MdibRevisionCheck;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
-import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
-import com.draeger.medical.sdccc.util.TestRunObserver;
 import java.io.IOException;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.somda.sdc.biceps.common.storage.PreprocessingException;
 import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.participant.AbstractContextState;
 import org.somda.sdc.biceps.model.participant.AbstractMetricDescriptor;
@@ -49,20 +46,21 @@ import org.somda.sdc.biceps.model.participant.RealTimeSampleArrayMetricDescripto
 import org.somda.sdc.biceps.model.participant.RealTimeSampleArrayMetricState;
 import org.somda.sdc.biceps.model.participant.StringMetricDescriptor;
 import org.somda.sdc.biceps.model.participant.StringMetricState;
-import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 
 /**
  * Glue Non-functional quality attributes tests (ch. 10).
  */
 public class InvariantNonFunctionalQualityAttributesTest extends InjectorTestBase {
-    private MessageStorage messageStorage;
-    private MdibHistorianFactory mdibHistorianFactory;
+    private MdibHistoryReplay mdibHistoryReplay;
 
     @BeforeEach
     void setup() {
-        this.messageStorage = getInjector().getInstance(MessageStorage.class);
-        final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.mdibHistorianFactory = riInjector.getInstance(MdibHistorianFactory.class);
+        this.mdibHistoryReplay = getInjector().getInstance(MdibHistoryReplay.class);
+        mdibHistoryReplay.register(R0010Check.class, R0010Check::new);
+        mdibHistoryReplay.register(R0011Check.class, R0011Check::new);
+        mdibHistoryReplay.register(R001200Check.class, R001200Check::new);
+        mdibHistoryReplay.register(R0013Check.class, R0013Check::new);
+        mdibHistoryReplay.register(R0072Check.class, R0072Check::new);
     }
 
     @Test
@@ -71,171 +69,20 @@ public class InvariantNonFunctionalQualityAttributesTest extends InjectorTestBas
     @TestIdentifier(EnabledTestConfig.GLUE_R0010_0)
     @TestDescription("Starting from the initially retrieved mdib, applies each episodic report to the mdib and"
             + " verifies for each mds that a clock descriptor and a clock state are present.")
+    @RequireRevisionCheck(R0010Check.class)
     void testRequirementR0010() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    RemoteMdibAccess remoteMdibAccess = history.next();
-
-                    while (remoteMdibAccess != null) {
-                        final var entities = remoteMdibAccess.findEntitiesByType(MdsDescriptor.class);
-
-                        for (var entity : entities) {
-                            acceptableSequenceSeen.incrementAndGet();
-                            final var children = entity.getChildren();
-                            final var clockDescriptorSeen = new AtomicBoolean(false);
-                            for (var child : children) {
-                                final var clockOpt = remoteMdibAccess.getDescriptor(child, ClockDescriptor.class);
-                                if (clockOpt.isPresent()) {
-                                    clockDescriptorSeen.set(true);
-                                    final var clockStateOpt = remoteMdibAccess.getState(child, ClockState.class);
-                                    assertTrue(
-                                            clockStateOpt.isPresent(),
-                                            String.format(
-                                                    "No clock state present for mds with handle %s.",
-                                                    entity.getHandle()));
-                                }
-                            }
-                            assertTrue(
-                                    clockDescriptorSeen.get(),
-                                    String.format(
-                                            "No clock descriptor present for mds with handle %s.", entity.getHandle()));
-                        }
-                        remoteMdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(acceptableSequenceSeen.get(), "No mds seen during test run, test failed.");
+        final var check = mdibHistoryReplay.evaluate(R0010Check.class);
+        assertTestData(check.acceptableSequenceSeen, "No mds seen during test run, test failed.");
     }
 
     @Test
     @TestIdentifier(EnabledTestConfig.GLUE_R0011)
     @TestDescription("Starting from the initially retrieved mdib, applies every episodic report to the mdib and "
             + "verifies for each metric that if a value is present, a timestamp is also present.")
+    @RequireRevisionCheck(R0011Check.class)
     void testRequirementR0011() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess remoteMdibAccess = history.next();
-
-                    while (remoteMdibAccess != null) {
-                        final var entities = remoteMdibAccess.findEntitiesByType(AbstractMetricDescriptor.class);
-
-                        for (var entity : entities) {
-
-                            if (entity.getDescriptor(RealTimeSampleArrayMetricDescriptor.class)
-                                    .isPresent()) {
-                                final var metricValue = entity.getFirstState(RealTimeSampleArrayMetricState.class)
-                                        .orElseThrow()
-                                        .getMetricValue();
-
-                                if (metricValue != null
-                                        && !metricValue.getSamples().isEmpty()) {
-                                    acceptableSequenceSeen.incrementAndGet();
-
-                                    assertNotNull(
-                                            metricValue.getDeterminationTime(),
-                                            String.format(
-                                                    "No DeterminationTime for the metric with the handle %s "
-                                                            + "even though it has a non-empty sample attribute.",
-                                                    entity.getHandle()));
-                                }
-                            } else if (entity.getDescriptor(DistributionSampleArrayMetricDescriptor.class)
-                                    .isPresent()) {
-                                final var metricValue = entity.getFirstState(DistributionSampleArrayMetricState.class)
-                                        .orElseThrow()
-                                        .getMetricValue();
-
-                                if (metricValue != null
-                                        && !metricValue.getSamples().isEmpty()) {
-                                    acceptableSequenceSeen.incrementAndGet();
-
-                                    assertNotNull(
-                                            metricValue.getDeterminationTime(),
-                                            String.format(
-                                                    "No DeterminationTime for the metric with the handle %s "
-                                                            + "even though it has a non-empty sample attribute.",
-                                                    entity.getHandle()));
-                                }
-                            } else if (entity.getDescriptor(NumericMetricDescriptor.class)
-                                    .isPresent()) {
-                                final var metricValue = entity.getFirstState(NumericMetricState.class)
-                                        .orElseThrow()
-                                        .getMetricValue();
-
-                                if (metricValue != null && metricValue.getValue() != null) {
-                                    acceptableSequenceSeen.incrementAndGet();
-
-                                    assertNotNull(
-                                            metricValue.getDeterminationTime(),
-                                            String.format(
-                                                    "No DeterminationTime for the metric with the handle %s "
-                                                            + "even though it has a non-empty value attribute.",
-                                                    entity.getHandle()));
-                                }
-                            } else if (entity.getDescriptor(EnumStringMetricDescriptor.class)
-                                    .isPresent()) {
-                                final var metricValue = entity.getFirstState(EnumStringMetricState.class)
-                                        .orElseThrow()
-                                        .getMetricValue();
-
-                                if (metricValue != null && metricValue.getValue() != null) {
-                                    acceptableSequenceSeen.incrementAndGet();
-
-                                    assertNotNull(
-                                            metricValue.getDeterminationTime(),
-                                            String.format(
-                                                    "No DeterminationTime for the metric with the handle %s "
-                                                            + "even though it has a non-empty value attribute.",
-                                                    entity.getHandle()));
-                                }
-                            } else if (entity.getDescriptor(StringMetricDescriptor.class)
-                                    .isPresent()) {
-                                final var metricValue = entity.getFirstState(StringMetricState.class)
-                                        .orElseThrow()
-                                        .getMetricValue();
-
-                                if (metricValue != null && metricValue.getValue() != null) {
-                                    acceptableSequenceSeen.incrementAndGet();
-
-                                    assertNotNull(
-                                            metricValue.getDeterminationTime(),
-                                            String.format(
-                                                    "No DeterminationTime for the metric with the handle %s "
-                                                            + "even though it has a non-empty value attribute.",
-                                                    entity.getHandle()));
-                                }
-                            } else {
-                                fail(String.format(
-                                        "Object of type %s is not supported by the test.",
-                                        entity.getDescriptorClass()));
-                            }
-                        }
-
-                        remoteMdibAccess = history.next();
-                    }
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(acceptableSequenceSeen.get(), "No metric with a value has been seen.");
+        final var check = mdibHistoryReplay.evaluate(R0011Check.class);
+        assertTestData(check.acceptableSequenceSeen, "No metric with a value has been seen.");
     }
 
     @Test
@@ -245,62 +92,11 @@ public class InvariantNonFunctionalQualityAttributesTest extends InjectorTestBas
     @TestDescription("Starting from the initially retrieved mdib, applies every episodic report to the mdib"
             + " and verifies for every alert condition state, that its @DeterminationTime is updated"
             + " whenever its @Presence changes.")
+    @RequireRevisionCheck(R001200Check.class)
     void testRequirementR001200() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId);
-                        final MdibHistorian.HistorianResult prevHistory =
-                                mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-                    history.next(); // history must be one element ahead of prevHistory
-                    RemoteMdibAccess last = prevHistory.next();
-                    RemoteMdibAccess current = history.next();
-
-                    while (current != null) {
-                        final var currentAlertConditionStates = current.getStatesByType(AlertConditionState.class);
-
-                        for (var currentAlertConditionState : currentAlertConditionStates) {
-                            acceptableSequenceSeen.incrementAndGet();
-                            final Optional<AlertConditionState> lastAlertConditionState = last.getState(
-                                    currentAlertConditionState.getDescriptorHandle(), AlertConditionState.class);
-                            if (lastAlertConditionState.isEmpty()) {
-                                continue;
-                            }
-
-                            if (ImpliedValueUtil.isPresence(currentAlertConditionState)
-                                    != ImpliedValueUtil.isPresence(lastAlertConditionState.orElseThrow())) {
-                                assertNotEquals(
-                                        currentAlertConditionState.getDeterminationTime(),
-                                        lastAlertConditionState.orElseThrow().getDeterminationTime(),
-                                        String.format(
-                                                "The AlertConditionState with descriptor handle '%s' has changed "
-                                                        + "its @Presence attribute from mdibVersion '%s' to mdibVersion '%s', "
-                                                        + "but its @DeterminationTime was not updated ('%s' in both cases).",
-                                                currentAlertConditionState.getDescriptorHandle(),
-                                                ImpliedValueUtil.getMdibVersion(last.getMdibVersion())
-                                                        .toString(),
-                                                ImpliedValueUtil.getMdibVersion(current.getMdibVersion())
-                                                        .toString(),
-                                                currentAlertConditionState
-                                                        .getDeterminationTime()
-                                                        .toString()));
-                            }
-                        }
-                        last = prevHistory.next();
-                        current = history.next();
-                    }
-
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(acceptableSequenceSeen.get(), "No AlertConditionState seen during the test run, test failed.");
+        final var check = mdibHistoryReplay.evaluate(R001200Check.class);
+        assertTestData(
+                check.acceptableSequenceSeen, "No AlertConditionState seen during the test run, test failed.");
     }
 
     @Test
@@ -308,42 +104,10 @@ public class InvariantNonFunctionalQualityAttributesTest extends InjectorTestBas
     @TestDescription("Starting from the initially retrieved mdib, applies every episodic report to the mdib and"
             + " verifies for every context state, that the BindingStartTime is set, when the BindingMdibVersion is"
             + " present.")
+    @RequireRevisionCheck(R0013Check.class)
     void testRequirementR0013() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess first = history.next();
-
-                    while (first != null) {
-                        final var contextStates = first.getStatesByType(AbstractContextState.class);
-                        for (var contextState : contextStates) {
-                            final var bindingMdibVersion = contextState.getBindingMdibVersion();
-                            if (bindingMdibVersion != null) {
-                                final var bindingStartTime = contextState.getBindingStartTime();
-                                assertNotNull(
-                                        bindingStartTime,
-                                        String.format(
-                                                "The binding start time should not be null for state %s.",
-                                                contextState.getHandle()));
-                                acceptableSequenceSeen.incrementAndGet();
-                            }
-                        }
-                        first = history.next();
-                    }
-
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
-                }
-            });
-        }
-        assertTestData(acceptableSequenceSeen.get(), "No suitable context states seen, test failed.");
+        final var check = mdibHistoryReplay.evaluate(R0013Check.class);
+        assertTestData(check.acceptableSequenceSeen, "No suitable context states seen, test failed.");
     }
 
     @Test
@@ -351,41 +115,210 @@ public class InvariantNonFunctionalQualityAttributesTest extends InjectorTestBas
     @TestDescription("Starting from the initially retrieved mdib, applies every episodic report to the mdib and"
             + " verifies for every context state, that the BindingEndTime is set, when the UnbindingMdibVersion is"
             + " present.")
+    @RequireRevisionCheck(R0072Check.class)
     void testRequirementR0072() throws NoTestData, IOException {
-        final var mdibHistorian = mdibHistorianFactory.createMdibHistorian(
-                messageStorage, getInjector().getInstance(TestRunObserver.class));
-
-        final var acceptableSequenceSeen = new AtomicInteger(0);
-
-        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
-            sequenceIds.forEach(sequenceId -> {
-                try (final MdibHistorian.HistorianResult history =
-                        mdibHistorian.episodicReportBasedHistory(sequenceId)) {
-
-                    RemoteMdibAccess first = history.next();
-
-                    while (first != null) {
-                        final var contextStates = first.getStatesByType(AbstractContextState.class);
-                        for (var contextState : contextStates) {
-                            final var unbindingMdibVersion = contextState.getUnbindingMdibVersion();
-                            if (unbindingMdibVersion != null) {
-                                final var bindingEndTime = contextState.getBindingEndTime();
-                                assertNotNull(
-                                        bindingEndTime,
-                                        String.format(
-                                                "The binding end time should not be null for state %s.",
-                                                contextState.getHandle()));
-                                acceptableSequenceSeen.incrementAndGet();
-                            }
-                        }
-                        first = history.next();
+        final var check = mdibHistoryReplay.evaluate(R0072Check.class);
+        assertTestData(check.acceptableSequenceSeen, "No suitable context states seen, test failed.");
+    }
+
+    private static final class R0010Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess remoteMdibAccess) {
+            final var entities = remoteMdibAccess.findEntitiesByType(MdsDescriptor.class);
+
+            for (var entity : entities) {
+                acceptableSequenceSeen++;
+                boolean clockDescriptorSeen = false;
+                for (var child : entity.getChildren()) {
+                    final var clockOpt = remoteMdibAccess.getDescriptor(child, ClockDescriptor.class);
+                    if (clockOpt.isPresent()) {
+                        clockDescriptorSeen = true;
+                        final var clockStateOpt = remoteMdibAccess.getState(child, ClockState.class);
+                        assertTrue(
+                                clockStateOpt.isPresent(),
+                                String.format("No clock state present for mds with handle %s.", entity.getHandle()));
+                    }
+                }
+                assertTrue(
+                        clockDescriptorSeen,
+                        String.format("No clock descriptor present for mds with handle %s.", entity.getHandle()));
+            }
+        }
+    }
+
+    private static final class R0011Check implements MdibRevisionCheck {
+        private static final String EMPTY_SAMPLES = "No DeterminationTime for the metric with the handle %s "
+                + "even though it has a non-empty sample attribute.";
+        private static final String EMPTY_VALUE = "No DeterminationTime for the metric with the handle %s "
+                + "even though it has a non-empty value attribute.";
+
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess remoteMdibAccess) {
+            final var entities = remoteMdibAccess.findEntitiesByType(AbstractMetricDescriptor.class);
+
+            for (var entity : entities) {
+                if (entity.getDescriptor(RealTimeSampleArrayMetricDescriptor.class)
+                        .isPresent()) {
+                    final var metricValue = entity.getFirstState(RealTimeSampleArrayMetricState.class)
+                            .orElseThrow()
+                            .getMetricValue();
+
+                    if (metricValue != null && !metricValue.getSamples().isEmpty()) {
+                        acceptableSequenceSeen++;
+                        assertNotNull(
+                                metricValue.getDeterminationTime(), String.format(EMPTY_SAMPLES, entity.getHandle()));
                     }
+                } else if (entity.getDescriptor(DistributionSampleArrayMetricDescriptor.class)
+                        .isPresent()) {
+                    final var metricValue = entity.getFirstState(DistributionSampleArrayMetricState.class)
+                            .orElseThrow()
+                            .getMetricValue();
+
+                    if (metricValue != null && !metricValue.getSamples().isEmpty()) {
+                        acceptableSequenceSeen++;
+                        assertNotNull(
+                                metricValue.getDeterminationTime(), String.format(EMPTY_SAMPLES, entity.getHandle()));
+                    }
+                } else if (entity.getDescriptor(NumericMetricDescriptor.class).isPresent()) {
+                    final var metricValue = entity.getFirstState(NumericMetricState.class)
+                            .orElseThrow()
+                            .getMetricValue();
+
+                    if (metricValue != null && metricValue.getValue() != null) {
+                        acceptableSequenceSeen++;
+                        assertNotNull(
+                                metricValue.getDeterminationTime(), String.format(EMPTY_VALUE, entity.getHandle()));
+                    }
+                } else if (entity.getDescriptor(EnumStringMetricDescriptor.class)
+                        .isPresent()) {
+                    final var metricValue = entity.getFirstState(EnumStringMetricState.class)
+                            .orElseThrow()
+                            .getMetricValue();
+
+                    if (metricValue != null && metricValue.getValue() != null) {
+                        acceptableSequenceSeen++;
+                        assertNotNull(
+                                metricValue.getDeterminationTime(), String.format(EMPTY_VALUE, entity.getHandle()));
+                    }
+                } else if (entity.getDescriptor(StringMetricDescriptor.class).isPresent()) {
+                    final var metricValue = entity.getFirstState(StringMetricState.class)
+                            .orElseThrow()
+                            .getMetricValue();
+
+                    if (metricValue != null && metricValue.getValue() != null) {
+                        acceptableSequenceSeen++;
+                        assertNotNull(
+                                metricValue.getDeterminationTime(), String.format(EMPTY_VALUE, entity.getHandle()));
+                    }
+                } else {
+                    fail(String.format(
+                            "Object of type %s is not supported by the test.", entity.getDescriptorClass()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares every revision with its predecessor, the relevant parts of the predecessor are retained as the
+     * replayed mdib is modified in place.
+     */
+    private static final class R001200Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+        private final Map<String, AlertConditionSnapshot> lastAlertConditionStates = new HashMap<>();
+        private @Nullable BigInteger lastMdibVersion;
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            lastAlertConditionStates.clear();
+            lastMdibVersion = null;
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess current) {
+            final var currentMdibVersion = ImpliedValueUtil.getMdibVersion(current.getMdibVersion());
+            final var currentAlertConditionStates = current.getStatesByType(AlertConditionState.class);
+
+            if (lastMdibVersion != null) {
+                for (var currentAlertConditionState : currentAlertConditionStates) {
+                    acceptableSequenceSeen++;
+                    final var lastAlertConditionState =
+                            lastAlertConditionStates.get(currentAlertConditionState.getDescriptorHandle());
+                    if (lastAlertConditionState == null) {
+                        continue;
+                    }
+
+                    if (ImpliedValueUtil.isPresence(currentAlertConditionState)
+                            != lastAlertConditionState.presence()) {
+                        assertNotEquals(
+                                currentAlertConditionState.getDeterminationTime(),
+                                lastAlertConditionState.determinationTime(),
+                                String.format(
+                                        "The AlertConditionState with descriptor handle '%s' has changed "
+                                                + "its @Presence attribute from mdibVersion '%s' to mdibVersion '%s', "
+                                                + "but its @DeterminationTime was not updated ('%s' in both cases).",
+                                        currentAlertConditionState.getDescriptorHandle(),
+                                        lastMdibVersion,
+                                        currentMdibVersion,
+                                        currentAlertConditionState.getDeterminationTime()));
+                    }
+                }
+            }
+
+            lastAlertConditionStates.clear();
+            for (var state : currentAlertConditionStates) {
+                lastAlertConditionStates.put(
+                        state.getDescriptorHandle(),
+                        new AlertConditionSnapshot(ImpliedValueUtil.isPresence(state), state.getDeterminationTime()));
+            }
+            lastMdibVersion = currentMdibVersion;
+        }
+
+        private record AlertConditionSnapshot(boolean presence, @Nullable BigInteger determinationTime) {}
+    }
+
+    private static final class R0013Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess remoteMdibAccess) {
+            final var contextStates = remoteMdibAccess.getStatesByType(AbstractContextState.class);
+            for (var contextState : contextStates) {
+                final var bindingMdibVersion = contextState.getBindingMdibVersion();
+                if (bindingMdibVersion != null) {
+                    final var bindingStartTime = contextState.getBindingStartTime();
+                    assertNotNull(
+                            bindingStartTime,
+                            String.format(
+                                    "The binding start time should not be null for state %s.",
+                                    contextState.getHandle()));
+                    acceptableSequenceSeen++;
+                }
+            }
+        }
+    }
 
-                } catch (PreprocessingException | ReportProcessingException e) {
-                    fail(e);
+    private static final class R0072Check implements MdibRevisionCheck {
+        private int acceptableSequenceSeen;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess remoteMdibAccess) {
+            final var contextStates = remoteMdibAccess.getStatesByType(AbstractContextState.class);
+            for (var contextState : contextStates) {
+                final var unbindingMdibVersion = contextState.getUnbindingMdibVersion();
+                if (unbindingMdibVersion != null) {
+                    final var bindingEndTime = contextState.getBindingEndTime();
+                    assertNotNull(
+                            bindingEndTime,
+                            String.format(
+                                    "The binding end time should not be null for state %s.",
+                                    contextState.getHandle()));
+                    acceptableSequenceSeen++;
                 }
-            });
+            }
         }
-        assertTestData(acceptableSequenceSeen.get(), "No suitable context states seen, test failed.");
     }
 }
@@ -14,6 +14,7 @@ import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.manipulation.precondition.impl.ConditionalPreconditions;
 import com.draeger.medical.sdccc.messages.MessageStorage;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.mapping.MessageContentCollection;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.RequirePrecondition;
@@ -21,19 +22,17 @@ import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.CryptoUtil;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.SoapBodyUnmarshaller;
 import com.draeger.medical.sdccc.util.Constants;
-import java.io.ByteArrayInputStream;
+import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.somda.sdc.biceps.model.message.OperationInvokedReport;
-import org.somda.sdc.dpws.soap.MarshallingService;
-import org.somda.sdc.dpws.soap.SoapUtil;
-import org.somda.sdc.dpws.soap.exception.MarshallingException;
 
 /**
  * Glue remote-control capabilities tests.
@@ -44,15 +43,13 @@ public class InvariantRemoteControlCapabilitiesTest extends InjectorTestBase {
     public static final String WRONG_EXTENSION_ERROR_MESSAGE =
             "Extension is not the expected extension%n%s%nbut" + " is%n%s%n";
     private MessageStorage messageStorage;
-    private MarshallingService marshalling;
-    private SoapUtil soapUtil;
+    private SoapBodyUnmarshaller soapBodyUnmarshaller;
 
     @BeforeEach
     void setup() {
         this.messageStorage = getInjector().getInstance(MessageStorage.class);
         final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
-        this.marshalling = riInjector.getInstance(MarshallingService.class);
-        this.soapUtil = riInjector.getInstance(SoapUtil.class);
+        this.soapBodyUnmarshaller = riInjector.getInstance(SoapBodyUnmarshaller.class);
     }
 
     @Test
@@ -68,13 +65,12 @@ public class InvariantRemoteControlCapabilitiesTest extends InjectorTestBase {
     void testRequirementR00780() throws NoTestData, IOException {
         final var expectedRoot = "http://standards.ieee.org/downloads/11073/11073-20701-2018/X509Certificate/PEM";
 
-        try (final var messages = messageStorage.getInboundMessagesByBodyType(Constants.MSG_OPERATION_INVOKED_REPORT)) {
+        try (final var messages = messageStorage.getInboundMessagesByBodyType(
+                Set.of(MessageContentCollection.CERTIFICATES), Constants.MSG_OPERATION_INVOKED_REPORT)) {
             final var operationInvokedReportsSeen = new AtomicInteger(0);
             messages.getStream().forEach(messageContent -> {
                 try {
-                    final var soapMessage = marshalling.unmarshal(
-                            new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-                    final var reportOpt = soapUtil.getBody(soapMessage, OperationInvokedReport.class);
+                    final var reportOpt = soapBodyUnmarshaller.unmarshal(messageContent, OperationInvokedReport.class);
                     if (reportOpt.isPresent()) {
                         for (var reportPart : reportOpt.orElseThrow().getReportPart()) {
                             operationInvokedReportsSeen.incrementAndGet();
@@ -92,7 +88,7 @@ public class InvariantRemoteControlCapabilitiesTest extends InjectorTestBase {
                                     String.format(WRONG_EXTENSION_ERROR_MESSAGE, expectedExtension, extension));
                         }
                     }
-                } catch (MarshallingException e) {
+                } catch (JAXBException e) {
                     fail("Error unmarshalling MessageContent " + e);
                 } catch (IOException e) {
                     fail("Error converting certificate to PEM String " + e);
@@ -24,13 +24,14 @@ import com.draeger.medical.sdccc.tests.util.InitialImpliedValue;
 import com.draeger.medical.sdccc.tests.util.InitialImpliedValueException;
 import com.draeger.medical.sdccc.tests.util.MdibHistorian;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.SequenceEvaluator;
+import com.draeger.medical.sdccc.tests.util.SoapBodyUnmarshaller;
 import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
 import com.draeger.medical.sdccc.util.Constants;
 import com.draeger.medical.sdccc.util.TestRunObserver;
-import java.io.ByteArrayInputStream;
+import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -53,10 +54,6 @@ import org.somda.sdc.biceps.model.participant.AbstractState;
 import org.somda.sdc.biceps.model.participant.DistributionSampleArrayMetricState;
 import org.somda.sdc.biceps.model.participant.RealTimeSampleArrayMetricState;
 import org.somda.sdc.biceps.model.participant.SampleArrayValue;
-import org.somda.sdc.dpws.soap.MarshallingService;
-import org.somda.sdc.dpws.soap.SoapMessage;
-import org.somda.sdc.dpws.soap.SoapUtil;
-import org.somda.sdc.dpws.soap.exception.MarshallingException;
 
 /**
  * Glue subscription handling tests.
@@ -65,16 +62,16 @@ public class InvariantSubscriptionHandlingTest extends InjectorTestBase {
 
     private MessageStorage messageStorage;
     private MdibHistorianFactory historianFactory;
-    private MarshallingService marshalling;
-    private SoapUtil soapUtil;
+    private SequenceEvaluator sequenceEvaluator;
+    private SoapBodyUnmarshaller soapBodyUnmarshaller;
 
     @BeforeEach
     void setup() {
         this.messageStorage = getInjector().getInstance(MessageStorage.class);
+        this.sequenceEvaluator = getInjector().getInstance(SequenceEvaluator.class);
         final var riInjector = getInjector().getInstance(TestClient.class).getInjector();
         this.historianFactory = riInjector.getInstance(MdibHistorianFactory.class);
-        this.marshalling = riInjector.getInstance(MarshallingService.class);
-        this.soapUtil = riInjector.getInstance(SoapUtil.class);
+        this.soapBodyUnmarshaller = riInjector.getInstance(SoapBodyUnmarshaller.class);
     }
 
     @Test
@@ -91,7 +88,7 @@ public class InvariantSubscriptionHandlingTest extends InjectorTestBase {
         final var acceptableSequenceSeen = new AtomicBoolean(false);
 
         try (final var sequenceIds = messageStorage.getUniqueSequenceIds().filter(Objects::nonNull)) {
-            sequenceIds.forEach(sequenceId -> {
+            sequenceEvaluator.forEachSequence(sequenceIds, sequenceId -> {
                 final var impliedValueMap = new InitialImpliedValue();
                 try (final var messages = messageStorage.getInboundMessagesByBodyTypeAndSequenceId(
                         sequenceId, Constants.MSG_DESCRIPTION_MODIFICATION_REPORT)) {
@@ -125,17 +122,13 @@ public class InvariantSubscriptionHandlingTest extends InjectorTestBase {
 
     private Optional<DescriptionModificationReport> getDescriptionModificationReportFromMessageContent(
             final MessageContent content) {
-        final var body = content.getBody();
-
-        final SoapMessage message;
         try {
-            message = marshalling.unmarshal(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
-        } catch (MarshallingException e) {
+            return soapBodyUnmarshaller.unmarshal(content, DescriptionModificationReport.class);
+        } catch (JAXBException e) {
             fail("Could not unmarshal message", e);
             // unreachable, silence warnings
             throw new RuntimeException(e);
         }
-        return soapUtil.getBody(message, DescriptionModificationReport.class);
     }
 
     private void checkReportsBeforeDescriptionModification(
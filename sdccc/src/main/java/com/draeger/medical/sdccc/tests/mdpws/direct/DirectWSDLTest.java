@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -27,6 +27,7 @@ import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
 import com.draeger.medical.sdccc.tests.util.HostedServiceVerifier;
 import com.draeger.medical.sdccc.tests.util.NoTestData;
+import com.draeger.medical.sdccc.tests.util.WsdlCache;
 import com.draeger.medical.sdccc.util.Constants;
 import com.draeger.medical.sdccc.util.HttpClientUtil;
 import com.draeger.medical.sdccc.util.MessageGeneratingUtil;
@@ -53,7 +54,6 @@ import org.somda.sdc.dpws.soap.exception.SoapFaultException;
 import org.somda.sdc.dpws.soap.exception.TransportException;
 import org.somda.sdc.dpws.soap.interception.InterceptorException;
 import org.somda.sdc.dpws.soap.wsaddressing.model.AttributedURIType;
-import org.somda.sdc.dpws.wsdl.WsdlRetriever;
 import org.somda.sdc.glue.common.ActionConstants;
 import org.w3c.dom.Node;
 
@@ -76,7 +76,7 @@ public class DirectWSDLTest extends InjectorTestBase {
     private ObjectFactory messageModelFactory;
     private HttpClient httpClient;
     private HttpClientUtil httpClientUtil;
-    private WsdlRetriever wsdlRetriever;
+    private WsdlCache wsdlCache;
     private HostedServiceVerifier hostedServiceVerifier;
 
     @BeforeEach
@@ -88,7 +88,7 @@ public class DirectWSDLTest extends InjectorTestBase {
         soapUtil = client.getInjector().getInstance(SoapUtil.class);
         messageModelFactory = client.getInjector().getInstance(ObjectFactory.class);
         httpClientUtil = client.getInjector().getInstance(HttpClientUtil.class);
-        wsdlRetriever = client.getInjector().getInstance(WsdlRetriever.class);
+        wsdlCache = client.getInjector().getInstance(WsdlCache.class);
         hostedServiceVerifier = getInjector().getInstance(HostedServiceVerifier.class);
     }
 
@@ -265,7 +265,7 @@ public class DirectWSDLTest extends InjectorTestBase {
     @TestIdentifier(EnabledTestConfig.MDPWS_R0014)
     @TestDescription("Retrieves all WSDLs of the DUT and verifies that each portType has dpws:DiscoveryType set.")
     void testRequirementR0014() throws IOException, NoTestData, XPathExpressionException, TransportException {
-        final Map<String, List<String>> wsdlMap = wsdlRetriever.retrieveWsdls(client.getHostingServiceProxy());
+        final Map<String, List<String>> wsdlMap = wsdlCache.getWsdls(client.getHostingServiceProxy());
         LOG.debug("R0014: Retrieved WSDLs for {}", wsdlMap.values());
 
         assertTestData(wsdlMap.entrySet(), "No WSDLs could be extracted from DUT");
@@ -300,7 +300,7 @@ public class DirectWSDLTest extends InjectorTestBase {
             + " wsp:Optional attribute set to true and also not attached to a wsdl:portType, as it is explicitly"
             + " forbidden. Ports are not used and therefore not checked.")
     void testRequirementR0010() throws IOException, TransportException, NoTestData {
-        final Map<String, List<String>> wsdlMap = wsdlRetriever.retrieveWsdls(client.getHostingServiceProxy());
+        final Map<String, List<String>> wsdlMap = wsdlCache.getWsdls(client.getHostingServiceProxy());
         LOG.debug("R0010: Retrieved WSDLs for {}", wsdlMap.values());
 
         assertTestData(wsdlMap.entrySet(), "No WSDLs could be extracted from DUT");
@@ -314,7 +314,7 @@ public class DirectWSDLTest extends InjectorTestBase {
             + " wsp:Optional attribute set to true and also not attached to a wsdl:portType, as it is explicitly "
             + " forbidden. Ports are not used and therefore not checked.")
     void testRequirementR0011() throws IOException, TransportException, NoTestData {
-        final Map<String, List<String>> wsdlMap = wsdlRetriever.retrieveWsdls(client.getHostingServiceProxy());
+        final Map<String, List<String>> wsdlMap = wsdlCache.getWsdls(client.getHostingServiceProxy());
         LOG.debug("R0010: Retrieved WSDLs for {}", wsdlMap.values());
 
         assertTestData(wsdlMap.entrySet(), "No WSDLs could be extracted from DUT");
@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
 import com.draeger.medical.sdccc.messages.MessageStorage;
+import com.draeger.medical.sdccc.messages.mapping.MessageContentCollection;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
 import com.draeger.medical.sdccc.tests.annotations.TestDescription;
 import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
@@ -22,6 +23,7 @@ import com.draeger.medical.sdccc.util.TestRunInformation;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.http.HttpHeaders;
 import org.junit.jupiter.api.Test;
@@ -66,7 +68,9 @@ public class InvariantSOAPOverHTTPTest extends InjectorTestBase {
         final var messageStorage = getInjector().getInstance(MessageStorage.class);
 
         final var hadSoapXml = new AtomicBoolean(false);
-        try (final var inboundGetter = messageStorage.getInboundHttpMessages()) {
+        // the headers of all messages are accessed, they are fetched in batches instead of once per message
+        try (final var inboundGetter =
+                messageStorage.getInboundHttpMessages(Set.of(MessageContentCollection.HEADERS))) {
             assertTestData(inboundGetter.areObjectsPresent(), "No inbound messages to perform test on.");
 
             inboundGetter.getStream().forEach(message -> {
@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -26,7 +26,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.somda.sdc.dpws.service.HostedServiceProxy;
 import org.somda.sdc.dpws.soap.exception.TransportException;
-import org.somda.sdc.dpws.wsdl.WsdlRetriever;
 
 /**
  * Utility to verify hostedService endpoints are conforming with SDC Glue Annex B and only implements SDC services.
@@ -39,8 +38,7 @@ public class HostedServiceVerifier {
     private static final Logger LOG = LogManager.getLogger(HostedServiceVerifier.class);
 
     private final TestClient testClient;
-    private final WsdlRetriever wsdlRetriever;
-    private final WsdlParser wsdlParser;
+    private final WsdlCache wsdlCache;
 
     /**
      * Creates a new {@linkplain HostedServiceVerifier}.
@@ -50,8 +48,7 @@ public class HostedServiceVerifier {
     @Inject
     public HostedServiceVerifier(final TestClient testClient) {
         this.testClient = testClient;
-        wsdlRetriever = testClient.getInjector().getInstance(WsdlRetriever.class);
-        wsdlParser = testClient.getInjector().getInstance(WsdlParser.class);
+        wsdlCache = testClient.getInjector().getInstance(WsdlCache.class);
     }
 
     /**
@@ -78,7 +75,7 @@ public class HostedServiceVerifier {
 
         final Map<String, List<String>> wsdls;
         try {
-            wsdls = wsdlRetriever.retrieveWsdls(testClient.getHostingServiceProxy());
+            wsdls = wsdlCache.getWsdls(testClient.getHostingServiceProxy());
         } catch (final IOException | TransportException e) {
             LOG.debug("Could not retrieve WSDL to verify {}", serviceId, e);
             fail(String.format("Could not retrieve WSDL to verify %s. Message: " + e.getMessage(), serviceId));
@@ -96,7 +93,7 @@ public class HostedServiceVerifier {
             try {
                 // detect duplicates, we cannot determine which description is correct if multiple
                 // WSDLs contain them.
-                final var wsdlPortTypes = wsdlParser.parseWsdlPortTypes(wsdl);
+                final var wsdlPortTypes = wsdlCache.getPortTypes(wsdl);
                 wsdlPortTypes.forEach((portTypeName, entry) -> assertFalse(
                         parsedWsdls.containsKey(portTypeName),
                         DUPLICATE_PORT_TYPE_TEMPLATE + " portType " + portTypeName + " service " + serviceId));
@@ -10,6 +10,7 @@ package com.draeger.medical.sdccc.tests.util;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.draeger.medical.sdccc.messages.MessageStorage;
+import com.draeger.medical.sdccc.messages.mapping.MdibCheckpoint;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
 import com.draeger.medical.sdccc.util.Constants;
 import com.draeger.medical.sdccc.util.TestRunObserver;
@@ -19,14 +20,24 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
-import java.io.ByteArrayInputStream;
+import jakarta.xml.bind.JAXBException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
@@ -51,7 +62,16 @@ import org.somda.sdc.biceps.consumer.access.RemoteMdibAccessImpl;
 import org.somda.sdc.biceps.consumer.access.factory.RemoteMdibAccessFactory;
 import org.somda.sdc.biceps.consumer.preprocessing.DuplicateContextStateHandleHandler;
 import org.somda.sdc.biceps.model.message.AbstractReport;
+import org.somda.sdc.biceps.model.message.DescriptionModificationReport;
+import org.somda.sdc.biceps.model.message.EpisodicAlertReport;
+import org.somda.sdc.biceps.model.message.EpisodicComponentReport;
+import org.somda.sdc.biceps.model.message.EpisodicContextReport;
+import org.somda.sdc.biceps.model.message.EpisodicMetricReport;
+import org.somda.sdc.biceps.model.message.EpisodicOperationalStateReport;
 import org.somda.sdc.biceps.model.message.GetMdibResponse;
+import org.somda.sdc.biceps.model.message.WaveformStream;
+import org.somda.sdc.biceps.model.participant.AbstractMultiState;
+import org.somda.sdc.biceps.model.participant.AbstractState;
 import org.somda.sdc.biceps.model.participant.Mdib;
 import org.somda.sdc.biceps.model.participant.MdibVersion;
 import org.somda.sdc.biceps.provider.preprocessing.ContextHandleDuplicateChecker;
@@ -62,6 +82,8 @@ import org.somda.sdc.common.guice.DefaultCommonModule;
 import org.somda.sdc.dpws.soap.MarshallingService;
 import org.somda.sdc.dpws.soap.SoapUtil;
 import org.somda.sdc.dpws.soap.exception.MarshallingException;
+import org.somda.sdc.glue.common.ActionConstants;
+import org.somda.sdc.glue.common.factory.MdibMapperFactory;
 import org.somda.sdc.glue.common.factory.ModificationsBuilderFactory;
 import org.somda.sdc.glue.consumer.report.ReportProcessingException;
 import org.somda.sdc.glue.consumer.report.ReportProcessor;
@@ -70,11 +92,25 @@ import org.somda.sdc.glue.consumer.report.helper.EpisodicReport;
 /**
  * The {@linkplain MdibHistorian} provides methods to generate histories of the Mdib during a test run. It currently
  * supports episodic report based histories.
+ *
+ * <p>
+ * The first time the mdib of a sequence at a given point in time is requested, its unique history is replayed once and
+ * checkpoints of the mdib are persisted in the {@linkplain MessageStorage} every {@value #CHECKPOINT_INTERVAL}
+ * reports. Further requests only apply the reports received after the closest checkpoint. Checkpoints assume that no
+ * further reports are added to the storage for the respective sequence, which is the case once the data collection
+ * has finished. Other histories do not persist any checkpoints.
+ *
+ * <p>
+ * Reports and mdibs are unmarshalled through the {@linkplain UnmarshalledMessageCache}, which is shared by all
+ * historians created from the same injector, so repeated walks over the same history do not unmarshal the stored
+ * messages again.
  */
 public class MdibHistorian {
     public static final String NO_MDIB_ERROR = "No initial mdib present";
     private static final Logger LOG = LogManager.getLogger(MdibHistorian.class);
 
+    static final int CHECKPOINT_INTERVAL = 100;
+
     private static final QName GET_MDIB_RESPONSE = Constants.MSG_GET_MDIB_RESPONSE;
 
     private final MessageStorage messageStorage;
@@ -83,7 +119,12 @@ public class MdibHistorian {
     private final SoapUtil soapUtil;
     private final RemoteMdibAccessFactory remoteMdibAccessFactory;
     private final ModificationsBuilderFactory modificationsBuilderFactory;
+    private final MdibMapperFactory mdibMapperFactory;
     private final Provider<ReportProcessor> reportProcessorProvider;
+    private final UnmarshalledMessageCache unmarshalledMessageCache;
+    private final SoapBodyUnmarshaller soapBodyUnmarshaller;
+    // sequences whose unique history has been replayed by this historian to create checkpoints
+    private final Set<String> checkpointedSequences;
 
     @AssistedInject
     MdibHistorian(
@@ -92,13 +133,20 @@ public class MdibHistorian {
             final MarshallingService marshalling,
             final SoapUtil soapUtil,
             final ModificationsBuilderFactory modificationsBuilderFactory,
-            final Provider<ReportProcessor> reportProcessorProvider) {
+            final MdibMapperFactory mdibMapperFactory,
+            final Provider<ReportProcessor> reportProcessorProvider,
+            final UnmarshalledMessageCache unmarshalledMessageCache,
+            final SoapBodyUnmarshaller soapBodyUnmarshaller) {
         this.messageStorage = messageStorage;
         this.testRunObserver = testRunObserver;
         this.marshalling = marshalling;
         this.soapUtil = soapUtil;
         this.modificationsBuilderFactory = modificationsBuilderFactory;
+        this.mdibMapperFactory = mdibMapperFactory;
         this.reportProcessorProvider = reportProcessorProvider;
+        this.unmarshalledMessageCache = unmarshalledMessageCache;
+        this.soapBodyUnmarshaller = soapBodyUnmarshaller;
+        this.checkpointedSequences = ConcurrentHashMap.newKeySet();
 
         class MdibHistorianBicepsModule extends AbstractConfigurationModule {
             @Override
@@ -194,7 +242,7 @@ public class MdibHistorian {
      */
     public HistorianResult uniqueEpisodicReportBasedHistory(final String sequenceId)
             throws PreprocessingException, ReportProcessingException {
-        return getHistorianResultForEpisodicReportBasedHistory(sequenceId, true);
+        return getHistorianResultForEpisodicReportBasedHistory(sequenceId, true, null);
     }
 
     /**
@@ -209,11 +257,11 @@ public class MdibHistorian {
     public HistorianResult episodicReportBasedHistory(final String sequenceId)
             throws PreprocessingException, ReportProcessingException {
 
-        return getHistorianResultForEpisodicReportBasedHistory(sequenceId, false);
+        return getHistorianResultForEpisodicReportBasedHistory(sequenceId, false, null);
     }
 
     private HistorianResult getHistorianResultForEpisodicReportBasedHistory(
-            final String sequenceId, final boolean ensureUnique)
+            final String sequenceId, final boolean ensureUnique, @Nullable final CheckpointWriter checkpointWriter)
             throws PreprocessingException, ReportProcessingException {
         // create new storage
         final var storage = createNewStorage(sequenceId);
@@ -227,47 +275,22 @@ public class MdibHistorian {
                     messageStorage.getInboundMessagesByBodyType(Constants.RELEVANT_REPORT_BODIES.toArray(new QName[0]));
             var preStream = messages.getStream()
                     .sequential() // the stateful filter operation below is not threadsafe
-                    .map(this::unmarshallReportKeepUUID)
+                    .map(messageContent -> {
+                        if (checkpointWriter != null) {
+                            checkpointWriter.track(messageContent);
+                        }
+                        return unmarshallReportKeepUUID(messageContent);
+                    })
                     .filter(report -> sequenceId.equals(report.getLeft().getSequenceId()))
                     .filter(mdibVersionPredicate);
             if (ensureUnique) {
                 preStream = filterReportDuplicates(preStream);
             }
             final var stream = preStream.map(pair -> {
-                final var report = pair.getLeft();
-                try {
-                    final var cmp = ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
-                            .compareTo(ImpliedValueUtil.getReportMdibVersion(report));
-                    if (cmp > 0) {
-                        fail("Cannot apply report older than current storage."
-                                + " Storage " + ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
-                                + " Report " + ImpliedValueUtil.getReportMdibVersion(report)
-                                + " " + report.getClass().getSimpleName());
-                    } else if (cmp == 0) {
-                        LOG.debug("Cannot apply report of equal mdib version. This means that another report with the"
-                                + " same version has already been applied, and is expected behavior when e.g."
-                                + " descriptors update, as both a report for description and state will arrive.");
-                    }
-                    final var episodic = EpisodicReport.tryFrom(report);
-                    if (episodic != null) {
-                        LOG.debug(
-                                "Applying report with mdib version {}, type {}",
-                                ImpliedValueUtil.getReportMdibVersion(report),
-                                report.getClass().getSimpleName());
-                        reportProcessor.processEpisodicReport(episodic);
-                    } else {
-                        // other reports do not modify the Mdib and hence cannot be passed into report processor,
-                        // simply ignore them.
-                        LOG.debug(
-                                "Ignoring report of type {} with MdibVersion {} as it is not expected to "
-                                        + "change the Mdib anyway.",
-                                report.getClass().getSimpleName(),
-                                ImpliedValueUtil.getReportMdibVersion(report));
-                    }
-                } catch (final Exception e) {
-                    fail(e);
+                if (checkpointWriter != null) {
+                    checkpointWriter.beforeApply(storage, pair.getLeft());
                 }
-                return storage;
+                return applyReport(reportProcessor, storage, pair.getLeft());
             });
 
             // initial mdib stream
@@ -314,46 +337,7 @@ public class MdibHistorian {
 
             preStream = filterReportDuplicates(preStream);
 
-            final var stream = preStream.map(pair -> {
-                final var report = pair.getLeft();
-                try {
-                    final var cmp = ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
-                            .compareTo(ImpliedValueUtil.getReportMdibVersion(report));
-                    if (cmp > 0) {
-                        fail("Cannot apply report older than current storage."
-                                + " Storage " + ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
-                                + " Report " + ImpliedValueUtil.getReportMdibVersion(report)
-                                + " " + report.getClass().getSimpleName());
-                    } else if (cmp == 0) {
-                        LOG.debug("Cannot apply report of equal mdib version. This means that another report with the"
-                                + " same version has already been applied, and is expected behavior when e.g."
-                                + " descriptors update, as both a report for description and state will arrive.");
-                    }
-                    LOG.debug(
-                            "Applying report with mdib version {}, type {}",
-                            ImpliedValueUtil.getReportMdibVersion(report),
-                            report.getClass().getSimpleName());
-                    final var episodic = EpisodicReport.tryFrom(report);
-                    if (episodic != null) {
-                        LOG.debug(
-                                "Applying report with mdib version {}, type {}",
-                                ImpliedValueUtil.getReportMdibVersion(report),
-                                report.getClass().getSimpleName());
-                        reportProcessor.processEpisodicReport(episodic);
-                    } else {
-                        // other reports do not modify the Mdib and hence cannot be passed into report processor,
-                        // simply ignore them.
-                        LOG.debug(
-                                "Ignoring report of type {} with MdibVersion {} as it is not expected to "
-                                        + "change the Mdib anyway.",
-                                report.getClass().getSimpleName(),
-                                ImpliedValueUtil.getReportMdibVersion(report));
-                    }
-                } catch (final Exception e) {
-                    fail(e);
-                }
-                return storage;
-            });
+            final var stream = preStream.map(pair -> applyReport(reportProcessor, storage, pair.getLeft()));
 
             // initial mdib stream
             final var initialMdibStream = Stream.of(storage);
@@ -369,6 +353,191 @@ public class MdibHistorian {
         }
     }
 
+    /**
+     * Generates the mdib for a sequence id which results from applying all unique episodic reports received until the
+     * specified timestamp, exclusive.
+     *
+     * <p>
+     * Replaying starts from the closest persisted checkpoint, if any. If the sequence has no checkpoints yet, its
+     * unique history is replayed once to create them.
+     *
+     * @param sequenceId of the sequence to generate the mdib for
+     * @param timestamp  to retrieve reports for, exclusive
+     * @return the mdib with all reports applied, empty if no report has been received before the timestamp
+     * @throws PreprocessingException    if converting the initial mdib fails
+     * @throws ReportProcessingException if applying reports fails
+     */
+    public Optional<RemoteMdibAccess> uniqueEpisodicReportBasedMdibUntilTimestamp(
+            final String sequenceId, final long timestamp) throws PreprocessingException, ReportProcessingException {
+        // short histories do not yield any checkpoint, avoid replaying them again
+        if (checkpointedSequences.add(sequenceId) && !hasCheckpoints(sequenceId)) {
+            // the unique history creates the checkpoints while being replayed
+            try (final var history = getHistorianResultForEpisodicReportBasedHistory(
+                    sequenceId, true, new CheckpointWriter(sequenceId))) {
+                RemoteMdibAccess mdib = history.next();
+                while (mdib != null) {
+                    mdib = history.next();
+                }
+            }
+        }
+
+        final RemoteMdibAccess storage;
+        @Nullable final Long minimumMdibVersion;
+        try (final var checkpoints = messageStorage.getMdibCheckpoints(sequenceId, timestamp)) {
+            final var checkpoint = checkpoints.getStream().findFirst();
+            if (checkpoint.isPresent()) {
+                LOG.debug(
+                        "Continuing history of sequence {} from checkpoint with mdib version {}",
+                        sequenceId,
+                        checkpoint.orElseThrow().getMdibVersion());
+                storage = convertToRemoteMdib(unmarshallMdib(
+                        new StringReader(checkpoint.orElseThrow().getBody()),
+                        "checkpoint " + checkpoint.orElseThrow().getUuid()));
+                minimumMdibVersion = checkpoint.orElseThrow().getMdibVersion();
+            } else {
+                storage = createNewStorage(sequenceId);
+                minimumMdibVersion = null;
+            }
+        } catch (IOException e) {
+            final var errorMessage = "Error while trying to retrieve mdib checkpoints from storage";
+            LOG.error("{}: {}", errorMessage, e.getMessage());
+            LOG.debug("{}", errorMessage, e);
+            testRunObserver.invalidateTestRun(errorMessage, e);
+            fail(e);
+            // unreachable code, silence warnings
+            throw new RuntimeException(e);
+        }
+
+        final var reportProcessor = reportProcessorProvider.get();
+        reportProcessor.startApplyingReportsOnMdib(storage);
+        final var mdibVersionPredicate =
+                new InitialMdibVersionPredicateWithUUID(ImpliedValueUtil.getMdibVersion(storage.getMdibVersion()));
+
+        // a checkpoint is only created after reports have been applied
+        boolean reportApplied = minimumMdibVersion != null;
+        try (final var messages = messageStorage.getInboundMessagesByTimestampAndBodyType(
+                sequenceId, minimumMdibVersion, timestamp, Constants.RELEVANT_REPORT_BODIES.toArray(new QName[0]))) {
+            final var reports = filterReportDuplicates(messages.getStream()
+                            .sequential() // the stateful filter operation below is not threadsafe
+                            .map(this::unmarshallReportKeepUUID)
+                            .filter(report -> sequenceId.equals(report.getLeft().getSequenceId()))
+                            .filter(mdibVersionPredicate))
+                    .iterator();
+            while (reports.hasNext()) {
+                applyReport(reportProcessor, storage, reports.next().getLeft());
+                reportApplied = true;
+            }
+        } catch (IOException e) {
+            final var errorMessage = "Error while trying to retrieve reports from storage";
+            LOG.error("{}: {}", errorMessage, e.getMessage());
+            LOG.debug("{}", errorMessage, e);
+            testRunObserver.invalidateTestRun(errorMessage, e);
+            fail(e);
+            // unreachable code, silence warnings
+            throw new RuntimeException(e);
+        }
+
+        return reportApplied ? Optional.of(storage) : Optional.empty();
+    }
+
+    /**
+     * Builds a timeline of the states of the given handles throughout the unique episodic report based history of a
+     * sequence id, replaying the history once.
+     *
+     * <p>
+     * Looking up a state in the timeline replaces replaying the history up to a point in time for each state of
+     * interest, e.g. when verifying the effect of every manipulation of a sequence.
+     *
+     * @param sequenceId of the sequence to build the timeline for
+     * @param handles    of the states to include, i.e. state handles for multi states and descriptor handles otherwise
+     * @return the timeline of the states
+     * @throws PreprocessingException    if converting the initial mdib fails
+     * @throws ReportProcessingException if applying reports fails
+     */
+    public MdibStateTimeline uniqueEpisodicReportBasedStateTimeline(final String sequenceId, final Set<String> handles)
+            throws PreprocessingException, ReportProcessingException {
+        final var storage = createNewStorage(sequenceId);
+        final var reportProcessor = reportProcessorProvider.get();
+        reportProcessor.startApplyingReportsOnMdib(storage);
+        final var initialMdibVersion = ImpliedValueUtil.getMdibVersion(storage.getMdibVersion());
+        final var mdibVersionPredicate = new InitialMdibVersionPredicateWithUUID(initialMdibVersion);
+
+        final var timeline = new MdibStateTimeline.Builder();
+        for (final var handle : handles) {
+            timeline.addState(handle, Long.MIN_VALUE, initialMdibVersion, storage.getState(handle).orElse(null));
+        }
+
+        // the stream is sequential, the last mapped message is therefore the one of the current report
+        final long[] currentTimestamp = new long[1];
+        try (final var messages = messageStorage.getInboundMessagesByTimestampAndBodyType(
+                sequenceId, Long.MAX_VALUE, Constants.RELEVANT_REPORT_BODIES.toArray(new QName[0]))) {
+            final var reports = filterReportDuplicates(messages.getStream()
+                            .sequential() // the stateful filter operation below is not threadsafe
+                            .map(messageContent -> {
+                                currentTimestamp[0] = messageContent.getNanoTimestamp();
+                                return unmarshallReportKeepUUID(messageContent);
+                            })
+                            .filter(report -> sequenceId.equals(report.getLeft().getSequenceId()))
+                            .filter(mdibVersionPredicate))
+                    .iterator();
+            while (reports.hasNext()) {
+                final var report = reports.next().getLeft();
+                applyReport(reportProcessor, storage, report);
+                timeline.addReport(currentTimestamp[0]);
+
+                final var mdibVersion = ImpliedValueUtil.getReportMdibVersion(report);
+                for (final var handle : getChangedHandles(report)) {
+                    if (handles.contains(handle)) {
+                        timeline.addState(
+                                handle, currentTimestamp[0], mdibVersion, storage.getState(handle).orElse(null));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            final var errorMessage = "Error while trying to retrieve reports from storage";
+            LOG.error("{}: {}", errorMessage, e.getMessage());
+            LOG.debug("{}", errorMessage, e);
+            testRunObserver.invalidateTestRun(errorMessage, e);
+            fail(e);
+            // unreachable code, silence warnings
+            throw new RuntimeException(e);
+        }
+        return timeline.build();
+    }
+
+    // handles of the states a report may change, state handles for multi states and descriptor handles otherwise
+    private static Set<String> getChangedHandles(final AbstractReport report) {
+        final List<AbstractState> states = new ArrayList<>();
+        final Set<String> handles = new HashSet<>();
+        if (report instanceof EpisodicAlertReport alertReport) {
+            alertReport.getReportPart().forEach(part -> states.addAll(part.getAlertState()));
+        } else if (report instanceof EpisodicComponentReport componentReport) {
+            componentReport.getReportPart().forEach(part -> states.addAll(part.getComponentState()));
+        } else if (report instanceof EpisodicContextReport contextReport) {
+            contextReport.getReportPart().forEach(part -> states.addAll(part.getContextState()));
+        } else if (report instanceof EpisodicMetricReport metricReport) {
+            metricReport.getReportPart().forEach(part -> states.addAll(part.getMetricState()));
+        } else if (report instanceof EpisodicOperationalStateReport operationalStateReport) {
+            operationalStateReport.getReportPart().forEach(part -> states.addAll(part.getOperationState()));
+        } else if (report instanceof WaveformStream waveformStream) {
+            states.addAll(waveformStream.getState());
+        } else if (report instanceof DescriptionModificationReport descriptionReport) {
+            for (var part : descriptionReport.getReportPart()) {
+                // deleted descriptors take their states with them
+                part.getDescriptor().forEach(descriptor -> handles.add(descriptor.getHandle()));
+                states.addAll(part.getState());
+            }
+        }
+        for (var state : states) {
+            if (state instanceof AbstractMultiState multiState) {
+                handles.add(multiState.getHandle());
+            } else {
+                handles.add(state.getDescriptorHandle());
+            }
+        }
+        return handles;
+    }
+
     /**
      * Retrieves all episodic reports for a given sequence id.
      *
@@ -552,23 +721,76 @@ public class MdibHistorian {
         return storage;
     }
 
+    private RemoteMdibAccess applyReport(
+            final ReportProcessor reportProcessor, final RemoteMdibAccess storage, final AbstractReport report) {
+        try {
+            final var cmp = ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
+                    .compareTo(ImpliedValueUtil.getReportMdibVersion(report));
+            if (cmp > 0) {
+                fail("Cannot apply report older than current storage."
+                        + " Storage " + ImpliedValueUtil.getMdibVersion(storage.getMdibVersion())
+                        + " Report " + ImpliedValueUtil.getReportMdibVersion(report)
+                        + " " + report.getClass().getSimpleName());
+            } else if (cmp == 0) {
+                LOG.debug("Cannot apply report of equal mdib version. This means that another report with the"
+                        + " same version has already been applied, and is expected behavior when e.g."
+                        + " descriptors update, as both a report for description and state will arrive.");
+            }
+            final var episodic = EpisodicReport.tryFrom(report);
+            if (episodic != null) {
+                LOG.debug(
+                        "Applying report with mdib version {}, type {}",
+                        ImpliedValueUtil.getReportMdibVersion(report),
+                        report.getClass().getSimpleName());
+                reportProcessor.processEpisodicReport(episodic);
+            } else {
+                // other reports do not modify the Mdib and hence cannot be passed into report processor,
+                // simply ignore them.
+                LOG.debug(
+                        "Ignoring report of type {} with MdibVersion {} as it is not expected to "
+                                + "change the Mdib anyway.",
+                        report.getClass().getSimpleName(),
+                        ImpliedValueUtil.getReportMdibVersion(report));
+            }
+        } catch (final Exception e) {
+            fail(e);
+        }
+        return storage;
+    }
+
+    private boolean hasCheckpoints(final String sequenceId) {
+        try (final var checkpoints = messageStorage.getMdibCheckpoints(sequenceId, Long.MAX_VALUE)) {
+            return checkpoints.areObjectsPresent();
+        } catch (IOException e) {
+            final var errorMessage = "Error while trying to retrieve mdib checkpoints from storage";
+            LOG.error("{}: {}", errorMessage, e.getMessage());
+            LOG.debug("{}", errorMessage, e);
+            fail(e);
+            // unreachable, silence warnings
+            throw new RuntimeException(e);
+        }
+    }
+
     private Pair<AbstractReport, String> unmarshallReportKeepUUID(final MessageContent messageContent) {
         return new ImmutablePair<>(unmarshallReport(messageContent), messageContent.getUuid());
     }
 
     private AbstractReport unmarshallReport(final MessageContent messageContent) {
+        return unmarshalledMessageCache.get(
+                messageContent.getUuid(), AbstractReport.class, () -> unmarshallReportBody(messageContent));
+    }
+
+    private AbstractReport unmarshallReportBody(final MessageContent messageContent) {
         final var failMessage = "Could not unmarshall report in message " + messageContent.getMessageHash();
         try {
-            final var currentMdib = marshalling.unmarshal(
-                    new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-            final var reportOpt = soapUtil.getBody(currentMdib, AbstractReport.class);
+            final var reportOpt = soapBodyUnmarshaller.unmarshal(messageContent, AbstractReport.class);
             if (reportOpt.isEmpty()) {
                 fail(failMessage);
                 // unreachable, silence warnings
                 throw new RuntimeException();
             }
             return reportOpt.orElseThrow();
-        } catch (final MarshallingException e) {
+        } catch (final JAXBException e) {
             LOG.error("{}. {}", failMessage, e.getMessage());
             LOG.debug("{}.", failMessage, e);
             fail(failMessage);
@@ -578,18 +800,26 @@ public class MdibHistorian {
     }
 
     private Mdib unmarshallMdib(final MessageContent messageContent) {
-        final var failMessage = "Could not unmarshall Mdib in message " + messageContent.getMessageHash();
+        return unmarshalledMessageCache.get(
+                messageContent.getUuid(),
+                Mdib.class,
+                () -> unmarshallMdib(
+                        new InputStreamReader(messageContent.getBodyInputStream(), StandardCharsets.UTF_8),
+                        "message " + messageContent.getMessageHash()));
+    }
+
+    // only the GetMdibResponse is unmarshalled, straight from the stored body without decoding it into a string
+    private Mdib unmarshallMdib(final Reader body, final String origin) {
+        final var failMessage = "Could not unmarshall Mdib in " + origin;
         try {
-            final var currentMdib = marshalling.unmarshal(
-                    new ByteArrayInputStream(messageContent.getBody().getBytes(StandardCharsets.UTF_8)));
-            final var mdibOpt = soapUtil.getBody(currentMdib, GetMdibResponse.class);
+            final var mdibOpt = soapBodyUnmarshaller.unmarshal(body, GetMdibResponse.class);
             if (mdibOpt.isEmpty()) {
                 fail(failMessage);
                 // unreachable, silence warnings
                 throw new RuntimeException();
             }
             return mdibOpt.orElseThrow().getMdib();
-        } catch (final MarshallingException e) {
+        } catch (final JAXBException e) {
             LOG.error("{} {}", failMessage, e.getMessage());
             LOG.debug("{} {}", failMessage, e);
             fail(failMessage);
@@ -614,6 +844,76 @@ public class MdibHistorian {
         return mdibStorage;
     }
 
+    /**
+     * Persists checkpoints of an mdib while its history is being replayed.
+     */
+    private class CheckpointWriter {
+        private final String sequenceId;
+        private long currentTimestamp;
+        private long maxAppliedTimestamp;
+        private int reportsSinceCheckpoint;
+
+        CheckpointWriter(final String sequenceId) {
+            this.sequenceId = sequenceId;
+            this.maxAppliedTimestamp = Long.MIN_VALUE;
+            this.reportsSinceCheckpoint = 0;
+        }
+
+        /**
+         * Tracks the message which is currently processed by the sequential history stream.
+         *
+         * @param messageContent the report message that is processed next
+         */
+        void track(final MessageContent messageContent) {
+            this.currentTimestamp = messageContent.getNanoTimestamp();
+        }
+
+        /**
+         * Persists a checkpoint if enough reports have been applied. Checkpoints are only created before a report
+         * which increments the mdib version, ensuring that every report up to the checkpoint version is included.
+         *
+         * @param storage the mdib before the report is applied
+         * @param report  which is applied next
+         */
+        void beforeApply(final RemoteMdibAccess storage, final AbstractReport report) {
+            final var storageMdibVersion = ImpliedValueUtil.getMdibVersion(storage.getMdibVersion());
+            if (reportsSinceCheckpoint >= CHECKPOINT_INTERVAL
+                    && ImpliedValueUtil.getReportMdibVersion(report).compareTo(storageMdibVersion) > 0) {
+                storeCheckpoint(storage, storageMdibVersion);
+                reportsSinceCheckpoint = 0;
+            }
+            reportsSinceCheckpoint++;
+            maxAppliedTimestamp = Math.max(maxAppliedTimestamp, currentTimestamp);
+        }
+
+        private void storeCheckpoint(final RemoteMdibAccess storage, final BigInteger mdibVersion) {
+            final var mdib = mdibMapperFactory.createMdibMapper(storage).mapMdib();
+            final var getMdibResponse = new GetMdibResponse();
+            getMdibResponse.setMdib(mdib);
+            getMdibResponse.setSequenceId(mdib.getSequenceId());
+            getMdibResponse.setInstanceId(mdib.getInstanceId());
+            getMdibResponse.setMdibVersion(mdib.getMdibVersion());
+
+            final var message = soapUtil.createMessage(
+                    ActionConstants.getResponseAction(ActionConstants.ACTION_GET_MDIB), getMdibResponse);
+            final var outputStream = new ByteArrayOutputStream();
+            try {
+                marshalling.marshal(message.getEnvelopeWithMappedHeaders(), outputStream);
+                messageStorage.storeMdibCheckpoint(new MdibCheckpoint(
+                        sequenceId,
+                        mdibVersion.longValueExact(),
+                        maxAppliedTimestamp,
+                        outputStream.toString(StandardCharsets.UTF_8),
+                        UUID.randomUUID().toString()));
+                LOG.debug("Stored checkpoint for sequence {} at mdib version {}", sequenceId, mdibVersion);
+            } catch (final MarshallingException | IOException e) {
+                // checkpoints only speed up later replays, the history itself is unaffected
+                LOG.warn("Could not store checkpoint for sequence {}: {}", sequenceId, e.getMessage());
+                LOG.debug("Could not store checkpoint for sequence {}", sequenceId, e);
+            }
+        }
+    }
+
     /**
      * Result container providing a {@linkplain RemoteMdibAccess} on which every incoming report is applied in order of
      * arrival.
@@ -0,0 +1,358 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.draeger.medical.sdccc.messages.MessageStorage;
+import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
+import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.somda.sdc.biceps.common.access.MdibAccess;
+import org.somda.sdc.biceps.common.storage.PreprocessingException;
+import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
+import org.somda.sdc.biceps.model.participant.MdibVersion;
+import org.somda.sdc.glue.consumer.report.ReportProcessingException;
+
+/**
+ * Replays the episodic report based mdib history of every known sequence once and passes each revision to all
+ * registered {@linkplain MdibRevisionCheck}s. The history without duplicate reports is replayed separately, if any
+ * check requires it.
+ *
+ * <p>
+ * Invariant tests register their checks and request the evaluated check afterwards. All checks which have been
+ * registered but not yet evaluated at that point are evaluated together in a single pass over the history, so the
+ * cost of the replay no longer grows with the number of tests sharing it. Failures of a check are collected per check
+ * and rethrown when the respective check is requested, a failing check does not affect any other check.
+ *
+ * <p>
+ * If {@linkplain TestSuiteConfig#ONLINE_INVARIANT_EVALUATION} is enabled, checks registered before SDCcc connects to
+ * the DUT are instead passed the initial mdib of the {@linkplain TestClient} once it has connected and every revision
+ * of it afterwards, just like a replay of the captured history. Their verdicts are available as soon as the client has
+ * disconnected and the history is not replayed for them.
+ */
+@Singleton
+public class MdibHistoryReplay {
+    private static final Logger LOG = LogManager.getLogger(MdibHistoryReplay.class);
+
+    private final MessageStorage messageStorage;
+    private final TestRunObserver testRunObserver;
+    private final TestClient testClient;
+    private final boolean onlineEvaluation;
+
+    private final Map<Class<? extends MdibRevisionCheck>, MdibRevisionCheck> pendingChecks;
+    private final Map<Class<? extends MdibRevisionCheck>, MdibRevisionCheck> onlineChecks;
+    private final Map<Class<? extends MdibRevisionCheck>, MdibRevisionCheck> evaluatedChecks;
+    private final Map<Class<? extends MdibRevisionCheck>, Throwable> failures;
+
+    @Nullable
+    private MdibRevisionObserver onlineObserver;
+
+    @Nullable
+    private String onlineSequenceId;
+
+    @Nullable
+    private MdibVersion initialMdibVersion;
+
+    @Inject
+    MdibHistoryReplay(
+            final MessageStorage messageStorage,
+            final TestRunObserver testRunObserver,
+            final TestClient testClient,
+            @Named(TestSuiteConfig.ONLINE_INVARIANT_EVALUATION) final boolean onlineEvaluation) {
+        this.messageStorage = messageStorage;
+        this.testRunObserver = testRunObserver;
+        this.testClient = testClient;
+        this.onlineEvaluation = onlineEvaluation;
+        this.pendingChecks = new LinkedHashMap<>();
+        this.onlineChecks = new LinkedHashMap<>();
+        this.evaluatedChecks = new HashMap<>();
+        this.failures = new HashMap<>();
+        this.onlineObserver = null;
+        this.onlineSequenceId = null;
+        this.initialMdibVersion = null;
+    }
+
+    /**
+     * Registers a check for the next replay, unless a check of the same class is already known.
+     *
+     * @param checkClass    class of the check, used to retrieve the evaluated check
+     * @param checkSupplier creates the check if it is not yet known
+     * @param <T>           type of the check
+     */
+    public synchronized <T extends MdibRevisionCheck> void register(
+            final Class<T> checkClass, final Supplier<T> checkSupplier) {
+        if (pendingChecks.containsKey(checkClass)
+                || onlineChecks.containsKey(checkClass)
+                || evaluatedChecks.containsKey(checkClass)) {
+            return;
+        }
+        pendingChecks.put(checkClass, checkSupplier.get());
+    }
+
+    /**
+     * Registers a check using its constructor without parameters, unless a check of the same class is already known.
+     *
+     * @param checkClass class of the check, may be private
+     * @param <T>        type of the check
+     * @throws IllegalArgumentException if the check class cannot be instantiated
+     */
+    public synchronized <T extends MdibRevisionCheck> void register(final Class<T> checkClass) {
+        register(checkClass, () -> {
+            try {
+                final var constructor = checkClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor.newInstance();
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalArgumentException(
+                        String.format("Check of class %s could not be instantiated", checkClass), e);
+            }
+        });
+    }
+
+    /**
+     * Starts the online evaluation of all pending checks if it is enabled.
+     *
+     * <p>
+     * Has to be called before the {@linkplain TestClient} connects, so that no revision caused by a report is missed.
+     * The initial mdib is passed to the checks by {@linkplain #onClientConnected()}.
+     */
+    public synchronized void startOnlineEvaluation() {
+        if (!onlineEvaluation || onlineObserver != null || pendingChecks.isEmpty()) {
+            return;
+        }
+        LOG.info("Evaluating {} checks while the mdib history is captured", pendingChecks.size());
+        onlineChecks.putAll(pendingChecks);
+        pendingChecks.clear();
+        onlineObserver = new MdibRevisionObserver(this::onOnlineRevision);
+        testClient.registerMdibObserver(onlineObserver);
+    }
+
+    /**
+     * Passes the mdib of the connected {@linkplain TestClient} to the online checks as the initial revision of its
+     * sequence, which a replay starts with as well.
+     *
+     * <p>
+     * Does nothing if the online evaluation has not been started. If revisions caused by reports have already been
+     * passed to the checks, the initial mdib is no longer available and is skipped.
+     */
+    public void onClientConnected() {
+        final RemoteMdibAccess mdib;
+        synchronized (this) {
+            if (onlineObserver == null || onlineChecks.isEmpty()) {
+                return;
+            }
+            mdib = testClient.getSdcRemoteDevice().getMdibAccess();
+        }
+        // the read lock is acquired before the monitor, like it is by the client when reporting a revision
+        try (final var ignored = mdib.startTransaction()) {
+            synchronized (this) {
+                if (onlineSequenceId != null) {
+                    LOG.warn("Reports have been applied before the initial mdib could be passed to the checks");
+                    return;
+                }
+                passOnlineRevision(mdib);
+                initialMdibVersion = mdib.getMdibVersion();
+            }
+        }
+    }
+
+    /**
+     * Retrieves an evaluated check, replaying the history for all pending checks if necessary.
+     *
+     * @param checkClass class of a previously registered check
+     * @param <T>        type of the check
+     * @return the check after the complete history has been passed to it
+     * @throws IOException    on errors retrieving messages from storage
+     * @throws AssertionError the first assertion failure which occurred while evaluating the check
+     */
+    public synchronized <T extends MdibRevisionCheck> T evaluate(final Class<T> checkClass) throws IOException {
+        if (onlineChecks.containsKey(checkClass)) {
+            finishOnlineEvaluation();
+        } else if (pendingChecks.containsKey(checkClass)) {
+            replay();
+        }
+        final var check = evaluatedChecks.get(checkClass);
+        if (check == null) {
+            throw new IllegalStateException(String.format("No check of class %s has been registered", checkClass));
+        }
+        final var failure = failures.get(checkClass);
+        if (failure instanceof AssertionError) {
+            throw (AssertionError) failure;
+        } else if (failure != null) {
+            fail(failure);
+        }
+        return checkClass.cast(check);
+    }
+
+    private synchronized void onOnlineRevision(final MdibAccess mdibAccess) {
+        if (onlineChecks.isEmpty()) {
+            return;
+        }
+        if (!(mdibAccess instanceof RemoteMdibAccess)) {
+            LOG.warn("Ignoring revision of unexpected mdib access {}", mdibAccess.getClass());
+            return;
+        }
+        final var mdib = (RemoteMdibAccess) mdibAccess;
+        final var isInitialRevision = mdib.getMdibVersion().equals(initialMdibVersion);
+        initialMdibVersion = null;
+        if (isInitialRevision) {
+            // the initial mdib already contained the change reported by the client, it must not be passed twice
+            return;
+        }
+        passOnlineRevision(mdib);
+    }
+
+    private void passOnlineRevision(final RemoteMdibAccess mdib) {
+        final var sequenceId = mdib.getMdibVersion().getSequenceId();
+        if (!sequenceId.equals(onlineSequenceId)) {
+            if (onlineSequenceId != null) {
+                final var previousSequenceId = onlineSequenceId;
+                runOnlineChecks(check -> check.onSequenceEnd(previousSequenceId));
+            }
+            onlineSequenceId = sequenceId;
+            runOnlineChecks(check -> check.onSequenceStart(sequenceId));
+        }
+        runOnlineChecks(check -> check.onRevision(sequenceId, mdib));
+    }
+
+    private void finishOnlineEvaluation() {
+        if (onlineObserver != null) {
+            testClient.unregisterMdibObserver(onlineObserver);
+        }
+        if (onlineSequenceId != null) {
+            final var sequenceId = onlineSequenceId;
+            runOnlineChecks(check -> check.onSequenceEnd(sequenceId));
+        }
+        evaluatedChecks.putAll(onlineChecks);
+        onlineChecks.clear();
+    }
+
+    // the checks are called from the client, failures other than assertions must not escape into it either
+    private void runOnlineChecks(final Consumer<MdibRevisionCheck> action) {
+        for (var entry : onlineChecks.entrySet()) {
+            if (failures.containsKey(entry.getKey())) {
+                continue;
+            }
+            try {
+                action.accept(entry.getValue());
+            } catch (final AssertionError | RuntimeException e) {
+                failures.put(entry.getKey(), e);
+            }
+        }
+    }
+
+    private void replay() throws IOException {
+        final var checks = new LinkedHashMap<>(pendingChecks);
+        pendingChecks.clear();
+        evaluatedChecks.putAll(checks);
+
+        LOG.debug("Replaying mdib history for {} checks", checks.size());
+        final var clientInjector = testClient.getInjector();
+        final var mdibHistorian = clientInjector
+                .getInstance(MdibHistorianFactory.class)
+                .createMdibHistorian(messageStorage, testRunObserver);
+
+        // the checks are already considered evaluated, an aborted replay must not let any of them pass
+        try (final Stream<String> sequenceIds = mdibHistorian.getKnownSequenceIds()) {
+            sequenceIds.forEach(sequenceId -> replaySequence(mdibHistorian, sequenceId, checks));
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("Replaying the mdib history failed", e);
+            checks.keySet().forEach(checkClass -> failures.putIfAbsent(checkClass, e));
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            return;
+        }
+
+        final var cache = clientInjector.getInstance(UnmarshalledMessageCache.class);
+        LOG.debug(
+                "Replay finished, unmarshalled message cache hits: {}, misses: {}",
+                cache.getHitCount(),
+                cache.getMissCount());
+    }
+
+    private void replaySequence(
+            final MdibHistorian mdibHistorian,
+            final String sequenceId,
+            final Map<Class<? extends MdibRevisionCheck>, MdibRevisionCheck> checks) {
+        final List<Class<? extends MdibRevisionCheck>> started = new ArrayList<>();
+        for (var entry : checks.entrySet()) {
+            if (!failures.containsKey(entry.getKey())
+                    && runCheck(entry.getKey(), () -> entry.getValue().onSequenceStart(sequenceId))) {
+                started.add(entry.getKey());
+            }
+        }
+
+        // each kind of history is only replayed if any check requires it
+        for (final boolean unique : List.of(false, true)) {
+            final List<Class<? extends MdibRevisionCheck>> active = new ArrayList<>();
+            for (var checkClass : started) {
+                if (checks.get(checkClass).requiresUniqueHistory() == unique) {
+                    active.add(checkClass);
+                }
+            }
+            if (!active.isEmpty()) {
+                replayHistory(mdibHistorian, sequenceId, unique, checks, active);
+            }
+        }
+    }
+
+    private void replayHistory(
+            final MdibHistorian mdibHistorian,
+            final String sequenceId,
+            final boolean unique,
+            final Map<Class<? extends MdibRevisionCheck>, MdibRevisionCheck> checks,
+            final List<Class<? extends MdibRevisionCheck>> active) {
+        try (final MdibHistorian.HistorianResult history = unique
+                ? mdibHistorian.uniqueEpisodicReportBasedHistory(sequenceId)
+                : mdibHistorian.episodicReportBasedHistory(sequenceId)) {
+            RemoteMdibAccess mdib = history.next();
+            while (mdib != null && !active.isEmpty()) {
+                final var revision = mdib;
+                active.removeIf(
+                        checkClass -> !runCheck(checkClass, () -> checks.get(checkClass)
+                                .onRevision(sequenceId, revision)));
+                mdib = history.next();
+            }
+        } catch (final PreprocessingException | ReportProcessingException | AssertionError | RuntimeException e) {
+            LOG.error("Replaying the mdib history of sequence {} failed", sequenceId, e);
+            active.forEach(checkClass -> failures.put(checkClass, e));
+            return;
+        }
+
+        active.forEach(checkClass -> runCheck(checkClass, () -> checks.get(checkClass)
+                .onSequenceEnd(sequenceId)));
+    }
+
+    private boolean runCheck(final Class<? extends MdibRevisionCheck> checkClass, final Runnable action) {
+        try {
+            action.run();
+            return true;
+        } catch (final AssertionError | RuntimeException e) {
+            failures.put(checkClass, e);
+            return false;
+        }
+    }
+}
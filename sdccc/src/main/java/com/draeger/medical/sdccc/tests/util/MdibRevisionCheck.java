@@ -0,0 +1,57 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
+
+/**
+ * A check which is evaluated against every revision of the mdib history of every known sequence.
+ *
+ * <p>
+ * Checks are driven by the {@linkplain MdibHistoryReplay}, which walks each history exactly once and passes every
+ * revision to all registered checks. The {@linkplain RemoteMdibAccess} passed to {@link #onRevision} is modified in
+ * place when the next report is applied, checks which need to compare consecutive revisions therefore have to retain
+ * the required information themselves.
+ */
+public interface MdibRevisionCheck {
+
+    /**
+     * Called before the first revision of a sequence is passed to the check.
+     *
+     * @param sequenceId of the history which is about to be replayed
+     */
+    default void onSequenceStart(final String sequenceId) {}
+
+    /**
+     * Called for every revision of the mdib, starting with the initial mdib of the sequence.
+     *
+     * @param sequenceId of the history which is replayed
+     * @param mdib       the current revision of the mdib, only valid for the duration of the call
+     */
+    void onRevision(String sequenceId, RemoteMdibAccess mdib);
+
+    /**
+     * Determines which history of a sequence is replayed for the check.
+     *
+     * <p>
+     * Revisions of the mdib observed while capturing are passed to the check in either case.
+     *
+     * @return true if duplicate reports are removed from the history as done by
+     *         {@linkplain MdibHistorian#uniqueEpisodicReportBasedHistory(String)}, false otherwise
+     */
+    default boolean requiresUniqueHistory() {
+        return false;
+    }
+
+    /**
+     * Called after the last revision of a sequence has been passed to the check.
+     *
+     * @param sequenceId of the history which has been replayed
+     */
+    default void onSequenceEnd(final String sequenceId) {}
+}
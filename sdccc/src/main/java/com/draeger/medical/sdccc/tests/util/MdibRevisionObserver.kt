@@ -0,0 +1,24 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util
+
+import com.draeger.medical.sdccc.sdcri.testclient.TestClientMdibObserver
+import org.somda.sdc.biceps.common.access.MdibAccess
+import java.util.function.Consumer
+
+/**
+ * Observes the TestClient MDIB and passes it to the consumer after every change.
+ */
+class MdibRevisionObserver(
+    private val consumer: Consumer<MdibAccess>
+) : TestClientMdibObserver {
+
+    override fun onRevision(mdibAccess: MdibAccess) {
+        consumer.accept(mdibAccess)
+    }
+}
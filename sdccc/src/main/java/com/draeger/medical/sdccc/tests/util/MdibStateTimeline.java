@@ -0,0 +1,208 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.somda.sdc.biceps.model.participant.AbstractState;
+
+/**
+ * Index of the states of selected handles throughout the history of a single mdib sequence.
+ *
+ * <p>
+ * The timeline is built by the {@linkplain MdibHistorian} in a single replay of the unique history of a sequence and
+ * answers which state a handle had as of a timestamp or an mdib version by binary search, instead of replaying the
+ * history for each lookup. Timestamps are the reception timestamps of the reports in nanoseconds.
+ *
+ * <p>
+ * The state of a handle as of a timestamp is its state after the report with the highest mdib version which changed
+ * the handle and has been received before the timestamp. As episodic reports contain complete states, this matches
+ * applying all reports received before the timestamp as done by
+ * {@linkplain MdibHistorian#uniqueEpisodicReportBasedMdibUntilTimestamp(String, long)}, even if reports are received
+ * in a different order than their mdib versions. Only the presence of a handle can differ for reports received out of
+ * order: if the report inserting a handle is received after the timestamp, but a report with a higher mdib version
+ * changing the handle before it, the timeline provides the state of the latter report, while the replay does not
+ * contain the handle.
+ *
+ * <p>
+ * States are copies taken from the mdib the reports have been applied to, they must not be modified.
+ */
+public class MdibStateTimeline {
+
+    private final Map<String, HandleTimeline> handleTimelines;
+    private final long[] reportTimestampSuffixMinimum;
+
+    private MdibStateTimeline(
+            final Map<String, HandleTimeline> handleTimelines, final long[] reportTimestampSuffixMinimum) {
+        this.handleTimelines = handleTimelines;
+        this.reportTimestampSuffixMinimum = reportTimestampSuffixMinimum;
+    }
+
+    /**
+     * Checks whether any report of the sequence has been received before the timestamp.
+     *
+     * @param timestamp to check, exclusive
+     * @return true if a report has been received before the timestamp, false otherwise
+     */
+    public boolean hasReportBefore(final long timestamp) {
+        return lastIndexBefore(reportTimestampSuffixMinimum, timestamp) >= 0;
+    }
+
+    /**
+     * Retrieves the state of a handle after applying all reports received before the timestamp.
+     *
+     * @param handle    of the state, i.e. the state handle for multi states and the descriptor handle otherwise
+     * @param timestamp to retrieve the state for, exclusive
+     * @param type      expected type of the state
+     * @param <T>       expected type of the state
+     * @return the state, empty if the handle is not part of the timeline, the state was not present at the timestamp
+     *         or is not of the expected type
+     */
+    public <T extends AbstractState> Optional<T> getStateUntilTimestamp(
+            final String handle, final long timestamp, final Class<T> type) {
+        final var timeline = handleTimelines.get(handle);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        final int index = lastIndexBefore(timeline.timestampSuffixMinimum, timestamp);
+        return index < 0 ? Optional.empty() : cast(timeline.states[index], type);
+    }
+
+    /**
+     * Retrieves the state of a handle in an mdib version.
+     *
+     * @param handle      of the state, i.e. the state handle for multi states and the descriptor handle otherwise
+     * @param mdibVersion to retrieve the state for, inclusive
+     * @param type        expected type of the state
+     * @param <T>         expected type of the state
+     * @return the state, empty if the handle is not part of the timeline, the state was not present in the mdib
+     *         version or is not of the expected type
+     */
+    public <T extends AbstractState> Optional<T> getStateAtMdibVersion(
+            final String handle, final BigInteger mdibVersion, final Class<T> type) {
+        final var timeline = handleTimelines.get(handle);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        // mdib versions are ascending, find the last entry not exceeding the requested version
+        int low = 0;
+        int high = timeline.mdibVersions.length - 1;
+        int index = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (timeline.mdibVersions[middle].compareTo(mdibVersion) <= 0) {
+                index = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return index < 0 ? Optional.empty() : cast(timeline.states[index], type);
+    }
+
+    private static <T extends AbstractState> Optional<T> cast(
+            @Nullable final AbstractState state, final Class<T> type) {
+        return type.isInstance(state) ? Optional.of(type.cast(state)) : Optional.empty();
+    }
+
+    /*
+     * Reports are ordered by mdib version, their timestamps are therefore not necessarily ascending. The last entry
+     * received before a timestamp is the last index whose suffix minimum is lower than the timestamp, as the suffix
+     * minimum is ascending and only changes at entries which are lower than all following ones.
+     */
+    private static int lastIndexBefore(final long[] suffixMinimum, final long timestamp) {
+        int low = 0;
+        int high = suffixMinimum.length - 1;
+        int index = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (suffixMinimum[middle] < timestamp) {
+                index = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return index;
+    }
+
+    private static long[] suffixMinimum(final long[] timestamps) {
+        final long[] result = Arrays.copyOf(timestamps, timestamps.length);
+        for (int i = result.length - 2; i >= 0; i--) {
+            result[i] = Math.min(result[i], result[i + 1]);
+        }
+        return result;
+    }
+
+    private static final class HandleTimeline {
+        private final long[] timestampSuffixMinimum;
+        private final BigInteger[] mdibVersions;
+        private final AbstractState[] states;
+
+        private HandleTimeline(final List<Entry> entries) {
+            this.timestampSuffixMinimum =
+                    suffixMinimum(entries.stream().mapToLong(Entry::timestamp).toArray());
+            this.mdibVersions = entries.stream().map(Entry::mdibVersion).toArray(BigInteger[]::new);
+            this.states = entries.stream().map(Entry::state).toArray(AbstractState[]::new);
+        }
+    }
+
+    private record Entry(long timestamp, BigInteger mdibVersion, @Nullable AbstractState state) {}
+
+    /**
+     * Collects the states of a sequence in the order of the applied reports.
+     */
+    static final class Builder {
+        private final Map<String, List<Entry>> entries;
+        private final List<Long> reportTimestamps;
+
+        Builder() {
+            this.entries = new HashMap<>();
+            this.reportTimestamps = new ArrayList<>();
+        }
+
+        /**
+         * Adds a report which has been applied.
+         *
+         * @param timestamp the report has been received at
+         */
+        void addReport(final long timestamp) {
+            reportTimestamps.add(timestamp);
+        }
+
+        /**
+         * Adds the state of a handle after applying a report. Entries must be added in ascending mdib version.
+         *
+         * @param handle      of the state
+         * @param timestamp   the report has been received at, {@linkplain Long#MIN_VALUE} for the initial mdib
+         * @param mdibVersion of the report
+         * @param state       after applying the report, null if the state is not present
+         */
+        void addState(
+                final String handle,
+                final long timestamp,
+                final BigInteger mdibVersion,
+                @Nullable final AbstractState state) {
+            entries.computeIfAbsent(handle, key -> new ArrayList<>()).add(new Entry(timestamp, mdibVersion, state));
+        }
+
+        MdibStateTimeline build() {
+            final var handleTimelines = new HashMap<String, HandleTimeline>();
+            entries.forEach((handle, handleEntries) -> handleTimelines.put(handle, new HandleTimeline(handleEntries)));
+            return new MdibStateTimeline(
+                    handleTimelines,
+                    suffixMinimum(reportTimestamps.stream().mapToLong(Long::longValue).toArray()));
+        }
+    }
+}
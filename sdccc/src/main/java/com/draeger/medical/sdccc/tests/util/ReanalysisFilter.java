@@ -0,0 +1,56 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
+import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.engine.descriptor.MethodBasedTestDescriptor;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * Filters invariant test cases which cannot be evaluated on the messages captured in a previous test run.
+ *
+ * <p>
+ * These test cases depend on information which is only available while connected to the DUT, e.g. whether the DUT
+ * provides an archive service.
+ */
+public class ReanalysisFilter implements PostDiscoveryFilter {
+    private static final Logger LOG = LogManager.getLogger(ReanalysisFilter.class);
+
+    // MDPWS:R0006 depends on the presence of an archive service, which is determined when connecting
+    private static final Set<String> REQUIRING_CONNECTION = Set.of(EnabledTestConfig.MDPWS_R0006);
+
+    @Override
+    public FilterResult apply(final TestDescriptor object) {
+        if (!object.isTest() || !(object instanceof MethodBasedTestDescriptor)) {
+            return FilterResult.included("Only filtering test methods");
+        }
+
+        final var testIdentifier =
+                ((MethodBasedTestDescriptor) object).getTestMethod().getAnnotation(TestIdentifier.class);
+        if (testIdentifier == null || !REQUIRING_CONNECTION.contains(testIdentifier.value())) {
+            return FilterResult.included("Can be evaluated on captured messages");
+        }
+        LOG.info(
+                "Test {} is skipped, it cannot be evaluated on the messages captured in a previous test run",
+                testIdentifier.value());
+        return FilterResult.excluded(String.format(
+                "Test %s requires a connection to the DUT and is skipped when re-evaluating", testIdentifier.value()));
+    }
+
+    @Override
+    public Predicate<TestDescriptor> toPredicate() {
+        return testDescriptor -> apply(testDescriptor).included();
+    }
+}
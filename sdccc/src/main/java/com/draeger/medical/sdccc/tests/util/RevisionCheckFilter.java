@@ -0,0 +1,46 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.draeger.medical.sdccc.tests.annotations.RequireRevisionCheck;
+import com.google.inject.Inject;
+import org.junit.jupiter.engine.descriptor.MethodBasedTestDescriptor;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * A {@linkplain PostDiscoveryFilter} for invariant tests which registers
+ * all revision checks with the {@linkplain MdibHistoryReplay}.
+ */
+public class RevisionCheckFilter implements PostDiscoveryFilter {
+
+    private final MdibHistoryReplay mdibHistoryReplay;
+
+    @Inject
+    RevisionCheckFilter(final MdibHistoryReplay mdibHistoryReplay) {
+        this.mdibHistoryReplay = mdibHistoryReplay;
+    }
+
+    @Override
+    public FilterResult apply(final TestDescriptor object) {
+        if (!object.isTest() || !(object instanceof MethodBasedTestDescriptor)) {
+            return FilterResult.included("Only filtering test methods");
+        }
+
+        final var requiredChecks =
+                ((MethodBasedTestDescriptor) object).getTestMethod().getAnnotation(RequireRevisionCheck.class);
+        if (requiredChecks == null) {
+            return FilterResult.included("No revision check found");
+        }
+        for (final Class<? extends MdibRevisionCheck> checkClass : requiredChecks.value()) {
+            mdibHistoryReplay.register(checkClass);
+        }
+        return FilterResult.included("Filter only used for metadata collection");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Evaluates the mdib history of each sequence, either one sequence after another or concurrently.
+ *
+ * <p>
+ * The histories of different sequences are independent of each other, when enabled via
+ * {@linkplain TestSuiteConfig#PARALLEL_SEQUENCE_EVALUATION} they are evaluated on a pool bounded by the number of
+ * available processors, which only lives for a single evaluation. Evaluations must then only share thread-safe state.
+ * To keep the reported failure independent of the scheduling, all sequences are evaluated and the failure of the first
+ * failing sequence in the order of the provided stream is rethrown, with the failures of later sequences attached as
+ * suppressed exceptions.
+ */
+@Singleton
+public class SequenceEvaluator {
+    private static final Logger LOG = LogManager.getLogger(SequenceEvaluator.class);
+
+    private final boolean parallel;
+    private final int threadCount;
+
+    @Inject
+    SequenceEvaluator(@Named(TestSuiteConfig.PARALLEL_SEQUENCE_EVALUATION) final boolean parallel) {
+        this(parallel, Runtime.getRuntime().availableProcessors());
+    }
+
+    SequenceEvaluator(final boolean parallel, final int threadCount) {
+        this.parallel = parallel;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Runs the evaluation for every sequence.
+     *
+     * @param sequenceIds of the sequences to evaluate, in the order failures shall be reported in
+     * @param evaluation  to run for each sequence
+     */
+    public void forEachSequence(final Stream<String> sequenceIds, final Consumer<String> evaluation) {
+        if (!parallel) {
+            sequenceIds.forEach(evaluation);
+            return;
+        }
+
+        final List<String> sequences = sequenceIds.toList();
+        if (sequences.isEmpty()) {
+            return;
+        }
+        final List<Future<?>> results = new ArrayList<>(sequences.size());
+        Throwable failure = null;
+        // the pool only lives for a single evaluation, so no threads outlive the test using it
+        final ExecutorService executor = createExecutor(Math.min(threadCount, sequences.size()));
+        try {
+            for (final String sequenceId : sequences) {
+                results.add(executor.submit(() -> evaluation.accept(sequenceId)));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                final Throwable sequenceFailure = awaitResult(results.get(i));
+                if (sequenceFailure == null) {
+                    continue;
+                }
+                if (failure == null) {
+                    LOG.debug("Evaluation of sequence {} failed", sequences.get(i));
+                    failure = sequenceFailure;
+                } else {
+                    failure.addSuppressed(sequenceFailure);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failure instanceof final Error error) {
+            throw error;
+        } else if (failure instanceof final RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private static Throwable awaitResult(final Future<?> result) {
+        try {
+            result.get();
+            return null;
+        } catch (final ExecutionException e) {
+            return e.getCause();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            return e;
+        }
+    }
+
+    private static ExecutorService createExecutor(final int threadCount) {
+        final var threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            final var thread = new Thread(runnable, "SequenceEvaluator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
+import jakarta.xml.bind.UnmarshalException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Unmarshals the BICEPS payload of a SOAP body straight from the stored message.
+ *
+ * <p>
+ * Unmarshalling a whole {@linkplain org.somda.sdc.dpws.soap.SoapMessage} requires the body to be available at once
+ * and builds the envelope and all headers as well. This unmarshaller streams through the envelope using StAX,
+ * skipping everything up to the first child of the SOAP body, and only builds the payload. Messages are neither
+ * decoded into a string nor copied, which bounds the memory needed for large mdibs to the unmarshalled payload.
+ *
+ * <p>
+ * The payload is not validated against the schemas, as opposed to the
+ * {@linkplain org.somda.sdc.dpws.soap.MarshallingService} if validation is enabled.
+ */
+@Singleton
+public class SoapBodyUnmarshaller {
+    private static final Logger LOG = LogManager.getLogger(SoapBodyUnmarshaller.class);
+
+    private static final String SOAP_NAMESPACE = "http://www.w3.org/2003/05/soap-envelope";
+    private static final String SOAP_BODY = "Body";
+
+    private final JAXBContext jaxbContext;
+    private final XMLInputFactory inputFactory;
+
+    @Inject
+    SoapBodyUnmarshaller() {
+        try {
+            this.jaxbContext = JAXBContext.newInstance(
+                    org.somda.sdc.biceps.model.extension.ObjectFactory.class,
+                    org.somda.sdc.biceps.model.participant.ObjectFactory.class,
+                    org.somda.sdc.biceps.model.message.ObjectFactory.class);
+        } catch (final JAXBException e) {
+            LOG.error("JAXB context for the BICEPS model could not be created", e);
+            throw new IllegalStateException("JAXB context for the BICEPS model could not be created", e);
+        }
+        this.inputFactory = XMLInputFactory.newFactory();
+        this.inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Unmarshals the payload of the SOAP body of a stored message.
+     *
+     * @param messageContent to unmarshal the body payload of
+     * @param type           expected type of the payload
+     * @param <T>            expected type of the payload
+     * @return the payload, empty if the body is empty or the payload is not of the expected type
+     * @throws JAXBException if the message is not well-formed or the payload could not be unmarshalled
+     */
+    public <T> Optional<T> unmarshal(final MessageContent messageContent, final Class<T> type) throws JAXBException {
+        // the stream is UTF-8 encoded regardless of the charset declared inside the message
+        return unmarshal(new InputStreamReader(messageContent.getBodyInputStream(), StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Unmarshals the payload of the SOAP body of a message.
+     *
+     * @param message SOAP envelope to unmarshal the body payload of
+     * @param type    expected type of the payload
+     * @param <T>     expected type of the payload
+     * @return the payload, empty if the body is empty or the payload is not of the expected type
+     * @throws JAXBException if the message is not well-formed or the payload could not be unmarshalled
+     */
+    public <T> Optional<T> unmarshal(final Reader message, final Class<T> type) throws JAXBException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(message);
+            if (!moveToBodyPayload(reader)) {
+                return Optional.empty();
+            }
+            final Object payload = JAXBIntrospector.getValue(jaxbContext.createUnmarshaller().unmarshal(reader));
+            return type.isInstance(payload) ? Optional.of(type.cast(payload)) : Optional.empty();
+        } catch (final XMLStreamException e) {
+            throw new UnmarshalException(e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final XMLStreamException e) {
+                    LOG.debug("Could not close stream reader", e);
+                }
+            }
+        }
+    }
+
+    // skips the envelope and the headers without building them, stops at the first child element of the body
+    private static boolean moveToBodyPayload(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT
+                    && SOAP_BODY.equals(reader.getLocalName())
+                    && SOAP_NAMESPACE.equals(reader.getNamespaceURI())) {
+                return reader.nextTag() == XMLStreamConstants.START_ELEMENT;
+            }
+        }
+        return false;
+    }
+}
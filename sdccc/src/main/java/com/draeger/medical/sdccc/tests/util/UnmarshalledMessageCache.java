@@ -0,0 +1,101 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded cache for objects unmarshalled from stored messages, keyed by the uuid of the message.
+ *
+ * <p>
+ * Entries are evicted in least recently used order once {@value #MAXIMUM_ENTRIES} entries are present and are only
+ * softly referenced, allowing the garbage collector to reclaim them when memory is low. Cached objects are shared
+ * between all users and must therefore not be modified.
+ */
+@Singleton
+public class UnmarshalledMessageCache {
+    static final int MAXIMUM_ENTRIES = 10000;
+
+    private static final Logger LOG = LogManager.getLogger(UnmarshalledMessageCache.class);
+
+    private final Map<String, SoftReference<Object>> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    @Inject
+    UnmarshalledMessageCache() {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<Object>> eldest) {
+                return size() > MAXIMUM_ENTRIES;
+            }
+        };
+        this.hits = new AtomicLong(0);
+        this.misses = new AtomicLong(0);
+    }
+
+    /**
+     * Retrieves the object unmarshalled from a message, unmarshalling it if it is not cached.
+     *
+     * @param messageUuid uuid of the message the object has been unmarshalled from
+     * @param type        of the unmarshalled object
+     * @param unmarshal   unmarshals the object from the message, called without holding any lock
+     * @param <T>         type of the unmarshalled object
+     * @return the cached or newly unmarshalled object
+     */
+    public <T> T get(final String messageUuid, final Class<T> type, final Supplier<T> unmarshal) {
+        synchronized (entries) {
+            final var reference = entries.get(messageUuid);
+            final var cached = reference == null ? null : reference.get();
+            if (type.isInstance(cached)) {
+                hits.incrementAndGet();
+                return type.cast(cached);
+            }
+        }
+
+        misses.incrementAndGet();
+        final var unmarshalled = unmarshal.get();
+        synchronized (entries) {
+            entries.put(messageUuid, new SoftReference<>(unmarshalled));
+        }
+        return unmarshalled;
+    }
+
+    /**
+     * @return number of requests which have been served from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of requests which required unmarshalling the message
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Removes all entries from the cache, keeping the counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            LOG.debug(
+                    "Clearing {} cached entries, {} hits and {} misses so far", entries.size(), hits.get(), misses.get());
+            entries.clear();
+        }
+    }
+}
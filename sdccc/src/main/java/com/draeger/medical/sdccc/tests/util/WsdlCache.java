@@ -0,0 +1,132 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import com.draeger.medical.sdccc.util.WsdlParser;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.xml.namespace.QName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.somda.sdc.dpws.service.HostingServiceProxy;
+import org.somda.sdc.dpws.soap.exception.TransportException;
+import org.somda.sdc.dpws.wsdl.WsdlRetriever;
+
+/**
+ * Cache for the WSDLs of the hosting service the test client is connected to and the port types parsed from them.
+ *
+ * <p>
+ * WSDLs are retrieved once per hosting service, identified by its endpoint reference address and metadata version,
+ * and each WSDL is parsed at most once. A reconnect provides a new {@linkplain HostingServiceProxy}, which invalidates
+ * all cached entries, as does a change of the endpoint reference address or the metadata version. Failed retrievals
+ * are not cached. Cached WSDLs and port types are shared between all users and cannot be modified.
+ */
+@Singleton
+public class WsdlCache {
+    private static final Logger LOG = LogManager.getLogger(WsdlCache.class);
+
+    private final WsdlRetriever wsdlRetriever;
+    private final WsdlParser wsdlParser;
+    private final Map<String, Map<QName, Map<QName, WsdlParser.OperationArguments>>> portTypes;
+
+    @Nullable
+    private HostingServiceProxy hostingServiceProxy;
+
+    @Nullable
+    private HostingServiceKey hostingServiceKey;
+
+    @Nullable
+    private Map<String, List<String>> wsdls;
+
+    @Inject
+    WsdlCache(final WsdlRetriever wsdlRetriever, final WsdlParser wsdlParser) {
+        this.wsdlRetriever = wsdlRetriever;
+        this.wsdlParser = wsdlParser;
+        this.portTypes = new HashMap<>();
+    }
+
+    /**
+     * Retrieves the WSDLs of all hosted services of a hosting service, retrieving them from the hosting service if
+     * they are not cached.
+     *
+     * @param hostingService to retrieve the WSDLs of, null if the test client is not connected, which bypasses the
+     *                       cache
+     * @return WSDLs per service id of the hosted services, as provided by
+     *         {@linkplain WsdlRetriever#retrieveWsdls(HostingServiceProxy)}
+     * @throws IOException        if retrieving the WSDLs fails
+     * @throws TransportException if retrieving the WSDLs fails
+     */
+    public synchronized Map<String, List<String>> getWsdls(@Nullable final HostingServiceProxy hostingService)
+            throws IOException, TransportException {
+        if (hostingService == null) {
+            invalidate();
+            return wsdlRetriever.retrieveWsdls(null);
+        }
+        final var key = new HostingServiceKey(
+                hostingService.getEndpointReferenceAddress(), hostingService.getMetadataVersion());
+        if (hostingService != hostingServiceProxy || !key.equals(hostingServiceKey)) {
+            invalidate();
+        }
+        if (wsdls == null) {
+            LOG.debug("Retrieving WSDLs for {}", key);
+            final var retrieved = new LinkedHashMap<String, List<String>>();
+            wsdlRetriever
+                    .retrieveWsdls(hostingService)
+                    .forEach((serviceId, serviceWsdls) -> retrieved.put(serviceId, List.copyOf(serviceWsdls)));
+            wsdls = Collections.unmodifiableMap(retrieved);
+            hostingServiceProxy = hostingService;
+            hostingServiceKey = key;
+        }
+        return wsdls;
+    }
+
+    /**
+     * Retrieves the port types described in a WSDL, parsing the WSDL if it has not been parsed yet.
+     *
+     * @param wsdl to retrieve the port types of
+     * @return the port types, as provided by {@linkplain WsdlParser#parseWsdlPortTypes(String)}
+     * @throws JAXBException if parsing the WSDL fails
+     */
+    public synchronized Map<QName, Map<QName, WsdlParser.OperationArguments>> getPortTypes(final String wsdl)
+            throws JAXBException {
+        var cached = portTypes.get(wsdl);
+        if (cached == null) {
+            final var parsed = new LinkedHashMap<QName, Map<QName, WsdlParser.OperationArguments>>();
+            wsdlParser
+                    .parseWsdlPortTypes(wsdl)
+                    .forEach((portType, operations) ->
+                            parsed.put(portType, Collections.unmodifiableMap(new LinkedHashMap<>(operations))));
+            cached = Collections.unmodifiableMap(parsed);
+            portTypes.put(wsdl, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Removes all cached WSDLs and port types.
+     */
+    public synchronized void invalidate() {
+        if (wsdls != null || !portTypes.isEmpty()) {
+            LOG.debug("Invalidating cached WSDLs for {}", hostingServiceKey);
+        }
+        hostingServiceProxy = null;
+        hostingServiceKey = null;
+        wsdls = null;
+        portTypes.clear();
+    }
+
+    private record HostingServiceKey(String eprAddress, long metadataVersion) {}
+}
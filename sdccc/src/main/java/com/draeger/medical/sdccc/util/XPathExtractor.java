@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -12,19 +12,33 @@ import static com.draeger.medical.sdccc.util.Constants.NAMESPACES;
 import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import net.sf.saxon.xpath.XPathFactoryImpl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.ErrorHandler;
@@ -34,11 +48,29 @@ import org.xml.sax.SAXParseException;
 
 /**
  * Utility to extract nodes from messages matching a given XPath expression.
+ *
+ * <p>
+ * The expression is compiled once per thread and strings are parsed using a document builder kept per thread.
+ * Expressions which only consist of child steps of element names, e.g. {@code s12:Header/wsa:RelatesTo}, are matched
+ * against strings while streaming them instead, without building the whole document. Only the matching elements and
+ * their ancestors are built as {@linkplain Node}s, the ancestors do not contain any of their other children.
  */
 public class XPathExtractor {
     private static final Logger LOG = LogManager.getLogger(XPathExtractor.class);
+
+    // optionally absolute, child steps of optionally prefixed element names
+    private static final Pattern CHILD_PATH_PATTERN =
+            Pattern.compile("/?[A-Za-z_][\\w.-]*(:[A-Za-z_][\\w.-]*)?(/[A-Za-z_][\\w.-]*(:[A-Za-z_][\\w.-]*)?)*");
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+
     private final String query;
-    private final XPath xpath;
+    private final ThreadLocal<XPathExpression> compiledQuery;
+    @Nullable
+    private final List<QName> childPath;
+    private final boolean absoluteChildPath;
 
     /**
      * Creates a new {@linkplain XPathExtractor}.
@@ -47,8 +79,9 @@ public class XPathExtractor {
      */
     public XPathExtractor(final String query) {
         this.query = query;
-        this.xpath = XPathFactoryImpl.newInstance().newXPath();
-        this.xpath.setNamespaceContext(NAMESPACES);
+        this.compiledQuery = new ThreadLocal<>();
+        this.childPath = parseChildPath(query);
+        this.absoluteChildPath = query.startsWith("/");
     }
 
     /**
@@ -60,9 +93,31 @@ public class XPathExtractor {
      *                                  i.e. when an invalid expression was used
      */
     public Collection<Node> extractFrom(final String target) throws XPathExpressionException {
+        if (childPath != null) {
+            return extractStreaming(target, false);
+        }
         return extract(target);
     }
 
+    /**
+     * Extract the first matching node from a given string.
+     *
+     * <p>
+     * Expressions matched while streaming stop reading the string at the first match, the remainder of the string
+     * is neither parsed nor checked for well-formedness.
+     *
+     * @param target string to extract from
+     * @return the first matching {@linkplain Node} in document order, empty if there is none
+     * @throws XPathExpressionException if the XPath extraction encountered an error,
+     *                                  i.e. when an invalid expression was used
+     */
+    public Optional<Node> extractFirstFrom(final String target) throws XPathExpressionException {
+        if (childPath != null) {
+            return extractStreaming(target, true).stream().findFirst();
+        }
+        return extract(target).stream().findFirst();
+    }
+
     /**
      * Extract all matching nodes from a given node.
      *
@@ -75,8 +130,15 @@ public class XPathExtractor {
         return extract(node);
     }
 
+    /**
+     * @return true if the expression is matched against strings while streaming them, false otherwise
+     */
+    boolean isStreaming() {
+        return childPath != null;
+    }
+
     private Collection<Node> extract(final Node node) throws XPathExpressionException {
-        final NodeList nl = (NodeList) xpath.compile(query).evaluate(node, XPathConstants.NODESET);
+        final NodeList nl = (NodeList) getCompiledQuery().evaluate(node, XPathConstants.NODESET);
         return convert(nl);
     }
 
@@ -87,23 +149,215 @@ public class XPathExtractor {
 
         // We need to parse the string first. If we don't, the default string parser in xpath
         // logs errors into stderr, which we really do not want or need
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        final DocumentBuilder builder;
         final Document document;
         try {
-            builder = factory.newDocumentBuilder();
-            builder.setErrorHandler(new ErrorLogger());
-            document = builder.parse(new InputSource(new StringReader(target)));
+            document = getDocumentBuilder().parse(new InputSource(new StringReader(target)));
         } catch (final ParserConfigurationException | IOException | SAXException e) {
             throw new XPathExpressionException(e);
         }
 
         final NodeList nl =
-                (NodeList) xpath.compile(query).evaluate(document.getDocumentElement(), XPathConstants.NODESET);
+                (NodeList) getCompiledQuery().evaluate(document.getDocumentElement(), XPathConstants.NODESET);
         return convert(nl);
     }
 
+    private XPathExpression getCompiledQuery() throws XPathExpressionException {
+        XPathExpression expression = compiledQuery.get();
+        if (expression == null) {
+            // neither XPath nor compiled expressions are thread safe
+            final XPath xpath = XPathFactoryImpl.newInstance().newXPath();
+            xpath.setNamespaceContext(NAMESPACES);
+            expression = xpath.compile(query);
+            compiledQuery.set(expression);
+        }
+        return expression;
+    }
+
+    private static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+            DOCUMENT_BUILDER.set(builder);
+        } else {
+            builder.reset();
+        }
+        builder.setErrorHandler(new ErrorLogger());
+        return builder;
+    }
+
+    private Collection<Node> extractStreaming(final String target, final boolean firstOnly)
+            throws XPathExpressionException {
+        if (target.isBlank()) {
+            return Collections.emptyList();
+        }
+        final List<QName> path = childPath;
+        // relative expressions are evaluated with the document element as context
+        final int firstStepDepth = absoluteChildPath ? 1 : 2;
+
+        final List<Node> result = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(target));
+            final Document document = getDocumentBuilder().newDocument();
+            // ancestors of potential matches, built without any of their other children
+            final Deque<Node> ancestors = new ArrayDeque<>();
+            ancestors.push(document);
+            int depth = 0;
+            while (reader.hasNext()) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    final int step = depth - firstStepDepth;
+                    if (step >= 0 && !path.get(step).equals(reader.getName())) {
+                        // nothing below an element outside the path can match
+                        skipElement(reader);
+                        depth--;
+                    } else if (step == path.size() - 1) {
+                        final Element match = copyElement(reader, document);
+                        ancestors.peek().appendChild(match);
+                        result.add(match);
+                        if (firstOnly) {
+                            return result;
+                        }
+                        depth--;
+                    } else {
+                        final Element ancestor = createElement(reader, document);
+                        ancestors.peek().appendChild(ancestor);
+                        ancestors.push(ancestor);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    // elements outside the path are skipped, only the end of ancestors is encountered here
+                    ancestors.pop();
+                    depth--;
+                }
+            }
+        } catch (final XMLStreamException | ParserConfigurationException e) {
+            throw new XPathExpressionException(e);
+        } finally {
+            closeReader(reader);
+        }
+        return result;
+    }
+
+    // consumes the events up to the end of the element the reader is positioned on
+    private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    // builds the element the reader is positioned on, consuming the events up to its end
+    private static Element copyElement(final XMLStreamReader reader, final Document document)
+            throws XMLStreamException {
+        final Element root = createElement(reader, document);
+        Node current = root;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    final Element child = createElement(reader, document);
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    current = current.getParentNode();
+                    depth--;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> current.appendChild(
+                        document.createTextNode(reader.getText()));
+                case XMLStreamConstants.CDATA -> current.appendChild(document.createCDATASection(reader.getText()));
+                case XMLStreamConstants.COMMENT -> current.appendChild(document.createComment(reader.getText()));
+                case XMLStreamConstants.PROCESSING_INSTRUCTION -> current.appendChild(
+                        document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                default -> {
+                    // other events do not occur inside of elements
+                }
+            }
+        }
+        return root;
+    }
+
+    private static Element createElement(final XMLStreamReader reader, final Document document) {
+        final Element element =
+                document.createElementNS(emptyToNull(reader.getNamespaceURI()), qualifiedName(reader.getName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            final String prefix = reader.getNamespacePrefix(i);
+            element.setAttributeNS(
+                    XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                    prefix == null || prefix.isEmpty()
+                            ? XMLConstants.XMLNS_ATTRIBUTE
+                            : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix,
+                    reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(
+                    emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributeName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String qualifiedName(final QName name) {
+        return name.getPrefix().isEmpty() ? name.getLocalPart() : name.getPrefix() + ":" + name.getLocalPart();
+    }
+
+    @Nullable
+    private static String emptyToNull(@Nullable final String namespace) {
+        return namespace == null || namespace.isEmpty() ? null : namespace;
+    }
+
+    private static void closeReader(@Nullable final XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (final XMLStreamException e) {
+                LOG.debug("Could not close xml stream reader", e);
+            }
+        }
+    }
+
+    // determines the element names of expressions consisting only of child steps, null for any other expression
+    @Nullable
+    private static List<QName> parseChildPath(final String query) {
+        if (!CHILD_PATH_PATTERN.matcher(query).matches()) {
+            return null;
+        }
+        final List<QName> path = new ArrayList<>();
+        for (final String step : query.substring(query.startsWith("/") ? 1 : 0).split("/")) {
+            final int separator = step.indexOf(':');
+            if (separator < 0) {
+                path.add(new QName(step));
+                continue;
+            }
+            final String namespace = NAMESPACES.getNamespaceURI(step.substring(0, separator));
+            if (namespace == null || namespace.isEmpty()) {
+                // unknown prefixes are reported when compiling the expression
+                return null;
+            }
+            path.add(new QName(namespace, step.substring(separator + 1)));
+        }
+        return List.copyOf(path);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     /**
      * Converts a NodeList instance into an actual list for convenience.
      *
@@ -0,0 +1,46 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@linkplain CommandLineOptions}.
+ */
+public class CommandLineOptionsTest {
+    private static final String CONFIG = "config.toml";
+    private static final String TEST_CONFIG = "test_config.toml";
+    private static final String RUN_DIRECTORY = "testruns/TestRun_previous";
+
+    /**
+     * Tests whether the test run directory to re-evaluate is provided for the short and the long option.
+     */
+    @Test
+    void testReanalyzeDirectory() {
+        final var shortOption = new CommandLineOptions(
+                new String[] {"-c", CONFIG, "-t", TEST_CONFIG, "-ra", RUN_DIRECTORY});
+        assertEquals(Optional.of(RUN_DIRECTORY), shortOption.getReanalyzeDirectory());
+
+        final var longOption = new CommandLineOptions(
+                new String[] {"--config", CONFIG, "--testconfig", TEST_CONFIG, "--reanalyze", RUN_DIRECTORY});
+        assertEquals(Optional.of(RUN_DIRECTORY), longOption.getReanalyzeDirectory());
+    }
+
+    /**
+     * Tests whether no test run directory to re-evaluate is provided if the option is not set.
+     */
+    @Test
+    void testNoReanalyzeDirectory() {
+        final var options = new CommandLineOptions(new String[] {"-c", CONFIG, "-t", TEST_CONFIG});
+        assertTrue(options.getReanalyzeDirectory().isEmpty());
+    }
+}
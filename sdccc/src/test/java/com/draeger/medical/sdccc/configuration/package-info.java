@@ -0,0 +1,14 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * SDCcc configuration tests.
+ */
+@ParametersAreNonnullByDefault
+package com.draeger.medical.sdccc.configuration;
+
+import javax.annotation.ParametersAreNonnullByDefault;
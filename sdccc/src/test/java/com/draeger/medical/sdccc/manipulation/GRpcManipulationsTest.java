@@ -11,6 +11,7 @@ import static com.draeger.medical.t2iapi.context.ContextServiceGrpc.getSetLocati
 import static com.draeger.medical.t2iapi.device.DeviceServiceGrpc.getGetRemovableDescriptorsOfClassMethod;
 import static com.draeger.medical.t2iapi.device.DeviceServiceGrpc.getInsertDescriptorMethod;
 import static com.draeger.medical.t2iapi.device.DeviceServiceGrpc.getRemoveDescriptorMethod;
+import static com.draeger.medical.t2iapi.metric.MetricServiceGrpc.getSetMetricStatusMethod;
 import static io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.draeger.medical.sdccc.messages.ManipulationInfo;
@@ -39,12 +41,15 @@ import com.draeger.medical.t2iapi.context.ContextTypes;
 import com.draeger.medical.t2iapi.device.DeviceRequests;
 import com.draeger.medical.t2iapi.device.DeviceResponses;
 import com.draeger.medical.t2iapi.device.DeviceServiceGrpc;
+import com.draeger.medical.t2iapi.metric.MetricRequests;
+import com.draeger.medical.t2iapi.metric.MetricServiceGrpc;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.gson.Gson;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
 import io.grpc.stub.StreamObserver;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiFunction;
 import javax.annotation.Nullable;
@@ -54,7 +59,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.somda.sdc.biceps.model.participant.ComponentActivation;
 import org.somda.sdc.biceps.model.participant.LocationDetail;
+import org.somda.sdc.biceps.model.participant.MetricCategory;
 
 /**
  * Unit tests for the gRPC {@linkplain Manipulations} implementation.
@@ -63,20 +70,25 @@ public class GRpcManipulationsTest {
     private static final Logger LOG = LogManager.getLogger(GRpcManipulationsTest.class);
 
     private static final int TEST_TIMEOUT = 20;
+    private static final long DEADLINE = 2;
+    private static final int MAX_CONCURRENT_CALLS = 4;
 
     private FallbackManipulations fallback;
     private GRpcManipulations manipulations;
     private ContextStub contextHandler;
     private DeviceStub deviceHandler;
+    private MetricStub metricHandler;
     private Server server;
 
     @BeforeEach
     void setUp() throws IOException {
         contextHandler = new ContextStub();
         deviceHandler = new DeviceStub();
+        metricHandler = new MetricStub();
         server = ServerBuilder.forPort(0)
                 .addService(contextHandler)
                 .addService(deviceHandler)
+                .addService(metricHandler)
                 .build();
         server.start();
 
@@ -89,7 +101,12 @@ public class GRpcManipulationsTest {
         when(manipulationInfoFactory.create(anyLong(), anyLong(), any(), anyString(), anyString(), any()))
                 .thenReturn(manipulationInfo);
         manipulations = new GRpcManipulations(
-                serverAddress, fallback, manipulationInfoFactory, new GsonManipulationSerializer(new Gson()));
+                serverAddress,
+                DEADLINE,
+                MAX_CONCURRENT_CALLS,
+                fallback,
+                manipulationInfoFactory,
+                new GsonManipulationSerializer(new Gson()));
     }
 
     @AfterEach
@@ -388,6 +405,76 @@ public class GRpcManipulationsTest {
         }
     }
 
+    /**
+     * Verifies whether the manipulations of several metrics are in flight at the same time and whether each of them
+     * falls back individually.
+     */
+    @Test
+    @Timeout(TEST_TIMEOUT)
+    @TestDescription("Verifies whether the manipulations of several metrics are in flight at the same time and whether"
+            + " each of them falls back individually")
+    public void testSetMetricStatusConcurrently() {
+        when(fallback.setMetricStatus(
+                        any(String.class),
+                        any(String.class),
+                        any(MetricCategory.class),
+                        any(ComponentActivation.class)))
+                .thenReturn(ResultResponse.notImplemented());
+        final var handles = List.of("metric1", "metric2", "metric3", "metric4");
+
+        // responses are only sent once all calls have been received
+        final var pendingCalls = new ArrayList<Runnable>();
+        metricHandler.setSetMetricStatusCall((request, responseObserver) -> {
+            final var result = "metric3".equals(request.getHandle())
+                    ? ResponseTypes.Result.RESULT_NOT_IMPLEMENTED
+                    : ResponseTypes.Result.RESULT_SUCCESS;
+            synchronized (pendingCalls) {
+                pendingCalls.add(() -> {
+                    responseObserver.onNext(BasicResponses.BasicResponse.newBuilder()
+                            .setResult(result)
+                            .build());
+                    responseObserver.onCompleted();
+                });
+                if (pendingCalls.size() == handles.size()) {
+                    pendingCalls.forEach(Runnable::run);
+                }
+            }
+            return null;
+        });
+
+        final var results = manipulations
+                .setMetricStatus("sequenceId", handles, MetricCategory.MSRMT, ComponentActivation.ON)
+                .stream()
+                .map(ResultResponse::getResult)
+                .toList();
+        assertEquals(
+                List.of(
+                        ResponseTypes.Result.RESULT_SUCCESS,
+                        ResponseTypes.Result.RESULT_SUCCESS,
+                        ResponseTypes.Result.RESULT_NOT_IMPLEMENTED,
+                        ResponseTypes.Result.RESULT_SUCCESS),
+                results);
+        verify(fallback, times(1))
+                .setMetricStatus("sequenceId", "metric3", MetricCategory.MSRMT, ComponentActivation.ON);
+        verifyNoMoreInteractions(fallback);
+    }
+
+    /**
+     * Verifies whether a call exceeding the deadline triggers the fallback interaction.
+     */
+    @Test
+    @Timeout(TEST_TIMEOUT)
+    @TestDescription("Verifies whether a call exceeding the deadline triggers the fallback interaction")
+    public void testDeadlineExceededFallback() {
+        when(fallback.insertDescriptor(any())).thenReturn(ResultResponse.success());
+
+        // never respond
+        deviceHandler.setInsertDescriptorCall((request, responseObserver) -> null);
+
+        assertSame(ResponseTypes.Result.RESULT_SUCCESS, manipulations.insertDescriptor("handle").getResult());
+        verify(fallback, times(1)).insertDescriptor("handle");
+    }
+
     private void compareLocation(final LocationDetail location, final ContextTypes.LocationDetail protoLocation) {
         compareElement(
                 location.getPoC(),
@@ -447,6 +534,30 @@ public class GRpcManipulationsTest {
         }
     }
 
+    static class MetricStub extends MetricServiceGrpc.MetricServiceImplBase {
+        private BiFunction<MetricRequests.SetMetricStatusRequest, StreamObserver<BasicResponses.BasicResponse>, Void>
+                setMetricStatusCall = (request, responseObserver) -> {
+                    asyncUnimplementedUnaryCall(getSetMetricStatusMethod(), responseObserver);
+                    return null;
+                };
+
+        public void setSetMetricStatusCall(
+                final BiFunction<
+                                MetricRequests.SetMetricStatusRequest,
+                                StreamObserver<BasicResponses.BasicResponse>,
+                                Void>
+                        setMetricStatusCallArg) {
+            this.setMetricStatusCall = setMetricStatusCallArg;
+        }
+
+        @Override
+        public void setMetricStatus(
+                final MetricRequests.SetMetricStatusRequest request,
+                final StreamObserver<BasicResponses.BasicResponse> responseObserver) {
+            setMetricStatusCall.apply(request, responseObserver);
+        }
+    }
+
     static class DeviceStub extends DeviceServiceGrpc.DeviceServiceImplBase {
         private BiFunction<
                         DeviceRequests.GetRemovableDescriptorsOfClassRequest,
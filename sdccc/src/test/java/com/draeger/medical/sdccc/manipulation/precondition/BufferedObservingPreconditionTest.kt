@@ -17,7 +17,13 @@ import org.mockito.Mockito.mock
 import org.mockito.Mockito.times
 import org.mockito.Mockito.verify
 import org.mockito.kotlin.whenever
+import org.somda.sdc.biceps.model.participant.MdibVersion
+import org.somda.sdc.biceps.model.participant.NumericMetricState
+import org.somda.sdc.biceps.model.participant.RealTimeSampleArrayMetricState
+import java.math.BigInteger
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
 import java.util.concurrent.TimeUnit
 import kotlin.test.assertEquals
 import kotlin.test.assertNotEquals
@@ -144,7 +150,116 @@ internal class BufferedObservingPreconditionTest {
         exampleObserving.observeChange(mock<MdibChange.Metric>())
     }
 
+    @Test
+    internal fun `test overflow policies bound the buffer`() {
+        // Arrange
+        val processingStarted = CountDownLatch(1)
+        val releaseProcessing = CountDownLatch(1)
+        val receivedChanges = LinkedBlockingQueue<MdibChange>()
+        val exampleObserving = object : BufferedObservingPrecondition(
+            injector = mock<Injector>(),
+            capacity = 2,
+            overflowPolicies = mapOf(
+                MdibChange.Waveform::class.java to BufferOverflowPolicy.COALESCE,
+                MdibChange.Metric::class.java to BufferOverflowPolicy.SAMPLE,
+            ),
+            samplingInterval = 2,
+        ) {
+            override fun processChange(change: MdibChange) {
+                processingStarted.countDown()
+                releaseProcessing.await()
+                receivedChanges.add(change)
+            }
+        }
+
+        // block the processing thread with the first change
+        val blockingChange = metricChange(0, "metric")
+        exampleObserving.observeChange(blockingChange)
+        assertTrue(processingStarted.await(TIME_TO_WAIT_FOR_CHANGE_MILLIS, TimeUnit.MILLISECONDS))
+
+        // Act
+        val firstWaveform = waveformChange(1, "waveform1")
+        val secondWaveform = waveformChange(2, "waveform1")
+        val coalescedWaveform = waveformChange(3, "waveform2")
+        val description = MdibChange.Description(mdibVersion(4), emptyList(), emptyList(), emptyList())
+        val droppedMetric = metricChange(5, "metric")
+        val sampledMetric = metricChange(6, "metric")
+        listOf(firstWaveform, secondWaveform, coalescedWaveform, description, droppedMetric, sampledMetric)
+            .forEach { exampleObserving.observeChange(it) }
+
+        // Assert
+        assertEquals(4, exampleObserving.queueDepth)
+        assertEquals(1L, exampleObserving.coalescedChanges)
+        assertEquals(1L, exampleObserving.droppedChanges)
+
+        releaseProcessing.countDown()
+        val processedChanges = (0 until 5).map {
+            receivedChanges.poll(TIME_TO_WAIT_FOR_CHANGE_MILLIS, TimeUnit.MILLISECONDS)
+        }
+        val mergedWaveform = processedChanges[2] as MdibChange.Waveform
+        assertEquals(listOf(blockingChange, firstWaveform), processedChanges.take(2))
+        assertEquals(coalescedWaveform.mdibVersion, mergedWaveform.mdibVersion)
+        assertEquals(
+            secondWaveform.states.getValue(MDS) + coalescedWaveform.states.getValue(MDS),
+            mergedWaveform.states.getValue(MDS)
+        )
+        assertEquals(listOf(description, sampledMetric), processedChanges.drop(3))
+        assertEquals(0, exampleObserving.queueDepth)
+    }
+
+    @Test
+    internal fun `test metric changes are kept by default`() {
+        // Arrange
+        val processingStarted = CountDownLatch(1)
+        val releaseProcessing = CountDownLatch(1)
+        val receivedChanges = LinkedBlockingQueue<MdibChange>()
+        val exampleObserving = object : BufferedObservingPrecondition(
+            injector = mock<Injector>(),
+            capacity = 1,
+        ) {
+            override fun processChange(change: MdibChange) {
+                processingStarted.countDown()
+                releaseProcessing.await()
+                receivedChanges.add(change)
+            }
+        }
+
+        // block the processing thread with the first change
+        exampleObserving.observeChange(metricChange(0, "metric"))
+        assertTrue(processingStarted.await(TIME_TO_WAIT_FOR_CHANGE_MILLIS, TimeUnit.MILLISECONDS))
+
+        // Act
+        val metricChanges = (1L..3L).map { metricChange(it, "metric") }
+        metricChanges.forEach { exampleObserving.observeChange(it) }
+
+        // Assert
+        assertEquals(3, exampleObserving.queueDepth)
+        assertEquals(0L, exampleObserving.droppedChanges)
+
+        releaseProcessing.countDown()
+        val processedChanges = (0 until 4).map {
+            receivedChanges.poll(TIME_TO_WAIT_FOR_CHANGE_MILLIS, TimeUnit.MILLISECONDS)
+        }
+        assertEquals(metricChanges, processedChanges.drop(1))
+    }
+
+    private fun mdibVersion(version: Long) = MdibVersion(SEQUENCE_ID, BigInteger.valueOf(version))
+
+    private fun metricChange(version: Long, handle: String): MdibChange.Metric {
+        val state = NumericMetricState()
+        state.descriptorHandle = handle
+        return MdibChange.Metric(mdibVersion(version), mapOf(MDS to listOf(state)))
+    }
+
+    private fun waveformChange(version: Long, handle: String): MdibChange.Waveform {
+        val state = RealTimeSampleArrayMetricState()
+        state.descriptorHandle = handle
+        return MdibChange.Waveform(mdibVersion(version), mapOf(MDS to listOf(state)))
+    }
+
     companion object {
         private const val TIME_TO_WAIT_FOR_CHANGE_MILLIS = 60_000L
+        private const val MDS = "mds"
+        private const val SEQUENCE_ID = "urn:uuid:sequence"
     }
 }
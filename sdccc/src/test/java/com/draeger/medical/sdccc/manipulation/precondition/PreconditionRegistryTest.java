@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -19,6 +20,7 @@ import static org.mockito.Mockito.when;
 
 import com.draeger.medical.sdccc.messages.MessageStorage;
 import com.google.inject.Injector;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import kotlin.reflect.KClass;
@@ -32,11 +34,13 @@ import org.junit.jupiter.api.Test;
 public class PreconditionRegistryTest {
 
     private PreconditionRegistry registry;
+    private MessageStorage messageStorageMock;
 
     @BeforeEach
     void setUp() {
         final var mockInjector = mock(Injector.class);
-        final var messageStorageMock = mock(MessageStorage.class);
+        messageStorageMock = mock(MessageStorage.class);
+        when(messageStorageMock.awaitIngestion(anyLong())).thenReturn(CompletableFuture.completedFuture(null));
         when(mockInjector.getInstance(MessageStorage.class)).thenReturn(messageStorageMock);
 
         registry = new PreconditionRegistry(mockInjector);
@@ -73,6 +77,24 @@ public class PreconditionRegistryTest {
         assertTrue(manipulationWasCalled.get());
     }
 
+    /**
+     * Tests whether the data captured up to the end of a precondition is waited for before the next one runs.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    @DisplayName("Tests whether the data captured during a precondition is waited for")
+    public void testPreconditionAwaitsIngestion() throws Exception {
+        final long watermark = 42;
+        when(messageStorageMock.getIngestionWatermark()).thenReturn(watermark);
+
+        registry.registerSimplePrecondition(PreconditionUtil.MockPrecondition.class);
+        registry.runPreconditions();
+
+        verify(messageStorageMock, times(1)).awaitIngestion(watermark);
+        verify(messageStorageMock, times(0)).flush();
+    }
+
     /**
      * Tests whether registering the same precondition interaction thrice only prompts for it once.
      *
@@ -30,6 +30,7 @@ import com.draeger.medical.sdccc.manipulation.precondition.PreconditionException
 import com.draeger.medical.sdccc.marshalling.MarshallingUtil;
 import com.draeger.medical.sdccc.messages.MessageStorage;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.mapping.MessageMetadata;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClientUtil;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
@@ -2192,12 +2193,12 @@ public class ConditionalPreconditionsTest {
         @SuppressWarnings("resource")
         final var mockStorage = mock(MessageStorage.class);
         @SuppressWarnings("unchecked")
-        final MessageStorage.GetterResult<MessageContent> mockGetter = mock(MessageStorage.GetterResult.class);
+        final MessageStorage.GetterResult<MessageMetadata> mockGetter = mock(MessageStorage.GetterResult.class);
         // TriggerEpisodicAlertReportPrecondition
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2215,7 +2216,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2234,7 +2235,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2252,7 +2253,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2270,7 +2271,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2290,7 +2291,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2308,7 +2309,7 @@ public class ConditionalPreconditionsTest {
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
 
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
 
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2490,9 +2491,9 @@ public class ConditionalPreconditionsTest {
         @SuppressWarnings("resource")
         final var mockStorage = mock(MessageStorage.class);
         @SuppressWarnings("unchecked")
-        final MessageStorage.GetterResult<MessageContent> mockGetter = mock(MessageStorage.GetterResult.class);
+        final MessageStorage.GetterResult<MessageMetadata> mockGetter = mock(MessageStorage.GetterResult.class);
         {
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
@@ -2507,12 +2508,12 @@ public class ConditionalPreconditionsTest {
         // just metric reports available
         {
             when(mockGetter.areObjectsPresent()).thenReturn(true).thenReturn(false);
-            when(mockStorage.getInboundMessagesByBodyType(Constants.MSG_EPISODIC_METRIC_REPORT))
+            when(mockStorage.getInboundMessageMetadataByBodyType(Constants.MSG_EPISODIC_METRIC_REPORT))
                     .thenReturn(mockGetter);
             @SuppressWarnings("unchecked")
-            final MessageStorage.GetterResult<MessageContent> mockGetter2 = mock(MessageStorage.GetterResult.class);
+            final MessageStorage.GetterResult<MessageMetadata> mockGetter2 = mock(MessageStorage.GetterResult.class);
             when(mockGetter2.areObjectsPresent()).thenReturn(false);
-            when(mockStorage.getInboundMessagesByBodyType(
+            when(mockStorage.getInboundMessageMetadataByBodyType(
                             Constants.MSG_EPISODIC_ALERT_REPORT,
                             Constants.MSG_EPISODIC_COMPONENT_REPORT,
                             Constants.MSG_EPISODIC_OPERATIONAL_STATE_REPORT,
@@ -2531,7 +2532,7 @@ public class ConditionalPreconditionsTest {
         // no reports available
         {
             when(mockGetter.areObjectsPresent()).thenReturn(false);
-            when(mockStorage.getInboundMessagesByBodyType(any(QName[].class))).thenReturn(mockGetter);
+            when(mockStorage.getInboundMessageMetadataByBodyType(any(QName[].class))).thenReturn(mockGetter);
             final var injector = Guice.createInjector(new AbstractModule() {
                 @Override
                 protected void configure() {
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
 import com.draeger.medical.sdccc.manipulation.ManipulationResponse;
 import com.draeger.medical.sdccc.manipulation.Manipulations;
 import com.draeger.medical.sdccc.manipulation.ResultResponse;
@@ -215,6 +216,8 @@ public class ManipulationPreconditionsTest {
                     @Override
                     protected void defaultConfigure() {
                         bind(BICEPS_547_TIME_INTERVAL, long.class, 1L);
+                        // manipulations whose state change is not reported shall not delay the tests
+                        bind(TestSuiteConfig.MANIPULATION_STATE_CHANGE_TIMEOUT, long.class, 1L);
                     }
                 });
 
@@ -1276,6 +1279,9 @@ public class ManipulationPreconditionsTest {
         when(mockDevice.getMdibAccess().getMdibVersion().getSequenceId()).thenReturn(MdibBuilder.DEFAULT_SEQUENCE_ID);
         when(mockDevice.getMdibAccess().findEntitiesByType(AbstractMetricDescriptor.class))
                 .thenReturn(List.of(mockEntity, mockEntity2));
+        // dispatch the manipulations of all metrics to the manipulations of the single metrics
+        when(mockManipulations.setMetricStatus(anyString(), anyList(), eq(category), eq(endState)))
+                .thenCallRealMethod();
         // let setMetricStatus manipulation for first handle be successful
         when(mockManipulations.setMetricStatus(
                         eq(MdibBuilder.DEFAULT_SEQUENCE_ID), eq(metricHandle), eq(category), eq(endState)))
@@ -0,0 +1,181 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.util.BodyCompression;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.somda.sdc.dpws.CommunicationLog;
+import org.somda.sdc.dpws.soap.ApplicationInfo;
+import org.somda.sdc.dpws.soap.CommunicationContext;
+import org.somda.sdc.dpws.soap.TransportInfo;
+
+/**
+ * Unit tests for the {@linkplain CompressingMessageBodyStorage}.
+ */
+public class TestCompressingMessageBodyStorage {
+
+    private static final String REPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<s12:Envelope xmlns:s12=\"http://www.w3.org/2003/05/soap-envelope\""
+            + " xmlns:wsa=\"http://www.w3.org/2005/08/addressing\""
+            + " xmlns:msg=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/message\""
+            + " xmlns:pm=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/participant\">"
+            + "<s12:Header><wsa:Action>"
+            + "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/EpisodicMetricReport"
+            + "</wsa:Action><wsa:MessageID>urn:uuid:3f1c2d4e-1234-4abc-9def-0123456789ab</wsa:MessageID>"
+            + "</s12:Header><s12:Body>"
+            + "<msg:EpisodicMetricReport MdibVersion=\"12\" SequenceId=\"urn:uuid:abc\"><msg:ReportPart>"
+            + "<msg:MetricState xsi:type=\"pm:NumericMetricState\" StateVersion=\"3\""
+            + " DescriptorHandle=\"mds0_metric\" DescriptorVersion=\"0\">"
+            + "<pm:MetricValue Value=\"12.5\" DeterminationTime=\"1700000000\">"
+            + "<pm:MetricQuality Validity=\"Vld\"></pm:MetricQuality></pm:MetricValue>"
+            + "</msg:MetricState></msg:ReportPart></msg:EpisodicMetricReport></s12:Body></s12:Envelope>";
+
+    /**
+     * Tests whether bodies kept in the database are compressed and decompressed transparently on access.
+     *
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testDatabaseStorage() throws IOException {
+        final byte[] body = REPORT.getBytes(StandardCharsets.UTF_8);
+        try (final var bodyStorage = new CompressingMessageBodyStorage(new DatabaseMessageBodyStorage())) {
+            final var content = createMessageContent(body);
+            bodyStorage.store(content);
+
+            assertEquals(BodyCompression.DEFLATE_DICTIONARY, content.getBodyCompression());
+            assertTrue(content.getStoredBody().length < body.length / 2);
+            assertArrayEquals(body, content.getRawBody());
+            assertEquals(REPORT, content.getBody());
+        }
+    }
+
+    /**
+     * Tests whether the compressed bodies are appended to the log and decompressed after loading them.
+     *
+     * @param dir log directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testLogStorage(@TempDir final Path dir) throws IOException {
+        final byte[] body = REPORT.getBytes(StandardCharsets.UTF_8);
+        try (final var logStorage = new LogMessageBodyStorage(dir, LogMessageBodyStorage.SEGMENT_SIZE);
+                final var bodyStorage = new CompressingMessageBodyStorage(logStorage)) {
+            final var first = createMessageContent(body);
+            final var second = createMessageContent(body);
+            bodyStorage.store(first);
+            bodyStorage.store(second);
+
+            assertNotNull(first.getBodyLength());
+            assertTrue(first.getBodyLength() < body.length / 2);
+            assertEquals((long) first.getBodyLength(), second.getBodyOffset());
+
+            first.setBodyStorage(bodyStorage);
+            second.setBodyStorage(bodyStorage);
+            assertEquals(REPORT, first.getBody());
+            assertArrayEquals(body, second.getRawBody());
+        }
+    }
+
+    /**
+     * Tests whether bodies which would not get smaller are stored uncompressed.
+     *
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testIncompressibleBody() throws IOException {
+        final byte[] body = "x".getBytes(StandardCharsets.UTF_8);
+        try (final var bodyStorage = new CompressingMessageBodyStorage(new DatabaseMessageBodyStorage())) {
+            final var content = createMessageContent(body);
+            bodyStorage.store(content);
+
+            assertNull(content.getBodyCompression());
+            assertArrayEquals(body, content.getStoredBody());
+            assertEquals("x", content.getBody());
+        }
+    }
+
+    /**
+     * Tests whether corrupted and unknown compressed bodies are rejected.
+     */
+    @Test
+    public void testCorruptedBody() {
+        final byte[] compressed = BodyCompression.compress(REPORT.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(
+                DataFormatException.class,
+                () -> BodyCompression.decompress(
+                        BodyCompression.DEFLATE_DICTIONARY, Arrays.copyOf(compressed, compressed.length / 2)));
+        assertThrows(DataFormatException.class, () -> BodyCompression.decompress("Unknown", compressed));
+    }
+
+    /**
+     * Tests whether length prefixes which the compressed body cannot satisfy are rejected before allocating the body
+     * and whether a stream which stops making progress is rejected instead of looping.
+     */
+    @Test
+    public void testInvalidLength() {
+        final byte[] compressed = BodyCompression.compress(REPORT.getBytes(StandardCharsets.UTF_8));
+
+        final byte[] negative = compressed.clone();
+        ByteBuffer.wrap(negative).putInt(-1);
+        assertThrows(
+                DataFormatException.class,
+                () -> BodyCompression.decompress(BodyCompression.DEFLATE_DICTIONARY, negative));
+
+        final byte[] oversized = compressed.clone();
+        ByteBuffer.wrap(oversized).putInt(Integer.MAX_VALUE);
+        assertThrows(
+                DataFormatException.class,
+                () -> BodyCompression.decompress(BodyCompression.DEFLATE_DICTIONARY, oversized));
+
+        // the stream is complete but shorter than announced
+        final byte[] longer = compressed.clone();
+        ByteBuffer.wrap(longer).putInt(REPORT.length() + 1);
+        assertThrows(
+                DataFormatException.class,
+                () -> BodyCompression.decompress(BodyCompression.DEFLATE_DICTIONARY, longer));
+    }
+
+    private static MessageContent createMessageContent(final byte[] body) {
+        return new MessageContent(
+                ByteBuffer.wrap(body),
+                StandardCharsets.UTF_8,
+                "",
+                new CommunicationContext(
+                        new ApplicationInfo(),
+                        new TransportInfo("http", null, null, null, null, Collections.emptyList()),
+                        null),
+                CommunicationLog.Direction.INBOUND,
+                CommunicationLog.MessageType.REQUEST,
+                0,
+                0,
+                Collections.emptyList(),
+                Set.of(),
+                UUID.randomUUID().toString(),
+                true,
+                null);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.messages;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.somda.sdc.dpws.CommunicationLog;
+import org.somda.sdc.dpws.soap.ApplicationInfo;
+import org.somda.sdc.dpws.soap.CommunicationContext;
+import org.somda.sdc.dpws.soap.TransportInfo;
+
+/**
+ * Unit tests for the {@linkplain LogMessageBodyStorage}.
+ */
+public class TestLogMessageBodyStorage {
+
+    /**
+     * Tests whether stored bodies are replaced by their location in the log and can be loaded again.
+     *
+     * @param dir test run directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testStoreAndLoad(@TempDir final File dir) throws IOException {
+        final var bodyStorage = new LogMessageBodyStorage(dir);
+        try (bodyStorage) {
+            final var first = createMessageContent("first body");
+            final var second = createMessageContent("second body");
+
+            bodyStorage.store(first);
+            bodyStorage.store(second);
+
+            assertEquals(0, first.getBodySegment());
+            assertEquals(0, first.getBodyOffset());
+            assertEquals(0, second.getBodySegment());
+            assertEquals("first body".length(), second.getBodyOffset());
+
+            first.setBodyStorage(bodyStorage);
+            second.setBodyStorage(bodyStorage);
+            assertEquals("first body", first.getBody());
+            assertEquals("second body", second.getBody());
+        }
+        assertThrows(IOException.class, () -> bodyStorage.store(createMessageContent("closed")));
+    }
+
+    /**
+     * Tests whether a new segment is started once a body does not fit into the current segment anymore.
+     *
+     * @param dir log directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testSegmentRoll(@TempDir final Path dir) throws IOException {
+        final byte[] body = "0123456789".getBytes(StandardCharsets.UTF_8);
+        try (final var bodyStorage = new LogMessageBodyStorage(dir, 25)) {
+            final var contents = List.of(
+                    createMessageContent(body), createMessageContent(body), createMessageContent(body));
+            for (final MessageContent content : contents) {
+                bodyStorage.store(content);
+            }
+
+            assertEquals(0, contents.get(0).getBodySegment());
+            assertEquals(0, contents.get(1).getBodySegment());
+            assertEquals(10, contents.get(1).getBodyOffset());
+            assertEquals(1, contents.get(2).getBodySegment());
+            assertEquals(0, contents.get(2).getBodyOffset());
+            try (final var segments = Files.list(dir)) {
+                assertEquals(2, segments.count());
+            }
+
+            for (final MessageContent content : contents) {
+                assertArrayEquals(body, bodyStorage.load(content));
+            }
+        }
+    }
+
+    /**
+     * Tests whether a single body larger than the segment size is stored in a segment of its own.
+     *
+     * @param dir log directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testBodyLargerThanSegment(@TempDir final Path dir) throws IOException {
+        final byte[] body = "0123456789".getBytes(StandardCharsets.UTF_8);
+        try (final var bodyStorage = new LogMessageBodyStorage(dir, 5)) {
+            final var content = createMessageContent(body);
+            bodyStorage.store(content);
+
+            assertEquals(0, content.getBodySegment());
+            assertEquals(0, content.getBodyOffset());
+            assertArrayEquals(body, bodyStorage.load(content));
+        }
+    }
+
+    /**
+     * Tests whether the bodies logged by a previous test run are read from its directory when re-evaluating it and
+     * whether new bodies are rejected without modifying the message or writing to the new test run directory.
+     *
+     * @param dir directory containing the test run directories
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testReadOnly(@TempDir final File dir) throws IOException {
+        final File previousRun = new File(dir, "previous");
+        final File currentRun = new File(dir, "current");
+        final var logged = createMessageContent("logged body");
+        try (final var bodyStorage = new LogMessageBodyStorage(previousRun)) {
+            bodyStorage.store(logged);
+        }
+
+        try (final var bodyStorage = new LogMessageBodyStorage(currentRun, previousRun.getAbsolutePath())) {
+            logged.setBodyStorage(bodyStorage);
+            assertEquals("logged body", logged.getBody());
+
+            final var rejected = createMessageContent("rejected body");
+            assertThrows(IOException.class, () -> bodyStorage.store(rejected));
+            assertNull(rejected.getBodySegment());
+            assertEquals("rejected body", rejected.getBody());
+        }
+        assertFalse(currentRun.exists());
+    }
+
+    /**
+     * Tests whether bodies captured off-heap are written from their buffer and whether detached bodies no longer
+     * depend on it, i.e. whether the buffer can be reused afterwards.
+     *
+     * @param dir log directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testCapturedBody(@TempDir final Path dir) throws IOException {
+        final byte[] body = "0123456789".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body).flip();
+        try (final var bodyStorage = new LogMessageBodyStorage(dir, 25)) {
+            final var logged = createMessageContent(buffer);
+            final var detached = createMessageContent(buffer);
+            bodyStorage.store(logged);
+            detached.detachCapturedBody();
+
+            // the buffer is reused for another body
+            buffer.clear();
+            buffer.put(new byte[body.length]);
+
+            assertEquals(body.length, logged.getBodyLength());
+            assertArrayEquals(body, bodyStorage.load(logged));
+            assertArrayEquals(body, detached.getRawBody());
+        }
+    }
+
+    /**
+     * Tests whether loading a body which has not been stored in the log fails.
+     *
+     * @param dir log directory
+     */
+    @Test
+    public void testLoadWithoutLocation(@TempDir final Path dir) {
+        try (final var bodyStorage = new LogMessageBodyStorage(dir, 5)) {
+            final var content = createMessageContent("body");
+            assertNull(content.getBodyLength());
+            assertThrows(IOException.class, () -> bodyStorage.load(content));
+        }
+    }
+
+    private static MessageContent createMessageContent(final String body) {
+        return createMessageContent(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageContent createMessageContent(final byte[] body) {
+        return createMessageContent(ByteBuffer.wrap(body));
+    }
+
+    private static MessageContent createMessageContent(final ByteBuffer body) {
+        return new MessageContent(
+                body,
+                StandardCharsets.UTF_8,
+                "",
+                new CommunicationContext(
+                        new ApplicationInfo(),
+                        new TransportInfo("http", null, null, null, null, Collections.emptyList()),
+                        null),
+                CommunicationLog.Direction.INBOUND,
+                CommunicationLog.MessageType.REQUEST,
+                0,
+                0,
+                Collections.emptyList(),
+                Set.of(),
+                UUID.randomUUID().toString(),
+                true,
+                null);
+    }
+}
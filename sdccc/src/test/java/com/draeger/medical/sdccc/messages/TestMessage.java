@@ -7,8 +7,10 @@
 
 package com.draeger.medical.sdccc.messages;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -24,6 +26,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
@@ -136,4 +139,86 @@ public class TestMessage {
             });
         }
     }
+
+    /**
+     * Tests whether a message capturing its body off-heap grows its buffer as needed and returns it to the pool after
+     * being released.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testOffHeapMessageWriteAndClose() throws Exception {
+        final CommunicationContext mockContext = mock(CommunicationContext.class, RETURNS_DEEP_STUBS);
+        final MessageStorage mockStorage = mock(MessageStorage.class);
+        final var bufferPool = new MessageBufferPool(true);
+
+        final Message message = new Message(
+                CommunicationLog.Direction.INBOUND,
+                CommunicationLog.MessageType.RESPONSE,
+                mockContext,
+                mockStorage,
+                bufferPool);
+
+        // exceed the initial buffer using bulk and single byte writes
+        final var testBytes = new byte[MessageBufferPool.MINIMUM_BUFFER_SIZE * 3 + 1];
+        for (int i = 0; i < testBytes.length; i++) {
+            testBytes[i] = (byte) i;
+        }
+        message.write(testBytes, 0, MessageBufferPool.MINIMUM_BUFFER_SIZE - 1);
+        message.write(testBytes[MessageBufferPool.MINIMUM_BUFFER_SIZE - 1]);
+        message.write(testBytes[MessageBufferPool.MINIMUM_BUFFER_SIZE]);
+        message.write(
+                testBytes,
+                MessageBufferPool.MINIMUM_BUFFER_SIZE + 1,
+                testBytes.length - MessageBufferPool.MINIMUM_BUFFER_SIZE - 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> message.write(testBytes, testBytes.length, 1));
+
+        message.close();
+        verify(mockStorage, times(1)).addMessage(message);
+        assertTrue(message.isClosed());
+        assertThrows(IOException.class, () -> message.write(testBytes, 0, 1));
+
+        final ByteBuffer body = message.getBody();
+        assertTrue(body.isDirect());
+        assertTrue(body.isReadOnly());
+        final var bodyBytes = new byte[body.remaining()];
+        body.get(bodyBytes);
+        assertArrayEquals(testBytes, bodyBytes);
+        assertArrayEquals(testBytes, message.getFinalMemory());
+        // each call provides an independent view
+        assertEquals(testBytes.length, message.getBody().remaining());
+
+        final var capacity = message.getBody().capacity();
+        message.release();
+        final var reused = bufferPool.acquire(capacity);
+        assertEquals(capacity, reused.capacity());
+        assertEquals(0, reused.position());
+        bufferPool.release(reused);
+        assertSame(reused, bufferPool.acquire(capacity));
+    }
+
+    /**
+     * Tests whether a message created with a disabled pool buffers its body on the heap.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testDisabledBufferPool() throws Exception {
+        final CommunicationContext mockContext = mock(CommunicationContext.class, RETURNS_DEEP_STUBS);
+        final MessageStorage mockStorage = mock(MessageStorage.class);
+
+        final Message message = new Message(
+                CommunicationLog.Direction.INBOUND,
+                CommunicationLog.MessageType.RESPONSE,
+                mockContext,
+                mockStorage,
+                new MessageBufferPool(false));
+
+        final var testBytes = "Testäöó".getBytes(StandardCharsets.UTF_8);
+        message.write(testBytes, 1, testBytes.length - 1);
+        message.close();
+
+        assertFalse(message.getBody().isDirect());
+        assertArrayEquals(Arrays.copyOfRange(testBytes, 1, testBytes.length), message.getFinalMemory());
+    }
 }
@@ -7,11 +7,13 @@
 
 package com.draeger.medical.sdccc.messages;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -20,6 +22,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -28,7 +31,11 @@ import static org.mockito.Mockito.when;
 import com.draeger.medical.sdccc.messages.guice.MessageFactory;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationData;
 import com.draeger.medical.sdccc.messages.mapping.ManipulationParameter;
+import com.draeger.medical.sdccc.messages.mapping.MdibCheckpoint;
 import com.draeger.medical.sdccc.messages.mapping.MessageContent;
+import com.draeger.medical.sdccc.messages.mapping.MessageContentCollection;
+import com.draeger.medical.sdccc.messages.mapping.MessageMetadata;
+import com.draeger.medical.sdccc.messages.util.MessageUtil;
 import com.draeger.medical.sdccc.tests.util.ManipulationParameterUtil;
 import com.draeger.medical.sdccc.util.CertificateUtil;
 import com.draeger.medical.sdccc.util.Constants;
@@ -39,18 +46,29 @@ import com.google.common.collect.ListMultimap;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
@@ -74,6 +92,8 @@ import org.somda.sdc.dpws.soap.TransportInfo;
  */
 public class TestMessageStorage {
 
+    private static final long TIMEOUT_SECONDS = 10;
+
     private static final String BASE_MESSAGE_STRING =
             "<s12:Envelope xmlns:dom=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/participant\" "
                     + "xmlns:dpws=\"http://docs.oasis-open.org/ws-dd/ns/dpws/2009/01\" "
@@ -611,6 +631,370 @@ public class TestMessageStorage {
         }
     }
 
+    /**
+     * Tests whether all messages written from multiple threads have been committed once flush returns, each with its
+     * own generated id.
+     *
+     * @param dir message storage directory
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testFlushCommitsAllMessages(@TempDir final File dir) throws Exception {
+        final int threadCount = 4;
+        final int messagesPerThread = 250;
+        try (final MessageStorage messageStorage = new MessageStorage(
+                10, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            final List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int writer = t;
+                writers.add(new Thread(() -> {
+                    for (int i = 0; i < messagesPerThread; i++) {
+                        try (final Message message = new Message(
+                                CommunicationLog.Direction.INBOUND,
+                                CommunicationLog.MessageType.REQUEST,
+                                this.messageContext,
+                                messageStorage)) {
+                            message.write(String.format("body_%s_%s", writer, i).getBytes(StandardCharsets.UTF_8));
+                        } catch (final IOException e) {
+                            fail(e);
+                        }
+                    }
+                }));
+            }
+            writers.forEach(Thread::start);
+            for (final Thread writer : writers) {
+                writer.join();
+            }
+
+            messageStorage.flush();
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessages()) {
+                final Set<String> bodies = inboundMessages
+                        .getStream()
+                        .map(MessageContent::getBody)
+                        .collect(Collectors.toSet());
+                assertEquals(threadCount * messagesPerThread, bodies.size());
+                assertTrue(bodies.contains("body_0_0"));
+                assertTrue(bodies.contains(String.format("body_%s_%s", threadCount - 1, messagesPerThread - 1)));
+            }
+        }
+        verify(this.testRunObserver, times(0)).invalidateTestRun(any(Throwable.class));
+        verify(this.testRunObserver, times(0)).invalidateTestRun(anyString(), any(Throwable.class));
+    }
+
+    /**
+     * Tests whether the database ids are allocated from database sequences and not from tables emulating them.
+     *
+     * @param dir message storage directory
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testIdsAllocatedFromSequences(@TempDir final File dir) throws Exception {
+        try (final MessageStorage messageStorage = new MessageStorage(
+                1, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            try (final Message message = new Message(
+                    CommunicationLog.Direction.INBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    this.messageContext,
+                    messageStorage)) {
+                message.write("body".getBytes(StandardCharsets.UTF_8));
+            }
+            messageStorage.flush();
+
+            final String url = "jdbc:derby:"
+                    + Path.of(dir.getAbsolutePath(), HibernateConfigImpl.DATABASE_DIRECTORY_NAME);
+            try (final Connection connection = DriverManager.getConnection(url);
+                    final Statement statement = connection.createStatement()) {
+                assertEquals(1, count(statement, "SYS.SYSSEQUENCES WHERE SEQUENCENAME = 'MESSAGE_CONTENT_SEQ'"));
+                assertEquals(0, count(statement, "SYS.SYSTABLES WHERE TABLENAME = 'MESSAGE_CONTENT_SEQ'"));
+            }
+        }
+        verify(this.testRunObserver, times(0)).invalidateTestRun(anyString(), any(Throwable.class));
+    }
+
+    private static int count(final Statement statement, final String from) throws SQLException {
+        try (final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + from)) {
+            assertTrue(resultSet.next());
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Tests whether every message passes the capture, parse and persist stage and no stage holds any entries once
+     * flush returns.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testIngestionStatistics(@TempDir final File dir) throws IOException {
+        final int messageCount = 50;
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            for (int i = 0; i < messageCount; i++) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        this.messageContext,
+                        messageStorage)) {
+                    message.write(String.format("body_%s", i).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            messageStorage.flush();
+
+            final List<IngestionStatistics> statistics = messageStorage.getIngestionStatistics();
+            assertEquals(
+                    List.of("capture", "parse", "persist"),
+                    statistics.stream().map(IngestionStatistics::stage).toList());
+            for (final IngestionStatistics stage : statistics) {
+                assertEquals(messageCount, stage.processedEntries(), stage.stage());
+                assertEquals(0, stage.queuedEntries(), stage.stage());
+                assertTrue(stage.maximumQueuedEntries() > 0, stage.stage());
+            }
+        }
+    }
+
+    /**
+     * Tests whether reports are retrieved ordered by MdibVersion from the report index, regardless of the order in
+     * which they have been received, and whether outbound reports are not part of the index.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testReportIndex(@TempDir final File dir) throws IOException {
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            final List<Map.Entry<CommunicationLog.Direction, String>> reports = List.of(
+                    Map.entry(CommunicationLog.Direction.INBOUND, String.format(SEQUENCE_ID_METRIC_BODY_STRING, 3, 1)),
+                    Map.entry(CommunicationLog.Direction.INBOUND, String.format(SEQUENCE_ID_METRIC_BODY_STRING, 5, 2)),
+                    Map.entry(CommunicationLog.Direction.INBOUND, String.format(SEQUENCE_ID_METRIC_BODY_STRING, 1, 1)),
+                    Map.entry(CommunicationLog.Direction.OUTBOUND, String.format(SEQUENCE_ID_METRIC_BODY_STRING, 0, 1)),
+                    Map.entry(CommunicationLog.Direction.INBOUND, String.format(SEQUENCE_ID_METRIC_BODY_STRING, 2, 1)));
+            for (final Map.Entry<CommunicationLog.Direction, String> report : reports) {
+                try (final Message message = new Message(
+                        report.getKey(), CommunicationLog.MessageType.REQUEST, this.messageContext, messageStorage)) {
+                    message.write(String.format(BASE_MESSAGE_STRING, "action", report.getValue())
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            messageStorage.flush();
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessagesByBodyTypeAndSequenceId(
+                            "urn:uuid:1", Constants.MSG_EPISODIC_METRIC_REPORT)) {
+                final List<Long> mdibVersions = inboundMessages
+                        .getStream()
+                        .map(content -> content.getMdibVersionGroups().get(0).getMdibVersion())
+                        .toList();
+                assertEquals(List.of(1L, 2L, 3L), mdibVersions);
+            }
+
+            try (final MessageStorage.GetterResult<MessageMetadata> metadata =
+                    messageStorage.getInboundMessageMetadataByBodyType(Constants.MSG_EPISODIC_METRIC_REPORT)) {
+                assertEquals(
+                        List.of(1L, 2L, 3L, 5L),
+                        metadata.getStream().map(MessageMetadata::mdibVersion).toList());
+            }
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessagesByBodyType(Constants.MSG_EPISODIC_ALERT_REPORT)) {
+                assertFalse(inboundMessages.areObjectsPresent());
+            }
+        }
+    }
+
+    /**
+     * Tests whether body elements carrying an MdibVersionGroup which are not part of the report index, e.g. a
+     * GetContextStatesResponse, are still retrieved, alone as well as together with indexed reports.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testUnindexedBodyType(@TempDir final File dir) throws IOException {
+        final var getContextStatesResponse =
+                new QName(CommonConstants.NAMESPACE_MESSAGE, "GetContextStatesResponse", "msg");
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            final List<String> bodies = List.of(
+                    String.format(SEQUENCE_ID_METRIC_BODY_STRING, 1, 1),
+                    "<msg:GetContextStatesResponse MdibVersion=\"2\" SequenceId=\"urn:uuid:1\"/>",
+                    String.format(SEQUENCE_ID_METRIC_BODY_STRING, 3, 1));
+            for (final String body : bodies) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.RESPONSE,
+                        this.messageContext,
+                        messageStorage)) {
+                    message.write(
+                            String.format(BASE_MESSAGE_STRING, "action", body).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            messageStorage.flush();
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessagesByBodyType(false, getContextStatesResponse)) {
+                final List<MessageContent> messages = inboundMessages.getStream().toList();
+                assertEquals(1, messages.size());
+                assertEquals(
+                        getContextStatesResponse.toString(),
+                        messages.get(0).getMdibVersionGroups().get(0).getBodyElement());
+            }
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessagesByBodyType(
+                            false, getContextStatesResponse, Constants.MSG_EPISODIC_METRIC_REPORT)) {
+                assertEquals(3, inboundMessages.getStream().count());
+            }
+
+            // filtering by MdibVersion requires a body element supporting MdibVersion sorting
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> messageStorage.getInboundMessagesByTimeIntervalAndBodyType(
+                            0, Long.MAX_VALUE, getContextStatesResponse));
+        }
+    }
+
+    /**
+     * Tests whether the future returned by awaitIngestion completes once all messages up to the ingestion watermark
+     * have been committed and whether the watermarks reflect the added messages.
+     *
+     * @param dir message storage directory
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testAwaitIngestion(@TempDir final File dir) throws Exception {
+        final int messageCount = 20;
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            assertEquals(0, messageStorage.getIngestionWatermark());
+            assertTrue(messageStorage.awaitIngestion(0).isDone());
+
+            for (int i = 0; i < messageCount; i++) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        this.messageContext,
+                        messageStorage)) {
+                    message.write(String.format("body_%s", i).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            final long watermark = messageStorage.getIngestionWatermark();
+            assertEquals(messageCount, watermark);
+
+            messageStorage.awaitIngestion(watermark).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertTrue(messageStorage.getCommittedWatermark() >= watermark);
+            try (final MessageStorage.GetterResult<MessageContent> messageContentGetterResult =
+                    messageStorage.getInboundMessages()) {
+                assertEquals(messageCount, messageContentGetterResult.getStream().count());
+            }
+        }
+    }
+
+    /**
+     * Tests whether all messages are persisted when ingested through a ring buffer which is considerably smaller than
+     * the number of messages, i.e. whose slots are reused while messages are captured.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testRingBufferIngestion(@TempDir final File dir) throws IOException {
+        final int messageCount = 50;
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5,
+                false,
+                true,
+                mock(MessageFactory.class),
+                new HibernateConfigImpl(dir),
+                new DatabaseMessageBodyStorage(),
+                new IngestionPipelineFactory(
+                        IngestionPipelineFactory.RING_BUFFER, 8, IngestionPipelineFactory.BLOCKING_WAIT),
+                this.testRunObserver)) {
+            for (int i = 0; i < messageCount; i++) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        this.messageContext,
+                        messageStorage)) {
+                    message.write(String.format("body_%s", i).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            messageStorage.flush();
+
+            try (final MessageStorage.GetterResult<MessageContent> messageContentGetterResult =
+                    messageStorage.getInboundMessages()) {
+                assertEquals(messageCount, messageContentGetterResult.getStream().count());
+            }
+            for (final IngestionStatistics stage : messageStorage.getIngestionStatistics()) {
+                assertEquals(messageCount, stage.processedEntries(), stage.stage());
+                assertEquals(0, stage.queuedEntries(), stage.stage());
+            }
+        }
+        verify(this.testRunObserver, times(0)).invalidateTestRun(anyString());
+        verify(this.testRunObserver, times(0)).invalidateTestRun(anyString(), any(Throwable.class));
+    }
+
+    /**
+     * Tests whether bodies stored in the append-only log are loaded when retrieving messages from storage.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testGetMessagesWithLogBodyStorage(@TempDir final File dir) throws IOException {
+        try (final MessageStorage messageStorage = new MessageStorage(
+                3,
+                false,
+                true,
+                mock(MessageFactory.class),
+                new HibernateConfigImpl(dir),
+                new LogMessageBodyStorage(dir),
+                this.testRunObserver)) {
+            final String inbound = String.format(
+                    BASE_MESSAGE_STRING, "action", String.format(SEQUENCE_ID_METRIC_BODY_STRING, "5", "1"));
+
+            try (final Message message = new Message(
+                    CommunicationLog.Direction.OUTBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    this.messageContext,
+                    messageStorage)) {
+                message.write("outbound_body".getBytes(StandardCharsets.UTF_8));
+            }
+
+            try (final Message message = new Message(
+                    CommunicationLog.Direction.INBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    this.messageContext,
+                    messageStorage)) {
+                message.write(inbound.getBytes(StandardCharsets.UTF_8));
+            }
+
+            messageStorage.flush();
+
+            try (final MessageStorage.GetterResult<MessageContent> inboundMessages =
+                    messageStorage.getInboundMessages()) {
+                final List<MessageContent> messages = inboundMessages.getStream().toList();
+                assertEquals(1, messages.size());
+                assertNotNull(messages.get(0).getBodyLength());
+                assertEquals(inbound, messages.get(0).getBody());
+                assertArrayEquals(
+                        inbound.getBytes(StandardCharsets.UTF_8),
+                        messages.get(0).getBodyInputStream().readAllBytes());
+            }
+
+            try (final MessageStorage.GetterResult<MessageContent> outboundMessages =
+                    messageStorage.getOutboundMessages()) {
+                assertEquals(
+                        List.of("outbound_body"),
+                        outboundMessages.getStream().map(MessageContent::getBody).toList());
+            }
+        }
+        verify(this.testRunObserver, times(0)).invalidateTestRun(any(Throwable.class));
+    }
+
     /**
      * Tests whether only outbound messages are retrieved from storage.
      *
@@ -970,6 +1354,135 @@ public class TestMessageStorage {
         }
     }
 
+    /**
+     * Tests whether the collections of incoming HTTP messages are fetched in batches when requested.
+     *
+     * <p>
+     * The messages are accessed after the stream has been closed, the lazily loaded collections would not be
+     * accessible anymore unless they have been fetched with the batch.
+     *
+     * @param dir message storage directory
+     * @throws IOException          on io exceptions
+     * @throws CertificateException on dummy cert read errors
+     */
+    @Test
+    public void testGetInboundHttpMessagesWithFetchedCollections(@TempDir final File dir)
+            throws IOException, CertificateException {
+        final var messageCount = 5;
+        // fetch size not dividing the number of messages, resulting in a partial last batch
+        try (final MessageStorage messageStorage = new MessageStorage(
+                5, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir, 2), this.testRunObserver)) {
+
+            final X509Certificate certificate = CertificateUtil.getDummyCert();
+            for (int i = 0; i < messageCount; i++) {
+                final ListMultimap<String, String> multimap = ArrayListMultimap.create();
+                multimap.putAll("index", List.of(String.valueOf(i), "repeated"));
+                final CommunicationContext headerContext = new CommunicationContext(
+                        new HttpApplicationInfo(multimap, "transactionId" + i, null),
+                        new TransportInfo(
+                                Constants.HTTPS_SCHEME, null, null, null, null, Collections.singletonList(certificate)),
+                        null);
+
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        headerContext,
+                        messageStorage)) {
+                    message.write(String.format(BASE_MESSAGE_STRING, String.valueOf(i), "<msg:some_body/>")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            messageStorage.flush();
+
+            final List<MessageContent> messages;
+            try (final var inboundMessages = messageStorage.getInboundHttpMessages(Set.of(
+                    MessageContentCollection.HEADERS,
+                    MessageContentCollection.ACTIONS,
+                    MessageContentCollection.CERTIFICATES))) {
+                assertTrue(inboundMessages.areObjectsPresent());
+                messages = inboundMessages.getStream().toList();
+            }
+
+            assertEquals(messageCount, messages.size());
+            for (final MessageContent message : messages) {
+                final var index = message.getActions().stream().findFirst().orElseThrow();
+                assertEquals(Set.of(index), message.getActions());
+                assertEquals(Map.of("index", List.of(index, "repeated")), message.getHeaders());
+                assertEquals(List.of(certificate), message.getCerts());
+            }
+            assertEquals(
+                    Set.of("0", "1", "2", "3", "4"),
+                    messages.stream()
+                            .flatMap(message -> message.getActions().stream())
+                            .collect(Collectors.toSet()));
+        }
+    }
+
+    /**
+     * Tests whether a read only storage provides the messages captured in a previous run without modifying them.
+     *
+     * @param dir message storage directory
+     * @throws IOException          on io exceptions
+     * @throws CertificateException on certificate exceptions
+     */
+    @Test
+    public void testReadOnlyStorageOfPreviousRun(@TempDir final File dir) throws IOException, CertificateException {
+        final var messageCount = 3;
+        try (final MessageStorage messageStorage = new MessageStorage(
+                1, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            for (int i = 0; i < messageCount; i++) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        getCommunicationContext(ArrayListMultimap.create()),
+                        messageStorage)) {
+                    message.write(String.format(BASE_MESSAGE_STRING, String.valueOf(i), "<msg:some_body/>")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        verify(this.testRunObserver, times(0)).invalidateTestRun(anyString());
+
+        try (final MessageStorage messageStorage = new MessageStorage(
+                1,
+                false,
+                true,
+                mock(MessageFactory.class),
+                new HibernateConfigImpl(dir, HibernateConfigBase.DEFAULT_FETCH_SIZE, true),
+                this.testRunObserver)) {
+            final MessageBufferPool bufferPool = spy(new MessageBufferPool(true));
+            try (final Message message = new Message(
+                    CommunicationLog.Direction.INBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    getCommunicationContext(ArrayListMultimap.create()),
+                    messageStorage,
+                    bufferPool)) {
+                message.write(String.format(BASE_MESSAGE_STRING, "additional", "<msg:some_body/>")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            messageStorage.flush();
+            verify(this.testRunObserver).invalidateTestRun(anyString());
+            // the rejected message must return its buffer to the pool nonetheless
+            verify(bufferPool, times(1)).release(any(ByteBuffer.class));
+
+            messageStorage.storeMdibCheckpoint(new MdibCheckpoint(
+                    "urn:uuid:sequence", 1, 1, "<checkpoint/>", UUID.randomUUID().toString()));
+
+            try (final var inboundMessages =
+                    messageStorage.getInboundHttpMessages(Set.of(MessageContentCollection.ACTIONS))) {
+                assertEquals(
+                        Set.of("0", "1", "2"),
+                        inboundMessages.getStream()
+                                .flatMap(message -> message.getActions().stream())
+                                .collect(Collectors.toSet()));
+            }
+            try (final var checkpoints = messageStorage.getMdibCheckpoints("urn:uuid:sequence", Long.MAX_VALUE)) {
+                assertFalse(checkpoints.areObjectsPresent());
+            }
+        }
+    }
+
     /**
      * Test the header search and subquery linkage to the main query through the entity IDs.
      *
@@ -1191,6 +1704,65 @@ public class TestMessageStorage {
         }
     }
 
+    /**
+     * Tests whether the metadata of inbound messages is retrieved sorted by MdibVersion and filtered by body type.
+     *
+     * @param dir message storage directory
+     * @throws IOException on io exceptions
+     */
+    @Test
+    public void testGetInboundMessageMetadataByBodyType(@TempDir final File dir) throws IOException {
+        try (final MessageStorage messageStorage = new MessageStorage(
+                6, false, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            final var metricReport = new QName(CommonConstants.NAMESPACE_MESSAGE, "EpisodicMetricReport", "msg");
+            final var alertReport = new QName(CommonConstants.NAMESPACE_MESSAGE, "EpisodicAlertReport", "msg");
+
+            for (final String mdibVersion : List.of("3", "1", "2")) {
+                try (final Message message = new Message(
+                        CommunicationLog.Direction.INBOUND,
+                        CommunicationLog.MessageType.REQUEST,
+                        this.messageContext,
+                        messageStorage)) {
+                    message.write(String.format(
+                                    BASE_MESSAGE_STRING,
+                                    "action",
+                                    String.format(SEQUENCE_ID_METRIC_BODY_STRING, mdibVersion, "1"))
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            try (final Message message = new Message(
+                    CommunicationLog.Direction.OUTBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    this.messageContext,
+                    messageStorage)) {
+                message.write(String.format(
+                                BASE_MESSAGE_STRING, "action", String.format(SEQUENCE_ID_METRIC_BODY_STRING, "0", "1"))
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+
+            messageStorage.flush();
+
+            try (final var metadata = messageStorage.getInboundMessageMetadataByBodyType(metricReport)) {
+                assertTrue(metadata.areObjectsPresent());
+                final var metadataList = metadata.getStream().toList();
+                assertEquals(
+                        List.of(1L, 2L, 3L),
+                        metadataList.stream().map(MessageMetadata::mdibVersion).toList());
+                for (final MessageMetadata entry : metadataList) {
+                    assertEquals("urn:uuid:1", entry.sequenceId());
+                    assertEquals(metricReport.toString(), entry.bodyElement());
+                    assertNotNull(entry.uuid());
+                }
+            }
+
+            try (final var metadata = messageStorage.getInboundMessageMetadataByBodyType(alertReport)) {
+                assertFalse(metadata.areObjectsPresent());
+                assertEquals(0, metadata.getStream().count());
+            }
+        }
+    }
+
     /**
      * Tests whether only inbound messages matching the body type and sequence id are retrieved.
      *
@@ -1393,7 +1965,8 @@ public class TestMessageStorage {
         when(mockMessage1.getMessageType()).thenReturn(CommunicationLog.MessageType.REQUEST);
         when(mockMessage1.getCommunicationContext()).thenReturn(this.messageContext);
         when(mockMessage1.getNanoTimestamp()).thenReturn(timestamp);
-        when(mockMessage1.getFinalMemory()).thenReturn(messageContent2.getBytes(StandardCharsets.UTF_8));
+        when(mockMessage1.getBody())
+                .thenAnswer(invocation -> ByteBuffer.wrap(messageContent2.getBytes(StandardCharsets.UTF_8)));
         messageStorage.addMessage(mockMessage1);
     }
 
@@ -1619,7 +2192,8 @@ public class TestMessageStorage {
             when(mockMessage.getMessageType()).thenReturn(CommunicationLog.MessageType.RESPONSE);
             when(mockMessage.getCommunicationContext()).thenReturn(this.messageContext);
             when(mockMessage.getNanoTimestamp()).thenReturn(finishInterval + 10000);
-            when(mockMessage.getFinalMemory()).thenReturn(messageContent2.getBytes(StandardCharsets.UTF_8));
+            when(mockMessage.getBody())
+                    .thenAnswer(invocation -> ByteBuffer.wrap(messageContent2.getBytes(StandardCharsets.UTF_8)));
             messageStorage.addMessage(mockMessage);
 
             messageStorage.flush();
@@ -2806,6 +3380,62 @@ public class TestMessageStorage {
         }
     }
 
+    /**
+     * Checks that convertMessageToMessageContent() keeps the body as received and extracts actions, MdibVersionGroups
+     * and the hash from the received bytes.
+     *
+     * @param dir - a temporary directory.
+     * @throws IOException - when something goes wrong.
+     */
+    @Test
+    public void testConvertMessageToMessageContentKeepsRawBody(@TempDir final File dir) throws IOException {
+        final Charset charset = StandardCharsets.UTF_16LE;
+
+        try (final MessageStorage messageStorage = new MessageStorage(
+                1, true, true, mock(MessageFactory.class), new HibernateConfigImpl(dir), this.testRunObserver)) {
+            // given
+            final ListMultimap<String, String> headers = ArrayListMultimap.create();
+            headers.put("Content-Type", String.format("application/soap+xml;charset=%s", charset));
+
+            final CommunicationContext communicationContext = new CommunicationContext(
+                    new HttpApplicationInfo(headers, "transactionId", "requestURI"),
+                    new TransportInfo("http", "localhost", 1234, "remotehost", 4567, List.of()),
+                    null);
+            final Message message = new Message(
+                    CommunicationLog.Direction.INBOUND,
+                    CommunicationLog.MessageType.REQUEST,
+                    communicationContext,
+                    messageStorage);
+            final String content = String.format("<?xml version=\"1.0\" encoding=\"%s\"?>", charset)
+                    + String.format(
+                            BASE_MESSAGE_STRING, "action", String.format(SEQUENCE_ID_ALERT_BODY_STRING, "7", "1"));
+            final byte[] encodedContent = content.getBytes(charset);
+            message.write(encodedContent, 0, encodedContent.length);
+            message.close();
+
+            // when
+            final var result = messageStorage.convertMessageToMessageContent(message);
+
+            // then
+            assertArrayEquals(encodedContent, result.getRawBody());
+            assertEquals(charset, result.getBodyCharset());
+            assertEquals(content, result.getBody());
+            assertArrayEquals(
+                    content.getBytes(StandardCharsets.UTF_8),
+                    result.getBodyInputStream().readAllBytes());
+
+            // the hash is computed over the UTF-8 encoded body, independent of the charset of the body
+            assertEquals(MessageUtil.hashMessage(content), result.getMessageHash());
+
+            assertTrue(result.getIsSOAP());
+            assertEquals(Set.of("action"), result.getActions());
+            assertEquals(1, result.getMdibVersionGroups().size());
+            final var mdibVersionGroup = result.getMdibVersionGroups().get(0);
+            assertEquals(7, mdibVersionGroup.getMdibVersion());
+            assertEquals("urn:uuid:1", mdibVersionGroup.getSequenceId());
+        }
+    }
+
     /**
      * Checks that convertMessageToMessageContent() fails when it detects a decoding problem in the message.
      *
@@ -0,0 +1,112 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.sdcri.testclient
+
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.Answers
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.somda.sdc.biceps.model.participant.ComponentActivation
+import org.somda.sdc.biceps.model.participant.MdibVersion
+import org.somda.sdc.biceps.model.participant.NumericMetricState
+import java.math.BigInteger
+import java.time.Duration
+import java.util.Optional
+import kotlin.concurrent.thread
+
+/**
+ * Test for the [MdibConditionAwaiter].
+ */
+internal class MdibConditionAwaiterTest {
+
+    private fun metricChange(version: Long, activation: ComponentActivation): MdibChange.Metric {
+        val state = NumericMetricState()
+        state.descriptorHandle = METRIC_HANDLE
+        state.activationState = activation
+        return MdibChange.Metric(MdibVersion(SEQUENCE_ID, BigInteger.valueOf(version)), mapOf("mds" to listOf(state)))
+    }
+
+    @Test
+    fun testAwaitStateChange() {
+        // Arrange
+        val testClient = mock<TestClient>()
+        val awaiter = MdibConditionAwaiter(
+            testClient,
+            MdibConditionAwaiter.stateChange(METRIC_HANDLE, NumericMetricState::class.java) {
+                it.activationState == ComponentActivation.ON
+            }
+        )
+        verify(testClient).registerMdibObserver(awaiter)
+
+        // Act & Assert
+        awaiter.onMetricChange(metricChange(1, ComponentActivation.OFF))
+        assertFalse(awaiter.await(SHORT_TIMEOUT), "Awaiter must not be satisfied by a non-matching change")
+
+        val reporter = thread {
+            Thread.sleep(SHORT_TIMEOUT.toMillis())
+            awaiter.onMetricChange(metricChange(2, ComponentActivation.ON))
+        }
+        assertTrue(awaiter.await(LONG_TIMEOUT), "Awaiter must be woken up by the matching change")
+        reporter.join()
+
+        awaiter.close()
+        verify(testClient).unregisterMdibObserver(awaiter)
+    }
+
+    @Test
+    fun testAwaitMdibVersion() {
+        // Arrange
+        val awaiter = MdibConditionAwaiter(
+            mock<TestClient>(),
+            MdibConditionAwaiter.mdibVersionReached(MdibVersion(SEQUENCE_ID, BigInteger.valueOf(2)))
+        )
+
+        // Act & Assert
+        awaiter.onMetricChange(metricChange(1, ComponentActivation.ON))
+        awaiter.onMetricChange(
+            MdibChange.Metric(MdibVersion("urn:uuid:other", BigInteger.TEN), emptyMap())
+        )
+        assertFalse(awaiter.await(SHORT_TIMEOUT), "Awaiter must not be satisfied by earlier or other sequences")
+
+        awaiter.onMetricChange(metricChange(3, ComponentActivation.ON))
+        assertTrue(awaiter.await(SHORT_TIMEOUT), "Awaiter must be satisfied by a later version")
+    }
+
+    @Test
+    fun testAwaitCurrentState() {
+        // Arrange
+        val testClient = mock<TestClient>(defaultAnswer = Answers.RETURNS_DEEP_STUBS)
+        val state = metricChange(1, ComponentActivation.ON).states.getValue("mds").first() as NumericMetricState
+        whenever(testClient.sdcRemoteDevice.mdibAccess.getState(METRIC_HANDLE, NumericMetricState::class.java))
+            .thenReturn(Optional.of(state))
+
+        // Act & Assert
+        assertTrue(
+            MdibConditionAwaiter.awaitState(testClient, METRIC_HANDLE, NumericMetricState::class.java, LONG_TIMEOUT) {
+                it.activationState == ComponentActivation.ON
+            },
+            "A state already matching the predicate must not be awaited"
+        )
+        assertFalse(
+            MdibConditionAwaiter.awaitState(testClient, METRIC_HANDLE, NumericMetricState::class.java, SHORT_TIMEOUT) {
+                it.activationState == ComponentActivation.OFF
+            },
+            "A state not matching the predicate must time out"
+        )
+    }
+
+    companion object {
+        private const val METRIC_HANDLE = "metric"
+        private const val SEQUENCE_ID = "urn:uuid:sequence"
+        private val SHORT_TIMEOUT = Duration.ofMillis(100)
+        private val LONG_TIMEOUT = Duration.ofSeconds(10)
+    }
+}
@@ -27,6 +27,7 @@ internal class TestClientMdibAccessObserverTest {
 
     internal class CollectingObserver : TestClientMdibObserver {
         val collected = mutableListOf<MdibChange>()
+        val revisions = mutableListOf<MdibAccess>()
 
         override fun onAlertChange(alert: MdibChange.Alert) {
             collected.add(alert)
@@ -55,6 +56,10 @@ internal class TestClientMdibAccessObserverTest {
         override fun onWaveformChange(waveform: MdibChange.Waveform) {
             collected.add(waveform)
         }
+
+        override fun onRevision(mdibAccess: MdibAccess) {
+            revisions.add(mdibAccess)
+        }
     }
 
     @Test
@@ -117,6 +122,10 @@ internal class TestClientMdibAccessObserverTest {
             assert(obs.collected[4] is MdibChange.Metric)
             assert(obs.collected[5] is MdibChange.Operation)
             assert(obs.collected[6] is MdibChange.Waveform)
+
+            // every change is followed by the mdib it has been applied to
+            assert(obs.revisions.size == 7)
+            assert(obs.revisions.all { it === mockMdibAccess })
         }
     }
 }
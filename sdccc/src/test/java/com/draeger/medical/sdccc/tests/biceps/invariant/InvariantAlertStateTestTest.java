@@ -306,14 +306,26 @@ public class InvariantAlertStateTestTest {
         messageStorageUtil.addInboundSecureHttpMessage(storage, first);
 
         assertThrows(AssertionError.class, () -> testClass.testRequirementR00290());
+    }
 
-        final var second = buildEpisodicAlertReport(
+    /**
+     * Tests whether setting the presence attribute of an alert condition state to "true" while the activation state of
+     * the alert condition state is not set to "On" causes the test to fail, even though the alert system state is "On".
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testRequirementR0029BadAlertConditionOff() throws Exception {
+        final var initial = buildMdib(SEQUENCE_ID, BigInteger.ZERO, BigInteger.ZERO, false);
+
+        final var first = buildEpisodicAlertReport(
                 SEQUENCE_ID,
-                BigInteger.TWO,
+                BigInteger.ONE,
                 buildAlertSystemState(VMD_ALERT_SYSTEM_HANDLE, AlertActivation.ON),
                 buildAlertConditionState(VMD_ALERT_CONDITION_HANDLE, AlertActivation.OFF, true));
 
-        messageStorageUtil.addInboundSecureHttpMessage(storage, second);
+        messageStorageUtil.addInboundSecureHttpMessage(storage, initial);
+        messageStorageUtil.addInboundSecureHttpMessage(storage, first);
 
         assertThrows(AssertionError.class, () -> testClass.testRequirementR00290());
     }
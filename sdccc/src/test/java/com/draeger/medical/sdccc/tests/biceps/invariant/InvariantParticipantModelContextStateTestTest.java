@@ -69,6 +69,7 @@ public class InvariantParticipantModelContextStateTestTest {
     private static MdibBuilder mdibBuilder;
     private static MessageBuilder messageBuilder;
     private InvariantParticipantModelContextStateTest testClass;
+    private TestClient mockClient;
     private MessageStorage storage;
     private JaxbMarshalling baseMarshalling;
     private SoapMarshalling marshalling;
@@ -83,7 +84,7 @@ public class InvariantParticipantModelContextStateTestTest {
 
     @BeforeEach
     void setUp() throws IOException, TimeoutException {
-        final TestClient mockClient = mock(TestClient.class);
+        mockClient = mock(TestClient.class);
         when(mockClient.isClientRunning()).thenReturn(true);
 
         final Injector injector = InjectorUtil.setupInjector(new AbstractModule() {
@@ -116,6 +117,25 @@ public class InvariantParticipantModelContextStateTestTest {
         storage.close();
     }
 
+    /**
+     * Creates a new test class on the same message storage, as every check is only evaluated once per injector.
+     *
+     * @throws IOException on error creating the injector
+     */
+    private void resetTestClass() throws IOException {
+        final Injector injector = InjectorUtil.setupInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(TestClient.class).toInstance(mockClient);
+                bind(MessageStorage.class).toInstance(storage);
+            }
+        });
+        InjectorTestBase.setInjector(injector);
+
+        testClass = new InvariantParticipantModelContextStateTest();
+        testClass.setUp();
+    }
+
     /**
      * Tests whether calling the tests without any input data causes a failure.
      */
@@ -128,6 +148,7 @@ public class InvariantParticipantModelContextStateTestTest {
         final var initial = buildMultiMdsMdib(SEQUENCE_ID, false, false, false, true, BigInteger.ZERO);
         messageStorageUtil.addInboundSecureHttpMessage(storage, initial);
 
+        resetTestClass();
         assertThrows(NoTestData.class, testClass::testRequirementR0124);
     }
 
@@ -191,14 +212,17 @@ public class InvariantParticipantModelContextStateTestTest {
         messageStorageUtil.addInboundSecureHttpMessage(storage, second);
         messageStorageUtil.addInboundSecureHttpMessage(storage, third);
         // throws because only one patient associated
+        resetTestClass();
         assertThrows(NoTestData.class, testClass::testRequirementR0124);
 
         // passes because second patient was present for first descriptor
         messageStorageUtil.addInboundSecureHttpMessage(storage, fourth);
+        resetTestClass();
         testClass.testRequirementR0124();
 
         // still passes because first sequence was acceptable
         messageStorageUtil.addInboundSecureHttpMessage(storage, initialSecondSequence);
+        resetTestClass();
         testClass.testRequirementR0124();
     }
 
@@ -309,6 +333,7 @@ public class InvariantParticipantModelContextStateTestTest {
         final var initial = buildMultiMdsMdib(SEQUENCE_ID, false, false, false, true, BigInteger.ZERO);
         messageStorageUtil.addInboundSecureHttpMessage(storage, initial);
 
+        resetTestClass();
         assertThrows(NoTestData.class, testClass::testRequirementR0133);
     }
 
@@ -392,14 +417,17 @@ public class InvariantParticipantModelContextStateTestTest {
         messageStorageUtil.addInboundSecureHttpMessage(storage, fourth);
         messageStorageUtil.addInboundSecureHttpMessage(storage, fifth);
         // throws because only one location associated
+        resetTestClass();
         assertThrows(NoTestData.class, testClass::testRequirementR0133);
 
         // passes because second location was present for first descriptor
         messageStorageUtil.addInboundSecureHttpMessage(storage, sixth);
+        resetTestClass();
         testClass.testRequirementR0133();
 
         // still passes because first sequence was acceptable
         messageStorageUtil.addInboundSecureHttpMessage(storage, initialSecondSequence);
+        resetTestClass();
         testClass.testRequirementR0133();
     }
 
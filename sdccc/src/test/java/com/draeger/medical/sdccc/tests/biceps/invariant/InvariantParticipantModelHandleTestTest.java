@@ -7,6 +7,7 @@
 
 package com.draeger.medical.sdccc.tests.biceps.invariant;
 
+import static com.draeger.medical.sdccc.tests.biceps.invariant.InvariantParticipantModelHandleTest.isWithinPermittedASCIIRange;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -191,20 +192,20 @@ public class InvariantParticipantModelHandleTestTest {
     public void testPermittedASCIIRange() {
         // below lower bound
         for (int i = 0; i < LOWER_BOUND; i++) {
-            assertFalse(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(i))));
+            assertFalse(isWithinPermittedASCIIRange(new String(Character.toChars(i))));
         }
         // lower boundaries
         final int outOfLowerBound = 0x20;
-        assertFalse(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(outOfLowerBound))));
-        assertTrue(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(LOWER_BOUND))));
+        assertFalse(isWithinPermittedASCIIRange(new String(Character.toChars(outOfLowerBound))));
+        assertTrue(isWithinPermittedASCIIRange(new String(Character.toChars(LOWER_BOUND))));
         // valid
         for (int i = LOWER_BOUND; i <= UPPER_BOUND; i++) {
-            assertTrue(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(i))));
+            assertTrue(isWithinPermittedASCIIRange(new String(Character.toChars(i))));
         }
         // upper boundaries
         final int outOfUpperBound = 0x7F;
-        assertTrue(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(UPPER_BOUND))));
-        assertFalse(testClass.isWithinPermittedASCIIRange(new String(Character.toChars(outOfUpperBound))));
+        assertTrue(isWithinPermittedASCIIRange(new String(Character.toChars(UPPER_BOUND))));
+        assertFalse(isWithinPermittedASCIIRange(new String(Character.toChars(outOfUpperBound))));
     }
 
     /**
@@ -44,6 +44,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.cert.CertificateException;
 import java.time.Duration;
 import java.util.List;
@@ -4537,7 +4538,8 @@ public class InvariantParticipantModelStatePartTestTest {
         when(message.getDirection()).thenReturn(CommunicationLog.Direction.INBOUND);
         when(message.getNanoTimestamp()).thenReturn(timestamp);
         when(message.getMessageType()).thenReturn(CommunicationLog.MessageType.RESPONSE);
-        when(message.getFinalMemory()).thenReturn(getMessageBytes(envelope));
+        final var messageBytes = getMessageBytes(envelope);
+        when(message.getBody()).thenAnswer(invocation -> ByteBuffer.wrap(messageBytes));
         when(message.getCommunicationContext()).thenReturn(createCommunicationContext());
         return message;
     }
@@ -281,6 +281,17 @@ public class InvariantParticipantModelVersioningTestTest {
         final var initialMdib = buildMdib(null, null);
         messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
         assertThrows(NoTestData.class, testClass::testRequirementR0033);
+    }
+
+    /**
+     * Tests whether a description modification without inserted or deleted children fails the test.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testRequirementR0033BadNoChildrenChanged() throws Exception {
+        final var initialMdib = buildMdib(null, null);
+        messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
 
         final var firstUpdate = buildDescriptionModificationReport(
                 SEQUENCE_ID, BigInteger.ONE, BigInteger.ONE, BigInteger.ONE, BigInteger.ONE, null);
@@ -510,7 +521,7 @@ public class InvariantParticipantModelVersioningTestTest {
         final T b = (T) a.clone();
         modification.modify(b);
 
-        assertEquals(expectedResult, testClass.hasDescriptorChanged(a, b));
+        assertEquals(expectedResult, InvariantParticipantModelVersioningTest.hasDescriptorChanged(a, b));
     }
 
     /**
@@ -641,8 +652,18 @@ public class InvariantParticipantModelVersioningTestTest {
         final var initialMdib = buildMdib(null, null);
         messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
         assertThrows(NoTestData.class, testClass::testRequirementR0034);
+    }
+
+    /**
+     * Tests whether a single changed descriptor is sufficient test data.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testRequirementR0034GoodMinimalData() throws Exception {
+        final var initialMdib = buildMdib(null, null);
+        messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
 
-        // should no longer throw
         final var firstUpdate = buildDescriptionModificationReport(
                 SEQUENCE_ID, BigInteger.ONE, BigInteger.ONE, BigInteger.ONE, BigInteger.ONE, null);
         messageStorageUtil.addInboundSecureHttpMessage(storage, firstUpdate);
@@ -657,12 +678,30 @@ public class InvariantParticipantModelVersioningTestTest {
     @Test
     public void testRequirementR0038NoTestData() throws Exception {
         assertThrows(NoTestData.class, testClass::testRequirementR0038);
+    }
 
+    /**
+     * Tests whether an initial mdib without any changes fails the test.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testRequirementR0038NoTestDataInitialMdibOnly() throws Exception {
         final var initialMdib = buildMdib(null, null);
         messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
         assertThrows(NoTestData.class, testClass::testRequirementR0038);
+    }
+
+    /**
+     * Tests whether a single changed state is sufficient test data.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    public void testRequirementR0038GoodMinimalData() throws Exception {
+        final var initialMdib = buildMdib(null, null);
+        messageStorageUtil.addInboundSecureHttpMessage(storage, initialMdib);
 
-        // should no longer throw
         final var firstUpdate = buildDescriptionModificationReport(
                 SEQUENCE_ID,
                 BigInteger.ONE,
@@ -13,6 +13,8 @@ import com.draeger.medical.sdccc.configuration.DefaultTestSuiteModule;
 import com.draeger.medical.sdccc.configuration.TestRunConfig;
 import com.draeger.medical.sdccc.configuration.TestSuiteConfig;
 import com.draeger.medical.sdccc.messages.HibernateConfig;
+import com.draeger.medical.sdccc.messages.IngestionPipelineFactory;
+import com.draeger.medical.sdccc.messages.guice.MessageBodyStorageProvider;
 import com.draeger.medical.sdccc.util.HibernateConfigInMemoryImpl;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
@@ -66,6 +68,22 @@ public final class InjectorUtil {
                             @Override
                             protected void configureCommlogSettings() {
                                 bind(TestSuiteConfig.COMMLOG_MESSAGE_BUFFER_SIZE, int.class, 1);
+                                bind(TestSuiteConfig.COMMLOG_OFF_HEAP_CAPTURE, Boolean.class, false);
+                                bind(
+                                        TestSuiteConfig.COMMLOG_BODY_STORAGE,
+                                        String.class,
+                                        MessageBodyStorageProvider.DATABASE);
+                                bind(TestSuiteConfig.COMMLOG_BODY_COMPRESSION, Boolean.class, false);
+                                bind(TestSuiteConfig.COMMLOG_FETCH_SIZE, int.class, 10);
+                                bind(
+                                        TestSuiteConfig.COMMLOG_INGESTION_MODE,
+                                        String.class,
+                                        IngestionPipelineFactory.STAGED);
+                                bind(TestSuiteConfig.COMMLOG_RING_BUFFER_SIZE, int.class, 16);
+                                bind(
+                                        TestSuiteConfig.COMMLOG_RING_BUFFER_WAIT_STRATEGY,
+                                        String.class,
+                                        IngestionPipelineFactory.BLOCKING_WAIT);
                             }
                         },
                         new DefaultEnabledTestConfig(),
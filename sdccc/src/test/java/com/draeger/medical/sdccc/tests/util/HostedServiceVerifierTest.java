@@ -1,6 +1,6 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
@@ -70,6 +70,7 @@ public class HostedServiceVerifierTest {
 
     private TestClient testClient;
     private WsdlRetriever mockRetriever;
+    private WsdlCache wsdlCache;
     private HostedServiceVerifier hostedServiceVerifier;
     private JaxbMarshalling baseMarshalling;
     private WsdlMarshalling wsdlMarshalling;
@@ -97,6 +98,7 @@ public class HostedServiceVerifierTest {
             }
         });
         when(testClient.getInjector()).thenReturn(clientInjector);
+        wsdlCache = clientInjector.getInstance(WsdlCache.class);
 
         baseMarshalling = clientInjector.getInstance(JaxbMarshalling.class);
         baseMarshalling.startAsync().awaitRunning(DEFAULT_TIMEOUT);
@@ -132,7 +134,7 @@ public class HostedServiceVerifierTest {
 
         final String wsdl = loadWsdl(LOW_PRIORITY_WSDL);
         final String wsdl2 = loadWsdl(HIGH_PRIORITY_WSDL);
-        when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, List.of(wsdl, wsdl2)));
+        stubWsdls(Map.of(hostedServiceName, List.of(wsdl, wsdl2)));
 
         hostedServiceVerifier.verifyHostedService(Optional.of(mockHostedService));
     }
@@ -223,7 +225,7 @@ public class HostedServiceVerifierTest {
                     + "\t</wsdl:portType>\n"
                     + "</wsdl:definitions>\n";
 
-            when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, List.of(wsdl)));
+            stubWsdls(Map.of(hostedServiceName, List.of(wsdl)));
 
             hostedServiceVerifier.verifyHostedService(Optional.of(mockHostedService));
         }
@@ -292,7 +294,7 @@ public class HostedServiceVerifierTest {
                     + "\t</wsdl:portType>\n"
                     + "</wsdl:definitions>\n";
 
-            when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, List.of(wsdl)));
+            stubWsdls(Map.of(hostedServiceName, List.of(wsdl)));
 
             assertThrows(
                     AssertionError.class,
@@ -317,7 +319,7 @@ public class HostedServiceVerifierTest {
                     .thenReturn(Map.of(hostedServiceName, mockHostedService));
 
             final String wsdl = loadWsdl(wsdlPath);
-            when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, List.of(wsdl)));
+            stubWsdls(Map.of(hostedServiceName, List.of(wsdl)));
 
             final var error = assertThrows(
                     AssertionError.class,
@@ -345,7 +347,7 @@ public class HostedServiceVerifierTest {
             when(testClient.getHostingServiceProxy().getHostedServices())
                     .thenReturn(Map.of(hostedServiceName, mockHostedService));
 
-            when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, Collections.emptyList()));
+            stubWsdls(Map.of(hostedServiceName, Collections.emptyList()));
 
             final var error = assertThrows(
                     AssertionError.class,
@@ -372,7 +374,7 @@ public class HostedServiceVerifierTest {
                     .thenReturn(Map.of(hostedServiceName, mockHostedService));
 
             final String wsdl = loadWsdl(wsdlPath);
-            when(mockRetriever.retrieveWsdls(any())).thenReturn(Map.of(hostedServiceName, List.of(wsdl, wsdl)));
+            stubWsdls(Map.of(hostedServiceName, List.of(wsdl, wsdl)));
 
             final var error = assertThrows(
                     AssertionError.class,
@@ -382,6 +384,19 @@ public class HostedServiceVerifierTest {
         }
     }
 
+    /**
+     * Lets the retriever provide the given WSDLs, the cache is invalidated as the mocked hosting service proxy does not
+     * change between the calls.
+     *
+     * @param wsdls WSDLs per service id to provide
+     * @throws IOException        never, declared by the stubbed retriever
+     * @throws TransportException never, declared by the stubbed retriever
+     */
+    private void stubWsdls(final Map<String, List<String>> wsdls) throws IOException, TransportException {
+        when(mockRetriever.retrieveWsdls(any())).thenReturn(wsdls);
+        wsdlCache.invalidate();
+    }
+
     private String loadWsdl(final String wsdlPath) throws IOException {
         final String wsdl;
         final var loader = SdcDevice.class.getClassLoader();
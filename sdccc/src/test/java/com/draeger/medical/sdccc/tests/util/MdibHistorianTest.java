@@ -9,6 +9,7 @@ package com.draeger.medical.sdccc.tests.util;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,6 +32,7 @@ import com.draeger.medical.biceps.model.participant.PatientContextState;
 import com.draeger.medical.dpws.soap.model.Envelope;
 import com.draeger.medical.sdccc.marshalling.MarshallingUtil;
 import com.draeger.medical.sdccc.messages.MessageStorage;
+import com.draeger.medical.sdccc.messages.mapping.MessageContent;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
 import com.draeger.medical.sdccc.sdcri.testclient.TestClientUtil;
 import com.draeger.medical.sdccc.tests.InjectorTestBase;
@@ -60,10 +62,13 @@ import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
 import org.somda.sdc.biceps.model.message.AbstractReport;
 import org.somda.sdc.biceps.model.message.OperationInvokedReport;
 import org.somda.sdc.biceps.model.message.SystemErrorReport;
+import org.somda.sdc.biceps.model.participant.AbstractState;
 import org.somda.sdc.biceps.model.participant.CodedValue;
 import org.somda.sdc.biceps.model.participant.LocalizedText;
 import org.somda.sdc.biceps.model.participant.LocalizedTextWidth;
 import org.somda.sdc.biceps.model.participant.MdibVersion;
+import org.somda.sdc.biceps.model.participant.NumericMetricState;
+import org.somda.sdc.biceps.model.participant.StringMetricState;
 import org.somda.sdc.dpws.helper.JaxbMarshalling;
 import org.somda.sdc.dpws.soap.SoapMarshalling;
 import org.somda.sdc.glue.common.ActionConstants;
@@ -85,6 +90,7 @@ public class MdibHistorianTest {
     private static final String SET_STRING_HANDLE = "sadString";
 
     private MdibHistorianFactory historianFactory;
+    private UnmarshalledMessageCache unmarshalledMessageCache;
     private MessageStorageUtil messageStorageUtil;
     private MessageBuilder messageBuilder;
     private MessageStorage storage;
@@ -96,6 +102,7 @@ public class MdibHistorianTest {
     void setUp() throws IOException {
         final Injector historianInjector = TestClientUtil.createClientInjector();
         historianFactory = historianInjector.getInstance(MdibHistorianFactory.class);
+        unmarshalledMessageCache = historianInjector.getInstance(UnmarshalledMessageCache.class);
 
         final Injector marshallingInjector = MarshallingUtil.createMarshallingTestInjector(true);
         messageStorageUtil = marshallingInjector.getInstance(MessageStorageUtil.class);
@@ -1179,6 +1186,216 @@ public class MdibHistorianTest {
         assertDoesNotThrow(() -> historianUnderTest.applyReportOnStorage(mdibAccess, report));
     }
 
+    /**
+     * Tests whether the mdib retrieved using checkpoints equals the mdib retrieved by replaying the whole history.
+     */
+    @Test
+    void testUniqueEpisodicReportBasedMdibUntilTimestamp() throws Exception {
+        final var reportCount = MdibHistorian.CHECKPOINT_INTERVAL * 2 + 10;
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildMdibEnvelope(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ZERO));
+        for (int i = 1; i <= reportCount; i++) {
+            messageStorageUtil.addInboundSecureHttpMessage(
+                    storage,
+                    buildEpisodicMetricReport(
+                            MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.valueOf(i), BigInteger.valueOf(i)));
+        }
+
+        // the first timestamp belongs to the mdib, the following ones to the reports in order
+        final List<Long> timestamps;
+        try (final var messages = storage.getInboundMessages()) {
+            timestamps = messages.getStream()
+                    .map(MessageContent::getNanoTimestamp)
+                    .sorted()
+                    .toList();
+        }
+
+        final var mockObserver = mock(TestRunObserver.class);
+        final var historian = historianFactory.createMdibHistorian(storage, mockObserver);
+
+        // walking the unique history does not persist any checkpoints
+        try (final var history = historian.uniqueEpisodicReportBasedHistory(MdibBuilder.DEFAULT_SEQUENCE_ID)) {
+            RemoteMdibAccess historyMdib = history.next();
+            while (historyMdib != null) {
+                historyMdib = history.next();
+            }
+        }
+        try (final var checkpoints = storage.getMdibCheckpoints(MdibBuilder.DEFAULT_SEQUENCE_ID, Long.MAX_VALUE)) {
+            assertFalse(checkpoints.areObjectsPresent());
+        }
+
+        // no report before the first report
+        assertTrue(historian
+                .uniqueEpisodicReportBasedMdibUntilTimestamp(MdibBuilder.DEFAULT_SEQUENCE_ID, timestamps.get(1))
+                .isEmpty());
+
+        for (final int appliedReports :
+                List.of(5, MdibHistorian.CHECKPOINT_INTERVAL, MdibHistorian.CHECKPOINT_INTERVAL * 2 + 3)) {
+            final var mdib = historian
+                    .uniqueEpisodicReportBasedMdibUntilTimestamp(
+                            MdibBuilder.DEFAULT_SEQUENCE_ID, timestamps.get(appliedReports + 1))
+                    .orElseThrow();
+            assertEquals(BigInteger.valueOf(appliedReports), mdib.getMdibVersion().getVersion());
+            assertEquals(
+                    BigInteger.valueOf(appliedReports),
+                    mdib.getState(STRING_METRIC_HANDLE).orElseThrow().getStateVersion());
+        }
+
+        final var mdib = historian
+                .uniqueEpisodicReportBasedMdibUntilTimestamp(MdibBuilder.DEFAULT_SEQUENCE_ID, Long.MAX_VALUE)
+                .orElseThrow();
+        assertEquals(BigInteger.valueOf(reportCount), mdib.getMdibVersion().getVersion());
+
+        // checkpoints are created before the 101st and the 201st report
+        try (final var checkpoints = storage.getMdibCheckpoints(MdibBuilder.DEFAULT_SEQUENCE_ID, Long.MAX_VALUE)) {
+            assertEquals(2, checkpoints.getStream().count());
+        }
+    }
+
+    /**
+     * Tests whether the state timeline yields the same states as replaying the history until a timestamp.
+     */
+    @Test
+    void testUniqueEpisodicReportBasedStateTimeline() throws Exception {
+        final var reportCount = 20;
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildMdibEnvelope(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ZERO));
+        for (int i = 1; i <= reportCount; i++) {
+            messageStorageUtil.addInboundSecureHttpMessage(
+                    storage,
+                    buildEpisodicMetricReport(
+                            MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.valueOf(i), BigInteger.valueOf(i)));
+        }
+
+        // the first timestamp belongs to the mdib, the following ones to the reports in order
+        final List<Long> timestamps;
+        try (final var messages = storage.getInboundMessages()) {
+            timestamps = messages.getStream()
+                    .map(MessageContent::getNanoTimestamp)
+                    .sorted()
+                    .toList();
+        }
+
+        final var mockObserver = mock(TestRunObserver.class);
+        final var historian = historianFactory.createMdibHistorian(storage, mockObserver);
+        final var timeline = historian.uniqueEpisodicReportBasedStateTimeline(
+                MdibBuilder.DEFAULT_SEQUENCE_ID, Set.of(STRING_METRIC_HANDLE));
+
+        // no report before the first report, the initial state is known nonetheless
+        assertFalse(timeline.hasReportBefore(timestamps.get(1)));
+        assertEquals(
+                BigInteger.ZERO,
+                timeline.getStateUntilTimestamp(STRING_METRIC_HANDLE, timestamps.get(1), StringMetricState.class)
+                        .orElseThrow()
+                        .getStateVersion());
+
+        for (final int appliedReports : List.of(1, 7, reportCount)) {
+            final var timestamp = appliedReports == reportCount ? Long.MAX_VALUE : timestamps.get(appliedReports + 1);
+            assertTrue(timeline.hasReportBefore(timestamp));
+            final var expectedState = historian
+                    .uniqueEpisodicReportBasedMdibUntilTimestamp(MdibBuilder.DEFAULT_SEQUENCE_ID, timestamp)
+                    .orElseThrow()
+                    .getState(STRING_METRIC_HANDLE, StringMetricState.class)
+                    .orElseThrow();
+            final var state = timeline.getStateUntilTimestamp(STRING_METRIC_HANDLE, timestamp, StringMetricState.class)
+                    .orElseThrow();
+            assertEquals(BigInteger.valueOf(appliedReports), state.getStateVersion());
+            assertEquals(expectedState, state);
+            assertEquals(
+                    state,
+                    timeline.getStateAtMdibVersion(
+                                    STRING_METRIC_HANDLE, BigInteger.valueOf(appliedReports), StringMetricState.class)
+                            .orElseThrow());
+        }
+
+        // handles which are not part of the timeline and unexpected types are not found
+        assertTrue(timeline.getStateUntilTimestamp(CHANNEL_HANDLE, Long.MAX_VALUE, AbstractState.class)
+                .isEmpty());
+        assertTrue(timeline.getStateUntilTimestamp(STRING_METRIC_HANDLE, Long.MAX_VALUE, NumericMetricState.class)
+                .isEmpty());
+    }
+
+    /**
+     * Tests whether the state timeline yields the same states as replaying the history until a timestamp, when the
+     * reports are received in a different order than their mdib versions.
+     */
+    @Test
+    void testUniqueEpisodicReportBasedStateTimelineOutOfOrder() throws Exception {
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildMdibEnvelope(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ZERO));
+        // the report of mdib version 2 is received before the report of mdib version 1
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildEpisodicMetricReport(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.TWO, BigInteger.TWO));
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildEpisodicMetricReport(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ONE, BigInteger.ONE));
+
+        // the first timestamp belongs to the mdib, the following ones to the reports in the order of reception
+        final List<Long> timestamps;
+        try (final var messages = storage.getInboundMessages()) {
+            timestamps = messages.getStream()
+                    .map(MessageContent::getNanoTimestamp)
+                    .sorted()
+                    .toList();
+        }
+
+        final var mockObserver = mock(TestRunObserver.class);
+        final var historian = historianFactory.createMdibHistorian(storage, mockObserver);
+        final var timeline = historian.uniqueEpisodicReportBasedStateTimeline(
+                MdibBuilder.DEFAULT_SEQUENCE_ID, Set.of(STRING_METRIC_HANDLE));
+
+        // only the report of mdib version 2 has been received before the report of mdib version 1
+        final long timestamp = timestamps.get(2);
+        assertTrue(timeline.hasReportBefore(timestamp));
+        final var expectedState = historian
+                .uniqueEpisodicReportBasedMdibUntilTimestamp(MdibBuilder.DEFAULT_SEQUENCE_ID, timestamp)
+                .orElseThrow()
+                .getState(STRING_METRIC_HANDLE, StringMetricState.class)
+                .orElseThrow();
+        final var state = timeline.getStateUntilTimestamp(STRING_METRIC_HANDLE, timestamp, StringMetricState.class)
+                .orElseThrow();
+        assertEquals(BigInteger.TWO, state.getStateVersion());
+        assertEquals(expectedState, state);
+
+        // the late report of mdib version 1 does not replace the state of the report of mdib version 2
+        assertEquals(
+                BigInteger.TWO,
+                timeline.getStateUntilTimestamp(STRING_METRIC_HANDLE, Long.MAX_VALUE, StringMetricState.class)
+                        .orElseThrow()
+                        .getStateVersion());
+    }
+
+    /**
+     * Tests whether repeated walks over the same history reuse the unmarshalled messages, also across historians.
+     */
+    @Test
+    void testRepeatedHistoryUsesUnmarshalledMessageCache() throws Exception {
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildMdibEnvelope(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ZERO));
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildEpisodicMetricReport(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.ONE, BigInteger.ONE));
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage, buildEpisodicMetricReport(MdibBuilder.DEFAULT_SEQUENCE_ID, BigInteger.TWO, BigInteger.TWO));
+
+        final var mockObserver = mock(TestRunObserver.class);
+        for (int walk = 0; walk < 2; walk++) {
+            final var historian = historianFactory.createMdibHistorian(storage, mockObserver);
+            try (final var history = historian.episodicReportBasedHistory(MdibBuilder.DEFAULT_SEQUENCE_ID)) {
+                assertEquals(BigInteger.ZERO, history.next().getMdibVersion().getVersion());
+                assertEquals(BigInteger.ONE, history.next().getMdibVersion().getVersion());
+                final var last = history.next();
+                assertEquals(BigInteger.TWO, last.getMdibVersion().getVersion());
+                assertEquals(
+                        BigInteger.TWO,
+                        last.getState(STRING_METRIC_HANDLE).orElseThrow().getStateVersion());
+                assertNull(history.next());
+            }
+        }
+
+        // the mdib and both reports are only unmarshalled during the first walk
+        assertEquals(3, unmarshalledMessageCache.getMissCount());
+        assertEquals(3, unmarshalledMessageCache.getHitCount());
+    }
+
     Envelope buildMdibEnvelope(final String sequenceId, @Nullable final BigInteger mdibVersion) {
         final var mdib = buildMdib(sequenceId);
         mdib.setMdibVersion(mdibVersion);
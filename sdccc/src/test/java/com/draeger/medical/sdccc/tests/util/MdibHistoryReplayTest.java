@@ -0,0 +1,391 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.draeger.medical.sdccc.marshalling.MarshallingUtil;
+import com.draeger.medical.sdccc.messages.MessageStorage;
+import com.draeger.medical.sdccc.sdcri.testclient.TestClient;
+import com.draeger.medical.sdccc.sdcri.testclient.TestClientMdibObserver;
+import com.draeger.medical.sdccc.sdcri.testclient.TestClientUtil;
+import com.draeger.medical.sdccc.tests.test_util.InjectorUtil;
+import com.draeger.medical.sdccc.tests.util.guice.MdibHistorianFactory;
+import com.draeger.medical.sdccc.util.MdibBuilder;
+import com.draeger.medical.sdccc.util.MessageBuilder;
+import com.draeger.medical.sdccc.util.MessageStorageUtil;
+import com.draeger.medical.sdccc.util.TestRunObserver;
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.somda.sdc.biceps.consumer.access.RemoteMdibAccess;
+import org.somda.sdc.biceps.model.participant.MdibVersion;
+import org.somda.sdc.dpws.helper.JaxbMarshalling;
+import org.somda.sdc.dpws.soap.SoapMarshalling;
+import org.somda.sdc.glue.common.ActionConstants;
+import org.somda.sdc.glue.consumer.SdcRemoteDevice;
+
+/**
+ * Unit tests for {@linkplain MdibHistoryReplay}.
+ */
+public class MdibHistoryReplayTest {
+    private static final String SECOND_SEQUENCE_ID = "urn:uuid:second";
+
+    private MessageStorageUtil messageStorageUtil;
+    private MessageBuilder messageBuilder;
+    private MdibBuilder mdibBuilder;
+    private MessageStorage storage;
+    private SoapMarshalling soapMarshalling;
+    private JaxbMarshalling jaxbMarshalling;
+    private Injector historianInjector;
+    private MdibHistoryReplay replay;
+
+    @BeforeEach
+    void setUp() {
+        historianInjector = TestClientUtil.createClientInjector();
+
+        final Injector marshallingInjector = MarshallingUtil.createMarshallingTestInjector(true);
+        messageStorageUtil = marshallingInjector.getInstance(MessageStorageUtil.class);
+        messageBuilder = marshallingInjector.getInstance(MessageBuilder.class);
+        mdibBuilder = marshallingInjector.getInstance(MdibBuilder.class);
+
+        soapMarshalling = historianInjector.getInstance(SoapMarshalling.class);
+        soapMarshalling.startAsync().awaitRunning();
+
+        jaxbMarshalling = historianInjector.getInstance(JaxbMarshalling.class);
+        jaxbMarshalling.startAsync().awaitRunning();
+
+        final var mockClient = mock(TestClient.class);
+        when(mockClient.getInjector()).thenReturn(historianInjector);
+        final Injector storageInjector = InjectorUtil.setupInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(TestClient.class).toInstance(mockClient);
+            }
+        });
+        storage = storageInjector.getInstance(MessageStorage.class);
+
+        replay = new MdibHistoryReplay(storage, mock(TestRunObserver.class), mockClient, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        soapMarshalling.stopAsync().awaitTerminated();
+        jaxbMarshalling.stopAsync().awaitTerminated();
+    }
+
+    /**
+     * Tests whether all registered checks are evaluated in a single replay, which covers every known sequence.
+     */
+    @Test
+    void testChecksShareReplay() throws IOException, JAXBException {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+        addMdib(SECOND_SEQUENCE_ID);
+
+        replay.register(RecordingCheck.class, RecordingCheck::new);
+        replay.register(OtherRecordingCheck.class, OtherRecordingCheck::new);
+
+        final var check = replay.evaluate(RecordingCheck.class);
+        assertEquals(List.of(MdibBuilder.DEFAULT_SEQUENCE_ID, SECOND_SEQUENCE_ID), check.startedSequences);
+        assertEquals(check.startedSequences, check.revisions);
+        assertEquals(check.startedSequences, check.finishedSequences);
+
+        // the second check has been evaluated in the same pass and must not be replayed again
+        final var otherCheck = replay.evaluate(OtherRecordingCheck.class);
+        assertEquals(check.revisions, otherCheck.revisions);
+        assertSame(check, replay.evaluate(RecordingCheck.class));
+        assertEquals(2, check.revisions.size());
+    }
+
+    /**
+     * Tests whether an assertion failure is only reported for the failing check.
+     */
+    @Test
+    void testFailureIsolatedToCheck() throws IOException, JAXBException {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+        addMdib(SECOND_SEQUENCE_ID);
+
+        replay.register(FailingCheck.class, FailingCheck::new);
+        replay.register(RecordingCheck.class, RecordingCheck::new);
+
+        final var error = assertThrows(AssertionError.class, () -> replay.evaluate(FailingCheck.class));
+        assertEquals(FailingCheck.MESSAGE, error.getMessage());
+        // failing checks are not passed any further revisions
+        assertThrows(AssertionError.class, () -> replay.evaluate(FailingCheck.class));
+
+        final var check = replay.evaluate(RecordingCheck.class);
+        assertEquals(List.of(MdibBuilder.DEFAULT_SEQUENCE_ID, SECOND_SEQUENCE_ID), check.revisions);
+    }
+
+    /**
+     * Tests whether an unexpected exception thrown by a check is reported as a failure of only that check.
+     */
+    @Test
+    void testExceptionIsolatedToCheck() throws IOException, JAXBException {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+
+        replay.register(ThrowingCheck.class, ThrowingCheck::new);
+        replay.register(RecordingCheck.class, RecordingCheck::new);
+
+        final var error = assertThrows(AssertionError.class, () -> replay.evaluate(ThrowingCheck.class));
+        assertInstanceOf(NoSuchElementException.class, error.getCause());
+        assertThrows(AssertionError.class, () -> replay.evaluate(ThrowingCheck.class));
+
+        final var check = replay.evaluate(RecordingCheck.class);
+        assertEquals(List.of(MdibBuilder.DEFAULT_SEQUENCE_ID), check.revisions);
+    }
+
+    /**
+     * Tests whether all checks of an aborted replay are reported as failed instead of passing silently.
+     */
+    @Test
+    void testAbortedReplayFailsAllChecks() throws IOException {
+        final var mockStorage = mock(MessageStorage.class);
+        final var storageError = new IOException("storage unavailable");
+        when(mockStorage.getUniqueSequenceIds()).thenThrow(storageError);
+        final var mockClient = mock(TestClient.class);
+        when(mockClient.getInjector()).thenReturn(TestClientUtil.createClientInjector());
+        final var failingReplay = new MdibHistoryReplay(mockStorage, mock(TestRunObserver.class), mockClient, false);
+
+        failingReplay.register(RecordingCheck.class, RecordingCheck::new);
+        failingReplay.register(OtherRecordingCheck.class, OtherRecordingCheck::new);
+
+        assertSame(storageError, assertThrows(IOException.class, () -> failingReplay.evaluate(RecordingCheck.class)));
+        // the replay is not repeated, but the failure is reported for every check which was part of it
+        final var error = assertThrows(AssertionError.class, () -> failingReplay.evaluate(RecordingCheck.class));
+        assertSame(storageError, error.getCause());
+        assertThrows(AssertionError.class, () -> failingReplay.evaluate(OtherRecordingCheck.class));
+    }
+
+    /**
+     * Tests whether checks requiring the unique history are not passed the revisions of duplicate reports, while
+     * all other checks are.
+     */
+    @Test
+    void testUniqueHistory() throws IOException, JAXBException {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+        addComponentReport(BigInteger.ONE);
+        addComponentReport(BigInteger.ONE);
+
+        replay.register(VersionRecordingCheck.class);
+        replay.register(UniqueVersionRecordingCheck.class);
+
+        final var check = replay.evaluate(VersionRecordingCheck.class);
+        assertEquals(List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.ONE), check.mdibVersions);
+        final var uniqueCheck = replay.evaluate(UniqueVersionRecordingCheck.class);
+        assertEquals(List.of(BigInteger.ZERO, BigInteger.ONE), uniqueCheck.mdibVersions);
+    }
+
+    /**
+     * Tests whether requesting a check which has not been registered is rejected.
+     */
+    @Test
+    void testUnknownCheck() {
+        assertThrows(IllegalStateException.class, () -> replay.evaluate(RecordingCheck.class));
+    }
+
+    /**
+     * Tests whether checks registered before connecting are evaluated on the revisions of the client mdib instead of
+     * a replay, with a sequence ending whenever the SequenceId changes.
+     */
+    @Test
+    void testOnlineEvaluation() throws IOException {
+        final var mockClient = mock(TestClient.class);
+        final var onlineReplay = new MdibHistoryReplay(storage, mock(TestRunObserver.class), mockClient, true);
+        onlineReplay.register(RecordingCheck.class);
+        onlineReplay.register(FailingCheck.class);
+        onlineReplay.startOnlineEvaluation();
+
+        final var observerCaptor = ArgumentCaptor.forClass(TestClientMdibObserver.class);
+        verify(mockClient).registerMdibObserver(observerCaptor.capture());
+        final var observer = observerCaptor.getValue();
+
+        final var firstMdib = mock(RemoteMdibAccess.class);
+        when(firstMdib.getMdibVersion()).thenReturn(new MdibVersion(MdibBuilder.DEFAULT_SEQUENCE_ID));
+        final var secondMdib = mock(RemoteMdibAccess.class);
+        when(secondMdib.getMdibVersion()).thenReturn(new MdibVersion(SECOND_SEQUENCE_ID));
+        observer.onRevision(firstMdib);
+        observer.onRevision(firstMdib);
+        observer.onRevision(secondMdib);
+
+        // the storage is empty, a replay would not have passed any revision
+        final var check = onlineReplay.evaluate(RecordingCheck.class);
+        verify(mockClient).unregisterMdibObserver(observer);
+        assertEquals(List.of(MdibBuilder.DEFAULT_SEQUENCE_ID, SECOND_SEQUENCE_ID), check.startedSequences);
+        assertEquals(
+                List.of(MdibBuilder.DEFAULT_SEQUENCE_ID, MdibBuilder.DEFAULT_SEQUENCE_ID, SECOND_SEQUENCE_ID),
+                check.revisions);
+        assertEquals(check.startedSequences, check.finishedSequences);
+
+        final var error = assertThrows(AssertionError.class, () -> onlineReplay.evaluate(FailingCheck.class));
+        assertEquals(FailingCheck.MESSAGE, error.getMessage());
+    }
+
+    /**
+     * Tests whether the online evaluation passes the same revisions to a check as a replay of the captured history,
+     * starting with the initial mdib of the connected client.
+     */
+    @Test
+    void testOnlineEvaluationMatchesReplay() throws Exception {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+        addComponentReport(BigInteger.ONE);
+        addComponentReport(BigInteger.TWO);
+
+        replay.register(VersionRecordingCheck.class);
+        final var replayedCheck = replay.evaluate(VersionRecordingCheck.class);
+        assertEquals(List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO), replayedCheck.mdibVersions);
+
+        final var mockClient = mock(TestClient.class);
+        final var mockDevice = mock(SdcRemoteDevice.class);
+        when(mockClient.getSdcRemoteDevice()).thenReturn(mockDevice);
+        final var onlineReplay = new MdibHistoryReplay(storage, mock(TestRunObserver.class), mockClient, true);
+        onlineReplay.register(VersionRecordingCheck.class);
+        onlineReplay.startOnlineEvaluation();
+
+        final var observerCaptor = ArgumentCaptor.forClass(TestClientMdibObserver.class);
+        verify(mockClient).registerMdibObserver(observerCaptor.capture());
+        final var observer = observerCaptor.getValue();
+
+        // the client mdib passes through the same revisions while the history is captured
+        final var historian = historianInjector
+                .getInstance(MdibHistorianFactory.class)
+                .createMdibHistorian(storage, mock(TestRunObserver.class));
+        try (final var history = historian.episodicReportBasedHistory(MdibBuilder.DEFAULT_SEQUENCE_ID)) {
+            final var initialMdib = history.next();
+            when(mockDevice.getMdibAccess()).thenReturn(initialMdib);
+            onlineReplay.onClientConnected();
+            // the change already contained in the initial mdib is reported as well, it must not be passed twice
+            observer.onRevision(initialMdib);
+
+            RemoteMdibAccess mdib = history.next();
+            while (mdib != null) {
+                observer.onRevision(mdib);
+                mdib = history.next();
+            }
+        }
+
+        final var onlineCheck = onlineReplay.evaluate(VersionRecordingCheck.class);
+        assertEquals(replayedCheck.mdibVersions, onlineCheck.mdibVersions);
+    }
+
+    /**
+     * Tests whether checks are replayed as usual if the online evaluation is disabled.
+     */
+    @Test
+    void testOnlineEvaluationDisabled() throws IOException, JAXBException {
+        addMdib(MdibBuilder.DEFAULT_SEQUENCE_ID);
+
+        replay.register(RecordingCheck.class);
+        replay.startOnlineEvaluation();
+
+        final var check = replay.evaluate(RecordingCheck.class);
+        assertEquals(List.of(MdibBuilder.DEFAULT_SEQUENCE_ID), check.revisions);
+    }
+
+    private void addMdib(final String sequenceId) throws IOException, JAXBException {
+        final var mdib = mdibBuilder.buildMinimalMdib(sequenceId);
+        final var getMdibResponse = messageBuilder.buildGetMdibResponse(mdib.getSequenceId());
+        getMdibResponse.setMdib(mdib);
+
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage,
+                messageBuilder.createSoapMessageWithBody(
+                        ActionConstants.getResponseAction(ActionConstants.ACTION_GET_MDIB), getMdibResponse));
+    }
+
+    private void addComponentReport(final BigInteger mdibVersion) throws IOException, JAXBException {
+        final var report = messageBuilder.buildEpisodicComponentReport(MdibBuilder.DEFAULT_SEQUENCE_ID);
+        final var mdsState = mdibBuilder.buildMdsState(MdibBuilder.DEFAULT_MDS_HANDLE);
+        mdsState.setStateVersion(mdibVersion);
+        final var reportPart = messageBuilder.buildAbstractComponentReportReportPart();
+        reportPart.getComponentState().add(mdsState);
+        report.setMdibVersion(mdibVersion);
+        report.getReportPart().add(reportPart);
+
+        messageStorageUtil.addInboundSecureHttpMessage(
+                storage,
+                messageBuilder.createSoapMessageWithBody(ActionConstants.ACTION_EPISODIC_COMPONENT_REPORT, report));
+    }
+
+    private static class RecordingCheck implements MdibRevisionCheck {
+        final List<String> startedSequences = new ArrayList<>();
+        final List<String> revisions = new ArrayList<>();
+        final List<String> finishedSequences = new ArrayList<>();
+
+        @Override
+        public void onSequenceStart(final String sequenceId) {
+            startedSequences.add(sequenceId);
+        }
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess mdib) {
+            revisions.add(sequenceId);
+        }
+
+        @Override
+        public void onSequenceEnd(final String sequenceId) {
+            finishedSequences.add(sequenceId);
+        }
+    }
+
+    private static class OtherRecordingCheck extends RecordingCheck {}
+
+    private static class VersionRecordingCheck implements MdibRevisionCheck {
+        final List<BigInteger> mdibVersions = new ArrayList<>();
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess mdib) {
+            mdibVersions.add(mdib.getMdibVersion().getVersion());
+        }
+    }
+
+    private static class UniqueVersionRecordingCheck extends VersionRecordingCheck {
+        @Override
+        public boolean requiresUniqueHistory() {
+            return true;
+        }
+    }
+
+    private static class FailingCheck implements MdibRevisionCheck {
+        static final String MESSAGE = "revision rejected";
+        private boolean failed;
+
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess mdib) {
+            if (failed) {
+                fail("Check has been called after it failed");
+            }
+            failed = true;
+            fail(MESSAGE);
+        }
+    }
+
+    private static class ThrowingCheck implements MdibRevisionCheck {
+        @Override
+        public void onRevision(final String sequenceId, final RemoteMdibAccess mdib) {
+            throw new NoSuchElementException("no state present");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.draeger.medical.sdccc.configuration.EnabledTestConfig;
+import com.draeger.medical.sdccc.tests.annotations.TestIdentifier;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+/**
+ * Unit tests for the {@linkplain ReanalysisFilter}.
+ */
+public class ReanalysisFilterTest {
+
+    /**
+     * Tests whether the filter excludes MDPWS:R0006, which depends on the presence of an archive service, and keeps
+     * all other tests.
+     */
+    @Test
+    void testExcludesTestsRequiringConnection() {
+        final var testsRequest = LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClass(MockTests.class))
+                .filters(new ReanalysisFilter())
+                .build();
+        final TestPlan testPlan = LauncherFactory.create().discover(testsRequest);
+
+        final Set<String> tests = testPlan.getRoots().stream()
+                .flatMap(root -> testPlan.getDescendants(root).stream())
+                .filter(org.junit.platform.launcher.TestIdentifier::isTest)
+                .map(org.junit.platform.launcher.TestIdentifier::getDisplayName)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("otherInvariantTest()", "testWithoutIdentifier()"), tests);
+    }
+
+    static class MockTests {
+
+        @Test
+        @TestIdentifier(EnabledTestConfig.MDPWS_R0006)
+        void archiveServiceDependentTest() {}
+
+        @Test
+        @TestIdentifier(EnabledTestConfig.MDPWS_R0008)
+        void otherInvariantTest() {}
+
+        @Test
+        void testWithoutIdentifier() {}
+    }
+}
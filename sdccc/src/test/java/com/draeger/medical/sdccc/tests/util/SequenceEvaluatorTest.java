@@ -0,0 +1,131 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@linkplain SequenceEvaluator}.
+ */
+public class SequenceEvaluatorTest {
+    private static final List<String> SEQUENCE_IDS = List.of("urn:uuid:1", "urn:uuid:2", "urn:uuid:3", "urn:uuid:4");
+
+    /**
+     * Tests whether sequences are evaluated in order on the calling thread when parallel evaluation is disabled.
+     */
+    @Test
+    void testSequential() {
+        final var evaluator = new SequenceEvaluator(false, 4);
+        final var evaluated = new ArrayList<String>();
+        final var callingThread = Thread.currentThread();
+
+        evaluator.forEachSequence(SEQUENCE_IDS.stream(), sequenceId -> {
+            assertEquals(callingThread, Thread.currentThread());
+            evaluated.add(sequenceId);
+        });
+
+        assertEquals(SEQUENCE_IDS, evaluated);
+    }
+
+    /**
+     * Tests whether all sequences are evaluated concurrently when parallel evaluation is enabled.
+     */
+    @Test
+    void testParallel() {
+        final var evaluator = new SequenceEvaluator(true, SEQUENCE_IDS.size());
+        final Set<String> evaluated = ConcurrentHashMap.newKeySet();
+        final var allStarted = new CountDownLatch(SEQUENCE_IDS.size());
+
+        // every evaluation waits for all others to start, which only succeeds if they run concurrently
+        evaluator.forEachSequence(SEQUENCE_IDS.stream(), sequenceId -> {
+            allStarted.countDown();
+            try {
+                if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                    throw new AssertionError("Sequences have not been evaluated concurrently");
+                }
+            } catch (final InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            evaluated.add(sequenceId);
+        });
+
+        assertEquals(Set.copyOf(SEQUENCE_IDS), evaluated);
+    }
+
+    /**
+     * Tests whether the failure of the first failing sequence is reported, regardless of which sequence failed first,
+     * and the failures of later sequences are attached as suppressed.
+     */
+    @Test
+    void testParallelFailureOrder() {
+        final var evaluator = new SequenceEvaluator(true, SEQUENCE_IDS.size());
+        final var laterFailed = new CountDownLatch(1);
+
+        final var error = assertThrows(
+                AssertionError.class, () -> evaluator.forEachSequence(SEQUENCE_IDS.stream(), sequenceId -> {
+                    if (SEQUENCE_IDS.get(1).equals(sequenceId)) {
+                        try {
+                            // let the later sequence fail first
+                            laterFailed.await(10, TimeUnit.SECONDS);
+                        } catch (final InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                        throw new AssertionError(sequenceId);
+                    } else if (SEQUENCE_IDS.get(3).equals(sequenceId)) {
+                        laterFailed.countDown();
+                        throw new IllegalStateException(sequenceId);
+                    }
+                }));
+
+        assertEquals(SEQUENCE_IDS.get(1), error.getMessage());
+        assertEquals(1, error.getSuppressed().length);
+        assertEquals(IllegalStateException.class, error.getSuppressed()[0].getClass());
+        assertEquals(SEQUENCE_IDS.get(3), error.getSuppressed()[0].getMessage());
+    }
+
+    /**
+     * Tests whether evaluating no sequences at all does not fail.
+     */
+    @Test
+    void testNoSequences() {
+        final var evaluator = new SequenceEvaluator(true, 2);
+        evaluator.forEachSequence(Stream.empty(), sequenceId -> {
+            throw new AssertionError("no sequence expected");
+        });
+    }
+
+    /**
+     * Tests whether the threads evaluating the sequences are stopped once the evaluation is done.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    void testThreadsStopped() throws Exception {
+        final var evaluator = new SequenceEvaluator(true, 2);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        evaluator.forEachSequence(SEQUENCE_IDS.stream(), sequenceId -> threads.add(Thread.currentThread()));
+
+        assertFalse(threads.isEmpty());
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(thread.isAlive());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.xml.bind.JAXBException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.somda.sdc.biceps.model.message.AbstractReport;
+import org.somda.sdc.biceps.model.message.EpisodicMetricReport;
+import org.somda.sdc.biceps.model.message.GetMdibResponse;
+import org.somda.sdc.biceps.model.participant.NumericMetricState;
+
+/**
+ * Unit tests for {@linkplain SoapBodyUnmarshaller}.
+ */
+public class SoapBodyUnmarshallerTest {
+    private static final String ENVELOPE_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<s12:Envelope xmlns:s12=\"http://www.w3.org/2003/05/soap-envelope\""
+            + " xmlns:wsa=\"http://www.w3.org/2005/08/addressing\""
+            + " xmlns:msg=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/message\""
+            + " xmlns:pm=\"http://standards.ieee.org/downloads/11073/11073-10207-2017/participant\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+            + "<s12:Header><wsa:Action>"
+            + "http://standards.ieee.org/downloads/11073/11073-20701-2018/StateEventService/EpisodicMetricReport"
+            + "</wsa:Action><wsa:MessageID>urn:uuid:message</wsa:MessageID></s12:Header>";
+    private static final String ENVELOPE_END = "</s12:Envelope>";
+
+    private static final String METRIC_REPORT = ENVELOPE_START
+            + "<s12:Body><msg:EpisodicMetricReport MdibVersion=\"12\" SequenceId=\"urn:uuid:sequence\">"
+            + "<msg:ReportPart><msg:MetricState xsi:type=\"pm:NumericMetricState\" DescriptorHandle=\"metric\">"
+            + "<pm:MetricValue Value=\"12.5\"><pm:MetricQuality Validity=\"Vld\"/></pm:MetricValue>"
+            + "</msg:MetricState></msg:ReportPart></msg:EpisodicMetricReport></s12:Body>"
+            + ENVELOPE_END;
+
+    private SoapBodyUnmarshaller unmarshaller;
+
+    @BeforeEach
+    void setUp() {
+        unmarshaller = new SoapBodyUnmarshaller();
+    }
+
+    /**
+     * Tests whether the body payload is unmarshalled while the headers are skipped.
+     *
+     * @throws JAXBException on unmarshalling errors
+     */
+    @Test
+    void testUnmarshalReport() throws JAXBException {
+        final var report = unmarshaller
+                .unmarshal(new StringReader(METRIC_REPORT), EpisodicMetricReport.class)
+                .orElseThrow();
+
+        assertEquals("urn:uuid:sequence", report.getSequenceId());
+        assertEquals(BigInteger.valueOf(12), report.getMdibVersion());
+        assertEquals(1, report.getReportPart().size());
+        final var state = report.getReportPart().get(0).getMetricState().get(0);
+        assertTrue(state instanceof NumericMetricState);
+        assertEquals("metric", state.getDescriptorHandle());
+
+        // supertypes of the payload are accepted as well
+        assertTrue(unmarshaller.unmarshal(new StringReader(METRIC_REPORT), AbstractReport.class).isPresent());
+    }
+
+    /**
+     * Tests whether an empty body or a payload of a different type results in an empty optional.
+     *
+     * @throws JAXBException on unmarshalling errors
+     */
+    @Test
+    void testUnexpectedPayload() throws JAXBException {
+        assertTrue(unmarshaller.unmarshal(new StringReader(METRIC_REPORT), GetMdibResponse.class).isEmpty());
+        assertTrue(unmarshaller
+                .unmarshal(new StringReader(ENVELOPE_START + "<s12:Body/>" + ENVELOPE_END), AbstractReport.class)
+                .isEmpty());
+    }
+
+    /**
+     * Tests whether malformed messages are rejected.
+     */
+    @Test
+    void testMalformedMessage() {
+        assertThrows(
+                JAXBException.class,
+                () -> unmarshaller.unmarshal(
+                        new StringReader(METRIC_REPORT.substring(0, METRIC_REPORT.length() / 2)),
+                        EpisodicMetricReport.class));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@linkplain UnmarshalledMessageCache}.
+ */
+public class UnmarshalledMessageCacheTest {
+    private static final String MESSAGE_UUID = "urn:uuid:message";
+
+    private UnmarshalledMessageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UnmarshalledMessageCache();
+    }
+
+    /**
+     * Tests whether cached objects are returned without unmarshalling them again and counted as hits.
+     */
+    @Test
+    void testHitsAndMisses() {
+        final var unmarshalled = new StringBuilder("mdib");
+        assertSame(unmarshalled, cache.get(MESSAGE_UUID, StringBuilder.class, () -> unmarshalled));
+        assertSame(unmarshalled, cache.get(MESSAGE_UUID, StringBuilder.class, StringBuilder::new));
+        assertSame(unmarshalled, cache.get(MESSAGE_UUID, CharSequence.class, StringBuilder::new));
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    /**
+     * Tests whether an entry of a different type is not returned and replaced instead.
+     */
+    @Test
+    void testTypeMismatch() {
+        cache.get(MESSAGE_UUID, StringBuilder.class, StringBuilder::new);
+        assertEquals(1, cache.get(MESSAGE_UUID, Integer.class, () -> 1));
+        assertEquals(1, cache.get(MESSAGE_UUID, Integer.class, () -> 2));
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    /**
+     * Tests whether the least recently used entry is evicted once the cache is full.
+     */
+    @Test
+    void testEviction() {
+        final var first = new StringBuilder();
+        cache.get(MESSAGE_UUID, StringBuilder.class, () -> first);
+        for (int i = 0; i < UnmarshalledMessageCache.MAXIMUM_ENTRIES; i++) {
+            cache.get("urn:uuid:" + i, StringBuilder.class, StringBuilder::new);
+        }
+
+        assertNotSame(first, cache.get(MESSAGE_UUID, StringBuilder.class, StringBuilder::new));
+        assertEquals(UnmarshalledMessageCache.MAXIMUM_ENTRIES + 2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+}
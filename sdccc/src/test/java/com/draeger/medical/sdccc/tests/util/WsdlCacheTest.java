@@ -0,0 +1,138 @@
+/*
+ * This Source Code Form is subject to the terms of the MIT License.
+ * Copyright (c) 2024 Draegerwerk AG & Co. KGaA.
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.draeger.medical.sdccc.tests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.draeger.medical.sdccc.util.WsdlParser;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.somda.sdc.dpws.service.HostingServiceProxy;
+import org.somda.sdc.dpws.wsdl.WsdlRetriever;
+
+/**
+ * Unit tests for {@linkplain WsdlCache}.
+ */
+public class WsdlCacheTest {
+    private static final String EPR_ADDRESS = "urn:uuid:hosting-service";
+    private static final String SERVICE_ID = "hostedService";
+    private static final String WSDL = "<wsdl:definitions/>";
+
+    private WsdlRetriever wsdlRetriever;
+    private WsdlParser wsdlParser;
+    private WsdlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        wsdlRetriever = mock(WsdlRetriever.class);
+        wsdlParser = mock(WsdlParser.class);
+        cache = new WsdlCache(wsdlRetriever, wsdlParser);
+    }
+
+    /**
+     * Tests whether the WSDLs of a hosting service are only retrieved once.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    void testWsdlsRetrievedOnce() throws Exception {
+        final var hostingService = mockHostingService(1);
+        when(wsdlRetriever.retrieveWsdls(hostingService)).thenReturn(Map.of(SERVICE_ID, List.of(WSDL)));
+
+        final var wsdls = cache.getWsdls(hostingService);
+        assertEquals(Map.of(SERVICE_ID, List.of(WSDL)), wsdls);
+        assertSame(wsdls, cache.getWsdls(hostingService));
+
+        verify(wsdlRetriever, times(1)).retrieveWsdls(hostingService);
+    }
+
+    /**
+     * Tests whether a reconnect, i.e. a new hosting service proxy, or a new metadata version causes the WSDLs to be
+     * retrieved and parsed again.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    void testInvalidation() throws Exception {
+        final var hostingService = mockHostingService(1);
+        final var reconnectedHostingService = mockHostingService(1);
+        when(wsdlRetriever.retrieveWsdls(hostingService)).thenReturn(Map.of(SERVICE_ID, List.of(WSDL)));
+        when(wsdlRetriever.retrieveWsdls(reconnectedHostingService)).thenReturn(Map.of(SERVICE_ID, List.of(WSDL)));
+        when(wsdlParser.parseWsdlPortTypes(WSDL)).thenReturn(Map.of());
+
+        cache.getWsdls(hostingService);
+        cache.getPortTypes(WSDL);
+        cache.getWsdls(reconnectedHostingService);
+        cache.getPortTypes(WSDL);
+
+        verify(wsdlRetriever, times(1)).retrieveWsdls(hostingService);
+        verify(wsdlRetriever, times(1)).retrieveWsdls(reconnectedHostingService);
+        verify(wsdlParser, times(2)).parseWsdlPortTypes(WSDL);
+
+        // metadata of the same hosting service changed
+        when(reconnectedHostingService.getMetadataVersion()).thenReturn(2L);
+        cache.getWsdls(reconnectedHostingService);
+        verify(wsdlRetriever, times(2)).retrieveWsdls(reconnectedHostingService);
+    }
+
+    /**
+     * Tests whether each WSDL is only parsed once and the parsed port types cannot be modified.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    void testPortTypesParsedOnce() throws Exception {
+        final var portType = new QName("urn:test", "PortType");
+        final var operation = new QName("urn:test", "Operation");
+        final var arguments = mock(WsdlParser.OperationArguments.class);
+        when(wsdlParser.parseWsdlPortTypes(WSDL)).thenReturn(Map.of(portType, Map.of(operation, arguments)));
+
+        final var portTypes = cache.getPortTypes(WSDL);
+        assertEquals(Map.of(portType, Map.of(operation, arguments)), portTypes);
+        assertSame(portTypes, cache.getPortTypes(WSDL));
+        assertThrows(UnsupportedOperationException.class, () -> portTypes.remove(portType));
+        assertThrows(UnsupportedOperationException.class, () -> portTypes.get(portType).remove(operation));
+
+        verify(wsdlParser, times(1)).parseWsdlPortTypes(WSDL);
+    }
+
+    /**
+     * Tests whether a failed retrieval is not cached.
+     *
+     * @throws Exception on any exception
+     */
+    @Test
+    void testFailedRetrievalNotCached() throws Exception {
+        final var hostingService = mockHostingService(1);
+        when(wsdlRetriever.retrieveWsdls(hostingService))
+                .thenThrow(new IOException("unreachable"))
+                .thenReturn(Map.of(SERVICE_ID, List.of(WSDL)));
+
+        assertThrows(IOException.class, () -> cache.getWsdls(hostingService));
+        assertEquals(Map.of(SERVICE_ID, List.of(WSDL)), cache.getWsdls(hostingService));
+
+        verify(wsdlRetriever, times(2)).retrieveWsdls(hostingService);
+    }
+
+    private static HostingServiceProxy mockHostingService(final long metadataVersion) {
+        final var hostingService = mock(HostingServiceProxy.class);
+        when(hostingService.getEndpointReferenceAddress()).thenReturn(EPR_ADDRESS);
+        when(hostingService.getMetadataVersion()).thenReturn(metadataVersion);
+        return hostingService;
+    }
+}
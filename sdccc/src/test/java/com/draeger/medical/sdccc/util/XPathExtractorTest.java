@@ -1,23 +1,44 @@
 /*
  * This Source Code Form is subject to the terms of the MIT License.
- * Copyright (c) 2023 Draegerwerk AG & Co. KGaA.
+ * Copyright (c) 2023, 2024 Draegerwerk AG & Co. KGaA.
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.draeger.medical.sdccc.util;
 
+import static com.draeger.medical.sdccc.util.Constants.s12;
+import static com.draeger.medical.sdccc.util.Constants.wsa;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPathExpressionException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.somda.sdc.dpws.soap.SoapConstants;
+import org.somda.sdc.dpws.soap.wsaddressing.WsAddressingConstants;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
 
 /**
  * Unit tests for the {@linkplain XPathExtractor}.
  */
 public class XPathExtractorTest {
+    private static final String ENVELOPE = "<s12:Envelope xmlns:s12=\"" + SoapConstants.NAMESPACE + "\""
+            + " xmlns:wsa=\"" + WsAddressingConstants.NAMESPACE + "\">"
+            + "<s12:Header>"
+            + "<wsa:RelatesTo RelationshipType=\"Reply\">urn:uuid:first</wsa:RelatesTo>"
+            + "<wsa:Action>action</wsa:Action>"
+            + "<wsa:ReferenceParameters><wsa:RelatesTo>urn:uuid:nested</wsa:RelatesTo></wsa:ReferenceParameters>"
+            + "<wsa:RelatesTo><![CDATA[urn:uuid:second]]></wsa:RelatesTo>"
+            + "</s12:Header>"
+            + "<s12:Body><wsa:RelatesTo>urn:uuid:body</wsa:RelatesTo></s12:Body>"
+            + "</s12:Envelope>";
 
     /**
      * Tests whether an invalid XML input triggers an {@linkplain XPathExpressionException}.
@@ -55,4 +76,62 @@ public class XPathExtractorTest {
         assertEquals(1, result.size());
         assertEquals("80", result.stream().findFirst().orElseThrow().getTextContent());
     }
+
+    /**
+     * Tests whether expressions consisting of child steps are matched while streaming, yielding the same nodes as
+     * evaluating the expression on the whole document.
+     *
+     * @throws Exception on any error
+     */
+    @Test
+    @DisplayName("Child paths are matched while streaming, yielding the same nodes as XPath")
+    void extractChildPathStreaming() throws Exception {
+        final var extractor = new XPathExtractor(s12("Header") + "/" + wsa("RelatesTo"));
+        assertTrue(extractor.isStreaming());
+
+        final var result = List.copyOf(extractor.extractFrom(ENVELOPE));
+        final var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final var document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(ENVELOPE)));
+        final var expected = List.copyOf(extractor.extractFrom(document.getDocumentElement()));
+
+        assertEquals(2, result.size());
+        assertEquals(expected.size(), result.size());
+        for (int i = 0; i < result.size(); i++) {
+            final Node node = result.get(i);
+            assertEquals(expected.get(i).getTextContent(), node.getTextContent());
+            assertEquals(expected.get(i).getNamespaceURI(), node.getNamespaceURI());
+            assertEquals(expected.get(i).getLocalName(), node.getLocalName());
+            assertEquals(expected.get(i).getAttributes().getLength(), node.getAttributes().getLength());
+            // ancestors are available to resolve prefixes
+            assertEquals(SoapConstants.NAMESPACE, node.lookupNamespaceURI(SoapConstants.NAMESPACE_PREFIX));
+            assertEquals(s12("Header"), node.getParentNode().getNodeName());
+        }
+        assertEquals("Reply", result.get(0).getAttributes().getNamedItem("RelationshipType").getNodeValue());
+
+        final var absoluteExtractor = new XPathExtractor("/" + s12("Envelope") + "/" + s12("Body"));
+        assertTrue(absoluteExtractor.isStreaming());
+        assertEquals(1, absoluteExtractor.extractFrom(ENVELOPE).size());
+        assertTrue(new XPathExtractor(s12("Envelope")).extractFrom(ENVELOPE).isEmpty());
+    }
+
+    /**
+     * Tests whether extracting the first match of a child path stops reading at the match.
+     *
+     * @throws XPathExpressionException on any error
+     */
+    @Test
+    @DisplayName("Extracting the first match of a child path stops reading at the match")
+    void extractFirstChildPathStreaming() throws XPathExpressionException {
+        final var extractor = new XPathExtractor(s12("Header") + "/" + wsa("RelatesTo"));
+        final var truncated = ENVELOPE.substring(0, ENVELOPE.indexOf("<" + s12("Body")));
+
+        final var first = extractor.extractFirstFrom(truncated);
+        assertTrue(first.isPresent());
+        assertEquals("urn:uuid:first", first.orElseThrow().getTextContent());
+        assertThrows(XPathExpressionException.class, () -> extractor.extractFrom(truncated));
+
+        assertFalse(new XPathExtractor(s12("Body") + "/" + s12("Fault")).extractFirstFrom(ENVELOPE).isPresent());
+        assertFalse(new XPathExtractor("//someElement").isStreaming());
+    }
 }